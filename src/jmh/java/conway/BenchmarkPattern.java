@@ -0,0 +1,90 @@
+package conway;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
+
+/**
+ * <h1>Benchmark Pattern</h1>
+ * The kinds of grids the benchmarks run on. All patterns are created from a fixed seed,
+ * so every run of a benchmark starts from the same cells.
+ * <ul>
+ * <li>SOUP: each cell is alive with the probability density, a chaotic grid that changes everywhere.</li>
+ * <li>GUN: the grid is divided into tiles, a share density of them holds a Gosper glider gun.
+ *     Mostly empty space with a few busy regions and gliders running through it.</li>
+ * <li>STILL_LIFES: the grid is divided into small tiles, a share density of them holds a block, beehive or loaf.
+ *     Many cells are alive, but nothing changes.</li>
+ * </ul>
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     StepBenchmark
+ * @see     SerializationBenchmark
+ */
+public enum BenchmarkPattern {
+	SOUP, GUN, STILL_LIFES;
+
+	private static final long SEED = 0x5EED;
+	private static final String GOSPER_GUN = "x = 36, y = 9, rule = B3/S23\n"
+			+ "24bo$22bobo$12b2o6b2o12b2o$11bo3bo4b2o12b2o$2o8bo5bo3b2o$2o8bo3bob2o4bobo$10bo5bo7bo$11bo3bo$12b2o!";
+	private static final String[] STILL_LIFES_RLE = {
+			"x = 2, y = 2\n2o$2o!",
+			"x = 4, y = 3\nb2o$o2bo$b2o!",
+			"x = 4, y = 4\nb2o$o2bo$bobo$2bo!"};
+
+	/**
+	 * Creates a grid of this pattern.
+	 * @param  rows rows of the grid
+	 * @param  columns columns of the grid
+	 * @param  density the probability of a cell or tile to be filled
+	 * @return a new BitGrid holding the pattern
+	 */
+	public BitGrid create(int rows, int columns, double density) {
+		SplittableRandom random = new SplittableRandom(SEED);
+		BitGrid state = new BitGrid(rows, columns);
+		switch (this) {
+			case SOUP:
+				new RandomSoup(SEED, density).fill(state);
+				break;
+			case GUN:
+				tile(state, new BitGrid[] {read(GOSPER_GUN)}, 48, density, random);
+				break;
+			case STILL_LIFES:
+				BitGrid[] stillLifes = new BitGrid[STILL_LIFES_RLE.length];
+				for (int k = 0; k < stillLifes.length; k++) stillLifes[k] = read(STILL_LIFES_RLE[k]);
+				tile(state, stillLifes, 6, density, random);
+				break;
+		}
+		return state;
+	}
+
+	/**
+	 * Places a random one of the shapes into a share density of the tiles of size tile x tile.
+	 */
+	private static void tile(BitGrid state, BitGrid[] shapes, int tile, double density, SplittableRandom random) {
+		for (int top = 0; top + tile <= state.getRows(); top += tile) {
+			for (int left = 0; left + tile <= state.getColumns(); left += tile) {
+				if (random.nextDouble() >= density) continue;
+				BitGrid shape = shapes[random.nextInt(shapes.length)];
+				for (int i = 0; i < shape.getRows(); i++) {
+					for (int j = 0; j < shape.getColumns(); j++) {
+						if (shape.isAlive(i, j)) state.setAlive(top + 1 + i, left + 1 + j, true);
+					}
+				}
+			}
+		}
+	}
+
+	private static BitGrid read(String rle) {
+		try {
+			return PatternFile.readRle(new StringReader(rle)).getEngine().snapshot();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
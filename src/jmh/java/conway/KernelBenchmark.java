@@ -0,0 +1,65 @@
+package conway;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * <h1>Kernel Benchmark</h1>
+ * Measures calculating a generation with each StepKernel on a single thread,
+ * so the SCALAR and the VECTOR kernel are compared on the same soups, and with the ReferenceEngine,
+ * the cell by cell baseline both kernels are checked against by KernelEquivalenceTest.
+ * The engine is stepped directly, so all three arms measure the same work.
+ * The VECTOR kernel is only measured if the Vector API is there, which the jmh task of the build makes sure of.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     StepKernel
+ * @see     BitGridEngine
+ * @see     ReferenceEngine
+ * @param   size the amount of rows and columns of the grid
+ * @param   boundary the name of the Boundary of the grid
+ * @param   kernel the name of the StepKernel measured, or REFERENCE for the ReferenceEngine
+ * @param   engine the engine measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class KernelBenchmark {
+	@Param({"512", "2048", "8192"})
+	private int size;
+	@Param({"DEAD", "TORUS"})
+	private String boundary;
+	@Param({"SCALAR", "VECTOR", "REFERENCE"})
+	private String kernel;
+	private SimulationEngine engine;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		Rules rules = Rules.of("B3/S23");
+		if (kernel.equals("REFERENCE")) engine = new ReferenceEngine(size, size, rules);
+		else {
+			BitGridEngine bitGridEngine = new BitGridEngine(size, size, rules);
+			bitGridEngine.setParallelism(1);
+			bitGridEngine.setKernel(StepKernel.of(kernel));
+			engine = bitGridEngine;
+		}
+		engine.setBoundary(Boundary.valueOf(boundary));
+		engine.restore(BenchmarkPattern.SOUP.create(size, size, 0.35));
+	}
+
+	@Benchmark
+	public void step() {
+		engine.step();
+	}
+}
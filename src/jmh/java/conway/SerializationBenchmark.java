@@ -0,0 +1,114 @@
+package conway;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * <h1>Serialization Benchmark</h1>
+ * Measures saving and loading a GridOfCells as a StateFile, as JSON with Gson as older versions did
+ * and as an RLE pattern. The files are written into a temporary directory that is deleted afterwards,
+ * JSON and RLE are kept in memory so only the conversion is measured.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     StateFile
+ * @see     PatternFile
+ * @see     BenchmarkPattern
+ * @exception IOException
+ * @param   size the amount of rows and columns of the grid
+ * @param   density the probability of a cell or tile to be filled, see BenchmarkPattern
+ * @param   pattern the kind of grid
+ * @param   gridOfCells the grid saved
+ * @param   directory the temporary directory of the files
+ * @param   stateFile a StateFile holding gridOfCells
+ * @param   json the JSON of gridOfCells
+ * @param   rle the RLE pattern of gridOfCells
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializationBenchmark {
+	@Param({"64", "512", "2048"})
+	private int size;
+	@Param({"0.1", "0.5"})
+	private double density;
+	@Param({"SOUP", "GUN", "STILL_LIFES"})
+	private BenchmarkPattern pattern;
+	private final Gson gson = new Gson();
+	private GridOfCells gridOfCells;
+	private Path directory;
+	private Path stateFile;
+	private String json;
+	private String rle;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		gridOfCells = new GridOfCells(pattern.create(size, size, density), Rules.of("B3/S23"), Boundary.DEAD, 0);
+		directory = Files.createTempDirectory("benchmark");
+		stateFile = directory.resolve("state" + StateFile.FILE_EXTENSION);
+		StateFile.write(gridOfCells, stateFile);
+		gridOfCells.save();
+		json = gson.toJson(gridOfCells);
+		rle = writeRle();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(stateFile);
+		Files.deleteIfExists(directory.resolve("written" + StateFile.FILE_EXTENSION));
+		Files.deleteIfExists(directory);
+	}
+
+	@Benchmark
+	public void writeStateFile() throws IOException {
+		StateFile.write(gridOfCells, directory.resolve("written" + StateFile.FILE_EXTENSION));
+	}
+
+	@Benchmark
+	public GridOfCells readStateFile() throws IOException {
+		return StateFile.read(stateFile);
+	}
+
+	@Benchmark
+	public String saveJson() {
+		gridOfCells.save();
+		return gson.toJson(gridOfCells);
+	}
+
+	@Benchmark
+	public GridOfCells loadJson() {
+		GridOfCells loaded = gson.fromJson(json, GridOfCells.class);
+		loaded.fillWithStatus();
+		return loaded;
+	}
+
+	@Benchmark
+	public String writeRle() throws IOException {
+		StringWriter writer = new StringWriter();
+		PatternFile.writeRle(gridOfCells.getEngine().snapshot(), gridOfCells.getRules(), gridOfCells.getBoundary(), writer);
+		return writer.toString();
+	}
+
+	@Benchmark
+	public GridOfCells readRle() throws IOException {
+		return PatternFile.readRle(new StringReader(rle));
+	}
+}
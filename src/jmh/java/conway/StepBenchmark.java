@@ -0,0 +1,74 @@
+package conway;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <h1>Step Benchmark</h1>
+ * Measures calculating a generation, counting the neighbours of all cells and counting the cells alive
+ * of a GridOfCells, for all combinations of the parameters.
+ * The grid is created again before each iteration, so a soup that dies out during a long run
+ * does not make the later iterations faster.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     GridOfCells
+ * @see     BenchmarkPattern
+ * @param   size the amount of rows and columns of the grid
+ * @param   density the probability of a cell or tile to be filled, see BenchmarkPattern
+ * @param   rules the rulestring of the grid
+ * @param   boundary the name of the Boundary of the grid
+ * @param   pattern the kind of grid
+ * @param   gridOfCells the grid measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StepBenchmark {
+	@Param({"64", "512", "2048"})
+	private int size;
+	@Param({"0.1", "0.5"})
+	private double density;
+	@Param({"B3/S23", "B36/S23", "B3678/S34678"})
+	private String rules;
+	@Param({"DEAD", "TORUS"})
+	private String boundary;
+	@Param({"SOUP", "GUN", "STILL_LIFES"})
+	private BenchmarkPattern pattern;
+	private GridOfCells gridOfCells;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		gridOfCells = new GridOfCells(pattern.create(size, size, density), Rules.of(rules),
+				Boundary.valueOf(boundary), 0);
+	}
+
+	@Benchmark
+	public void nextGeneration() {
+		gridOfCells.nextGeneration();
+	}
+
+	@Benchmark
+	public void amountOfNeighboursAlive(Blackhole blackhole) {
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) blackhole.consume(gridOfCells.amountOfNeighboursAlive(i, j));
+		}
+	}
+
+	@Benchmark
+	public int getAliveCells() {
+		return gridOfCells.getAliveCells();
+	}
+}
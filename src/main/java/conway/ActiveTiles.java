@@ -0,0 +1,183 @@
+package conway;
+
+/**
+ * <h1>Active Tiles</h1>
+ * Keeps track of the tiles of a grid that have to be calculated in the next generation.
+ * A tile is a block of TILE_ROWS rows and 64 columns, one word of a BitGrid wide.
+ * A tile whose cells did not change in the last generation and whose neighbours did not change either
+ * stays the same in the next generation, so only changed tiles and their neighbours are active.
+ * All lists are only walked as far as they are filled, so the cost grows with the activity and not with the grid.
+ * On a torus the tiles at opposite edges are neighbours as well.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitGridEngine
+ * @param   tileRows indicates the amount of tiles in a column of tiles
+ * @param   tileColumns indicates the amount of tiles in a row of tiles
+ * @param   changed indicates for each tile if it changed since the last schedule
+ * @param   changedTiles lists the tiles that changed since the last schedule
+ * @param   changedCount the amount of entries of changedTiles in use
+ * @param   scheduled indicates for each tile if it is active
+ * @param   activeTiles lists the active tiles
+ * @param   activeCount the amount of entries of activeTiles in use
+ * @param   wrap indicates if the tiles wrap around at the edges
+ */
+class ActiveTiles {
+	static final int TILE_ROWS = 64;
+	private final int tileRows;
+	private final int tileColumns;
+	private final boolean[] changed;
+	private final int[] changedTiles;
+	private int changedCount;
+	private final boolean[] scheduled;
+	private final int[] activeTiles;
+	private int activeCount;
+	private boolean wrap;
+
+	/**
+	 * Creates the tiles for a grid of the given size. All tiles are marked as changed.
+	 * @param  rows rows of the grid
+	 * @param  wordsPerRow the amount of words of a row of the grid
+	 */
+	ActiveTiles(int rows, int wordsPerRow) {
+		tileRows = (rows + TILE_ROWS - 1) / TILE_ROWS;
+		tileColumns = wordsPerRow;
+		int tiles = tileRows * tileColumns;
+		changed = new boolean[tiles];
+		changedTiles = new int[tiles];
+		scheduled = new boolean[tiles];
+		activeTiles = new int[tiles];
+		markAllChanged();
+	}
+
+	/**
+	 * Getter for the amount of tiles.
+	 * @return the amount of tiles of the grid
+	 */
+	int getTileCount() {
+		return changed.length;
+	}
+
+	/**
+	 * Getter for tileColumns.
+	 * @return the amount of tiles in a row of tiles
+	 */
+	int getTileColumns() {
+		return tileColumns;
+	}
+
+	/**
+	 * Getter for activeCount.
+	 * @return the amount of tiles scheduled at the last schedule
+	 */
+	int getActiveCount() {
+		return activeCount;
+	}
+
+	/**
+	 * Getter for an active tile.
+	 * @param  index the position in the list of active tiles
+	 * @return the index of the tile
+	 */
+	int getActiveTile(int index) {
+		return activeTiles[index];
+	}
+
+	/**
+	 * Getter for changedCount.
+	 * @return the amount of tiles that changed since the last schedule
+	 */
+	int getChangedCount() {
+		return changedCount;
+	}
+
+	/**
+	 * Getter for a changed tile.
+	 * @param  index the position in the list of changed tiles
+	 * @return the index of the tile
+	 */
+	int getChangedTile(int index) {
+		return changedTiles[index];
+	}
+
+	/**
+	 * Setter for wrap.
+	 * @param  wrap true if the tiles at opposite edges are neighbours, as on a torus
+	 */
+	void setWrap(boolean wrap) {
+		this.wrap = wrap;
+	}
+
+	/**
+	 * Marks the tile holding the cell at the given position as changed.
+	 * @param  i the row of the cell
+	 * @param  j the column of the cell
+	 */
+	void markCellChanged(int i, int j) {
+		markChanged((i / TILE_ROWS) * tileColumns + (j >>> 6));
+	}
+
+	/**
+	 * Marks a tile as changed.
+	 * @param  tile the index of the tile
+	 */
+	void markChanged(int tile) {
+		if (changed[tile]) return;
+		changed[tile] = true;
+		changedTiles[changedCount++] = tile;
+	}
+
+	/**
+	 * Marks all tiles as changed.
+	 */
+	void markAllChanged() {
+		for (int tile = 0; tile < changed.length; tile++) markChanged(tile);
+	}
+
+	/**
+	 * Makes every changed tile and its neighbours active and forgets the changes.
+	 * @return the amount of active tiles
+	 */
+	int schedule() {
+		activeCount = 0;
+		for (int c = 0; c < changedCount; c++) {
+			int tile = changedTiles[c];
+			changed[tile] = false;
+			int tileRow = tile / tileColumns;
+			int tileColumn = tile % tileColumns;
+			for (int dr = -1; dr <= 1; dr++) {
+				int r = tileRow + dr;
+				if (wrap) r = Math.floorMod(r, tileRows);
+				else if (r < 0 || r >= tileRows) continue;
+				for (int dk = -1; dk <= 1; dk++) {
+					int k = tileColumn + dk;
+					if (wrap) k = Math.floorMod(k, tileColumns);
+					else if (k < 0 || k >= tileColumns) continue;
+					int neighbour = r * tileColumns + k;
+					if (!scheduled[neighbour]) {
+						scheduled[neighbour] = true;
+						activeTiles[activeCount++] = neighbour;
+					}
+				}
+			}
+		}
+		changedCount = 0;
+		return activeCount;
+	}
+
+	/**
+	 * Marks the active tiles that changed while they were calculated.
+	 * @param  differences for each active tile, in the order of the list of active tiles,
+	 *         a word that is not zero if the tile changed
+	 */
+	void finish(long[] differences) {
+		for (int a = 0; a < activeCount; a++) {
+			int tile = activeTiles[a];
+			scheduled[tile] = false;
+			if (differences[a] != 0) markChanged(tile);
+		}
+	}
+}
@@ -0,0 +1,345 @@
+package conway;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.IllegalArgumentException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * <h1>Batch Runner</h1>
+ * Runs a simulation without a window, for example on a server or in a CI container without a display.
+ * Reads a state or pattern file or creates a RandomSoup, calculates a given amount of generations or until the grid died out or repeats
+ * itself, writes the final state and snapshots in between and prints the population and the throughput.
+ * Only the GridOfCells and the classes below it are used, JavaFX is never loaded.
+ * With --unbounded the input is placed into an unbounded universe, so nothing is clipped at the edges,
+ * and the final state and snapshots hold the window around all cells alive.
+ * With --jump-to the run first jumps to a generation far ahead with GridOfCells.jumpToGeneration,
+ * the generations are calculated from there on.
+ * <p>
+ * Usage: {@code BatchRunner [options] <input>} or {@code BatchRunner --soup <seed> --size <rows>x<columns> [options]},
+ * see USAGE. The population is printed every reportEvery generations
+ * as tab separated lines of generation, population and the tiles calculated in the step to the generation,
+ * the summary at the end as lines of key=value.
+ * The exit code is 0 on success, 1 if a file could not be read or written and 2 if the arguments are wrong.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     GridOfCells
+ * @see     StateFile
+ * @see     PatternFile
+ * @see     RandomSoup
+ * @see     CheckpointWriter
+ * @exception IllegalArgumentException
+ * @exception IOException
+ * @param   input the state or pattern file to start from, null if a soup is run
+ * @param   soup the seed of the RandomSoup to start from, null if a file is run
+ * @param   density the density of the RandomSoup
+ * @param   rules the rules to run with, null to keep the rules of the input
+ * @param   boundary the boundary to run with, null to keep the boundary of the input
+ * @param   rows the amount of rows the input is centered in, 0 to keep the size of the input
+ * @param   columns the amount of columns the input is centered in, 0 to keep the size of the input
+ * @param   unbounded indicates if the input is run in an unbounded universe
+ * @param   jumpTo the generation jumped to before the generations are calculated, -1 for none
+ * @param   generations the most generations to calculate
+ * @param   untilCycle indicates if the run stops once the grid died out or repeats itself
+ * @param   output the file the final state is written to, null if it is not written
+ * @param   snapshotEvery the amount of generations between two snapshots, 0 for no snapshots
+ * @param   snapshotDirectory the directory snapshots are written to
+ * @param   checkpointSeconds the time between two checkpoints in seconds, 0 for no checkpoints
+ * @param   checkpointDirectory the directory checkpoints are written to
+ * @param   keepCheckpoints the amount of newest checkpoints kept, older ones are thinned out
+ * @param   reportEvery the amount of generations between two printed populations, 0 for none
+ * @param   threads the amount of threads calculating a generation
+ * @param   kernel the StepKernel calculating a generation, null for the default one
+ * @param   activeTracking indicates if only the tiles that changed and their neighbours are calculated
+ */
+public class BatchRunner {
+	public static final String USAGE = String.join(System.lineSeparator(),
+			"usage: BatchRunner [options] <state or pattern file>",
+			"       BatchRunner --soup <seed> --size <rows>x<columns> [options]",
+			"  --soup <seed>               start from a random soup instead of a file",
+			"  --density <p>               share of cells alive in the soup (default: 0.5)",
+			"  --rules <rulestring>        rules to run with, e.g. B3/S23 (default: rules of the file)",
+			"  --boundary <dead|torus|mirror>",
+			"  --size <rows>x<columns>     center the input in a grid of this size",
+			"  --unbounded                 run in an unbounded universe, the size is the least size of its window",
+			"  --jump-to <n>               jump to generation n first, e.g. 1000000000, then calculate the generations",
+			"  --generations <n>           most generations to calculate (default: 1000)",
+			"  --until-cycle               stop once the grid died out or repeats itself",
+			"  --output <file>             write the final state, .gol, .rle or .mc",
+			"  --snapshot-every <n>        write a snapshot every n generations",
+			"  --snapshot-dir <directory>  directory of the snapshots (default: snapshots)",
+			"  --checkpoint-seconds <s>    write a checkpoint every s seconds in the background",
+			"  --checkpoint-dir <directory> directory of the checkpoints (default: checkpoints)",
+			"  --keep-checkpoints <n>      newest checkpoints kept, older ones are thinned out (default: 5)",
+			"  --report-every <n>          print the population every n generations (default: 100, 0 for none)",
+			"  --threads <n>               threads calculating a generation (default: all processors)",
+			"  --kernel <scalar|vector>    kernel calculating the words of a row (default: property conway.kernel)",
+			"  --active-tracking           only calculate the tiles that changed and their neighbours");
+	private Path input;
+	private Long soup;
+	private double density = 0.5;
+	private Rules rules;
+	private Boundary boundary;
+	private int rows;
+	private int columns;
+	private boolean unbounded;
+	private long jumpTo = -1;
+	private long generations = 1000;
+	private boolean untilCycle;
+	private Path output;
+	private long snapshotEvery;
+	private Path snapshotDirectory = Path.of("snapshots");
+	private double checkpointSeconds;
+	private Path checkpointDirectory = Path.of("checkpoints");
+	private int keepCheckpoints = CheckpointWriter.DEFAULT_KEEP_LAST;
+	private long reportEvery = 100;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private StepKernel kernel;
+	private boolean activeTracking;
+
+	/**
+	 * Creates a BatchRunner from command line arguments.
+	 * @param  args the arguments as described by USAGE
+	 * @exception IllegalArgumentException is thrown if the arguments are wrong.
+	 */
+	public BatchRunner(String[] args) {
+		for (int k = 0; k < args.length; k++) {
+			String arg = args[k];
+			if (arg.equals("--until-cycle")) {
+				untilCycle = true;
+				continue;
+			}
+			if (arg.equals("--unbounded")) {
+				unbounded = true;
+				continue;
+			}
+			if (arg.equals("--active-tracking")) {
+				activeTracking = true;
+				continue;
+			}
+			if (!arg.startsWith("--")) {
+				if (input != null) throw new IllegalArgumentException("more than one input file");
+				input = Path.of(arg);
+				continue;
+			}
+			if (k + 1 == args.length) throw new IllegalArgumentException("missing value of " + arg);
+			String value = args[++k];
+			try {
+				switch (arg) {
+					case "--rules": rules = Rules.of(value); break;
+					case "--soup": soup = Long.parseLong(value); break;
+					case "--density":
+						density = Double.parseDouble(value);
+						if (!(density >= 0 && density <= 1)) throw new IllegalArgumentException("density must be between 0 and 1");
+						break;
+					case "--boundary": boundary = Boundary.valueOf(value.toUpperCase(Locale.ROOT)); break;
+					case "--size":
+						String[] size = value.toLowerCase(Locale.ROOT).split("x");
+						if (size.length != 2) throw new IllegalArgumentException("size must be <rows>x<columns>");
+						rows = Integer.parseInt(size[0]);
+						columns = Integer.parseInt(size[1]);
+						if (rows < 1 || columns < 1) throw new IllegalArgumentException("size must be positive");
+						break;
+					case "--jump-to": jumpTo = parseCount(arg, value); break;
+					case "--generations": generations = parseCount(arg, value); break;
+					case "--output": output = Path.of(value); break;
+					case "--snapshot-every": snapshotEvery = parseCount(arg, value); break;
+					case "--snapshot-dir": snapshotDirectory = Path.of(value); break;
+					case "--checkpoint-seconds":
+						checkpointSeconds = Double.parseDouble(value);
+						if (!(checkpointSeconds > 0)) throw new IllegalArgumentException(arg + " must be positive");
+						break;
+					case "--checkpoint-dir": checkpointDirectory = Path.of(value); break;
+					case "--keep-checkpoints": keepCheckpoints = (int) Math.max(1, parseCount(arg, value)); break;
+					case "--report-every": reportEvery = parseCount(arg, value); break;
+					case "--threads": threads = (int) Math.max(1, parseCount(arg, value)); break;
+					case "--kernel": kernel = StepKernel.of(value); break;
+					default: throw new IllegalArgumentException("unknown option " + arg);
+				}
+			}
+			catch (NumberFormatException e) {
+				throw new IllegalArgumentException("not a number: " + value);
+			}
+		}
+		if (soup != null && input != null) throw new IllegalArgumentException("either an input file or a soup");
+		if (soup != null && rows == 0) throw new IllegalArgumentException("a soup needs a size");
+		if (soup == null && input == null) throw new IllegalArgumentException("no input file");
+		if (unbounded && boundary != null) throw new IllegalArgumentException("an unbounded universe has no boundary");
+		if (unbounded && rules != null && rules.isBorn(0)) throw new IllegalArgumentException("an unbounded universe does not support B0 rules");
+	}
+
+	private static long parseCount(String option, String value) {
+		long count = Long.parseLong(value);
+		if (count < 0) throw new IllegalArgumentException(option + " must not be negative");
+		return count;
+	}
+
+	/**
+	 * Runs the simulation described by the arguments.
+	 * @param  out the stream the population and the summary are printed to
+	 * @return the GridOfCells at the end of the run
+	 * @exception IOException is thrown if a file can not be read or written.
+	 * @exception IllegalArgumentException is thrown if the generation to jump to is before the generation of the input.
+	 */
+	public GridOfCells run(PrintStream out) throws IOException {
+		GridOfCells gridOfCells;
+		if (soup != null) {
+			gridOfCells = new GridOfCells(rows, columns);
+			gridOfCells.randomRepopulate(soup, density);
+		}
+		else {
+			gridOfCells = PatternFile.isPatternFile(input) ? PatternFile.read(input) : StateFile.read(input);
+			if (rows > 0) gridOfCells = center(gridOfCells, rows, columns);
+		}
+		if (unbounded) {
+			gridOfCells = new GridOfCells(gridOfCells.getEngine().snapshot(), gridOfCells.getRules(), Boundary.DEAD,
+					gridOfCells.getGeneration(), true);
+		}
+		if (rules != null) gridOfCells.setRules(rules);
+		if (boundary != null) gridOfCells.setBoundary(boundary);
+		gridOfCells.setActiveTracking(activeTracking);
+		SimulationEngine engine = gridOfCells.getEngine();
+		if (engine instanceof BitGridEngine) {
+			((BitGridEngine) engine).setParallelism(threads);
+			if (kernel != null) ((BitGridEngine) engine).setKernel(kernel);
+		}
+		if (snapshotEvery > 0) Files.createDirectories(snapshotDirectory);
+		long jumpNanos = 0;
+		if (jumpTo >= 0) {
+			long start = System.nanoTime();
+			gridOfCells.jumpToGeneration(jumpTo);
+			jumpNanos = System.nanoTime() - start;
+		}
+
+		long cells = (long) gridOfCells.getRows() * gridOfCells.getColumns();
+		long first = gridOfCells.getGeneration();
+		long last = first + generations;
+		if (reportEvery > 0) out.println("generation\tpopulation\tactiveTiles");
+		report(gridOfCells, out);
+		long calculated = 0;
+		long nanos = 0;
+		long activeTiles = 0;
+		CheckpointWriter checkpoints = null;
+		long checkpointNanos = (long) (checkpointSeconds * 1e9);
+		if (checkpointSeconds > 0) {
+			checkpoints = new CheckpointWriter(checkpointDirectory);
+			checkpoints.setRetention(keepCheckpoints, true);
+		}
+		long lastCheckpoint = System.nanoTime();
+		try {
+			while (gridOfCells.getGeneration() < last && !(untilCycle && gridOfCells.getCycle() != null)) {
+				long start = System.nanoTime();
+				gridOfCells.nextGeneration();
+				nanos += System.nanoTime() - start;
+				calculated++;
+				activeTiles += gridOfCells.getActiveTileCount();
+				report(gridOfCells, out);
+				long generation = gridOfCells.getGeneration();
+				if (snapshotEvery > 0 && (generation - first) % snapshotEvery == 0) {
+					write(gridOfCells, snapshotDirectory.resolve(snapshotName(generation)));
+				}
+				if (checkpoints != null && System.nanoTime() - lastCheckpoint >= checkpointNanos) {
+					lastCheckpoint = System.nanoTime();
+					checkpoints.checkpoint(CheckpointWriter.Checkpoint.of(gridOfCells));
+				}
+			}
+		}
+		finally {
+			// the checkpoint waiting is written before the run ends
+			if (checkpoints != null) checkpoints.close();
+		}
+		if (checkpoints != null && checkpoints.getLastError() != null) throw checkpoints.getLastError();
+		if (output != null) write(gridOfCells, output);
+
+		double seconds = nanos / 1e9;
+		if (jumpTo >= 0) out.printf(Locale.ROOT, "jumpSeconds=%.3f%n", jumpNanos / 1e9);
+		out.printf(Locale.ROOT, "generations=%d%n", calculated);
+		out.printf(Locale.ROOT, "seconds=%.3f%n", seconds);
+		out.printf(Locale.ROOT, "generationsPerSecond=%.1f%n", seconds > 0 ? calculated / seconds : 0.0);
+		out.printf(Locale.ROOT, "cellsPerSecond=%.4g%n", seconds > 0 ? calculated * cells / seconds : 0.0);
+		out.printf(Locale.ROOT, "finalGeneration=%d%n", gridOfCells.getGeneration());
+		out.printf(Locale.ROOT, "finalPopulation=%d%n", engine.getPopulation());
+		out.printf(Locale.ROOT, "meanActiveTiles=%.1f%n", calculated > 0 ? (double) activeTiles / calculated : 0.0);
+		Cycle cycle = gridOfCells.getCycle();
+		if (cycle != null) out.printf(Locale.ROOT, "cycle=%s%n", cycle);
+		return gridOfCells;
+	}
+
+	private void report(GridOfCells gridOfCells, PrintStream out) {
+		long generation = gridOfCells.getGeneration();
+		if (reportEvery == 0 || generation % reportEvery != 0) return;
+		out.println(generation + "\t" + gridOfCells.getEngine().getPopulation() + "\t" + gridOfCells.getActiveTileCount());
+	}
+
+	/**
+	 * Snapshots are named after the input or the seed of the soup and the generation
+	 * and have the extension of the output, .gol by default.
+	 */
+	private String snapshotName(long generation) {
+		String name = soup != null ? "soup-" + soup : input.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		if (soup == null && dot > 0) name = name.substring(0, dot);
+		String extension = StateFile.FILE_EXTENSION;
+		if (output != null && PatternFile.isPatternFile(output)) {
+			String outputName = output.getFileName().toString();
+			extension = outputName.substring(outputName.lastIndexOf('.'));
+		}
+		return name + "-" + generation + extension;
+	}
+
+	private static void write(GridOfCells gridOfCells, Path path) throws IOException {
+		if (PatternFile.isPatternFile(path)) PatternFile.write(gridOfCells, path);
+		else StateFile.write(gridOfCells, path);
+	}
+
+	/**
+	 * Copies the cells of a GridOfCells into the center of a new one of the given size, cutting off what does not fit.
+	 */
+	private static GridOfCells center(GridOfCells gridOfCells, int rows, int columns) {
+		BitGrid source = gridOfCells.getEngine().snapshot();
+		BitGrid state = new BitGrid(rows, columns);
+		int rowOffset = (rows - source.getRows()) / 2;
+		int columnOffset = (columns - source.getColumns()) / 2;
+		for (int i = Math.max(0, -rowOffset); i < source.getRows() && i + rowOffset < rows; i++) {
+			for (int j = Math.max(0, -columnOffset); j < source.getColumns() && j + columnOffset < columns; j++) {
+				if (source.isAlive(i, j)) state.setAlive(i + rowOffset, j + columnOffset, true);
+			}
+		}
+		return new GridOfCells(state, gridOfCells.getRules(), gridOfCells.getBoundary(), gridOfCells.getGeneration());
+	}
+
+	/**
+	 * Runs a simulation without a window.
+	 * @param  args the arguments as described by USAGE
+	 */
+	public static void main(String[] args) {
+		BatchRunner runner;
+		try {
+			runner = new BatchRunner(args);
+		}
+		catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+			return;
+		}
+		try {
+			runner.run(System.out);
+		}
+		catch (IOException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+		catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(2);
+		}
+		System.exit(0);
+	}
+}
@@ -0,0 +1,289 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+import java.util.Arrays;
+
+/**
+ * <h1>Bit Grid</h1>
+ * A BitGrid stores the status of a grid of cells bit-packed into longs.
+ * Each row is a bitboard of wordsPerRow words, one bit per cell, so 64 cells share one word.
+ * The rows are stored one after another in a single array.
+ * The cell in column j of a row is bit (j % 64) of word (j / 64) of that row.
+ * Bits beyond the last column of a row are always zero.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitKernel
+ * @see     GridOfCells
+ * @exception IllegalArgumentException
+ * @param   rows indicates the amount of rows in the grid
+ * @param   columns indicates the amount of columns in the grid
+ * @param   wordsPerRow indicates the amount of longs used for one row
+ * @param   words holds the bits of all rows
+ */
+public class BitGrid {
+	private final int rows;
+	private final int columns;
+	private final int wordsPerRow;
+	private final long[] words;
+
+	/**
+	 * Creates a new BitGrid with the given amount of rows and columns. All cells are dead.
+	 * @param  rows rows of the BitGrid
+	 * @param  columns columns of the BitGrid
+	 * @exception IllegalArgumentException is thrown if rows or columns is smaller than 1 or the words do not fit into an array.
+	 */
+	public BitGrid(int rows, int columns) {
+		if (rows < 1 || columns < 1) throw new IllegalArgumentException();
+		this.rows = rows;
+		this.columns = columns;
+		wordsPerRow = (columns + 63) >>> 6;
+		if ((long) rows * wordsPerRow > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("too large for a BitGrid");
+		words = new long[rows * wordsPerRow];
+	}
+
+	/**
+	 * Getter for rows.
+	 * @return the amount of rows in the BitGrid
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Getter for columns.
+	 * @return the amount of columns in the BitGrid
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Getter for wordsPerRow.
+	 * @return the amount of longs used for one row
+	 */
+	public int getWordsPerRow() {
+		return wordsPerRow;
+	}
+
+	/**
+	 * Getter for the backing array. Row i starts at index i * wordsPerRow.
+	 * @return the array holding the bits of all rows
+	 */
+	long[] getWords() {
+		return words;
+	}
+
+	/**
+	 * Mask of the bits of the last word of a row that belong to the grid.
+	 * @return a mask with one bit set for each used column of the last word
+	 */
+	public long getLastWordMask() {
+		int used = columns & 63;
+		return used == 0 ? -1L : (1L << used) - 1;
+	}
+
+	/**
+	 * Checks if the cell at a given position is alive.
+	 * A cell outside of the BitGrid is considered dead.
+	 * @param  i the row of the cell
+	 * @param  j the column of the cell
+	 * @return true if the cell is alive
+	 */
+	public boolean isAlive(int i, int j) {
+		if (0 <= i && i < rows && 0 <= j && j < columns) return (words[i * wordsPerRow + (j >>> 6)] & (1L << j)) != 0;
+		else return false;
+	}
+
+	/**
+	 * Sets the status of the cell at a given position.
+	 * @param  i the row of the cell
+	 * @param  j the column of the cell
+	 * @param  value the new status of the cell
+	 * @exception IndexOutOfBoundsException is thrown if the position is outside of the BitGrid.
+	 */
+	public void setAlive(int i, int j, boolean value) {
+		checkPosition(i, j);
+		int index = i * wordsPerRow + (j >>> 6);
+		if (value) words[index] |= 1L << j;
+		else words[index] &= ~(1L << j);
+	}
+
+	/**
+	 * Sets the status of the cells from (inclusive) to to (exclusive) of a row, a whole word at a time.
+	 * @param  i the row of the cells
+	 * @param  from the first column to set
+	 * @param  to the column after the last column to set
+	 * @param  value the new status of the cells
+	 * @exception IndexOutOfBoundsException is thrown if a position is outside of the BitGrid.
+	 */
+	public void setRange(int i, int from, int to, boolean value) {
+		if (from >= to) return;
+		checkPosition(i, from);
+		checkPosition(i, to - 1);
+		int offset = i * wordsPerRow;
+		int first = from >>> 6;
+		int last = (to - 1) >>> 6;
+		for (int k = first; k <= last; k++) {
+			long mask = -1L;
+			if (k == first) mask &= -1L << from;
+			if (k == last) mask &= -1L >>> (63 - ((to - 1) & 63));
+			if (value) words[offset + k] |= mask;
+			else words[offset + k] &= ~mask;
+		}
+	}
+
+	/**
+	 * Inverts the status of the cell at a given position.
+	 * @param  i the row of the cell
+	 * @param  j the column of the cell
+	 * @return the new status of the cell
+	 * @exception IndexOutOfBoundsException is thrown if the position is outside of the BitGrid.
+	 */
+	public boolean changeAlive(int i, int j) {
+		checkPosition(i, j);
+		int index = i * wordsPerRow + (j >>> 6);
+		words[index] ^= 1L << j;
+		return (words[index] & (1L << j)) != 0;
+	}
+
+	/**
+	 * Counts all cells that are alive.
+	 * @return the total amount of cells alive
+	 */
+	public long population() {
+		long count = 0;
+		for (long word : words) count += Long.bitCount(word);
+		return count;
+	}
+
+	/**
+	 * Calculates the smallest Region holding all cells alive.
+	 * @return the bounding box of the cells alive or null if no cell is alive
+	 */
+	public Region boundingBox() {
+		return boundingBox(new Region(0, 0, rows, columns));
+	}
+
+	/**
+	 * Calculates the smallest Region holding all cells alive within a given Region, cells outside of it are not looked at.
+	 * The search starts at the edges of the given Region, so only the words between them and the cells found are read.
+	 * @param  within the Region to search, inside of the BitGrid
+	 * @return the bounding box of the cells alive in within or null if none of them is alive
+	 */
+	Region boundingBox(Region within) {
+		int top = within.getTop();
+		int left = within.getLeft();
+		int bottom = within.getBottom() - 1;
+		int right = within.getRight() - 1;
+		while (top <= bottom && firstAlive(top, left, right) < 0) top++;
+		if (top > bottom) return null;
+		while (firstAlive(bottom, left, right) < 0) bottom--;
+		int first = firstAlive(top, left, right);
+		int last = lastAlive(top, left, right);
+		for (int i = top + 1; i <= bottom; i++) {
+			if (first > left) {
+				int j = firstAlive(i, left, first - 1);
+				if (j >= 0) first = j;
+			}
+			if (last < right) {
+				int j = lastAlive(i, last + 1, right);
+				if (j >= 0) last = j;
+			}
+		}
+		return new Region(top, first, bottom + 1, last + 1);
+	}
+
+	/**
+	 * Finds the first cell alive in the columns from to to (both inclusive) of a row.
+	 * @return the column of the cell, -1 if none is alive
+	 */
+	private int firstAlive(int i, int from, int to) {
+		int offset = i * wordsPerRow;
+		int first = from >>> 6;
+		int last = to >>> 6;
+		for (int k = first; k <= last; k++) {
+			long word = words[offset + k];
+			if (k == first) word &= -1L << from;
+			if (k == last) word &= -1L >>> (63 - (to & 63));
+			if (word != 0) return (k << 6) + Long.numberOfTrailingZeros(word);
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the last cell alive in the columns from to to (both inclusive) of a row.
+	 * @return the column of the cell, -1 if none is alive
+	 */
+	private int lastAlive(int i, int from, int to) {
+		int offset = i * wordsPerRow;
+		int first = from >>> 6;
+		int last = to >>> 6;
+		for (int k = last; k >= first; k--) {
+			long word = words[offset + k];
+			if (k == first) word &= -1L << from;
+			if (k == last) word &= -1L >>> (63 - (to & 63));
+			if (word != 0) return (k << 6) + 63 - Long.numberOfLeadingZeros(word);
+		}
+		return -1;
+	}
+
+	/**
+	 * Sets all cells to dead.
+	 */
+	public void clear() {
+		Arrays.fill(words, 0L);
+	}
+
+	/**
+	 * Inverts the status of all cells.
+	 */
+	public void invert() {
+		long lastWordMask = getLastWordMask();
+		for (int row = 0; row < rows; row++) {
+			int offset = row * wordsPerRow;
+			for (int k = 0; k < wordsPerRow; k++) words[offset + k] = ~words[offset + k];
+			words[offset + wordsPerRow - 1] &= lastWordMask;
+		}
+	}
+
+	/**
+	 * Copies the status of all cells of another BitGrid of the same size into this one.
+	 * @param  other the BitGrid to copy from
+	 * @exception IllegalArgumentException is thrown if the sizes differ.
+	 */
+	public void copyFrom(BitGrid other) {
+		if (other.rows != rows || other.columns != columns) throw new IllegalArgumentException();
+		System.arraycopy(other.words, 0, words, 0, words.length);
+	}
+
+	/**
+	 * Creates an independent copy of this BitGrid.
+	 * @return a new BitGrid with the same size and status
+	 */
+	public BitGrid copy() {
+		BitGrid copy = new BitGrid(rows, columns);
+		copy.copyFrom(this);
+		return copy;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof BitGrid)) return false;
+		BitGrid other = (BitGrid) o;
+		return rows == other.rows && columns == other.columns && Arrays.equals(words, other.words);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * rows + columns) + Arrays.hashCode(words);
+	}
+
+	private void checkPosition(int i, int j) {
+		if (i < 0 || i >= rows || j < 0 || j >= columns) throw new IndexOutOfBoundsException("(" + i + ", " + j + ")");
+	}
+}
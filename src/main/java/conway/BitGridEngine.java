@@ -0,0 +1,562 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <h1>Bit Grid Engine</h1>
+ * A SimulationEngine that holds its cells in two BitGrids and calculates generations with the BitKernel.
+ * The next generation is calculated into the second BitGrid, afterwards both are swapped.
+ * <p>
+ * With a parallelism above 1 the rows are split into bands that are calculated on a ForkJoinPool.
+ * All workers only read the current generation and each writes its own rows of the next one,
+ * so the rows at the border of a band need no special treatment and no worker waits for another.
+ * <p>
+ * With active tracking only the tiles that changed in the last generation and their neighbours are calculated.
+ * Every other tile is the same in both BitGrids already, so quiescent areas cost nothing.
+ * The words of the tiles that changed in the last step are handed out by getChangedWords, so a HistoryJournal
+ * records a step without comparing all words.
+ * <p>
+ * All Boundary modes are calculated by the same code, only the ghost cells around the grid differ.
+ * <p>
+ * Whole rows are calculated with the StepKernel of the engine, with VECTOR several words at once.
+ * Active tiles are only a word wide and always calculated with the SCALAR kernel.
+ * <p>
+ * The StateHash of the current generation is kept up to date from the words that changed in each step,
+ * and so are the population and the amount of cells born and died, so reading them takes constant time.
+ * The box around the cells alive is only widened by a cell on each side in a step in which cells were born
+ * and shrunk to the cells alive when it is asked for, so only the rows and words at its edges are searched.
+ * <p>
+ * A shared snapshot is the current BitGrid itself. It is copied on write: only if the engine would write into it
+ * before it was released, the engine takes a new BitGrid instead, so a snapshot costs nothing on the thread stepping
+ * as long as it is released within two steps. A BitGrid shared more than once is only written into again
+ * once every snapshot of it was released.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitGrid
+ * @see     BitKernel
+ * @see     Boundary
+ * @see     StepKernel
+ * @exception IllegalArgumentException
+ * @param   generation indicates how many steps of time have passed
+ * @param   rules the rules the next generation is calculated with, read once at the start of each step
+ * @param   boundary decides what the cells at the edges see beyond the edges, read once at the start of each step
+ * @param   current the status of the current generation
+ * @param   next the BitGrid the next generation is calculated into
+ * @param   shared the BitGrids of the engine given away by shareSnapshot, each with how often it was not released yet
+ * @param   kernel the StepKernel whole rows are calculated with, read once at the start of each step
+ * @param   parallelism indicates how many threads calculate a generation
+ * @param   pool the ForkJoinPool the bands are calculated on, null if parallelism is 1
+ * @param   tiles the ActiveTiles of the grid, null if active tracking is off
+ * @param   differences for each active tile a word that is not zero if the tile changed in the last step
+ * @param   changesKnown indicates if the tiles changed since the last step are only those changed by it
+ * @param   hash the StateHash of the current generation
+ * @param   population the amount of cells alive in the current generation
+ * @param   births the amount of cells born in the last step
+ * @param   deaths the amount of cells died in the last step
+ * @param   box a Region holding all cells alive, null if none is
+ * @param   boxExact indicates if box is the smallest such Region
+ * @param   BAND_ROWS indicates the amount of rows below which a band is not split any further
+ * @param   BAND_TILES indicates the amount of active tiles below which a list of tiles is not split any further
+ */
+public class BitGridEngine implements SimulationEngine {
+	private static final int BAND_ROWS = 32;
+	private static final int BAND_TILES = 16;
+	private long generation;
+	private volatile Rules rules;
+	private volatile Boundary boundary = Boundary.DEAD;
+	private BitGrid current;
+	private BitGrid next;
+	private final Map<BitGrid, Integer> shared = new IdentityHashMap<>();
+	private volatile StepKernel kernel = StepKernel.getDefault();
+	private int parallelism = 1;
+	private ForkJoinPool pool;
+	private ActiveTiles tiles;
+	private long[] differences;
+	private boolean changesKnown;
+	private long hash;
+	private long population;
+	private long births;
+	private long deaths;
+	private Region box;
+	private boolean boxExact = true;
+
+	/**
+	 * Creates a new engine at generation 0 with the given size and rules. All cells are dead.
+	 * @param  rows rows of the grid
+	 * @param  columns columns of the grid
+	 * @param  rules the rules the generations are calculated with
+	 * @exception IllegalArgumentException is thrown if rows or columns is smaller than 1.
+	 */
+	public BitGridEngine(int rows, int columns, Rules rules) {
+		current = new BitGrid(rows, columns);
+		next = new BitGrid(rows, columns);
+		setRules(rules);
+	}
+
+	@Override
+	public int getRows() {
+		return current.getRows();
+	}
+
+	@Override
+	public int getColumns() {
+		return current.getColumns();
+	}
+
+	@Override
+	public long getGeneration() {
+		return generation;
+	}
+
+	@Override
+	public void setGeneration(long generation) {
+		this.generation = generation;
+	}
+
+	@Override
+	public Rules getRules() {
+		return rules;
+	}
+
+	@Override
+	public void setRules(Rules rules) {
+		this.rules = rules;
+		if (tiles != null) tiles.markAllChanged();
+	}
+
+	@Override
+	public Boundary getBoundary() {
+		return boundary;
+	}
+
+	@Override
+	public void setBoundary(Boundary boundary) {
+		this.boundary = boundary;
+		if (tiles != null) {
+			tiles.setWrap(boundary == Boundary.TORUS);
+			tiles.markAllChanged();
+		}
+	}
+
+	@Override
+	public boolean isAlive(int i, int j) {
+		return current.isAlive(i, j);
+	}
+
+	@Override
+	public void setAlive(int i, int j, boolean value) {
+		unshareCurrent();
+		changesKnown = false;
+		int index = i * current.getWordsPerRow() + (j >>> 6);
+		long before = current.getWords()[index];
+		current.setAlive(i, j, value);
+		long after = current.getWords()[index];
+		if (before == after) return;
+		hash ^= StateHash.mix(index, before) ^ StateHash.mix(index, after);
+		if (tiles != null) tiles.markCellChanged(i, j);
+		if (value) {
+			population++;
+			if (box == null) box = new Region(i, j, i + 1, j + 1);
+			else box = new Region(Math.min(box.getTop(), i), Math.min(box.getLeft(), j),
+					Math.max(box.getBottom(), i + 1), Math.max(box.getRight(), j + 1));
+		}
+		else {
+			population--;
+			if (population == 0) box = null;
+			boxExact = box == null;
+		}
+	}
+
+	/**
+	 * Getter for kernel.
+	 * @return the StepKernel whole rows are calculated with
+	 */
+	public StepKernel getKernel() {
+		return kernel;
+	}
+
+	/**
+	 * Setter for kernel, taking effect with the next step. Both kernels give the same generations.
+	 * @param  kernel the StepKernel whole rows are to be calculated with
+	 * @exception IllegalArgumentException is thrown if the kernel is not available in this JVM.
+	 */
+	public void setKernel(StepKernel kernel) {
+		kernel.checkAvailable();
+		this.kernel = kernel;
+	}
+
+	/**
+	 * Getter for parallelism.
+	 * @return how many threads calculate a generation
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Setter for parallelism. With 1 the generations are calculated on the calling thread.
+	 * @param  threads how many threads calculate a generation
+	 * @exception IllegalArgumentException is thrown if threads is smaller than 1.
+	 */
+	public void setParallelism(int threads) {
+		if (threads < 1) throw new IllegalArgumentException();
+		if (pool != null) pool.shutdown();
+		pool = threads > 1 ? new ForkJoinPool(threads) : null;
+		parallelism = threads;
+	}
+
+	@Override
+	public void step() {
+		Rules stepRules = rules;
+		long[] masks = stepRules.getKernelMasks();
+		Boundary stepBoundary = boundary;
+		long[] delta = new long[BitKernel.DELTA_LENGTH];
+		if (isShared(next)) {
+			// inactive tiles are not written, so they have to be the same as in current already
+			next = tiles == null ? new BitGrid(getRows(), getColumns()) : current.copy();
+		}
+		if (tiles != null) stepActiveTiles(current, next, masks, stepBoundary, delta);
+		else stepInto(current, next, masks, stepBoundary, kernel, delta);
+		changesKnown = tiles != null;
+		BitGrid previous = current;
+		current = next;
+		next = previous;
+		generation++;
+		hash ^= delta[BitKernel.HASH];
+		births = delta[BitKernel.BIRTHS];
+		deaths = delta[BitKernel.DEATHS];
+		population += births - deaths;
+		if (population == 0) {
+			box = null;
+			boxExact = true;
+		}
+		else if (births > 0) growBox(stepRules.isBorn(0), stepBoundary);
+		else if (deaths > 0) boxExact = false;
+	}
+
+	/**
+	 * Widens the box around the cells alive by the cells that may have been born in the last step,
+	 * those next to a cell alive before. On a torus cells beyond an edge are born at the opposite edge,
+	 * with birth at 0 neighbours anywhere.
+	 */
+	private void growBox(boolean bornAlone, Boundary stepBoundary) {
+		int rows = getRows();
+		int columns = getColumns();
+		if (box == null || bornAlone) box = new Region(0, 0, rows, columns);
+		else {
+			int top = box.getTop() - 1, left = box.getLeft() - 1, bottom = box.getBottom() + 1, right = box.getRight() + 1;
+			boolean torus = stepBoundary == Boundary.TORUS;
+			if (top < 0 || bottom > rows) {
+				top = torus ? 0 : Math.max(0, top);
+				bottom = torus ? rows : Math.min(rows, bottom);
+			}
+			if (left < 0 || right > columns) {
+				left = torus ? 0 : Math.max(0, left);
+				right = torus ? columns : Math.min(columns, right);
+			}
+			box = new Region(top, left, bottom, right);
+		}
+		boxExact = false;
+	}
+
+	/**
+	 * Checks if active tracking is on.
+	 * @return true if only changed tiles and their neighbours are calculated
+	 */
+	public boolean isActiveTracking() {
+		return tiles != null;
+	}
+
+	/**
+	 * Turns active tracking on or off. When it is turned on, all tiles are calculated in the first step.
+	 * @param  activeTracking true if only changed tiles and their neighbours are to be calculated
+	 */
+	public void setActiveTracking(boolean activeTracking) {
+		if (activeTracking == isActiveTracking()) return;
+		if (activeTracking) {
+			tiles = new ActiveTiles(getRows(), current.getWordsPerRow());
+			tiles.setWrap(boundary == Boundary.TORUS);
+			differences = new long[tiles.getTileCount()];
+		}
+		else {
+			tiles = null;
+			differences = null;
+		}
+	}
+
+	/**
+	 * Getter for the words that changed in the last step, which are only known with active tracking.
+	 * @return the indices of the words of the tiles that changed into the words of the current BitGrid, each once,
+	 *         or null if they are not known, as active tracking is off or cells were changed after the last step
+	 */
+	public int[] getChangedWords() {
+		if (tiles == null || !changesKnown) return null;
+		int rows = getRows();
+		int wordsPerRow = current.getWordsPerRow();
+		int count = tiles.getChangedCount();
+		int[] indices = new int[count * ActiveTiles.TILE_ROWS];
+		int n = 0;
+		for (int c = 0; c < count; c++) {
+			int tile = tiles.getChangedTile(c);
+			int from = (tile / tiles.getTileColumns()) * ActiveTiles.TILE_ROWS;
+			int to = Math.min(rows, from + ActiveTiles.TILE_ROWS);
+			int word = tile % tiles.getTileColumns();
+			for (int i = from; i < to; i++) indices[n++] = i * wordsPerRow + word;
+		}
+		return n == indices.length ? indices : Arrays.copyOf(indices, n);
+	}
+
+	/**
+	 * Getter for the amount of tiles calculated in the last step.
+	 * @return the amount of active tiles, or the amount of all tiles if active tracking is off
+	 */
+	public int getActiveTileCount() {
+		if (tiles == null) return ((getRows() + ActiveTiles.TILE_ROWS - 1) / ActiveTiles.TILE_ROWS) * current.getWordsPerRow();
+		return tiles.getActiveCount();
+	}
+
+	/**
+	 * Calculates the next generation of src into dst, in parallel if parallelism is above 1.
+	 * The changes are added to delta.
+	 */
+	private void stepInto(BitGrid src, BitGrid dst, long[] masks, Boundary boundary, StepKernel kernel, long[] delta) {
+		if (pool == null) {
+			BitKernel.stepRows(src, dst, 0, src.getRows(), masks, boundary, delta, kernel);
+			return;
+		}
+		BandTask task = new BandTask(src, dst, 0, src.getRows(), masks, boundary, kernel);
+		pool.invoke(task);
+		BitKernel.addDelta(delta, task.delta);
+	}
+
+	/**
+	 * Calculates only the active tiles of the next generation of src into dst.
+	 * The changes are added to delta.
+	 */
+	private void stepActiveTiles(BitGrid src, BitGrid dst, long[] masks, Boundary boundary, long[] delta) {
+		int count = tiles.schedule();
+		if (pool == null) {
+			for (int a = 0; a < count; a++) differences[a] = stepTile(src, dst, tiles, tiles.getActiveTile(a), masks, boundary, delta);
+		}
+		else {
+			TileTask task = new TileTask(src, dst, tiles, differences, 0, count, masks, boundary);
+			pool.invoke(task);
+			BitKernel.addDelta(delta, task.delta);
+		}
+		tiles.finish(differences);
+	}
+
+	/**
+	 * Calculates one tile of the next generation of src into dst.
+	 * @return a word that is not zero if the tile changed
+	 */
+	private static long stepTile(BitGrid src, BitGrid dst, ActiveTiles tiles, int tile, long[] masks, Boundary boundary,
+			long[] delta) {
+		int from = (tile / tiles.getTileColumns()) * ActiveTiles.TILE_ROWS;
+		int to = Math.min(src.getRows(), from + ActiveTiles.TILE_ROWS);
+		int word = tile % tiles.getTileColumns();
+		return BitKernel.stepRegion(src, dst, from, to, word, word + 1, masks, boundary, delta);
+	}
+
+	/**
+	 * Checks if the parallel calculation with the StepKernel of the engine gives the same results
+	 * as the sequential one with the SCALAR kernel.
+	 * Both are run on copies of the current generation, the engine itself is not changed.
+	 * @param  generations the amount of generations to compare
+	 * @return true if all generations are equal
+	 */
+	public boolean matchesSequential(long generations) {
+		long[] masks = rules.getKernelMasks();
+		Boundary stepBoundary = boundary;
+		StepKernel stepKernel = kernel;
+		BitGrid sequential = current.copy();
+		BitGrid sequentialNext = new BitGrid(getRows(), getColumns());
+		BitGrid parallel = current.copy();
+		BitGrid parallelNext = new BitGrid(getRows(), getColumns());
+		for (long g = 0; g < generations; g++) {
+			BitKernel.stepRows(sequential, sequentialNext, 0, getRows(), masks, stepBoundary);
+			stepInto(parallel, parallelNext, masks, stepBoundary, stepKernel, new long[BitKernel.DELTA_LENGTH]);
+			if (!sequentialNext.equals(parallelNext)) return false;
+			BitGrid swap = sequential;
+			sequential = sequentialNext;
+			sequentialNext = swap;
+			swap = parallel;
+			parallel = parallelNext;
+			parallelNext = swap;
+		}
+		return true;
+	}
+
+	@Override
+	public long getPopulation() {
+		return population;
+	}
+
+	@Override
+	public long getBirths() {
+		return births;
+	}
+
+	@Override
+	public long getDeaths() {
+		return deaths;
+	}
+
+	@Override
+	public Region getBoundingBox() {
+		if (!boxExact) {
+			box = current.boundingBox(box);
+			boxExact = true;
+		}
+		return box;
+	}
+
+	@Override
+	public long getStateHash() {
+		return hash;
+	}
+
+	@Override
+	public long getStateBytes() {
+		// the current and the next generation
+		return 16L * current.getWords().length;
+	}
+
+	@Override
+	public BitGrid snapshot() {
+		return current.copy();
+	}
+
+	@Override
+	public BitGrid shareSnapshot() {
+		synchronized (shared) {
+			shared.merge(current, 1, Integer::sum);
+		}
+		return current;
+	}
+
+	@Override
+	public void release(BitGrid state) {
+		synchronized (shared) {
+			shared.computeIfPresent(state, (grid, count) -> count > 1 ? count - 1 : null);
+		}
+	}
+
+	/**
+	 * Checks if a BitGrid was given away by shareSnapshot and not released as often as it was given away.
+	 */
+	private boolean isShared(BitGrid state) {
+		synchronized (shared) {
+			return shared.containsKey(state);
+		}
+	}
+
+	/**
+	 * Takes a copy of the current BitGrid before it is changed if it was shared.
+	 */
+	private void unshareCurrent() {
+		if (isShared(current)) current = current.copy();
+	}
+
+	@Override
+	public void restore(BitGrid state) {
+		unshareCurrent();
+		current.copyFrom(state);
+		hash = StateHash.of(current);
+		population = current.population();
+		births = 0;
+		deaths = 0;
+		box = population == 0 ? null : new Region(0, 0, getRows(), getColumns());
+		boxExact = population == 0;
+		if (tiles != null) tiles.markAllChanged();
+	}
+
+	/**
+	 * Calculates a band of rows, splitting it in halves while it is larger than BAND_ROWS.
+	 */
+	@SuppressWarnings("serial")
+	private static class BandTask extends RecursiveAction {
+		private final BitGrid src;
+		private final BitGrid dst;
+		private final int from;
+		private final int to;
+		private final long[] masks;
+		private final Boundary boundary;
+		private final StepKernel kernel;
+		private final long[] delta = new long[BitKernel.DELTA_LENGTH];
+
+		BandTask(BitGrid src, BitGrid dst, int from, int to, long[] masks, Boundary boundary, StepKernel kernel) {
+			this.src = src;
+			this.dst = dst;
+			this.from = from;
+			this.to = to;
+			this.masks = masks;
+			this.boundary = boundary;
+			this.kernel = kernel;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= BAND_ROWS) {
+				BitKernel.stepRows(src, dst, from, to, masks, boundary, delta, kernel);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			BandTask upper = new BandTask(src, dst, from, middle, masks, boundary, kernel);
+			BandTask lower = new BandTask(src, dst, middle, to, masks, boundary, kernel);
+			invokeAll(upper, lower);
+			BitKernel.addDelta(delta, upper.delta);
+			BitKernel.addDelta(delta, lower.delta);
+		}
+	}
+
+	/**
+	 * Calculates a part of the list of active tiles, splitting it in halves while it is larger than BAND_TILES.
+	 */
+	@SuppressWarnings("serial")
+	private static class TileTask extends RecursiveAction {
+		private final BitGrid src;
+		private final BitGrid dst;
+		private final ActiveTiles tiles;
+		private final long[] differences;
+		private final int from;
+		private final int to;
+		private final long[] masks;
+		private final Boundary boundary;
+		private final long[] delta = new long[BitKernel.DELTA_LENGTH];
+
+		TileTask(BitGrid src, BitGrid dst, ActiveTiles tiles, long[] differences, int from, int to, long[] masks, Boundary boundary) {
+			this.src = src;
+			this.dst = dst;
+			this.tiles = tiles;
+			this.differences = differences;
+			this.from = from;
+			this.to = to;
+			this.masks = masks;
+			this.boundary = boundary;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= BAND_TILES) {
+				for (int a = from; a < to; a++) differences[a] = stepTile(src, dst, tiles, tiles.getActiveTile(a), masks, boundary, delta);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			TileTask first = new TileTask(src, dst, tiles, differences, from, middle, masks, boundary);
+			TileTask second = new TileTask(src, dst, tiles, differences, middle, to, masks, boundary);
+			invokeAll(first, second);
+			BitKernel.addDelta(delta, first.delta);
+			BitKernel.addDelta(delta, second.delta);
+		}
+	}
+}
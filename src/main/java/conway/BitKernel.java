@@ -0,0 +1,315 @@
+package conway;
+
+import java.util.Arrays;
+
+/**
+ * <h1>Bit Kernel</h1>
+ * Calculates the next generation of a BitGrid with bitwise adder logic.
+ * The eight neighbours of 64 cells are added at once by full adders on whole words,
+ * which gives the amount of living neighbours as four bit planes.
+ * The Rules are then applied to these bit planes, so no cell is looked at on its own.
+ * What the cells at the edges see beyond the edges is decided by a Boundary.
+ * <p>
+ * Rows that changed are compared word by word with the generation before, which gives the change of the StateHash
+ * and the amount of cells born and died. An engine adds them up in a delta array indexed by HASH, BIRTHS and DEATHS,
+ * so it knows its population without counting the cells.
+ * <p>
+ * The words of a row are calculated by stepRow, or by the VectorKernel if the StepKernel VECTOR is chosen,
+ * which runs the same logic on several words at once. Both write the same words.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitGrid
+ * @see     Rules
+ * @see     Boundary
+ * @see     StepKernel
+ * @param   HASH the index of the change of the StateHash in a delta array
+ * @param   BIRTHS the index of the amount of cells born in a delta array
+ * @param   DEATHS the index of the amount of cells died in a delta array
+ * @param   DELTA_LENGTH the length of a delta array holding all of them
+ */
+public final class BitKernel {
+	public static final int HASH = 0;
+	public static final int BIRTHS = 1;
+	public static final int DEATHS = 2;
+	public static final int DELTA_LENGTH = 3;
+
+	private BitKernel() {
+	}
+
+	/**
+	 * Calculates the next generation of src and writes it into dst. Cells outside of the grid are dead.
+	 * @param  src the current generation
+	 * @param  dst the BitGrid the next generation is written into, of the same size as src
+	 * @param  rules the rules to apply
+	 */
+	public static void step(BitGrid src, BitGrid dst, Rules rules) {
+		stepRows(src, dst, 0, src.getRows(), rules.getKernelMasks(), Boundary.DEAD);
+	}
+
+	/**
+	 * Calculates the rows from (inclusive) to to (exclusive) of the next generation of src and writes them into dst.
+	 * Only src is read and only the given rows of dst are written.
+	 * @param  src the current generation
+	 * @param  dst the BitGrid the next generation is written into, of the same size as src
+	 * @param  from the first row to calculate
+	 * @param  to the row after the last row to calculate
+	 * @param  masks the masks returned by Rules.getKernelMasks
+	 * @param  boundary decides what the cells at the edges see beyond the edges
+	 * @return the value to XOR into the StateHash of src to get the one of dst, looking at the given rows only
+	 */
+	public static long stepRows(BitGrid src, BitGrid dst, int from, int to, long[] masks, Boundary boundary) {
+		long[] hashDelta = new long[1];
+		stepRegion(src, dst, from, to, 0, src.getWordsPerRow(), masks, boundary, hashDelta);
+		return hashDelta[HASH];
+	}
+
+	/**
+	 * Calculates the rows from (inclusive) to to (exclusive) of the next generation of src and writes them into dst,
+	 * adding the changes of the given rows to a delta array.
+	 * @param  src the current generation
+	 * @param  dst the BitGrid the next generation is written into, of the same size as src
+	 * @param  from the first row to calculate
+	 * @param  to the row after the last row to calculate
+	 * @param  masks the masks returned by Rules.getKernelMasks
+	 * @param  boundary decides what the cells at the edges see beyond the edges
+	 * @param  delta the delta array the changes are added to, see stepRegion
+	 */
+	public static void stepRows(BitGrid src, BitGrid dst, int from, int to, long[] masks, Boundary boundary, long[] delta) {
+		stepRegion(src, dst, from, to, 0, src.getWordsPerRow(), masks, boundary, delta, StepKernel.SCALAR);
+	}
+
+	/**
+	 * Calculates the rows from (inclusive) to to (exclusive) of the next generation of src and writes them into dst
+	 * with the given StepKernel, adding the changes of the given rows to a delta array.
+	 * @param  src the current generation
+	 * @param  dst the BitGrid the next generation is written into, of the same size as src
+	 * @param  from the first row to calculate
+	 * @param  to the row after the last row to calculate
+	 * @param  masks the masks returned by Rules.getKernelMasks
+	 * @param  boundary decides what the cells at the edges see beyond the edges
+	 * @param  delta the delta array the changes are added to, see stepRegion
+	 * @param  kernel the StepKernel calculating the words, has to be available
+	 */
+	public static void stepRows(BitGrid src, BitGrid dst, int from, int to, long[] masks, Boundary boundary, long[] delta,
+			StepKernel kernel) {
+		stepRegion(src, dst, from, to, 0, src.getWordsPerRow(), masks, boundary, delta, kernel);
+	}
+
+	/**
+	 * Adds the changes of one delta array to another, for example of two bands calculated in parallel.
+	 * @param  into the delta array added to
+	 * @param  from the delta array added, of length DELTA_LENGTH
+	 */
+	public static void addDelta(long[] into, long[] from) {
+		into[HASH] ^= from[HASH];
+		into[BIRTHS] += from[BIRTHS];
+		into[DEATHS] += from[DEATHS];
+	}
+
+	/**
+	 * Calculates the words firstWord (inclusive) to lastWord (exclusive) of the rows from (inclusive) to to (exclusive)
+	 * of the next generation of src and writes them into dst.
+	 * Only src is read and only the given words of dst are written.
+	 * <p>
+	 * The rows are copied one at a time into halo rows that hold the words needed and a ghost word on each side,
+	 * the row above the first row and below the last row are ghost rows.
+	 * Only the ghosts depend on the Boundary, the calculation of the words is the same for all of them.
+	 * The words of a row are only compared for the StateHash if any of them changed.
+	 * @param  src the current generation
+	 * @param  dst the BitGrid the next generation is written into, of the same size as src
+	 * @param  from the first row to calculate
+	 * @param  to the row after the last row to calculate
+	 * @param  firstWord the first word of each row to calculate
+	 * @param  lastWord the word after the last word of each row to calculate
+	 * @param  masks the masks returned by Rules.getKernelMasks
+	 * @param  boundary decides what the cells at the edges see beyond the edges
+	 * @param  delta the change of the StateHash is XORed into delta[HASH], if the array is DELTA_LENGTH long
+	 *         the amount of cells born and died are added to delta[BIRTHS] and delta[DEATHS], may be null
+	 * @return a word with a bit set for each bit position at which any calculated word differs from src
+	 */
+	public static long stepRegion(BitGrid src, BitGrid dst, int from, int to, int firstWord, int lastWord,
+			long[] masks, Boundary boundary, long[] delta) {
+		return stepRegion(src, dst, from, to, firstWord, lastWord, masks, boundary, delta, StepKernel.SCALAR);
+	}
+
+	/**
+	 * Calculates the words firstWord (inclusive) to lastWord (exclusive) of the rows from (inclusive) to to (exclusive)
+	 * of the next generation of src with the given StepKernel and writes them into dst, see stepRegion above.
+	 * The VectorKernel is only loaded if VECTOR is given.
+	 * @param  src the current generation
+	 * @param  dst the BitGrid the next generation is written into, of the same size as src
+	 * @param  from the first row to calculate
+	 * @param  to the row after the last row to calculate
+	 * @param  firstWord the first word of each row to calculate
+	 * @param  lastWord the word after the last word of each row to calculate
+	 * @param  masks the masks returned by Rules.getKernelMasks
+	 * @param  boundary decides what the cells at the edges see beyond the edges
+	 * @param  delta the delta array the changes are added to, may be null
+	 * @param  kernel the StepKernel calculating the words, has to be available
+	 * @return a word with a bit set for each bit position at which any calculated word differs from src
+	 */
+	public static long stepRegion(BitGrid src, BitGrid dst, int from, int to, int firstWord, int lastWord,
+			long[] masks, Boundary boundary, long[] delta, StepKernel kernel) {
+		boolean vector = kernel == StepKernel.VECTOR;
+		int words = src.getWordsPerRow();
+		int low = Math.max(0, firstWord - 1);
+		int high = Math.min(words, lastWord + 1);
+		long[] up = new long[high - low + 2];
+		long[] mid = new long[high - low + 2];
+		long[] down = new long[high - low + 2];
+		fillHalo(src, from - 1, low, high, boundary, up);
+		fillHalo(src, from, low, high, boundary, mid);
+		long[] s = src.getWords();
+		long[] d = dst.getWords();
+		long lastWordMask = src.getLastWordMask();
+		int offset = 1 - low;
+		long changed = 0;
+		for (int i = from; i < to; i++) {
+			fillHalo(src, i + 1, low, high, boundary, down);
+			long rowChanged = vector
+					? VectorKernel.stepRow(up, offset, mid, offset, down, offset, d, i * words, words, firstWord, lastWord, lastWordMask, masks)
+					: stepRow(up, offset, mid, offset, down, offset, d, i * words, words, firstWord, lastWord, lastWordMask, masks);
+			if (rowChanged != 0 && delta != null) {
+				delta[HASH] ^= StateHash.delta(s, d, i * words + firstWord, i * words + lastWord);
+				if (delta.length == DELTA_LENGTH) countChanges(s, d, i * words + firstWord, i * words + lastWord, delta);
+			}
+			changed |= rowChanged;
+			long[] spare = up;
+			up = mid;
+			mid = down;
+			down = spare;
+		}
+		return changed;
+	}
+
+	/**
+	 * Adds the amount of cells born and died between the words from (inclusive) to to (exclusive) of before and after.
+	 */
+	private static void countChanges(long[] before, long[] after, int from, int to, long[] delta) {
+		long births = 0;
+		long deaths = 0;
+		for (int k = from; k < to; k++) {
+			long changed = before[k] ^ after[k];
+			if (changed == 0) continue;
+			births += Long.bitCount(changed & after[k]);
+			deaths += Long.bitCount(changed & before[k]);
+		}
+		delta[BIRTHS] += births;
+		delta[DEATHS] += deaths;
+	}
+
+	/**
+	 * Copies the words low (inclusive) to high (exclusive) of a row into halo, starting at position 1.
+	 * Position 0 and the bit after the last column receive the ghost cells to the west and east of the row
+	 * if the copied words reach the edge. A row outside of the grid is the row the Boundary maps it to.
+	 */
+	static void fillHalo(BitGrid src, int row, int low, int high, Boundary boundary, long[] halo) {
+		int i = boundary.map(row, src.getRows());
+		if (i < 0) {
+			Arrays.fill(halo, 0L);
+			return;
+		}
+		long[] s = src.getWords();
+		int words = src.getWordsPerRow();
+		int columns = src.getColumns();
+		System.arraycopy(s, i * words + low, halo, 1, high - low);
+		halo[0] = 0;
+		halo[high - low + 1] = 0;
+		if (low == 0) {
+			int j = boundary.map(-1, columns);
+			if (j >= 0) halo[0] = ((s[i * words + (j >>> 6)] >>> j) & 1L) << 63;
+		}
+		if (high == words) {
+			int j = boundary.map(columns, columns);
+			if (j >= 0) halo[1 + (columns >>> 6) - low] |= ((s[i * words + (j >>> 6)] >>> j) & 1L) << columns;
+		}
+	}
+
+	/**
+	 * Sets the ghost cells to the west and east of a whole row that was copied into halo from position 1 on,
+	 * like fillHalo does for rows at the edges. Position 0 and the word after the row have to be 0.
+	 */
+	static void fillGhostColumns(long[] halo, int columns, Boundary boundary) {
+		int j = boundary.map(-1, columns);
+		if (j >= 0) halo[0] = ((halo[1 + (j >>> 6)] >>> j) & 1L) << 63;
+		j = boundary.map(columns, columns);
+		if (j >= 0) halo[1 + (columns >>> 6)] |= ((halo[1 + (j >>> 6)] >>> j) & 1L) << columns;
+	}
+
+	/**
+	 * Calculates the words firstWord to lastWord of one row of the next generation
+	 * from the rows above, at and below it. The last word of the row is masked with lastWordMask.
+	 * The word before firstWord and the word after lastWord - 1 of each input row are read as well,
+	 * so the rows have to be surrounded by ghost words. No word is checked for lying at the edge.
+	 * @return a word with a bit set for each bit position at which any calculated word differs from mid
+	 */
+	static long stepRow(long[] up, int upOffset, long[] mid, int midOffset, long[] down, int downOffset,
+			long[] out, int outOffset, int words, int firstWord, int lastWord, long lastWordMask, long[] masks) {
+		long s0 = masks[0], s1 = masks[1], s2 = masks[2], s3 = masks[3], s4 = masks[4],
+				s5 = masks[5], s6 = masks[6], s7 = masks[7], s8 = masks[8];
+		long b0 = masks[9], b1 = masks[10], b2 = masks[11], b3 = masks[12], b4 = masks[13],
+				b5 = masks[14], b6 = masks[15], b7 = masks[16], b8 = masks[17];
+		long upPrev = up[upOffset + firstWord - 1];
+		long midPrev = mid[midOffset + firstWord - 1];
+		long downPrev = down[downOffset + firstWord - 1];
+		long upCur = up[upOffset + firstWord], midCur = mid[midOffset + firstWord], downCur = down[downOffset + firstWord];
+		long changed = 0;
+		for (int k = firstWord; k < lastWord; k++) {
+			long upNext = up[upOffset + k + 1];
+			long midNext = mid[midOffset + k + 1];
+			long downNext = down[downOffset + k + 1];
+			// neighbours to the west are shifted towards higher bits, those to the east towards lower bits
+			long uw = (upCur << 1) | (upPrev >>> 63);
+			long ue = (upCur >>> 1) | (upNext << 63);
+			long mw = (midCur << 1) | (midPrev >>> 63);
+			long me = (midCur >>> 1) | (midNext << 63);
+			long dw = (downCur << 1) | (downPrev >>> 63);
+			long de = (downCur >>> 1) | (downNext << 63);
+
+			// two bit sums of the row above, the row below and the two horizontal neighbours
+			long ua = uw ^ upCur ^ ue;
+			long uc = (uw & upCur) | (ue & (uw ^ upCur));
+			long da = dw ^ downCur ^ de;
+			long dc = (dw & downCur) | (de & (dw ^ downCur));
+			long ma = mw ^ me;
+			long mc = mw & me;
+
+			// adding the three two bit sums gives the amount of neighbours in the bit planes n0 to n3
+			long n0 = ua ^ da ^ ma;
+			long c0 = (ua & da) | (ma & (ua ^ da));
+			long x = uc ^ dc ^ mc;
+			long y = (uc & dc) | (mc & (uc ^ dc));
+			long n1 = x ^ c0;
+			long c1 = x & c0;
+			long n2 = y ^ c1;
+			long n3 = y & c1;
+
+			// one mask per amount of neighbours, eight neighbours are the only case with n3 set
+			long z0 = ~n0, z1 = ~n1, z2 = ~n2 & ~n3;
+			long t00 = z1 & z0, t01 = z1 & n0, t10 = n1 & z0, t11 = n1 & n0;
+			long e0 = z2 & t00, e1 = z2 & t01, e2 = z2 & t10, e3 = z2 & t11;
+			long e4 = n2 & t00, e5 = n2 & t01, e6 = n2 & t10, e7 = n2 & t11;
+			long survives = (e0 & s0) | (e1 & s1) | (e2 & s2) | (e3 & s3) | (e4 & s4)
+					| (e5 & s5) | (e6 & s6) | (e7 & s7) | (n3 & s8);
+			long born = (e0 & b0) | (e1 & b1) | (e2 & b2) | (e3 & b3) | (e4 & b4)
+					| (e5 & b5) | (e6 & b6) | (e7 & b7) | (n3 & b8);
+			// the bits after the last column of the last word may hold a ghost cell and are cleared
+			long keep = k == words - 1 ? lastWordMask : -1L;
+			long result = ((midCur & survives) | (~midCur & born)) & keep;
+			out[outOffset + k] = result;
+			changed |= result ^ (midCur & keep);
+
+			upPrev = upCur;
+			midPrev = midCur;
+			downPrev = downCur;
+			upCur = upNext;
+			midCur = midNext;
+			downCur = downNext;
+		}
+		return changed;
+	}
+}
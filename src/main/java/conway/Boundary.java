@@ -0,0 +1,39 @@
+package conway;
+
+/**
+ * <h1>Boundary</h1>
+ * Decides what a cell at the edge of a grid sees beyond the edge.
+ * The BitKernel surrounds each row with a halo of ghost cells that are filled according to the Boundary
+ * before the row is calculated, so the calculation itself never checks where a cell is.
+ * <ul>
+ * <li>DEAD: cells outside of the grid are dead.</li>
+ * <li>TORUS: the grid wraps around, the row above the first row is the last row and so on.</li>
+ * <li>MIRROR: the grid is reflected at its edges, a ghost cell has the status of the edge cell next to it.</li>
+ * </ul>
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitKernel
+ * @see     SimulationEngine
+ */
+public enum Boundary {
+	DEAD, TORUS, MIRROR;
+
+	/**
+	 * Maps a row or column that may lie outside of the grid to the row or column whose status it has.
+	 * @param  index the row or column, at most one cell outside of the grid
+	 * @param  size the amount of rows or columns of the grid
+	 * @return the row or column inside of the grid, or -1 if the cell is dead
+	 */
+	public int map(int index, int size) {
+		if (index >= 0 && index < size) return index;
+		switch (this) {
+			case TORUS: return index < 0 ? index + size : index - size;
+			case MIRROR: return index < 0 ? 0 : size - 1;
+			default: return -1;
+		}
+	}
+}
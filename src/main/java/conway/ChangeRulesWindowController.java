@@ -64,8 +64,8 @@ public class ChangeRulesWindowController {
 						checkBoxBornAt6.selectedProperty().get(),
 						checkBoxBornAt7.selectedProperty().get(),
 						checkBoxBornAt8.selectedProperty().get()};
-		Rules newRules = new Rules(newSurvivesAt, newBornAt);
-		Main.getMainWindowController().getGridOfCells().setRules(newRules);
+		Rules newRules = Rules.of(newSurvivesAt, newBornAt);
+		Main.getMainWindowController().setRules(newRules);
 		Stage stage = (Stage) applyRulesButton.getScene().getWindow();
 		stage.close();
 	}
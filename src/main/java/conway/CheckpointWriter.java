@@ -0,0 +1,356 @@
+package conway;
+
+import java.io.IOException;
+import java.lang.IllegalArgumentException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <h1>Checkpoint Writer</h1>
+ * Writes StateFiles on a thread of its own, so the simulation goes on while a file is written.
+ * The status of the cells is handed over as a Checkpoint holding a snapshot shared by the engine,
+ * which the engine only copies if it would write into it before the file is written, see SimulationEngine.shareSnapshot.
+ * <p>
+ * Every file is written into a temporary file next to it, forced to the disk and then renamed,
+ * so a file is either complete or not there at all, also if the program is killed while writing.
+ * <p>
+ * Periodic checkpoints are written into the directory as checkpoint-&lt;generation&gt;.gol. If the writer is still busy
+ * when the next one comes, the one waiting is replaced, so a slow disk drops checkpoints but never holds up the simulation.
+ * After each checkpoint the older ones are thinned out: the newest keepLast are kept, and if thinOlder is set,
+ * of the older ones the oldest in each span of generations of a power of two back from the newest, so there are
+ * checkpoints far back with gaps growing the further back they are. Without thinOlder the older ones are deleted.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     StateFile
+ * @see     SimulationRunner
+ * @exception IllegalArgumentException
+ * @exception IOException
+ * @param   PREFIX the start of the names of periodic checkpoints
+ * @param   DEFAULT_KEEP_LAST the amount of newest checkpoints kept by default
+ * @param   NAME matches the names of periodic checkpoints
+ * @param   directory the directory periodic checkpoints are written to
+ * @param   executor the thread writing the files
+ * @param   pending the periodic checkpoint waiting to be written, null if none
+ * @param   keepLast the amount of newest checkpoints kept
+ * @param   thinOlder indicates if older checkpoints are thinned out instead of deleted
+ * @param   lastError the error of the last periodic checkpoint that failed, null if none failed
+ */
+public class CheckpointWriter implements AutoCloseable {
+	public static final String PREFIX = "checkpoint-";
+	public static final int DEFAULT_KEEP_LAST = 5;
+	private static final Pattern NAME = Pattern.compile(Pattern.quote(PREFIX) + "(\\d+)" + Pattern.quote(StateFile.FILE_EXTENSION));
+	private final Path directory;
+	private final ExecutorService executor;
+	private final AtomicReference<Checkpoint> pending = new AtomicReference<>();
+	private volatile int keepLast = DEFAULT_KEEP_LAST;
+	private volatile boolean thinOlder = true;
+	private volatile IOException lastError;
+
+	/**
+	 * Creates a writer and starts its thread. The directory is created with the first periodic checkpoint.
+	 * @param  directory the directory periodic checkpoints are written to
+	 */
+	public CheckpointWriter(Path directory) {
+		this.directory = directory;
+		executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "checkpoint");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Getter for directory.
+	 * @return the directory periodic checkpoints are written to
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Sets how many checkpoints are kept.
+	 * @param  keepLast the amount of newest checkpoints kept
+	 * @param  thinOlder true to keep some older checkpoints with gaps growing the further back they are,
+	 *         false to delete all older ones
+	 * @exception IllegalArgumentException is thrown if keepLast is smaller than 1.
+	 */
+	public void setRetention(int keepLast, boolean thinOlder) {
+		if (keepLast < 1) throw new IllegalArgumentException("at least one checkpoint has to be kept");
+		this.keepLast = keepLast;
+		this.thinOlder = thinOlder;
+	}
+
+	/**
+	 * Getter for lastError.
+	 * @return the error of the last periodic checkpoint that could not be written, null if none failed
+	 */
+	public IOException getLastError() {
+		return lastError;
+	}
+
+	/**
+	 * Writes a periodic checkpoint into the directory and thins out the older ones. Replaces a checkpoint
+	 * still waiting to be written, which is released without being written. Returns immediately.
+	 * @param  checkpoint the checkpoint to write, released once it is written
+	 */
+	public void checkpoint(Checkpoint checkpoint) {
+		Checkpoint replaced = pending.getAndSet(checkpoint);
+		if (replaced != null) {
+			replaced.release();
+			return;
+		}
+		try {
+			executor.execute(this::writePending);
+		}
+		catch (RejectedExecutionException e) {
+			if (pending.compareAndSet(checkpoint, null)) checkpoint.release();
+		}
+	}
+
+	/**
+	 * Writes a checkpoint into a file, replacing the file if it exists. Returns immediately.
+	 * @param  checkpoint the checkpoint to write, released once it is written
+	 * @param  path the file to write
+	 * @return completes with path once the file is written or with the IOException if it could not be written
+	 */
+	public CompletableFuture<Path> write(Checkpoint checkpoint, Path path) {
+		return submit(path, temporary -> StateFile.write(checkpoint.getState(), checkpoint.getRules(),
+				checkpoint.getBoundary(), checkpoint.getGeneration(), temporary), checkpoint::release);
+	}
+
+	/**
+	 * Writes a text into a file as UTF-8, replacing the file if it exists. Returns immediately.
+	 * @param  text the text to write
+	 * @param  path the file to write
+	 * @return completes with path once the file is written or with the IOException if it could not be written
+	 */
+	public CompletableFuture<Path> writeText(String text, Path path) {
+		return submit(path, temporary -> Files.writeString(temporary, text), () -> {});
+	}
+
+	/**
+	 * Writes the files waiting and ends the thread.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (executor.awaitTermination(1, TimeUnit.MINUTES)) break;
+			}
+			catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) Thread.currentThread().interrupt();
+	}
+
+	private CompletableFuture<Path> submit(Path path, Output output, Runnable release) {
+		CompletableFuture<Path> written = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				try {
+					writeAtomically(path, output);
+					written.complete(path);
+				}
+				catch (IOException | RuntimeException e) {
+					written.completeExceptionally(e);
+				}
+				finally {
+					release.run();
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			release.run();
+			written.completeExceptionally(e);
+		}
+		return written;
+	}
+
+	/**
+	 * Writes the periodic checkpoint waiting, if it was not taken by an earlier call.
+	 */
+	private void writePending() {
+		Checkpoint checkpoint = pending.getAndSet(null);
+		if (checkpoint == null) return;
+		try {
+			Files.createDirectories(directory);
+			Path path = directory.resolve(PREFIX + checkpoint.getGeneration() + StateFile.FILE_EXTENSION);
+			writeAtomically(path, temporary -> StateFile.write(checkpoint.getState(), checkpoint.getRules(),
+					checkpoint.getBoundary(), checkpoint.getGeneration(), temporary));
+			thin();
+		}
+		catch (IOException e) {
+			if (lastError == null) System.err.println("checkpoint failed: " + e);
+			lastError = e;
+		}
+		finally {
+			checkpoint.release();
+		}
+	}
+
+	/**
+	 * Deletes the periodic checkpoints not kept, see the description of the class.
+	 */
+	private void thin() throws IOException {
+		List<Long> generations = new ArrayList<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for (Path file : files) {
+				Matcher matcher = NAME.matcher(file.getFileName().toString());
+				if (matcher.matches()) generations.add(Long.parseLong(matcher.group(1)));
+			}
+		}
+		Collections.sort(generations, Collections.reverseOrder());
+		if (generations.size() <= keepLast) return;
+		long newest = generations.get(0);
+		Set<Integer> spans = new HashSet<>();
+		// from the oldest on, so the oldest checkpoint of each span is kept
+		for (int k = generations.size() - 1; k >= keepLast; k--) {
+			long generation = generations.get(k);
+			int span = 63 - Long.numberOfLeadingZeros(newest - generation);
+			if (thinOlder && spans.add(span)) continue;
+			Files.deleteIfExists(directory.resolve(PREFIX + generation + StateFile.FILE_EXTENSION));
+		}
+	}
+
+	/**
+	 * Writes a file through a temporary file that is renamed once it is on the disk.
+	 */
+	private static void writeAtomically(Path path, Output output) throws IOException {
+		Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		try {
+			output.write(temporary);
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+				channel.force(true);
+			}
+			Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temporary);
+			throw e;
+		}
+		// the rename is only durable once the directory is on the disk, which not every system allows to force
+		try (FileChannel channel = FileChannel.open(path.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+			channel.force(true);
+		}
+		catch (IOException e) {
+		}
+	}
+
+	/**
+	 * Writes the content of a file.
+	 */
+	private interface Output {
+		void write(Path path) throws IOException;
+	}
+
+	/**
+	 * <h1>Checkpoint</h1>
+	 * A generation to be written by a CheckpointWriter. The BitGrid is shared with the engine until it is released
+	 * and is never changed.
+	 *
+	 * @param   state the status of the cells
+	 * @param   rules the rules of the grid
+	 * @param   boundary the boundary of the grid
+	 * @param   generation the generation of state
+	 * @param   release gives state back to the engine
+	 */
+	public static class Checkpoint {
+		private final BitGrid state;
+		private final Rules rules;
+		private final Boundary boundary;
+		private final long generation;
+		private final Runnable release;
+
+		/**
+		 * Creates a Checkpoint.
+		 * @param  state the status of the cells, must not be changed until released
+		 * @param  rules the rules of the grid
+		 * @param  boundary the boundary of the grid
+		 * @param  generation the generation of state
+		 * @param  release run once state is not used anymore
+		 */
+		public Checkpoint(BitGrid state, Rules rules, Boundary boundary, long generation, Runnable release) {
+			this.state = state;
+			this.rules = rules;
+			this.boundary = boundary;
+			this.generation = generation;
+			this.release = release;
+		}
+
+		/**
+		 * Takes a Checkpoint of the current generation of a GridOfCells, sharing the cells with its engine.
+		 * Must be called by the thread stepping the grid or while it does not step.
+		 * @param  gridOfCells the grid
+		 * @return the Checkpoint, released by the CheckpointWriter
+		 */
+		public static Checkpoint of(GridOfCells gridOfCells) {
+			SimulationEngine engine = gridOfCells.getEngine();
+			BitGrid state = engine.shareSnapshot();
+			return new Checkpoint(state, gridOfCells.getRules(), gridOfCells.getBoundary(), gridOfCells.getGeneration(),
+					() -> engine.release(state));
+		}
+
+		/**
+		 * Getter for state.
+		 * @return the status of the cells, must not be changed
+		 */
+		public BitGrid getState() {
+			return state;
+		}
+
+		/**
+		 * Getter for rules.
+		 * @return the rules of the grid
+		 */
+		public Rules getRules() {
+			return rules;
+		}
+
+		/**
+		 * Getter for boundary.
+		 * @return the boundary of the grid
+		 */
+		public Boundary getBoundary() {
+			return boundary;
+		}
+
+		/**
+		 * Getter for generation.
+		 * @return the generation of the status
+		 */
+		public long getGeneration() {
+			return generation;
+		}
+
+		/**
+		 * Gives the status back to the engine, afterwards it must not be used anymore.
+		 */
+		void release() {
+			release.run();
+		}
+	}
+}
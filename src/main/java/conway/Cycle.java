@@ -0,0 +1,75 @@
+package conway;
+
+/**
+ * <h1>Cycle</h1>
+ * Describes how a simulation ended up repeating itself, as found by a CycleDetector.
+ * An extinct grid and a still life repeat with period 1, an oscillator or a pattern wrapping around a torus
+ * repeats with a longer period. Cycle instances are immutable.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     CycleDetector
+ * @param   kind indicates if the grid is extinct, a still life or periodic
+ * @param   period the amount of generations after which the status repeats
+ * @param   generation the generation at which the repetition was detected
+ */
+public class Cycle {
+	/**
+	 * The kinds of repetition.
+	 */
+	public enum Kind {
+		EXTINCT, STILL_LIFE, PERIODIC
+	}
+
+	private final Kind kind;
+	private final long period;
+	private final long generation;
+
+	/**
+	 * Creates a new Cycle.
+	 * @param  kind indicates if the grid is extinct, a still life or periodic
+	 * @param  period the amount of generations after which the status repeats
+	 * @param  generation the generation at which the repetition was detected
+	 */
+	public Cycle(Kind kind, long period, long generation) {
+		this.kind = kind;
+		this.period = period;
+		this.generation = generation;
+	}
+
+	/**
+	 * Getter for kind.
+	 * @return if the grid is extinct, a still life or periodic
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Getter for period.
+	 * @return the amount of generations after which the status repeats
+	 */
+	public long getPeriod() {
+		return period;
+	}
+
+	/**
+	 * Getter for generation.
+	 * @return the generation at which the repetition was detected
+	 */
+	public long getGeneration() {
+		return generation;
+	}
+
+	@Override
+	public String toString() {
+		switch (kind) {
+			case EXTINCT: return "extinct at generation " + generation;
+			case STILL_LIFE: return "still life at generation " + generation;
+			default: return "period " + period + " detected at generation " + generation;
+		}
+	}
+}
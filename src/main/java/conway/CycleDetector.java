@@ -0,0 +1,108 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+
+/**
+ * <h1>Cycle Detector</h1>
+ * Recognises a simulation that died out or repeats itself from the hashes of its generations.
+ * The hashes of the most recent generations are kept in a ring of fixed capacity,
+ * so periods up to the capacity are found without keeping any generation itself.
+ * <p>
+ * <b>Note:</b> Two different generations with the same 64 bit hash are taken as equal.
+ * The detector has to be reset whenever the cells or rules are changed from outside of the simulation.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     Cycle
+ * @see     SimulationEngine#getStateHash()
+ * @exception IllegalArgumentException
+ * @param   hashes the ring of the hashes of the most recent generations
+ * @param   generations the generation of each hash in the ring
+ * @param   count the amount of entries of the ring in use
+ * @param   next the position in the ring the next hash is written to
+ * @param   cycle the Cycle detected, null as long as none was detected
+ * @param   DEFAULT_CAPACITY indicates the longest period found by default
+ */
+public class CycleDetector {
+	public static final int DEFAULT_CAPACITY = 256;
+	private final long[] hashes;
+	private final long[] generations;
+	private int count;
+	private int next;
+	private Cycle cycle;
+
+	/**
+	 * Creates a CycleDetector that finds periods up to DEFAULT_CAPACITY.
+	 */
+	public CycleDetector() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a CycleDetector that finds periods up to capacity.
+	 * @param  capacity the amount of recent hashes kept
+	 * @exception IllegalArgumentException is thrown if capacity is smaller than 1.
+	 */
+	public CycleDetector(int capacity) {
+		if (capacity < 1) throw new IllegalArgumentException();
+		hashes = new long[capacity];
+		generations = new long[capacity];
+	}
+
+	/**
+	 * Forgets all hashes and any Cycle detected.
+	 */
+	public void reset() {
+		count = 0;
+		next = 0;
+		cycle = null;
+	}
+
+	/**
+	 * Getter for cycle.
+	 * @return the Cycle detected, null if none was detected since the last reset
+	 */
+	public Cycle getCycle() {
+		return cycle;
+	}
+
+	/**
+	 * Looks at the current generation of an engine.
+	 * @param  engine the engine whose generation is looked at
+	 * @return the Cycle detected, null if none was detected since the last reset
+	 */
+	public Cycle observe(SimulationEngine engine) {
+		long hash = engine.getStateHash();
+		return observe(engine.getGeneration(), hash, hash == 0 && engine.getPopulation() == 0);
+	}
+
+	/**
+	 * Looks at a generation given by its hash. Once a Cycle was detected it is kept until the next reset.
+	 * @param  generation the generation
+	 * @param  hash the hash of the status of the generation
+	 * @param  extinct true if no cell is alive in the generation
+	 * @return the Cycle detected, null if none was detected since the last reset
+	 */
+	public Cycle observe(long generation, long hash, boolean extinct) {
+		if (cycle != null) return cycle;
+		if (extinct) {
+			cycle = new Cycle(Cycle.Kind.EXTINCT, 1, generation);
+			return cycle;
+		}
+		for (int k = 0; k < count; k++) {
+			if (hashes[k] == hash && generations[k] < generation) {
+				long period = generation - generations[k];
+				cycle = new Cycle(period == 1 ? Cycle.Kind.STILL_LIFE : Cycle.Kind.PERIODIC, period, generation);
+				return cycle;
+			}
+		}
+		hashes[next] = hash;
+		generations[next] = generation;
+		next = (next + 1) % hashes.length;
+		if (count < hashes.length) count++;
+		return null;
+	}
+}
@@ -0,0 +1,149 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+import java.util.Arrays;
+
+/**
+ * <h1>Density Pyramid</h1>
+ * A mipmap of a BitGrid for painting it zoomed out. Level k divides the grid into blocks of 2^k x 2^k cells
+ * and holds for each block the share of cells alive as a density from 0 (all dead) to 255 (all alive).
+ * The levels up to blocks of 64 x 64 cells are counted from the words of the BitGrid directly,
+ * so painting zoomed out far does not need the large levels below. Each further level averages 2 x 2 blocks
+ * of the level below. Blocks reaching beyond the grid count the missing cells as dead.
+ * <p>
+ * A level is only calculated when it is first asked for, the pyramid of a generation is thrown away
+ * with the generation. Level 0 is the BitGrid itself.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     GridRenderer
+ * @see     Viewport
+ * @exception IllegalArgumentException
+ * @param   COUNTED the highest level counted from the words, its blocks are as wide as a word
+ * @param   state the BitGrid the pyramid is made of
+ * @param   levels the densities of each level, row by row, null while not calculated
+ */
+public class DensityPyramid {
+	private static final int COUNTED = 6;
+	private final BitGrid state;
+	private final byte[][] levels;
+
+	/**
+	 * Creates the pyramid of a BitGrid. No level is calculated yet.
+	 * @param  state the BitGrid, must not be changed while the pyramid is used
+	 */
+	public DensityPyramid(BitGrid state) {
+		this.state = state;
+		int size = Math.max(state.getRows(), state.getColumns());
+		levels = new byte[33 - Integer.numberOfLeadingZeros(size - 1)][];
+	}
+
+	/**
+	 * Getter for state.
+	 * @return the BitGrid the pyramid is made of
+	 */
+	public BitGrid getState() {
+		return state;
+	}
+
+	/**
+	 * Getter for the highest level, at which a single block covers the whole grid.
+	 * @return the amount of levels above level 0
+	 */
+	public int getTopLevel() {
+		return levels.length - 1;
+	}
+
+	/**
+	 * Getter for the amount of rows of blocks of a level.
+	 * @param  level the level
+	 * @return the amount of rows of blocks
+	 */
+	public int getRows(int level) {
+		return (int) ((state.getRows() + (1L << level) - 1) >>> level);
+	}
+
+	/**
+	 * Getter for the amount of columns of blocks of a level.
+	 * @param  level the level
+	 * @return the amount of columns of blocks
+	 */
+	public int getColumns(int level) {
+		return (int) ((state.getColumns() + (1L << level) - 1) >>> level);
+	}
+
+	/**
+	 * Getter for the densities of a level, calculating it and the levels below it if needed.
+	 * The block in row i and column j has index i * getColumns(level) + j, its density is the byte read as unsigned.
+	 * @param  level the level, from 1 to getTopLevel()
+	 * @return the densities of the level, must not be changed
+	 * @exception IllegalArgumentException is thrown if the level does not exist.
+	 */
+	public byte[] getLevel(int level) {
+		if (level < 1 || level >= levels.length) throw new IllegalArgumentException("no level " + level);
+		if (levels[level] == null) levels[level] = level <= COUNTED ? count(level) : average(getLevel(level - 1), level);
+		return levels[level];
+	}
+
+	/**
+	 * Counts the cells alive in each block of a level whose blocks fit into a word, one bit count per block and row.
+	 */
+	private byte[] count(int level) {
+		int size = 1 << level;
+		int blocksPerWord = 64 >>> level;
+		long mask = level == 6 ? -1L : (1L << size) - 1;
+		int rows = getRows(level);
+		int columns = getColumns(level);
+		int wordsPerRow = state.getWordsPerRow();
+		long[] words = state.getWords();
+		int[] counts = new int[columns];
+		byte[] densities = new byte[rows * columns];
+		int area = size * size;
+		for (int i = 0; i < rows; i++) {
+			Arrays.fill(counts, 0);
+			int end = Math.min(state.getRows(), (i + 1) * size);
+			for (int r = i * size; r < end; r++) {
+				int offset = r * wordsPerRow;
+				for (int k = 0; k < wordsPerRow; k++) {
+					long word = words[offset + k];
+					if (word == 0) continue;
+					int first = k * blocksPerWord;
+					int count = Math.min(blocksPerWord, columns - first);
+					for (int n = 0; n < count; n++) counts[first + n] += Long.bitCount(word >>> (n * size) & mask);
+				}
+			}
+			for (int j = 0; j < columns; j++) densities[i * columns + j] = (byte) ((counts[j] * 255 + area / 2) / area);
+		}
+		return densities;
+	}
+
+	/**
+	 * Averages each 2 x 2 blocks of the level below.
+	 */
+	private byte[] average(byte[] below, int level) {
+		int belowRows = getRows(level - 1);
+		int belowColumns = getColumns(level - 1);
+		int rows = getRows(level);
+		int columns = getColumns(level);
+		byte[] densities = new byte[rows * columns];
+		for (int i = 0; i < rows; i++) {
+			int top = 2 * i * belowColumns;
+			int bottom = 2 * i + 1 < belowRows ? top + belowColumns : -1;
+			for (int j = 0; j < columns; j++) {
+				int left = 2 * j;
+				boolean right = left + 1 < belowColumns;
+				int sum = below[top + left] & 255;
+				if (right) sum += below[top + left + 1] & 255;
+				if (bottom >= 0) {
+					sum += below[bottom + left] & 255;
+					if (right) sum += below[bottom + left + 1] & 255;
+				}
+				densities[i * columns + j] = (byte) ((sum + 2) >>> 2);
+			}
+		}
+		return densities;
+	}
+}
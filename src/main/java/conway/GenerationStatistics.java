@@ -0,0 +1,116 @@
+package conway;
+
+/**
+ * <h1>Generation Statistics</h1>
+ * The numbers of one generation of a GridOfCells, recorded in a StatisticsRing.
+ * They are taken from the SimulationEngine, which keeps them up to date while stepping,
+ * so recording them does not look at every cell.
+ * <p>
+ * Births and deaths are those of the step that led to the generation. A generation that was not reached
+ * by a single step, like one restored from the history or whose cells were changed, has no births and deaths.
+ * The active tiles are those the engine calculated in the last step, see GridOfCells.getActiveTileCount.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     StatisticsRing
+ * @see     SimulationEngine
+ * @see     Region
+ * @param   generation the generation the numbers belong to
+ * @param   population the amount of cells alive
+ * @param   births the amount of cells born in the step to the generation
+ * @param   deaths the amount of cells died in the step to the generation
+ * @param   boundingBox the smallest Region holding all cells alive, null if none is alive
+ * @param   activeTiles the amount of tiles calculated in the last step
+ */
+public class GenerationStatistics {
+	private final long generation;
+	private final long population;
+	private final long births;
+	private final long deaths;
+	private final Region boundingBox;
+	private final int activeTiles;
+
+	/**
+	 * Creates the statistics of a generation.
+	 * @param  generation the generation the numbers belong to
+	 * @param  population the amount of cells alive
+	 * @param  births the amount of cells born in the step to the generation
+	 * @param  deaths the amount of cells died in the step to the generation
+	 * @param  boundingBox the smallest Region holding all cells alive, null if none is alive
+	 * @param  activeTiles the amount of tiles calculated in the last step
+	 */
+	public GenerationStatistics(long generation, long population, long births, long deaths, Region boundingBox,
+			int activeTiles) {
+		this.generation = generation;
+		this.population = population;
+		this.births = births;
+		this.deaths = deaths;
+		this.boundingBox = boundingBox;
+		this.activeTiles = activeTiles;
+	}
+
+	/**
+	 * Getter for generation.
+	 * @return the generation the numbers belong to
+	 */
+	public long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Getter for population.
+	 * @return the amount of cells alive
+	 */
+	public long getPopulation() {
+		return population;
+	}
+
+	/**
+	 * Getter for births.
+	 * @return the amount of cells born in the step to the generation
+	 */
+	public long getBirths() {
+		return births;
+	}
+
+	/**
+	 * Getter for deaths.
+	 * @return the amount of cells died in the step to the generation
+	 */
+	public long getDeaths() {
+		return deaths;
+	}
+
+	/**
+	 * Getter for the amount of changed cells.
+	 * @return the amount of cells born or died in the step to the generation
+	 */
+	public long getChangedCells() {
+		return births + deaths;
+	}
+
+	/**
+	 * Getter for boundingBox.
+	 * @return the smallest Region holding all cells alive, null if none is alive
+	 */
+	public Region getBoundingBox() {
+		return boundingBox;
+	}
+
+	/**
+	 * Getter for activeTiles.
+	 * @return the amount of tiles calculated in the last step
+	 */
+	public int getActiveTiles() {
+		return activeTiles;
+	}
+
+	@Override
+	public String toString() {
+		return "Generation " + generation + ": " + population + " alive, " + births + " born, " + deaths + " died, box "
+				+ (boundingBox == null ? "none" : boundingBox) + ", " + activeTiles + " active tiles";
+	}
+}
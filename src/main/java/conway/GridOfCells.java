@@ -1,42 +1,72 @@
 package conway;
 
 import java.lang.IllegalArgumentException;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * <h1>Grid Of Cells</h1>
  * An instance of the GridOfCells class is a data structure
- * that holds Cells ordered in a grid-like arrangement.
- * Therefore it wraps Cells in an array of arrays.
- * A GridOfCells provides functions for changing Cells according to Rules.
- * Each Cell interacts with its 8 surrounding neighbors.
+ * that holds cells ordered in a grid-like arrangement.
+ * A GridOfCells provides functions for changing cells according to Rules.
+ * Each cell interacts with its 8 surrounding neighbors.
+ * What the cells at the edges see beyond the edges is decided by a Boundary.
+ * The generations are calculated by a SimulationEngine, the GridOfCells is one consumer of it
+ * that adds saving and functions for the UI. Saving is done by the StateFile, JSON is still supported.
+ * Every generation is handed to a CycleDetector, so a simulation that died out or repeats itself can be stopped.
+ * Steps and rule changes are recorded by the SimulationMetrics, unless that was disabled.
+ * If the history is enabled, every generation is recorded in a HistoryJournal as well, so the simulation can step back
+ * and seek to any earlier generation without calculating it again. It is off by default, as recording compares
+ * all cells in each generation, unless active tracking tells which tiles changed.
+ * The population, births, deaths and the box around the cells alive of the latest generations are recorded
+ * in a StatisticsRing, they are kept up to date by the engine, so reading them takes constant time.
+ * With active tracking the engine only calculates the tiles of the grid that changed in the last generation
+ * and their neighbours, the amount of tiles calculated is recorded with the statistics.
  * <p>
- * <b>Note:</b> A Cell is basically a Rectangle, so an alternative implementation
- * reducing the GridOfCell to a GridOfBooleans separating it from visual properties would be possible,
- * but also result in separation of api's.
+ * An unbounded GridOfCells shows a TiledUniverse through an UnboundedEngine, so patterns are never clipped at the edges.
+ * Its rows and columns are those of the window of the engine, which follows the cells alive, so they change
+ * while the generations are calculated. It has no Boundary and no history, and saving it saves the cells of the window.
+ * <p>
+ * <b>Note:</b> The GridOfCells does not depend on JavaFX.
+ * The cells are painted into the main window by a GridRenderer.
  *
  * @author  Bertan Karacora
  * @author  Jan Sturzenhecker
  * @author  Timur Schiwe
  * @version 1.0
  * @since   2020-07-06
- * @see     Cell
+ * @see     SimulationEngine
  * @see     Rules
  * @exception IllegalArgumentException
  * @param   rows indicates the amount of rows in the grid
  * @param   columns indicates the amount of columns in the grid
  * @param   generation indicates how many steps of time have passed
- * @param   rules the set of rules the Cells interact with each other to
- * @param   status is used to calculate the next generation and for saving the status of the GridOfCells to JSON
- * @param   population represented by an array of arrays that holds Cells in each row and column
+ * @param   rules the set of rules the cells interact with each other to
+ * @param   boundary what the cells at the edges see beyond the edges, missing in files saved without it
+ * @param   status is used for saving the status of the GridOfCells to JSON
+ * @param   engine the SimulationEngine that holds the cells and calculates the generations
+ * @param   cycleDetector looks for repetitions in the generations calculated since the cells were last changed
+ * @param   history the generations calculated so far, null if the history is disabled
+ * @param   edited indicates if the Cells were changed since the current generation was recorded
+ * @param   statistics the numbers of the latest generations
+ * @param   metricsEnabled indicates if the steps and rule changes are recorded by the SimulationMetrics
+ * @param   unbounded indicates if the grid shows an unbounded universe
+ * @param   activeTracking indicates if only the tiles that changed and their neighbours are calculated
  */
 public class GridOfCells {
 	private int rows;
 	private int columns;
-	private int generation;
+	private long generation;
 	private Rules rules;
+	private Boundary boundary = Boundary.DEAD;
 	private boolean[][] status;
-	private transient Cell[][] population;
+	private transient SimulationEngine engine;
+	private transient CycleDetector cycleDetector;
+	private transient HistoryJournal history;
+	private transient boolean edited;
+	private transient StatisticsRing statistics;
+	private transient boolean metricsEnabled;
+	private boolean unbounded;
+	private transient boolean activeTracking;
 
 	/**
 	 * Creates a new instance of GridOfCells at generation 0 with the given amount of rows and columns
@@ -51,23 +81,98 @@ public class GridOfCells {
 		this.rows = rows;
 		this.columns = columns;
 		generation = 0;
-		rules = new Rules(survivesAt, bornAt);
-		status = new boolean[rows][columns];
+		rules = Rules.of(survivesAt, bornAt);
 		fillWithStatus();
 	}
 
 	/**
-	 * Instantiates Cells to fill population.
+	 * Creates a new instance of GridOfCells at generation 0 with the given rules, either of the given size
+	 * or showing an unbounded universe through a window of at least that size.
+	 * @param  rows rows of the GridOfCells or of its window
+	 * @param  columns columns of the GridOfCells or of its window
+	 * @param  rules the rules of the game
+	 * @param  unbounded true for an unbounded universe
+	 * @exception IllegalArgumentException is thrown if rows or columns is smaller than 1, or if the grid is unbounded
+	 *            and a cell is born with 0 neighbours.
+	 */
+	public GridOfCells(int rows, int columns, Rules rules, boolean unbounded) {
+		if (rows < 1 || columns < 1) throw new IllegalArgumentException();
+		this.rows = rows;
+		this.columns = columns;
+		this.rules = rules;
+		this.unbounded = unbounded;
+		fillWithStatus();
+	}
+
+	/**
+	 * Creates a new instance of GridOfCells holding a given status, for example one read from a StateFile.
+	 * @param  state the status of the Cells, copied into the GridOfCells
+	 * @param  rules the rules of the game
+	 * @param  boundary what the cells at the edges see beyond the edges
+	 * @param  generation the generation of the status
+	 */
+	public GridOfCells(BitGrid state, Rules rules, Boundary boundary, long generation) {
+		this(state, rules, boundary, generation, false);
+	}
+
+	/**
+	 * Creates a new instance of GridOfCells holding a given status, either of its size
+	 * or in an unbounded universe shown through a window of at least that size.
+	 * @param  state the status of the Cells, copied into the GridOfCells
+	 * @param  rules the rules of the game
+	 * @param  boundary what the cells at the edges see beyond the edges, DEAD if the grid is unbounded
+	 * @param  generation the generation of the status
+	 * @param  unbounded true for an unbounded universe
+	 * @exception IllegalArgumentException is thrown if the grid is unbounded and the boundary is not DEAD
+	 *            or a cell is born with 0 neighbours.
+	 */
+	public GridOfCells(BitGrid state, Rules rules, Boundary boundary, long generation, boolean unbounded) {
+		if (unbounded && boundary != Boundary.DEAD) throw new IllegalArgumentException("an unbounded universe has no edges");
+		rows = state.getRows();
+		columns = state.getColumns();
+		this.generation = generation;
+		this.rules = rules;
+		this.boundary = boundary;
+		this.unbounded = unbounded;
+		createEngine();
+		engine.restore(state);
+		recordStatistics(0, 0);
+	}
+
+	/**
+	 * Creates the engine and copies status into it.
+	 * Used after the GridOfCells was created or loaded from JSON.
 	 */
 	public void fillWithStatus() {
-		population = new Cell[rows][columns];
-		for(int i = 0; i < rows; i++) {
-			for(int j = 0; j < columns; j++) {
-				Cell c = new Cell(i,j);
-				c.setAlive(status[i][j]);
-				population[i][j] = c;
+		createEngine();
+		if (status != null) {
+			for(int i = 0; i < rows; i++) {
+				for(int j = 0; j < columns; j++) {
+					if (status[i][j]) engine.setAlive(i, j, true);
+				}
 			}
 		}
+		recordStatistics(0, 0);
+	}
+
+	/**
+	 * Creates an engine with all Cells dead and forgets the history and the statistics.
+	 */
+	private void createEngine() {
+		if (unbounded) engine = new UnboundedEngine(rows, columns, rules);
+		else {
+			BitGridEngine bitGridEngine = new BitGridEngine(rows, columns, rules);
+			bitGridEngine.setBoundary(getBoundary());
+			bitGridEngine.setActiveTracking(activeTracking);
+			engine = bitGridEngine;
+		}
+		engine.setGeneration(generation);
+		cycleDetector = new CycleDetector();
+		metricsEnabled = true;
+		if (history != null) history.clear();
+		edited = true;
+		if (statistics == null) statistics = new StatisticsRing();
+		else statistics.clear();
 	}
 
 	/**
@@ -80,6 +185,30 @@ public class GridOfCells {
 		this(rows, columns, new boolean[] {false, false, true, true, false, false, false, false, false}, new boolean[] {false, false, false, true, false, false, false, false, false});
 	}
 
+	/**
+	 * Getter for engine.
+	 * @return the SimulationEngine that calculates the generations
+	 */
+	public SimulationEngine getEngine() {
+		return engine;
+	}
+
+	/**
+	 * Checks if the grid shows an unbounded universe.
+	 * @return true if the cells are never clipped at the edges
+	 */
+	public boolean isUnbounded() {
+		return unbounded;
+	}
+
+	/**
+	 * Getter for the window of the grid onto the universe.
+	 * @return the rows and columns of the universe the grid shows, rows 0 to rows and columns 0 to columns if it is not unbounded
+	 */
+	public Region getWindow() {
+		return unbounded ? ((UnboundedEngine) engine).getWindow() : new Region(0, 0, rows, columns);
+	}
+
 	/**
 	 * Getter for rows.
 	 * @return the amount of rows in the GridOfCells instance
@@ -97,30 +226,19 @@ public class GridOfCells {
 	}
 
 	/**
-	 * Getter for columns.
-	 * @return the amount of columns in the GridOfCells instance
+	 * Getter for generation.
+	 * @return how many steps of time have passed
 	 */
-	public int getGeneration() {
+	public long getGeneration() {
 		return generation;
 	}
 
-	/**
-	 * Getter for a Cell of the Population specified by its Position in the GridOfCells.
-	 * @param  i indicates the row of the Cell
-	 * @param  j indicates the column of the Cell
-	 * @return the Cell at the given Position of the GridOfCells
-	 */
-	public Cell getCell(int i, int j) {
-		if(0 <= i && i < rows && 0 <= j && j < columns) return population[i][j];
-		else return null;
-	}
-
 	/**
 	 * Getter for size.
 	 * @return the amount of Cells of the GridOfCells calculated from its rows and columns
 	 */
 	public int getSize() {
-		return status.length;
+		return rows * columns;
 	}
 
 	/**
@@ -129,8 +247,20 @@ public class GridOfCells {
 	 * @return true or false regarding the status of the Cell
 	 */
 	public boolean isCellAlive(int i, int j) {
-		if (0 <= i && i < rows && 0 <= j && j < columns) return population[i][j].isAlive();
-		else return false;
+		return engine.isAlive(i, j);
+	}
+
+	/**
+	 * Sets the status of the Cell at a given Position. In an unbounded grid the position may lie outside of the grid,
+	 * which then grows so it holds the Cell, moving the positions of all Cells.
+	 * @param  i indicates the row of the Cell
+	 * @param  j indicates the column of the Cell
+	 * @param  value the new status of the Cell
+	 */
+	public void setCellAlive(int i, int j, boolean value) {
+		engine.setAlive(i, j, value);
+		updateSize();
+		changed();
 	}
 
 	/**
@@ -142,42 +272,340 @@ public class GridOfCells {
 	}
 
 	/**
-	 * Setter for rules.
+	 * Setter for rules. As Rules are immutable, the new rules are applied atomically from the next generation on.
 	 * @param the rules of the game
+	 * @exception IllegalArgumentException is thrown if the grid is unbounded and a cell is born with 0 neighbours.
 	 */
 	public void setRules(Rules newRules) {
+		SimulationEvents.RulesChangeEvent event = new SimulationEvents.RulesChangeEvent();
+		if (event.shouldCommit()) {
+			event.oldRules = rules.toString();
+			event.newRules = newRules.toString();
+			event.commit();
+		}
+		engine.setRules(newRules);
+		if (metricsEnabled) SimulationMetrics.get().rulesChanged();
 		rules = newRules;
+		cycleDetector.reset();
+	}
+
+	/**
+	 * Getter for boundary.
+	 * @return what the cells at the edges see beyond the edges
+	 */
+	public Boundary getBoundary() {
+		return boundary == null ? Boundary.DEAD : boundary;
+	}
+
+	/**
+	 * Setter for boundary. The new boundary is applied from the next generation on.
+	 * @param  newBoundary what the cells at the edges see beyond the edges
+	 * @exception IllegalArgumentException is thrown if the grid is unbounded and newBoundary is not DEAD.
+	 */
+	public void setBoundary(Boundary newBoundary) {
+		engine.setBoundary(newBoundary);
+		boundary = newBoundary;
+		cycleDetector.reset();
 	}
 
 	/**
 	 * Calculates the status of each Cell of the next generation applying the rules.
 	 */
 	public void nextGeneration() {
-		generation++;
-		for (int i = 0; i < rows; i++) {     			 
-			for (int j = 0; j < columns; j++) {
-				if (rules.getSurvivesAt()[amountOfNeighboursAlive(i, j)]) status[i][j] = isCellAlive(i, j);
-				if (rules.getBornAt()[amountOfNeighboursAlive(i, j)] && !isCellAlive(i, j)) status[i][j] = true;
-				else if (!rules.getSurvivesAt()[amountOfNeighboursAlive(i, j)]) status[i][j] = false;
+		SimulationEvents.StepEvent event = new SimulationEvents.StepEvent();
+		event.begin();
+		long start = System.nanoTime();
+		recordEdits();
+		engine.step();
+		generation = engine.getGeneration();
+		updateSize();
+		if (history != null) recordStep();
+		cycleDetector.observe(engine);
+		recordStatistics(engine.getBirths(), engine.getDeaths());
+		if (metricsEnabled) SimulationMetrics.get().stepped(this, System.nanoTime() - start);
+		event.end();
+		if (event.shouldCommit()) {
+			event.generation = generation;
+			event.cells = (long) rows * columns;
+			event.rules = rules.toString();
+			event.commit();
+		}
+	}
+
+	/**
+	 * Goes back to the generation before the current one.
+	 * @return false if the generation before is not in the history
+	 */
+	public boolean previousGeneration() {
+		if (!canGoBack()) return false;
+		seekGeneration(generation - 1);
+		return true;
+	}
+
+	/**
+	 * Checks if the generation before the current one is in the history.
+	 * @return true if previousGeneration can go back
+	 */
+	public boolean canGoBack() {
+		return history != null && history.contains(generation - 1);
+	}
+
+	/**
+	 * Goes to a given generation. Generations in the history are restored from it,
+	 * restoring one takes at most HistoryJournal.DEFAULT_KEYFRAME_INTERVAL / 2 steps back or forth.
+	 * Later generations are calculated one by one like with nextGeneration and recorded, so the history has no gaps.
+	 * Going back and changing the Cells or rules lets the history take another course, the later generations are forgotten
+	 * once the next generation is calculated.
+	 * @param  target the generation to go to
+	 * @exception IllegalArgumentException is thrown if target is before the current generation and not in the history.
+	 */
+	public void seekGeneration(long target) {
+		recordEdits();
+		if (history != null && history.contains(target)) {
+			engine.restore(history.seek(target));
+			engine.setGeneration(target);
+			generation = target;
+			cycleDetector.reset();
+			recordStatistics(0, 0);
+		}
+		else if (target >= generation) {
+			while (generation < target) nextGeneration();
+		}
+		else throw new IllegalArgumentException("generation " + target + " is not in the history");
+	}
+
+	/**
+	 * Getter for history.
+	 * @return the HistoryJournal recording the generations, null if the history is disabled
+	 */
+	public HistoryJournal getHistory() {
+		return history;
+	}
+
+	/**
+	 * Enables or disables recording the generations, for example to step back in the window.
+	 * The history is disabled by default. Disabling the history forgets it.
+	 * @param  enabled true if the generations are recorded
+	 * @exception IllegalStateException is thrown if the grid is unbounded, as its size changes, and enabled is true.
+	 */
+	public void setHistoryEnabled(boolean enabled) {
+		if (enabled && unbounded) throw new IllegalStateException("an unbounded grid has no history");
+		if (enabled == (history != null)) return;
+		if (enabled) {
+			history = new HistoryJournal(rows, columns);
+			edited = true;
+		}
+		else {
+			history.close();
+			history = null;
+		}
+	}
+
+	/**
+	 * Getter for statistics.
+	 * @return the StatisticsRing holding the numbers of the latest generations
+	 */
+	public StatisticsRing getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Enables or disables recording the steps and rule changes in the SimulationMetrics, for example for grids
+	 * calculated many at once by a RuleSweep, whose steps are not those of the window.
+	 * @param  enabled true if the steps and rule changes are recorded
+	 */
+	public void setMetricsEnabled(boolean enabled) {
+		metricsEnabled = enabled;
+	}
+
+	/**
+	 * Checks if active tracking is on.
+	 * @return true if only the tiles that changed in the last generation and their neighbours are calculated
+	 */
+	public boolean isActiveTracking() {
+		return activeTracking;
+	}
+
+	/**
+	 * Turns active tracking on or off, it is off by default. An unbounded grid always calculates only its tiles
+	 * holding cells alive and their neighbours, so it is not changed by active tracking.
+	 * @param  activeTracking true if only the tiles that changed and their neighbours are to be calculated
+	 */
+	public void setActiveTracking(boolean activeTracking) {
+		this.activeTracking = activeTracking;
+		if (engine instanceof BitGridEngine) ((BitGridEngine) engine).setActiveTracking(activeTracking);
+	}
+
+	/**
+	 * Getter for the amount of tiles calculated in the last step.
+	 * @return the active tiles of the BitGridEngine, all its tiles if active tracking is off,
+	 *         or the tiles of the universe if the grid is unbounded
+	 */
+	public int getActiveTileCount() {
+		if (unbounded) return ((UnboundedEngine) engine).getUniverse().getTileCount();
+		return ((BitGridEngine) engine).getActiveTileCount();
+	}
+
+	/**
+	 * Takes the size of the grid from the engine, whose window changes if the grid is unbounded.
+	 */
+	private void updateSize() {
+		rows = engine.getRows();
+		columns = engine.getColumns();
+	}
+
+	/**
+	 * Called after the Cells of the current generation were changed.
+	 */
+	private void changed() {
+		cycleDetector.reset();
+		edited = true;
+		recordStatistics(0, 0);
+	}
+
+	/**
+	 * Records the numbers of the current generation in the StatisticsRing.
+	 */
+	private void recordStatistics(long births, long deaths) {
+		statistics.record(new GenerationStatistics(generation, engine.getPopulation(), births, deaths, engine.getBoundingBox(),
+				getActiveTileCount()));
+	}
+
+	/**
+	 * Records the current generation again if the Cells were changed, replacing the recorded one.
+	 */
+	private void recordEdits() {
+		if (!edited || history == null) return;
+		history.record(generation, engine.snapshot());
+		edited = false;
+	}
+
+	/**
+	 * Records the generation just calculated in the history. With active tracking only the words of the tiles
+	 * that changed are compared with the generation before, and the cells are read from a shared snapshot,
+	 * so neither all words are compared nor copied.
+	 */
+	private void recordStep() {
+		int[] changedWords = engine instanceof BitGridEngine ? ((BitGridEngine) engine).getChangedWords() : null;
+		if (changedWords == null) {
+			history.record(generation, engine.snapshot());
+			return;
+		}
+		BitGrid state = engine.shareSnapshot();
+		try {
+			history.record(generation, state, changedWords);
+		}
+		finally {
+			engine.release(state);
+		}
+	}
+
+	/**
+	 * Getter for the Cycle the generations ended up in.
+	 * @return the Cycle detected since the Cells or rules were last changed, null if none was detected
+	 */
+	public Cycle getCycle() {
+		return cycleDetector.getCycle();
+	}
+
+	/**
+	 * Calculates generations until the grid died out or repeats itself, for runs without a window.
+	 * @param  maxGenerations the most generations to calculate
+	 * @return the Cycle detected, null if none was detected within maxGenerations
+	 */
+	public Cycle runUntilCycle(long maxGenerations) {
+		cycleDetector.observe(engine);
+		for (long k = 0; k < maxGenerations && getCycle() == null; k++) nextGeneration();
+		return getCycle();
+	}
+
+	/**
+	 * Calculates a generation far in the future. In an unbounded grid, or if no Cell can reach an edge of a grid
+	 * with a DEAD Boundary before target, as Cells spread by at most one Cell per generation, the generation is calculated
+	 * with a HashLifeEngine and copied into the grid. Otherwise the generations are calculated one by one
+	 * until the CycleDetector found the Cycle the grid ended up in, which a bounded grid always does sooner or later,
+	 * and whole periods of it are skipped. So the result is always the same as calling nextGeneration until target.
+	 * The generations jumped over are not recorded in the history.
+	 * @param  target the generation to jump to, not before the current generation
+	 * @exception IllegalArgumentException is thrown if target is before the current generation, or if the cells
+	 *            of an unbounded grid spread too far by then to be held in a BitGrid, the grid is not changed then.
+	 */
+	public void jumpToGeneration(long target) {
+		if (target < generation) throw new IllegalArgumentException("cannot jump back to generation " + target);
+		recordEdits();
+		if (unbounded || staysInside(target - generation)) {
+			HashLifeEngine hashLife = new HashLifeEngine(rules);
+			hashLife.importFrom(engine.snapshot(), generation);
+			hashLife.jumpTo(target);
+			// an unbounded grid takes all cells, wherever they went
+			Region box = unbounded ? hashLife.getBoundingBox() : null;
+			if (box == null) {
+				BitGrid state = new BitGrid(rows, columns);
+				hashLife.exportTo(state);
+				engine.restore(state);
+			}
+			else {
+				BitGrid state = new BitGrid(box.getRows(), box.getColumns());
+				hashLife.exportTo(state, box.getTop(), box.getLeft());
+				((UnboundedEngine) engine).restore(state, box.getTop(), box.getLeft());
 			}
+			engine.setGeneration(target);
+			cycleDetector.reset();
 		}
-		for (int i = 0; i < rows; i++) {
-			for (int j = 0; j < columns; j++) {
-				if (status[i][j] == true) population[i][j].setAlive(true);
-				else population[i][j].setAlive(false);
+		else {
+			// the detector keeps the Cycle once detected, so the periods skipped do not confuse it
+			cycleDetector.observe(engine);
+			while (getCycle() == null && engine.getGeneration() < target) {
+				engine.step();
+				cycleDetector.observe(engine);
+			}
+			long remaining = target - engine.getGeneration();
+			if (remaining > 0) {
+				long period = getCycle().getPeriod();
+				engine.setGeneration(target - remaining % period);
+				engine.step(remaining % period);
 			}
 		}
+		generation = engine.getGeneration();
+		updateSize();
+		edited = true;
+		recordStatistics(0, 0);
+	}
+
+	/**
+	 * Checks if jumpToGeneration reaches a generation without calculating the generations in between one by one,
+	 * which is the case if it uses a HashLifeEngine or the Cycle of the grid is already known.
+	 * @param  target the generation to jump to
+	 * @return true if the jump takes about as long however far target is
+	 */
+	public boolean canJumpTo(long target) {
+		return target >= generation && (unbounded || getCycle() != null || staysInside(target - generation));
+	}
+
+	/**
+	 * Checks if the HashLifeEngine, which simulates the unbounded plane, gives the same generations as the engine,
+	 * which is the case if the box around the Cells alive, grown by the amount of generations on every side,
+	 * stays inside of a grid with a DEAD Boundary.
+	 */
+	private boolean staysInside(long generations) {
+		if (getBoundary() != Boundary.DEAD || rules.isBorn(0)) return false;
+		Region box = engine.getBoundingBox();
+		if (box == null) return true;
+		return generations <= box.getTop() && generations <= box.getLeft()
+				&& generations <= rows - box.getBottom() && generations <= columns - box.getRight();
 	}
 
 	/**
 	 * Checks how many Cells surrounding the Cell at the given position are alive.
+	 * Cells beyond the edges are looked up through the Boundary.
 	 * @return the amount of neighboring Cells that are alive
 	 */
 	public int amountOfNeighboursAlive(int i, int j) {
+		Boundary b = getBoundary();
 		int aliveNeighboursCounter = 0;
 		for (int k = -1; k < 2; k++) {          // iterates rows around cell
 			for (int l = -1; l < 2; l++) {      // iterates columns around cell
-				if (isCellAlive(i + k, j + l)) aliveNeighboursCounter++;
+				if (isCellAlive(b.map(i + k, rows), b.map(j + l, columns))) aliveNeighboursCounter++;
 			}
 		}
 		if (isCellAlive(i, j)) aliveNeighboursCounter--;
@@ -185,58 +613,71 @@ public class GridOfCells {
 	}
 
 	/**
-	 * Counts all Cells that are alive in this generation.
+	 * Getter for the amount of Cells alive in this generation, kept up to date by the engine.
 	 * @return the total amount of Cells alive in this generation
 	 */
 	public int getAliveCells(){
-		int aliveCounter = 0;
-		for (int i = 0; i < rows; i++) {
-			for (int j = 0; j < columns; j++) {
-				if (population[i][j].isAlive()) aliveCounter++;
-			}
-		}
-		return aliveCounter;
+		return (int) engine.getPopulation();
 	}
 
 	/**
 	 * Resets all Cells of this generation to dead.
 	 */
 	public void reset(){
-		for (int i = 0; i < rows; i++) {
-			for (int j = 0; j < columns; j++) {
-				population[i][j].setAlive(false);
-			}
-		}
+		engine.restore(new BitGrid(rows, columns));
+		changed();
 	}
 
 	/**
-	 * Repopulates the GridOfCells randomly (~50/50).
+	 * Repopulates the GridOfCells randomly (~50/50) from a new seed.
+	 * @return the seed, to create the same Cells again with randomRepopulate(seed, 0.5)
 	 */
-	public void randomRepopulate() {
-		Random random = new Random();
-		for (int i = 0; i < rows; i++) {
-			for (int j = 0; j < columns; j++) {
-				population[i][j].setAlive(random.nextBoolean());
-			}
-		}
+	public long randomRepopulate() {
+		long seed = new SplittableRandom().nextLong();
+		randomRepopulate(seed, 0.5);
+		return seed;
+	}
+
+	/**
+	 * Repopulates the GridOfCells with a RandomSoup. The same seed and density give the same Cells.
+	 * @param  seed the seed of the soup
+	 * @param  density the probability of a Cell to be alive, from 0 to 1
+	 * @exception IllegalArgumentException is thrown if density is not between 0 and 1.
+	 */
+	public void randomRepopulate(long seed, double density) {
+		engine.restore(new RandomSoup(seed, density).create(rows, columns));
+		changed();
+	}
+
+	/**
+	 * Repopulates a Region of the GridOfCells with a RandomSoup, the Cells outside of it are kept.
+	 * @param  seed the seed of the soup
+	 * @param  density the probability of a Cell to be alive, from 0 to 1
+	 * @param  region the Region to fill, inside of the GridOfCells
+	 * @exception IllegalArgumentException is thrown if density is not between 0 and 1 or the Region is not inside.
+	 */
+	public void randomRepopulate(long seed, double density, Region region) {
+		BitGrid state = engine.snapshot();
+		new RandomSoup(seed, density).fill(state, region);
+		engine.restore(state);
+		changed();
 	}
 
 	/**
 	 * Inverts the status of all Cells of this generation.
 	 */
 	public void invert() {
-		for (int i = 0; i < rows; i++) {
-			for (int j = 0; j < columns; j++) {
-				population[i][j].changeAlive();
-			}
-		}
+		BitGrid state = engine.snapshot();
+		state.invert();
+		engine.restore(state);
+		changed();
 	}
 
 	/**
 	 * Inverts the rules.
 	 */
 	public void invertRules() {
-		rules.invert();
+		setRules(rules.invert());
 	}
 
 	/**
@@ -244,9 +685,10 @@ public class GridOfCells {
 	 * The position of a Cell is 'encoded' in its position in the array.
 	 */
 	public void save() {
+		status = new boolean[rows][columns];
 		for (int i = 0; i < rows; i++) {
 			for (int j = 0; j < columns; j++) {
-				status[i][j] = population[i][j].isAlive();
+				status[i][j] = engine.isAlive(i, j);
 			}
 		}
 	}
@@ -0,0 +1,148 @@
+package conway;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * <h1>Grid Renderer</h1>
+ * Paints the part of a grid seen through a Viewport into a single WritableImage of the size of the view.
+ * The image is backed by a PixelBuffer, so the pixels are written directly into the buffer
+ * that is shown on the screen and no node per cell is needed.
+ * Each pixel is looked up in the cell below it, so painting takes as long as the view has pixels,
+ * however large the grid is. A black pixel is alive, a white pixel is dead and a gray pixel lies outside of the grid.
+ * The Viewport is in rows and columns of the universe, the grid is painted at the window it shows.
+ * Outside of the window of an unbounded grid all cells are dead, so pixels there are painted white and not gray.
+ * <p>
+ * Zoomed out so far that a pixel covers more than one cell, the pixel is painted from the level of a DensityPyramid
+ * given by the Viewport, in shades of gray from white (no cell alive) to black (all cells alive).
+ * The pyramid is kept until another generation is painted, so zooming and panning do not calculate it again.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     Viewport
+ * @see     DensityPyramid
+ * @see     MainWindowController
+ * @param   width the width of the view in pixels
+ * @param   height the height of the view in pixels
+ * @param   pixels the buffer holding one int per pixel
+ * @param   pixelBuffer the PixelBuffer wrapping pixels
+ * @param   image the image shown on the screen
+ * @param   row the pixels of one row of the view
+ * @param   cellOfPixel the column or block of each pixel of a row of the view, -1 outside of the grid
+ * @param   pyramid the DensityPyramid of the generation painted last
+ * @param   unbounded indicates if the cells outside of the grid are painted as dead
+ */
+public class GridRenderer {
+	private static final int ALIVE = 0xFF000000;
+	private static final int DEAD = 0xFFFFFFFF;
+	private static final int OUTSIDE = 0xFFC8C8C8;
+	private static final int[] GRAY = new int[256];
+	private final int width;
+	private final int height;
+	private final IntBuffer pixels;
+	private final PixelBuffer<IntBuffer> pixelBuffer;
+	private final WritableImage image;
+	private final int[] row;
+	private final int[] cellOfPixel;
+	private DensityPyramid pyramid;
+	private boolean unbounded;
+
+	static {
+		for (int d = 0; d < 256; d++) {
+			int v = 255 - d;
+			GRAY[d] = 0xFF000000 | v << 16 | v << 8 | v;
+		}
+	}
+
+	/**
+	 * Creates a renderer for a view of the given size.
+	 * @param  width the width of the view in pixels, at least 1
+	 * @param  height the height of the view in pixels, at least 1
+	 */
+	public GridRenderer(int width, int height) {
+		this.width = Math.max(1, width);
+		this.height = Math.max(1, height);
+		pixels = ByteBuffer.allocateDirect(this.width * this.height * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+		pixelBuffer = new PixelBuffer<>(this.width, this.height, pixels, PixelFormat.getIntArgbPreInstance());
+		image = new WritableImage(pixelBuffer);
+		row = new int[this.width];
+		cellOfPixel = new int[this.width];
+	}
+
+	/**
+	 * Getter for image.
+	 * @return the image the view is painted into
+	 */
+	public WritableImage getImage() {
+		return image;
+	}
+
+	/**
+	 * Setter for unbounded.
+	 * @param  unbounded true if the cells outside of the grid are dead cells of an unbounded universe
+	 */
+	public void setUnbounded(boolean unbounded) {
+		this.unbounded = unbounded;
+	}
+
+	/**
+	 * Paints the cells of a generation seen through a Viewport. Must be called on the JavaFX application thread.
+	 * The given BitGrid is kept for the DensityPyramid and must not be changed afterwards.
+	 * @param  state the status of the cells
+	 * @param  window the rows and columns of the universe state shows
+	 * @param  viewport the part of the universe to paint, of the size of the renderer
+	 */
+	public void render(BitGrid state, Region window, Viewport viewport) {
+		if (pyramid == null || pyramid.getState() != state) pyramid = new DensityPyramid(state);
+		int level = Math.min(viewport.getLevel(), pyramid.getTopLevel());
+		int rows = pyramid.getRows(level);
+		int columns = pyramid.getColumns(level);
+		double scale = 1.0 / (1 << level);
+		int outside = unbounded ? DEAD : OUTSIDE;
+		for (int x = 0; x < width; x++) {
+			int j = (int) Math.floor((viewport.columnAt(x + 0.5) - window.getLeft()) * scale);
+			cellOfPixel[x] = j >= 0 && j < columns ? j : -1;
+		}
+		byte[] densities = level == 0 ? null : pyramid.getLevel(level);
+		long[] words = state.getWords();
+		int wordsPerRow = state.getWordsPerRow();
+		int lastRow = Integer.MIN_VALUE;
+		for (int y = 0; y < height; y++) {
+			int i = (int) Math.floor((viewport.rowAt(y + 0.5) - window.getTop()) * scale);
+			if (i < 0 || i >= rows) i = -1;
+			// zoomed in, neighbouring rows of pixels show the same cells
+			if (i != lastRow) {
+				if (i < 0) Arrays.fill(row, outside);
+				else if (densities == null) paintCells(words, i * wordsPerRow, outside);
+				else paintBlocks(densities, i * columns, outside);
+				lastRow = i;
+			}
+			pixels.put(y * width, row);
+		}
+		pixelBuffer.updateBuffer(b -> new Rectangle2D(0, 0, width, height));
+	}
+
+	private void paintCells(long[] words, int offset, int outside) {
+		for (int x = 0; x < width; x++) {
+			int j = cellOfPixel[x];
+			if (j < 0) row[x] = outside;
+			else row[x] = (words[offset + (j >>> 6)] & (1L << j)) != 0 ? ALIVE : DEAD;
+		}
+	}
+
+	private void paintBlocks(byte[] densities, int offset, int outside) {
+		for (int x = 0; x < width; x++) {
+			int j = cellOfPixel[x];
+			row[x] = j < 0 ? outside : GRAY[densities[offset + j] & 255];
+		}
+	}
+}
@@ -0,0 +1,540 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+
+/**
+ * <h1>HashLife Engine</h1>
+ * Calculates generations far in the future with the HashLife algorithm.
+ * The cells are held in a quadtree whose nodes are canonicalised in a hash table,
+ * so equal parts of the pattern share one node no matter where and when they appear.
+ * Each node memoises its result, the center of the node some generations later,
+ * which lets periodic patterns jump over millions of generations in a few steps.
+ * <p>
+ * <b>Note:</b> The HashLifeEngine simulates the unbounded plane. Cells that leave the area of a grid
+ * are not clipped while stepping, only when the pattern is exported into a grid again.
+ * Rules that let a cell be born with 0 neighbours are not supported.
+ * <p>
+ * The node table is bounded. When it holds more than maxNodes nodes, also in the middle of a step,
+ * all nodes not used by the current pattern are removed, all memoised results are forgotten and the step
+ * is started again. The table only grows beyond maxNodes if a single step of a power of two generations
+ * needs more nodes than that on its own, it is collected again once that step is done.
+ * After a collection that removed most of the nodes the hash table shrinks as well.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     GridOfCells
+ * @see     BitGrid
+ * @exception IllegalArgumentException
+ * @param   table the next status of a cell for each of the 512 neighbourhoods, compiled by the Rules
+ * @param   root the quadtree holding the current generation
+ * @param   originRow the row of the upper left cell of root
+ * @param   originColumn the column of the upper left cell of root
+ * @param   generation indicates how many steps of time have passed
+ * @param   nodes the hash table of all canonical nodes
+ * @param   nodeCount the amount of nodes in the hash table
+ * @param   maxNodes the amount of nodes above which unused nodes are removed
+ * @param   limited indicates if a step is started again when the table holds more than maxNodes nodes
+ * @param   empty the empty node of each level
+ */
+public class HashLifeEngine {
+	private static final Node DEAD = new Node(0, 0);
+	private static final Node ALIVE = new Node(1, 1);
+	private static final int MIN_LEVEL = 3;
+	private static final int MIN_TABLE_LENGTH = 1024;
+	private static final TableFull TABLE_FULL = new TableFull();
+	private boolean[] table;
+	private Node root;
+	private long originRow;
+	private long originColumn;
+	private long generation;
+	private Node[] nodes;
+	private int nodeCount;
+	private int nextId = 2;
+	private int maxNodes;
+	private boolean limited = true;
+	private Node[] empty = new Node[64];
+
+	/**
+	 * Creates a HashLifeEngine with the given rules and a bound of 2^21 nodes. All cells are dead.
+	 * @param  rules the rules the generations are calculated with
+	 * @exception IllegalArgumentException is thrown if a cell is born with 0 neighbours.
+	 */
+	public HashLifeEngine(Rules rules) {
+		this(rules, 1 << 21);
+	}
+
+	/**
+	 * Creates a HashLifeEngine with the given rules and bound of nodes. All cells are dead.
+	 * @param  rules the rules the generations are calculated with
+	 * @param  maxNodes the amount of nodes above which unused nodes are removed
+	 * @exception IllegalArgumentException is thrown if a cell is born with 0 neighbours.
+	 */
+	public HashLifeEngine(Rules rules, int maxNodes) {
+		if (maxNodes < 1) throw new IllegalArgumentException();
+		this.maxNodes = maxNodes;
+		nodes = new Node[MIN_TABLE_LENGTH];
+		setRules(rules);
+		root = empty(MIN_LEVEL);
+	}
+
+	/**
+	 * Setter for rules. All memoised results are forgotten.
+	 * @param  rules the rules the generations are calculated with
+	 * @exception IllegalArgumentException is thrown if a cell is born with 0 neighbours.
+	 */
+	public void setRules(Rules rules) {
+		if (rules.isBorn(0)) throw new IllegalArgumentException("B0 rules are not supported");
+		table = rules.getTable();
+		for (Node bucket : nodes) {
+			for (Node n = bucket; n != null; n = n.next) n.result = null;
+		}
+	}
+
+	/**
+	 * Getter for generation.
+	 * @return how many steps of time have passed
+	 */
+	public long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Counts all cells that are alive in this generation.
+	 * @return the total amount of cells alive
+	 */
+	public long getPopulation() {
+		return root.population;
+	}
+
+	/**
+	 * Getter for nodeCount.
+	 * @return the amount of canonical nodes currently held
+	 */
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Replaces the pattern with the living cells of a BitGrid.
+	 * The cell in row i and column j of the grid is placed at row i and column j of the plane.
+	 * @param  state the status of the cells to import
+	 * @param  generation the generation of the imported status
+	 */
+	public void importFrom(BitGrid state, long generation) {
+		int level = MIN_LEVEL;
+		while ((1L << level) < Math.max(state.getRows(), state.getColumns())) level++;
+		root = build(state, level, 0, 0);
+		originRow = 0;
+		originColumn = 0;
+		this.generation = generation;
+		collectIfFull();
+	}
+
+	/**
+	 * Builds the node of the given level whose upper left cell is at row top and column left of the grid.
+	 */
+	private Node build(BitGrid state, int level, int top, int left) {
+		if (top >= state.getRows() || left >= state.getColumns()) return empty(level);
+		if (level == 0) return state.isAlive(top, left) ? ALIVE : DEAD;
+		if (level >= 6 && isEmpty(state, level, top, left)) return empty(level);
+		int half = 1 << (level - 1);
+		return join(build(state, level - 1, top, left), build(state, level - 1, top, left + half),
+				build(state, level - 1, top + half, left), build(state, level - 1, top + half, left + half));
+	}
+
+	/**
+	 * Checks if no cell of the square of the given level is alive, looking at whole words at a time.
+	 */
+	private static boolean isEmpty(BitGrid state, int level, int top, int left) {
+		long[] words = state.getWords();
+		int wordsPerRow = state.getWordsPerRow();
+		int bottom = Math.min(state.getRows(), top + (1 << level));
+		int firstWord = left >>> 6;
+		int lastWord = Math.min(wordsPerRow, (left + (1 << level) + 63) >>> 6);
+		for (int i = top; i < bottom; i++) {
+			for (int k = firstWord; k < lastWord; k++) {
+				if (words[i * wordsPerRow + k] != 0) return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the pattern into a BitGrid. Cells outside of the grid are left out.
+	 * @param  target the BitGrid whose status is replaced by the pattern
+	 */
+	public void exportTo(BitGrid target) {
+		exportTo(target, 0, 0);
+	}
+
+	/**
+	 * Writes a part of the plane into a BitGrid. Cells outside of the grid are left out.
+	 * @param  target the BitGrid whose status is replaced by the part
+	 * @param  top the row of the plane written into the first row of target
+	 * @param  left the column of the plane written into the first column of target
+	 */
+	public void exportTo(BitGrid target, long top, long left) {
+		target.clear();
+		export(target, root, originRow - top, originColumn - left);
+	}
+
+	/**
+	 * Calculates the smallest Region of the plane holding all cells alive.
+	 * Nodes lying inside of the box found so far are not searched.
+	 * @return the bounding box of the cells alive or null if no cell is alive
+	 * @exception IllegalArgumentException is thrown if the box lies beyond the rows and columns a Region can hold.
+	 */
+	public Region getBoundingBox() {
+		if (root.population == 0) return null;
+		long[] box = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+		bound(root, originRow, originColumn, box);
+		for (long edge : box) {
+			if (edge < Integer.MIN_VALUE || edge > Integer.MAX_VALUE) throw new IllegalArgumentException("the pattern is too large");
+		}
+		return new Region((int) box[0], (int) box[1], (int) box[2], (int) box[3]);
+	}
+
+	/**
+	 * Grows box, holding top, left, bottom and right, by the cells alive of a node.
+	 */
+	private static void bound(Node n, long top, long left, long[] box) {
+		if (n.population == 0) return;
+		long size = 1L << n.level;
+		if (top >= box[0] && left >= box[1] && top + size <= box[2] && left + size <= box[3]) return;
+		if (n.level == 0) {
+			box[0] = Math.min(box[0], top);
+			box[1] = Math.min(box[1], left);
+			box[2] = Math.max(box[2], top + 1);
+			box[3] = Math.max(box[3], left + 1);
+			return;
+		}
+		long half = size >>> 1;
+		bound(n.nw, top, left, box);
+		bound(n.ne, top, left + half, box);
+		bound(n.sw, top + half, left, box);
+		bound(n.se, top + half, left + half, box);
+	}
+
+	private void export(BitGrid target, Node n, long top, long left) {
+		if (n.population == 0) return;
+		long size = 1L << n.level;
+		if (top >= target.getRows() || left >= target.getColumns() || top + size <= 0 || left + size <= 0) return;
+		if (n.level == 0) {
+			target.setAlive((int) top, (int) left, true);
+			return;
+		}
+		long half = size >>> 1;
+		export(target, n.nw, top, left);
+		export(target, n.ne, top, left + half);
+		export(target, n.sw, top + half, left);
+		export(target, n.se, top + half, left + half);
+	}
+
+	/**
+	 * Checks if the cell at a given position of the plane is alive.
+	 * @param  i the row of the cell
+	 * @param  j the column of the cell
+	 * @return true if the cell is alive
+	 */
+	public boolean isAlive(long i, long j) {
+		Node n = root;
+		long top = originRow;
+		long left = originColumn;
+		if (i < top || j < left || i - top >= (1L << n.level) || j - left >= (1L << n.level)) return false;
+		while (n.level > 0 && n.population > 0) {
+			long half = 1L << (n.level - 1);
+			boolean south = i >= top + half;
+			boolean east = j >= left + half;
+			if (south) top += half;
+			if (east) left += half;
+			n = south ? (east ? n.se : n.sw) : (east ? n.ne : n.nw);
+		}
+		return n.population > 0;
+	}
+
+	/**
+	 * Calculates the generation target. The steps are powers of two taken from the binary representation
+	 * of the amount of generations to go, so the time needed grows with its logarithm for periodic patterns.
+	 * @param  target the generation to jump to
+	 * @exception IllegalArgumentException is thrown if target is before the current generation.
+	 */
+	public void jumpTo(long target) {
+		if (target < generation) throw new IllegalArgumentException("cannot jump back to generation " + target);
+		step(target - generation);
+	}
+
+	/**
+	 * Calculates the next n generations.
+	 * @param  n the amount of generations to calculate
+	 */
+	public void step(long n) {
+		for (int j = 62; j >= 0; j--) {
+			if ((n & (1L << j)) == 0) continue;
+			while (root.level < j + 3 || !isPadded(root)) pad();
+			collectIfFull();
+			long quarter = 1L << (root.level - 2);
+			root = stepRoot(j);
+			originRow += quarter;
+			originColumn += quarter;
+			generation += 1L << j;
+		}
+		collectIfFull();
+	}
+
+	/**
+	 * Calculates the center of root 2^j generations later. If the table fills up in between, it is collected
+	 * and the step is started again. If it fills up again without progress, the step is finished without limit.
+	 */
+	private Node stepRoot(int j) {
+		try {
+			return successor(root, j);
+		}
+		catch (TableFull e) {
+			collect();
+		}
+		try {
+			return successor(root, j);
+		}
+		catch (TableFull e) {
+			collect();
+		}
+		limited = false;
+		try {
+			return successor(root, j);
+		}
+		finally {
+			limited = true;
+		}
+	}
+
+	/**
+	 * Checks if all living cells are inside of the central square of a quarter of the width of the node,
+	 * made of the innermost great-grandchildren of its four children.
+	 */
+	private static boolean isPadded(Node n) {
+		return n.nw.population == n.nw.se.se.population && n.ne.population == n.ne.sw.sw.population
+				&& n.sw.population == n.sw.ne.ne.population && n.se.population == n.se.nw.nw.population;
+	}
+
+	/**
+	 * Surrounds root with dead cells, doubling its size while keeping its center.
+	 */
+	private void pad() {
+		Node e = empty(root.level - 1);
+		long quarter = 1L << (root.level - 1);
+		root = join(join(e, e, e, root.nw), join(e, e, root.ne, e), join(e, root.sw, e, e), join(root.se, e, e, e));
+		originRow -= quarter;
+		originColumn -= quarter;
+	}
+
+	/**
+	 * Calculates the center of a node, half its size, 2^j generations later.
+	 * If j is larger than the level of the node minus 2, 2^(level - 2) generations are calculated instead.
+	 */
+	private Node successor(Node n, int j) {
+		if (n.population == 0) return n.nw;
+		if (n.level == 2) {
+			if (n.result == null) n.result = stepFourByFour(n);
+			return n.result;
+		}
+		j = Math.min(j, n.level - 2);
+		if (n.result != null && n.resultStep == j) return n.result;
+		if (limited && nodeCount > maxNodes) throw TABLE_FULL;
+		Node c1 = successor(n.nw, j);
+		Node c2 = successor(join(n.nw.ne, n.ne.nw, n.nw.se, n.ne.sw), j);
+		Node c3 = successor(n.ne, j);
+		Node c4 = successor(join(n.nw.sw, n.nw.se, n.sw.nw, n.sw.ne), j);
+		Node c5 = successor(join(n.nw.se, n.ne.sw, n.sw.ne, n.se.nw), j);
+		Node c6 = successor(join(n.ne.sw, n.ne.se, n.se.nw, n.se.ne), j);
+		Node c7 = successor(n.sw, j);
+		Node c8 = successor(join(n.sw.ne, n.se.nw, n.sw.se, n.se.sw), j);
+		Node c9 = successor(n.se, j);
+		Node result;
+		if (j < n.level - 2) {
+			result = join(join(c1.se, c2.sw, c4.ne, c5.nw), join(c2.se, c3.sw, c5.ne, c6.nw),
+					join(c4.se, c5.sw, c7.ne, c8.nw), join(c5.se, c6.sw, c8.ne, c9.nw));
+		}
+		else {
+			result = join(successor(join(c1, c2, c4, c5), j), successor(join(c2, c3, c5, c6), j),
+					successor(join(c4, c5, c7, c8), j), successor(join(c5, c6, c8, c9), j));
+		}
+		n.result = result;
+		n.resultStep = j;
+		return result;
+	}
+
+	/**
+	 * Calculates the center of a 4x4 node one generation later by applying the rules.
+	 */
+	private Node stepFourByFour(Node n) {
+		int bits = 0;
+		for (int i = 0; i < 4; i++) {
+			for (int j = 0; j < 4; j++) {
+				Node quadrant = i < 2 ? (j < 2 ? n.nw : n.ne) : (j < 2 ? n.sw : n.se);
+				int r = i & 1;
+				int c = j & 1;
+				Node leaf = r == 0 ? (c == 0 ? quadrant.nw : quadrant.ne) : (c == 0 ? quadrant.sw : quadrant.se);
+				if (leaf.population > 0) bits |= 1 << (i * 4 + j);
+			}
+		}
+		Node[] center = new Node[4];
+		for (int k = 0; k < 4; k++) {
+			int i = k >> 1;
+			int j = k & 1;
+			int neighbourhood = 0;
+			for (int r = 0; r < 3; r++) {
+				neighbourhood |= ((bits >>> ((i + r) * 4 + j)) & 7) << (3 * r);
+			}
+			center[k] = table[neighbourhood] ? ALIVE : DEAD;
+		}
+		return join(center[0], center[1], center[2], center[3]);
+	}
+
+	/**
+	 * Returns the node of the given level whose cells are all dead.
+	 */
+	private Node empty(int level) {
+		if (level == 0) return DEAD;
+		if (empty[level] == null) {
+			Node e = empty(level - 1);
+			empty[level] = join(e, e, e, e);
+		}
+		return empty[level];
+	}
+
+	/**
+	 * Returns the canonical node with the given quadrants, creating it if it does not exist yet.
+	 */
+	private Node join(Node nw, Node ne, Node sw, Node se) {
+		int hash = hash(nw.id, ne.id, sw.id, se.id);
+		int index = hash & (nodes.length - 1);
+		for (Node n = nodes[index]; n != null; n = n.next) {
+			if (n.nw == nw && n.ne == ne && n.sw == sw && n.se == se) return n;
+		}
+		Node n = new Node(nw, ne, sw, se, hash, nextId++);
+		n.next = nodes[index];
+		nodes[index] = n;
+		if (++nodeCount > nodes.length - (nodes.length >>> 2)) resize(nodes.length * 2);
+		return n;
+	}
+
+	private static int hash(int nw, int ne, int sw, int se) {
+		int h = nw;
+		h = h * 0x9E3779B1 + ne;
+		h = h * 0x9E3779B1 + sw;
+		h = h * 0x9E3779B1 + se;
+		return h ^ (h >>> 16);
+	}
+
+	private void resize(int length) {
+		Node[] old = nodes;
+		nodes = new Node[length];
+		for (Node bucket : old) {
+			Node n = bucket;
+			while (n != null) {
+				Node next = n.next;
+				int index = n.hash & (length - 1);
+				n.next = nodes[index];
+				nodes[index] = n;
+				n = next;
+			}
+		}
+	}
+
+	/**
+	 * Removes all nodes not used by the current pattern if the table holds more than maxNodes nodes.
+	 * All memoised results are forgotten, as they might refer to removed nodes.
+	 */
+	private void collectIfFull() {
+		if (nodeCount > maxNodes) collect();
+	}
+
+	/**
+	 * Removes all nodes not used by the current pattern and forgets all memoised results.
+	 * Shrinks the hash table if less than an eighth of it is used afterwards.
+	 */
+	private void collect() {
+		mark(root);
+		for (Node e : empty) {
+			if (e != null) mark(e);
+		}
+		int kept = 0;
+		for (int index = 0; index < nodes.length; index++) {
+			Node previous = null;
+			for (Node n = nodes[index]; n != null; n = n.next) {
+				n.result = null;
+				if (n.marked) {
+					n.marked = false;
+					kept++;
+					previous = n;
+				}
+				else if (previous == null) nodes[index] = n.next;
+				else previous.next = n.next;
+			}
+		}
+		nodeCount = kept;
+		int length = nodes.length;
+		while (length > MIN_TABLE_LENGTH && kept < length >>> 3) length >>>= 1;
+		if (length != nodes.length) resize(length);
+	}
+
+	private static void mark(Node n) {
+		if (n.level == 0 || n.marked) return;
+		n.marked = true;
+		mark(n.nw);
+		mark(n.ne);
+		mark(n.sw);
+		mark(n.se);
+	}
+
+	/**
+	 * Thrown by successor when the table holds more than maxNodes nodes. Carries no stack trace.
+	 */
+	@SuppressWarnings("serial")
+	private static final class TableFull extends RuntimeException {
+		TableFull() {
+			super(null, null, false, false);
+		}
+	}
+
+	/**
+	 * A node of the quadtree. A node of level k is a square of 2^k x 2^k cells made of four nodes of level k - 1.
+	 * Nodes are immutable apart from the memoised result.
+	 */
+	private static final class Node {
+		final int level;
+		final Node nw;
+		final Node ne;
+		final Node sw;
+		final Node se;
+		final long population;
+		final int hash;
+		final int id;
+		Node next;
+		Node result;
+		int resultStep;
+		boolean marked;
+
+		Node(long population, int id) {
+			level = 0;
+			nw = ne = sw = se = null;
+			this.population = population;
+			hash = id;
+			this.id = id;
+		}
+
+		Node(Node nw, Node ne, Node sw, Node se, int hash, int id) {
+			level = nw.level + 1;
+			this.nw = nw;
+			this.ne = ne;
+			this.sw = sw;
+			this.se = se;
+			population = nw.population + ne.population + sw.population + se.population;
+			this.hash = hash;
+			this.id = id;
+		}
+	}
+}
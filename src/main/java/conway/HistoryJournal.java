@@ -0,0 +1,593 @@
+package conway;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.IllegalArgumentException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * <h1>History Journal</h1>
+ * Remembers the generations of a grid so that any of them can be looked at again without calculating it.
+ * Each generation is recorded as the XOR of its words with the words of the generation before, which only
+ * holds the words that changed. Every keyframeInterval generations and after a gap the whole generation is
+ * recorded as a keyframe. A generation is restored from the nearest keyframe before or after it, since an XOR
+ * delta can be applied in both directions, so a seek applies at most keyframeInterval / 2 deltas.
+ * If the caller knows which words may have changed since the generation before, like the BitGridEngine
+ * with active tracking, only those are compared, so recording a generation costs as much as the changes
+ * and not as the grid, apart from the keyframes.
+ * <p>
+ * The records are kept in memory up to memoryBudget bytes. Beyond that the oldest records are spilled
+ * into a file in spillDirectory and read back when needed. Without a spillDirectory the oldest records are dropped.
+ * The spill file grows up to diskBudget bytes, beyond that the oldest keyframe and the deltas after it are dropped
+ * and the records left are moved to the start of the file once the space freed is needed.
+ * Recording a generation that is not after the last one replaces it and forgets all generations after it,
+ * as the history took another course from there.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     GridOfCells
+ * @see     BitGrid
+ * @exception IllegalArgumentException
+ * @exception UncheckedIOException
+ * @param   rows indicates the amount of rows of the recorded grid
+ * @param   columns indicates the amount of columns of the recorded grid
+ * @param   memoryBudget the amount of bytes of records kept in memory
+ * @param   diskBudget the largest size of the spill file in bytes
+ * @param   keyframeInterval the amount of generations from one keyframe to the next
+ * @param   spillDirectory the directory the spill file is created in, null if records are dropped instead
+ * @param   entries the records, ordered by generation
+ * @param   last the last recorded generation
+ * @param   sinceKeyframe the amount of records after the last keyframe
+ * @param   memoryUsed the amount of bytes of the records in memory
+ * @param   firstInMemory the index of the oldest record not spilled
+ * @param   spill the spill file, null until the first record is spilled
+ * @param   spillStart the offset of the oldest record in the spill file that was not dropped
+ * @param   spillSize the amount of bytes of the spill file in use
+ */
+public class HistoryJournal implements AutoCloseable {
+	public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+	public static final long DEFAULT_DISK_BUDGET = 1L << 30;
+	public static final int DEFAULT_KEYFRAME_INTERVAL = 64;
+	private final int rows;
+	private final int columns;
+	private final long memoryBudget;
+	private final long diskBudget;
+	private final int keyframeInterval;
+	private final Path spillDirectory;
+	private final ArrayList<Entry> entries = new ArrayList<>();
+	private BitGrid last;
+	private int sinceKeyframe;
+	private long memoryUsed;
+	private int firstInMemory;
+	private FileChannel spill;
+	private long spillStart;
+	private long spillSize;
+
+	/**
+	 * Creates an empty HistoryJournal with the default budgets and interval that spills into the temporary directory.
+	 * @param  rows rows of the recorded grid
+	 * @param  columns columns of the recorded grid
+	 */
+	public HistoryJournal(int rows, int columns) {
+		this(rows, columns, DEFAULT_MEMORY_BUDGET, DEFAULT_KEYFRAME_INTERVAL, Path.of(System.getProperty("java.io.tmpdir")));
+	}
+
+	/**
+	 * Creates an empty HistoryJournal whose spill file grows up to DEFAULT_DISK_BUDGET bytes.
+	 * @param  rows rows of the recorded grid
+	 * @param  columns columns of the recorded grid
+	 * @param  memoryBudget the amount of bytes of records kept in memory
+	 * @param  keyframeInterval the amount of generations from one keyframe to the next
+	 * @param  spillDirectory the directory the spill file is created in, null if old records are dropped instead
+	 * @exception IllegalArgumentException is thrown if memoryBudget is negative or keyframeInterval is smaller than 1.
+	 */
+	public HistoryJournal(int rows, int columns, long memoryBudget, int keyframeInterval, Path spillDirectory) {
+		this(rows, columns, memoryBudget, DEFAULT_DISK_BUDGET, keyframeInterval, spillDirectory);
+	}
+
+	/**
+	 * Creates an empty HistoryJournal.
+	 * @param  rows rows of the recorded grid
+	 * @param  columns columns of the recorded grid
+	 * @param  memoryBudget the amount of bytes of records kept in memory
+	 * @param  diskBudget the largest size of the spill file in bytes
+	 * @param  keyframeInterval the amount of generations from one keyframe to the next
+	 * @param  spillDirectory the directory the spill file is created in, null if old records are dropped instead
+	 * @exception IllegalArgumentException is thrown if a budget is negative or keyframeInterval is smaller than 1.
+	 */
+	public HistoryJournal(int rows, int columns, long memoryBudget, long diskBudget, int keyframeInterval, Path spillDirectory) {
+		if (memoryBudget < 0 || diskBudget < 0 || keyframeInterval < 1) throw new IllegalArgumentException();
+		this.rows = rows;
+		this.columns = columns;
+		this.memoryBudget = memoryBudget;
+		this.diskBudget = diskBudget;
+		this.keyframeInterval = keyframeInterval;
+		this.spillDirectory = spillDirectory;
+	}
+
+	/**
+	 * Checks if no generation is recorded.
+	 * @return true if the journal is empty
+	 */
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	/**
+	 * Getter for the first recorded generation.
+	 * @return the oldest generation that can be restored
+	 * @exception IllegalStateException is thrown if the journal is empty.
+	 */
+	public long getFirstGeneration() {
+		if (entries.isEmpty()) throw new IllegalStateException("empty history");
+		return entries.get(0).generation;
+	}
+
+	/**
+	 * Getter for the last recorded generation.
+	 * @return the newest generation that can be restored
+	 * @exception IllegalStateException is thrown if the journal is empty.
+	 */
+	public long getLastGeneration() {
+		if (entries.isEmpty()) throw new IllegalStateException("empty history");
+		return entries.get(entries.size() - 1).generation;
+	}
+
+	/**
+	 * Checks if a generation is recorded.
+	 * @param  generation the generation
+	 * @return true if the generation can be restored
+	 */
+	public boolean contains(long generation) {
+		return indexOf(generation) >= 0;
+	}
+
+	/**
+	 * Getter for memoryUsed.
+	 * @return the amount of bytes of the records held in memory
+	 */
+	public long getMemoryUsed() {
+		return memoryUsed;
+	}
+
+	/**
+	 * Getter for the amount of bytes spilled.
+	 * @return the amount of bytes of the records spilled to disk that were not dropped
+	 */
+	public long getSpilledBytes() {
+		return spillSize - spillStart;
+	}
+
+	/**
+	 * Records a generation. If the generation is not after the last recorded one,
+	 * it replaces the recorded one and all later generations are forgotten.
+	 * @param  generation the generation of state
+	 * @param  state the status of the generation, kept by the journal and not to be changed afterwards
+	 * @exception IllegalArgumentException is thrown if state is not of the size of the journal.
+	 * @exception UncheckedIOException is thrown if the spill file can not be written.
+	 */
+	public void record(long generation, BitGrid state) {
+		if (state.getRows() != rows || state.getColumns() != columns) throw new IllegalArgumentException();
+		if (!entries.isEmpty() && generation <= getLastGeneration()) truncateFrom(generation);
+		Entry entry = new Entry(generation);
+		if (last != null && getLastGeneration() == generation - 1) {
+			entry.delta = Words.diff(last.getWords(), state.getWords());
+		}
+		if (entry.delta == null || sinceKeyframe + 1 >= keyframeInterval) {
+			entry.keyframe = Words.diff(null, state.getWords());
+			sinceKeyframe = 0;
+		}
+		else sinceKeyframe++;
+		entry.hasDelta = entry.delta != null;
+		entry.hasKeyframe = entry.keyframe != null;
+		entries.add(entry);
+		memoryUsed += entry.bytes();
+		last = state;
+		enforceBudget();
+	}
+
+	/**
+	 * Records the generation after the last recorded one from the words that may have changed since then.
+	 * Only those words of state are read and state is not kept, the journal updates its own copy of the last generation.
+	 * If the generation does not follow the last recorded one or a keyframe is due, it is recorded as a whole.
+	 * @param  generation the generation of state
+	 * @param  state the status of the generation, only read during the call
+	 * @param  changedWords the indices of the words of state that may differ from the last recorded generation, each once
+	 * @exception IllegalArgumentException is thrown if state is not of the size of the journal.
+	 * @exception UncheckedIOException is thrown if the spill file can not be written.
+	 */
+	public void record(long generation, BitGrid state, int[] changedWords) {
+		if (state.getRows() != rows || state.getColumns() != columns) throw new IllegalArgumentException();
+		if (last == null || generation != getLastGeneration() + 1 || sinceKeyframe + 1 >= keyframeInterval) {
+			record(generation, state.copy());
+			return;
+		}
+		Entry entry = new Entry(generation);
+		entry.delta = Words.diff(last.getWords(), state.getWords(), changedWords);
+		entry.delta.applyTo(last.getWords());
+		entry.hasDelta = true;
+		sinceKeyframe++;
+		entries.add(entry);
+		memoryUsed += entry.bytes();
+		enforceBudget();
+	}
+
+	/**
+	 * Restores a recorded generation.
+	 * @param  generation the generation to restore
+	 * @return a new BitGrid holding the status of the generation
+	 * @exception IllegalArgumentException is thrown if the generation is not recorded.
+	 * @exception UncheckedIOException is thrown if the spill file can not be read.
+	 */
+	public BitGrid seek(long generation) {
+		int i = indexOf(generation);
+		if (i < 0) throw new IllegalArgumentException("generation " + generation + " is not in the history");
+		int end = entries.size() - 1;
+		if (i == end) return last.copy();
+		int before = i;
+		while (!entries.get(before).hasKeyframe) before--;
+		// the last generation is at hand as a whole, so it serves as a keyframe for going backwards
+		int after = i + 1;
+		while (after < end && !entries.get(after).hasKeyframe) after++;
+		boolean backwards = after - i < i - before;
+		for (int j = i + 1; backwards && j <= after; j++) backwards = entries.get(j).hasDelta;
+		BitGrid state = new BitGrid(rows, columns);
+		long[] words = state.getWords();
+		if (backwards) {
+			if (after == end) System.arraycopy(last.getWords(), 0, words, 0, words.length);
+			else load(entries.get(after)).keyframe.applyTo(words);
+			for (int j = after; j > i; j--) load(entries.get(j)).delta.applyTo(words);
+		}
+		else {
+			load(entries.get(before)).keyframe.applyTo(words);
+			for (int j = before + 1; j <= i; j++) load(entries.get(j)).delta.applyTo(words);
+		}
+		return state;
+	}
+
+	/**
+	 * Forgets all generations and empties the spill file.
+	 * @exception UncheckedIOException is thrown if the spill file can not be emptied.
+	 */
+	public void clear() {
+		entries.clear();
+		last = null;
+		sinceKeyframe = 0;
+		memoryUsed = 0;
+		firstInMemory = 0;
+		truncateSpill(0);
+	}
+
+	/**
+	 * Closes and deletes the spill file. The journal is empty afterwards.
+	 */
+	@Override
+	public void close() {
+		entries.clear();
+		last = null;
+		memoryUsed = 0;
+		firstInMemory = 0;
+		spillStart = 0;
+		spillSize = 0;
+		if (spill == null) return;
+		try {
+			spill.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		finally {
+			spill = null;
+		}
+	}
+
+	private int indexOf(long generation) {
+		int low = 0;
+		int high = entries.size() - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			long found = entries.get(middle).generation;
+			if (found < generation) low = middle + 1;
+			else if (found > generation) high = middle - 1;
+			else return middle;
+		}
+		return -1;
+	}
+
+	/**
+	 * Forgets all generations from generation on and restores the last remaining one.
+	 */
+	private void truncateFrom(long generation) {
+		int keep = entries.size();
+		while (keep > 0 && entries.get(keep - 1).generation >= generation) keep--;
+		long spilledFrom = -1;
+		for (int j = keep; j < entries.size(); j++) {
+			Entry entry = entries.get(j);
+			if (entry.spillOffset >= 0 && spilledFrom < 0) spilledFrom = entry.spillOffset;
+			if (entry.spillOffset < 0) memoryUsed -= entry.bytes();
+		}
+		entries.subList(keep, entries.size()).clear();
+		firstInMemory = Math.min(firstInMemory, keep);
+		if (spilledFrom >= 0) truncateSpill(spilledFrom);
+		sinceKeyframe = 0;
+		for (int j = keep - 1; j >= 0 && !entries.get(j).hasKeyframe; j--) sinceKeyframe++;
+		last = null;
+		if (keep == 0) return;
+		// seek takes the last generation from last, so it is restored from the keyframe before it
+		int before = keep - 1;
+		while (!entries.get(before).hasKeyframe) before--;
+		last = new BitGrid(rows, columns);
+		load(entries.get(before)).keyframe.applyTo(last.getWords());
+		for (int j = before + 1; j < keep; j++) load(entries.get(j)).delta.applyTo(last.getWords());
+	}
+
+	/**
+	 * Spills or drops the oldest records while more than memoryBudget bytes are used.
+	 * Records that do not fit into the spill file within diskBudget make room by dropping the oldest ones.
+	 */
+	private void enforceBudget() {
+		while (memoryUsed > memoryBudget && firstInMemory < entries.size() - 1) {
+			Entry entry = entries.get(firstInMemory);
+			if (spillDirectory == null || getSpilledBytes() + entry.spilledBytes() > diskBudget) {
+				dropOldest();
+				continue;
+			}
+			if (spillSize + entry.spilledBytes() > diskBudget) compactSpill();
+			spill(entry);
+			firstInMemory++;
+		}
+	}
+
+	/**
+	 * Drops the oldest records up to the next keyframe, which then becomes the first record.
+	 */
+	private void dropOldest() {
+		int next = 1;
+		while (next < entries.size() - 1 && !entries.get(next).hasKeyframe) next++;
+		if (!entries.get(next).hasKeyframe) {
+			// only the last record can be without a keyframe here, which is never spilled
+			Entry entry = entries.get(next);
+			memoryUsed -= entry.bytes();
+			entry.keyframe = Words.diff(null, seek(entry.generation).getWords());
+			entry.hasKeyframe = true;
+			memoryUsed += entry.bytes();
+		}
+		for (int j = 0; j < next; j++) {
+			Entry entry = entries.get(j);
+			if (entry.spillOffset < 0) memoryUsed -= entry.bytes();
+			else spillStart = Math.max(spillStart, entry.spillOffset + entry.spillLength);
+		}
+		entries.subList(0, next).clear();
+		firstInMemory = Math.max(0, firstInMemory - next);
+		if (spillStart == spillSize) truncateSpill(0);
+		Entry first = entries.get(0);
+		first.hasDelta = false;
+		if (first.spillOffset >= 0) return;
+		memoryUsed -= first.bytes();
+		first.delta = null;
+		memoryUsed += first.bytes();
+	}
+
+	/**
+	 * Moves the records in the spill file that were not dropped to the start of the file.
+	 */
+	private void compactSpill() {
+		if (spillStart == 0) return;
+		try {
+			ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+			for (long from = spillStart; from < spillSize; ) {
+				buffer.clear();
+				buffer.limit((int) Math.min(buffer.capacity(), spillSize - from));
+				while (buffer.hasRemaining()) {
+					if (spill.read(buffer, from + buffer.position()) < 0) throw new IOException("spill file too short");
+				}
+				buffer.flip();
+				long to = from - spillStart;
+				while (buffer.hasRemaining()) to += spill.write(buffer, to);
+				from += buffer.limit();
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		for (Entry entry : entries) {
+			if (entry.spillOffset >= 0) entry.spillOffset -= spillStart;
+		}
+		long size = spillSize - spillStart;
+		spillStart = 0;
+		truncateSpill(size);
+	}
+
+	private void spill(Entry entry) {
+		try {
+			if (spill == null) {
+				Path file = Files.createTempFile(spillDirectory, "history", ".bin");
+				spill = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+						StandardOpenOption.DELETE_ON_CLOSE);
+			}
+			ByteBuffer buffer = ByteBuffer.allocate(entry.spilledBytes());
+			Words.write(entry.delta, buffer);
+			Words.write(entry.keyframe, buffer);
+			buffer.flip();
+			long offset = spillSize;
+			while (buffer.hasRemaining()) spillSize += spill.write(buffer, spillSize);
+			memoryUsed -= entry.bytes();
+			entry.spillOffset = offset;
+			entry.spillLength = (int) (spillSize - offset);
+			entry.delta = null;
+			entry.keyframe = null;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Returns the entry itself if it is in memory or a copy read from the spill file.
+	 */
+	private Entry load(Entry entry) {
+		if (entry.spillOffset < 0) return entry;
+		try {
+			ByteBuffer buffer = ByteBuffer.allocate(entry.spillLength);
+			while (buffer.hasRemaining()) {
+				if (spill.read(buffer, entry.spillOffset + buffer.position()) < 0) throw new IOException("spill file too short");
+			}
+			buffer.flip();
+			Entry loaded = new Entry(entry.generation);
+			loaded.delta = Words.read(buffer);
+			loaded.keyframe = Words.read(buffer);
+			return loaded;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void truncateSpill(long size) {
+		// without records left the file is emptied
+		if (size <= spillStart) {
+			size = 0;
+			spillStart = 0;
+		}
+		spillSize = size;
+		if (spill == null) return;
+		try {
+			spill.truncate(size);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * The record of one generation. The delta and keyframe are null while they are spilled.
+	 */
+	private static class Entry {
+		private final long generation;
+		private Words delta;
+		private Words keyframe;
+		private boolean hasDelta;
+		private boolean hasKeyframe;
+		private long spillOffset = -1;
+		private int spillLength;
+
+		Entry(long generation) {
+			this.generation = generation;
+		}
+
+		long bytes() {
+			return 48 + (delta == null ? 0 : delta.bytes()) + (keyframe == null ? 0 : keyframe.bytes());
+		}
+
+		int spilledBytes() {
+			return 8 + (delta == null ? 0 : delta.bytes()) + (keyframe == null ? 0 : keyframe.bytes());
+		}
+	}
+
+	/**
+	 * Words of a grid that are not zero, with their positions, or all words if that is smaller.
+	 */
+	private static class Words {
+		private final int[] indices;
+		private final long[] values;
+
+		private Words(int[] indices, long[] values) {
+			this.indices = indices;
+			this.values = values;
+		}
+
+		/**
+		 * Calculates the XOR of two arrays of words, before may be null for an array of zeros.
+		 */
+		static Words diff(long[] before, long[] after) {
+			int used = 0;
+			for (int k = 0; k < after.length; k++) {
+				if ((before == null ? after[k] : before[k] ^ after[k]) != 0) used++;
+			}
+			if (12L * used >= 8L * after.length) {
+				long[] values = after.clone();
+				if (before != null) {
+					for (int k = 0; k < values.length; k++) values[k] ^= before[k];
+				}
+				return new Words(null, values);
+			}
+			int[] indices = new int[used];
+			long[] values = new long[used];
+			int n = 0;
+			for (int k = 0; k < after.length; k++) {
+				long value = before == null ? after[k] : before[k] ^ after[k];
+				if (value == 0) continue;
+				indices[n] = k;
+				values[n++] = value;
+			}
+			return new Words(indices, values);
+		}
+
+		/**
+		 * Calculates the XOR of two arrays of words at the given positions, all other words are taken as equal.
+		 */
+		static Words diff(long[] before, long[] after, int[] positions) {
+			int used = 0;
+			for (int k : positions) {
+				if (before[k] != after[k]) used++;
+			}
+			int[] indices = new int[used];
+			long[] values = new long[used];
+			int n = 0;
+			for (int k : positions) {
+				long value = before[k] ^ after[k];
+				if (value == 0) continue;
+				indices[n] = k;
+				values[n++] = value;
+			}
+			return new Words(indices, values);
+		}
+
+		void applyTo(long[] words) {
+			if (indices == null) {
+				for (int k = 0; k < values.length; k++) words[k] ^= values[k];
+				return;
+			}
+			for (int n = 0; n < indices.length; n++) words[indices[n]] ^= values[n];
+		}
+
+		int bytes() {
+			return (indices == null ? 0 : 4 * indices.length) + 8 * values.length;
+		}
+
+		static void write(Words words, ByteBuffer buffer) {
+			if (words == null) {
+				buffer.putInt(-1);
+				return;
+			}
+			buffer.putInt(words.indices == null ? -2 - words.values.length : words.values.length);
+			if (words.indices != null) {
+				for (int index : words.indices) buffer.putInt(index);
+			}
+			for (long value : words.values) buffer.putLong(value);
+		}
+
+		static Words read(ByteBuffer buffer) {
+			int count = buffer.getInt();
+			if (count == -1) return null;
+			boolean dense = count < -1;
+			int length = dense ? -2 - count : count;
+			int[] indices = null;
+			if (!dense) {
+				indices = new int[length];
+				for (int n = 0; n < length; n++) indices[n] = buffer.getInt();
+			}
+			long[] values = new long[length];
+			for (int n = 0; n < length; n++) values[n] = buffer.getLong();
+			return new Words(indices, values);
+		}
+	}
+}
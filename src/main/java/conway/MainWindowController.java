@@ -1,36 +1,39 @@
 package conway;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import com.google.gson.Gson;
-import javafx.animation.Animation.Status;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.beans.binding.DoubleBinding;
-import javafx.beans.binding.StringBinding;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
-import javafx.scene.layout.GridPane;
-import javafx.scene.transform.Scale;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
 import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 import javafx.scene.Scene;
 import javafx.scene.Cursor;
 import javafx.scene.Parent;
 import java.util.Date;
-import java.util.Scanner;
 
 /**
  * <h1>Main Window Controller</h1>
  * Controls the main window of the application. Connects buttons with its functionalities, organizes the data, manages the UI.
+ * The generations are calculated by a SimulationRunner on its own thread. An AnimationTimer shows the newest Frame
+ * of the runner once per frame of the display, all changes of the grid are handed to the runner.
+ * Saves and checkpoints are written by a CheckpointWriter on its own thread, so saving never pauses the simulation.
+ * While the simulation runs a checkpoint is taken every CHECKPOINT_INTERVAL into a directory of its own below
+ * states/checkpoints for each grid.
+ * The Viewport shows the rows and columns of the universe. The window of an unbounded grid follows its cells,
+ * and the view follows the box around the cells alive as long as it showed the whole box before.
  *
  * @author  Bertan Karacora
  * @author  Jan Sturzenhecker
@@ -38,19 +41,52 @@ import java.util.Scanner;
  * @version 1.0
  * @since   2020-07-06
  * @exception IOException
- * @param   gridOfCells an instance of GridOfCells shown in the main window
+ * @param   gridOfCells an instance of GridOfCells shown in the main window, only used through runner
+ * @param   runner calculates the generations of gridOfCells
+ * @param   checkpoints writes saves, rules and the periodic checkpoints of gridOfCells
+ * @param   animationTimer shows the newest Frame of runner at display rate
+ * @param   shownGeneration the generation of the Frame shown last
+ * @param   speedSince the time the shown speed was measured from
+ * @param   speedGeneration the generation the shown speed was measured from
+ * @param   renderer paints the status of gridOfCells into the image shown by grid
+ * @param   lastRow the row of the Cell that was changed last by pressing or dragging the mouse
+ * @param   lastColumn the column of the Cell that was changed last by pressing or dragging the mouse
+ * @param   viewport the part of the grid shown
+ * @param   shownFrame the Frame of runner shown last
+ * @param   viewChanged indicates if the viewport changed since shownFrame was painted
+ * @param   unbounded indicates if gridOfCells is unbounded
+ * @param   following indicates if the view showed all cells alive of the Frame shown last
+ * @param   x the horizontal position of the mouse while the view is dragged
+ * @param   y the vertical position of the mouse while the view is dragged
+ * @param   CELL_SIZE indicates the largest size of a Cell on the screen when a grid is shown first
  * @param   SCALE_DELTA indicates usual scaling/zooming rate
+ * @param   CHECKPOINT_INTERVAL the time between two periodic checkpoints in nanoseconds
  */
 public class MainWindowController {
 	private final double SCALE_DELTA = 1.1;
+	private final double CELL_SIZE = 10;
+	private static final long CHECKPOINT_INTERVAL = 5_000_000_000L;
 	private double x,y;
+	private Viewport viewport;
+	private SimulationRunner.Frame shownFrame;
+	private boolean viewChanged;
+	private boolean unbounded;
+	private boolean following;
 	private GridOfCells gridOfCells;
-	private Timeline timeline;
+	private GridRenderer renderer;
+	private int lastRow;
+	private int lastColumn;
+	private SimulationRunner runner;
+	private CheckpointWriter checkpoints;
+	private AnimationTimer animationTimer;
+	private long shownGeneration;
+	private long speedSince;
+	private long speedGeneration;
 	private Gson gson;
 	private File states;
 	private File rules;
-	@FXML private GridPane grid;
-	@FXML private ScrollPane scrollPane;
+	@FXML private ImageView grid;
+	@FXML private Pane viewPane;
 	@FXML private MenuButton menuButton;
 	@FXML private MenuItem beendenButton;
 	@FXML private MenuItem changeRulesButton;
@@ -58,57 +94,42 @@ public class MainWindowController {
 	@FXML private MenuItem loadButton;
 	@FXML private MenuItem loadRulesButton;
 	@FXML private MenuItem saveButton;
+	@FXML private MenuItem exportPatternButton;
+	@FXML private MenuItem goToGenerationButton;
 	@FXML private MenuItem saveRulesButton;
 	@FXML private MenuItem quitButton;
 	@FXML private Slider simulationSpeedSlider;
+	@FXML private ToggleButton turboButton;
 	@FXML private Label speedLabel;
 	@FXML private Label stepsLabel;
 	@FXML private Label cellsAliveCounterLabel;
 	@FXML private Button startOrPauseButton;
 	@FXML private Button stepButton;
+	@FXML private Button stepBackButton;
 	@FXML private Button invertRulesButton;
 	@FXML private Button invertCellsButton;
 	@FXML private Button randomizeButton;
+	@FXML private Button boundaryButton;
 
 	/**
 	 * Initializes everything.
 	 */
 	public void initialize() {
 		gson = new Gson();
-		timeline = new Timeline();
-		timeline.setCycleCount(Timeline.INDEFINITE);
-		timeline.getKeyFrames().add(
-				new KeyFrame(Duration.millis(1000), e -> step())
-				);
-		timeline.rateProperty().bind(new DoubleBinding() {
-			{
-				bind(simulationSpeedSlider.valueProperty());
-			}
-			@Override
-			protected double computeValue() {
-				return Math.pow(2, simulationSpeedSlider.valueProperty().get())-1;
-			}
-		});
-		speedLabel.textProperty().bind(new StringBinding() {
-			{
-				bind(timeline.currentRateProperty());
-			}
-			@Override
-			protected String computeValue() {
-				if (timeline.currentRateProperty().get() == 0) return "Speed: not running";
-				return "Speed: " + Double.toString(1/(timeline.currentRateProperty().get())*1000) + "ms/Generation";
-			}
-		});
-		startOrPauseButton.textProperty().bind(new StringBinding() {
-			{
-				bind(timeline.statusProperty());
-			}
+		simulationSpeedSlider.valueProperty().addListener((observable, oldValue, newValue) -> changeSpeed());
+		turboButton.selectedProperty().addListener((observable, oldValue, newValue) -> changeSpeed());
+		viewPane.widthProperty().addListener((observable, oldValue, newValue) -> resizeView());
+		viewPane.heightProperty().addListener((observable, oldValue, newValue) -> resizeView());
+		animationTimer = new AnimationTimer() {
 			@Override
-			protected String computeValue() {
-				if (timeline.statusProperty().get() == Status.RUNNING) return "Stop";
-				else return "Start";
+			public void handle(long now) {
+				SimulationRunner.Frame frame = runner == null ? null : runner.poll();
+				if (frame != null) show(frame);
+				if (frame != null || viewChanged) draw();
+				showSpeed(now);
 			}
-		});
+		};
+		animationTimer.start();
 		states = new File("states");
 		rules = new File("rules");
 		states.mkdir();
@@ -134,21 +155,177 @@ public class MainWindowController {
 	 * @param columns columns of the grid
 	 */
 	public void makeNewGrid(int rows, int columns) {
-		gridOfCells = new GridOfCells(rows, columns);
-		fill(rows, columns);
+		makeNewGrid(rows, columns, false);
+	}
+
+	/**
+	 * Generates a new grid of a given size with the rules of Conway's Game, or an unbounded one with a window of that size.
+	 * @param rows rows of the grid
+	 * @param columns columns of the grid
+	 * @param unbounded true for an unbounded universe
+	 */
+	public void makeNewGrid(int rows, int columns, boolean unbounded) {
+		setGridOfCells(new GridOfCells(rows, columns, Rules.of("B3/S23"), unbounded));
 	}
 
 	/**
-	 * Fills the gridPane with Cells.
+	 * Replaces the grid shown by another one and creates a SimulationRunner for it. The old runner is ended.
+	 * @param newGridOfCells the grid to show
+	 */
+	private void setGridOfCells(GridOfCells newGridOfCells) {
+		if (runner != null) runner.close();
+		if (checkpoints != null) checkpoints.close();
+		gridOfCells = newGridOfCells;
+		unbounded = gridOfCells.isUnbounded();
+		// the window steps back and seeks, so it records the generations, an unbounded grid has no history
+		if (!unbounded) gridOfCells.setHistoryEnabled(true);
+		// patterns drawn by hand are mostly small, so only the tiles around them are calculated
+		gridOfCells.setActiveTracking(true);
+		runner = new SimulationRunner(gridOfCells);
+		checkpoints = new CheckpointWriter(states.toPath().resolve("checkpoints").resolve(fileName()));
+		runner.setCheckpoints(checkpoints, CHECKPOINT_INTERVAL);
+		changeSpeed();
+		fill(gridOfCells.getRows(), gridOfCells.getColumns());
+	}
+
+	/**
+	 * Creates a Viewport for the grid that fits the whole grid into the view.
 	 * @param gridRows rows of the grid
 	 * @param gridColumns columns of the grid
 	 */
 	public void fill(int gridRows, int gridColumns) {
-		for (int i = 0; i < gridRows; i++) {
-			for (int j = 0; j < gridColumns; j++) {
-				grid.add(gridOfCells.getCell(i, j), j, i, 1, 1);
-			}
+		viewport = new Viewport(gridRows, gridColumns);
+		shownFrame = null;
+		following = true;
+		resizeView();
+		showBoundary();
+	}
+
+	/**
+	 * Adapts the Viewport and the renderer to the size of the view.
+	 * The grid is fitted into the view once the view has a size.
+	 */
+	private void resizeView() {
+		if (viewport == null) return;
+		int width = (int) viewPane.getWidth();
+		int height = (int) viewPane.getHeight();
+		boolean sized = viewport.getWidth() > 0 && viewport.getHeight() > 0;
+		viewport.setSize(width, height);
+		if (width <= 0 || height <= 0) return;
+		if (!sized) viewport.fit(CELL_SIZE);
+		renderer = new GridRenderer(width, height);
+		renderer.setUnbounded(unbounded);
+		grid.setImage(renderer.getImage());
+		viewChanged = true;
+	}
+
+	/**
+	 * Paints the Frame shown last through the Viewport.
+	 */
+	private void draw() {
+		if (renderer == null || shownFrame == null || viewport.getWidth() <= 0 || viewport.getHeight() <= 0) return;
+		SimulationEvents.RenderEvent event = new SimulationEvents.RenderEvent();
+		event.begin();
+		long start = System.nanoTime();
+		renderer.render(shownFrame.getState(), shownFrame.getWindow(), viewport);
+		SimulationMetrics.get().rendered(System.nanoTime() - start);
+		viewChanged = false;
+		event.end();
+		if (event.shouldCommit()) {
+			event.generation = shownFrame.getGeneration();
+			event.cells = (long) viewport.getWidth() * viewport.getHeight();
+			event.commit();
+		}
+	}
+
+	/**
+	 * Shows the generation of a Frame of the runner, it is painted by draw.
+	 * The automatic simulation is stopped by the runner when the grid died out or started to repeat itself,
+	 * the Cycle is shown below the generation. The population, births, deaths and active tiles are shown below.
+	 * If a step failed, the error is shown in a dialog.
+	 * @param frame the Frame to show
+	 */
+	private void show(SimulationRunner.Frame frame) {
+		shownFrame = frame;
+		if (unbounded) follow(frame);
+		Cycle cycle = frame.getCycle();
+		if (cycle == null) stepsLabel.textProperty().setValue("Generation: " + frame.getGeneration());
+		else stepsLabel.textProperty().setValue("Generation: " + frame.getGeneration() + "\n" + cycle);
+		GenerationStatistics statistics = frame.getStatistics();
+		cellsAliveCounterLabel.setText("Cells alive: " + statistics.getPopulation()
+				+ "\nBorn: " + statistics.getBirths() + "\nDied: " + statistics.getDeaths()
+				+ "\nActive tiles: " + statistics.getActiveTiles());
+		startOrPauseButton.setText(frame.isRunning() ? "Stop" : "Start");
+		if (frame.getError() != null) showError("The simulation was stopped: " + frame.getError());
+		shownGeneration = frame.getGeneration();
+		if (!frame.isRunning()) speedGeneration = shownGeneration;
+	}
+
+	/**
+	 * Fits the view around the window of an unbounded grid once its cells leave the view,
+	 * unless the view was moved away from them.
+	 * @param frame the Frame to show
+	 */
+	private void follow(SimulationRunner.Frame frame) {
+		Region box = frame.getStatistics().getBoundingBox();
+		if (box == null || viewport.getWidth() <= 0 || viewport.getHeight() <= 0) return;
+		Region window = frame.getWindow();
+		box = new Region(box.getTop() + window.getTop(), box.getLeft() + window.getLeft(),
+				box.getBottom() + window.getTop(), box.getRight() + window.getLeft());
+		if (following && !viewport.shows(box)) {
+			viewport.fit(window, CELL_SIZE);
+			viewChanged = true;
 		}
+		following = viewport.shows(box);
+	}
+
+	/**
+	 * Shows how many generations were calculated per second, measured over half a second.
+	 * @param now the time of the current frame of the display in nanoseconds
+	 */
+	private void showSpeed(long now) {
+		if (now - speedSince < 500_000_000L) return;
+		if (runner == null || !(runner.isRunning() || runner.isSeeking())) speedLabel.setText("Speed: not running");
+		else {
+			double perSecond = (shownGeneration - speedGeneration) * 1e9 / (now - speedSince);
+			speedLabel.setText(String.format("Speed: %.1f generations/s%s", perSecond, turboButton.isSelected() ? " (turbo)" : ""));
+			speedGeneration = shownGeneration;
+		}
+		speedSince = now;
+	}
+
+	/**
+	 * Hands the speed chosen with the slider to the runner, 2^value - 1 generations per second.
+	 * In turbo mode the runner steps as fast as it can.
+	 */
+	private void changeSpeed() {
+		if (runner == null) return;
+		double perSecond = Math.pow(2, simulationSpeedSlider.getValue()) - 1;
+		if (turboButton.isSelected()) runner.setPeriodNanos(SimulationRunner.TURBO);
+		else if (perSecond <= 0) runner.setPeriodNanos(SimulationRunner.NEVER);
+		else runner.setPeriodNanos((long) (1e9 / perSecond));
+	}
+
+	/**
+	 * Inverts the status of the Cell below the mouse unless it was the Cell changed last.
+	 * An unbounded grid grows to hold a Cell outside of it. The position is taken relative to the window
+	 * of the grid by the runner, as the window may move until the change is made.
+	 * @param event the mouse event in the coordinates of the universe
+	 * @param always true if the Cell is also changed when it was the Cell changed last
+	 */
+	private void changeCellAt(MouseEvent event, boolean always) {
+		int i = (int) Math.floor(viewport.rowAt(event.getY()));
+		int j = (int) Math.floor(viewport.columnAt(event.getX()));
+		if (!unbounded && (i < 0 || i >= viewport.getRows() || j < 0 || j >= viewport.getColumns())) return;
+		if (!always && i == lastRow && j == lastColumn) return;
+		lastRow = i;
+		lastColumn = j;
+		runner.execute(() -> {
+			Region window = gridOfCells.getWindow();
+			int row = i - window.getTop();
+			int column = j - window.getLeft();
+			gridOfCells.setCellAlive(row, column, !gridOfCells.isCellAlive(row, column));
+		});
 	}
 
 	/**
@@ -159,12 +336,66 @@ public class MainWindowController {
 		return gridOfCells;
 	}
 
+	/**
+	 * Changes the rules of the grid, used by the change rules window.
+	 * @param newRules the new rules
+	 */
+	public void setRules(Rules newRules) {
+		try {
+			runner.execute(() -> gridOfCells.setRules(newRules));
+		}
+		catch (IllegalArgumentException e) {
+			showError("The rules could not be applied: " + e.getMessage());
+		}
+	}
+
 	/**
 	 * Makes a time step forward and shows the next generation of Cells.
 	 */
 	@FXML public void step() {
-		gridOfCells.nextGeneration();
-		stepsLabel.textProperty().setValue("Generation: " + gridOfCells.getGeneration());
+		runner.execute(gridOfCells::nextGeneration);
+	}
+
+	/**
+	 * Goes back to the generation before the current one, taken from the history of the grid.
+	 */
+	@FXML public void stepBack() {
+		runner.pause();
+		runner.execute(gridOfCells::previousGeneration);
+	}
+
+	/**
+	 * Asks for a generation and goes to it. Earlier generations are taken from the history of the grid,
+	 * later ones are calculated by the runner, which shows them on the way, or jumped to if they are far ahead,
+	 * so even generation 1000000000 can be reached. Stop ends the seek.
+	 */
+	@FXML public void goToGeneration() {
+		runner.pause();
+		TextInputDialog dialog = new TextInputDialog(Long.toString(shownGeneration));
+		dialog.setTitle("Go to generation");
+		dialog.setHeaderText(null);
+		String range = runner.call(() -> {
+			HistoryJournal history = gridOfCells.getHistory();
+			if (history == null || history.isEmpty()) return "";
+			return " (history " + history.getFirstGeneration() + " to " + history.getLastGeneration() + ")";
+		});
+		dialog.setContentText("Generation" + range + ":");
+		String input = dialog.showAndWait().orElse(null);
+		if (input == null) return;
+		long target;
+		try {
+			target = Long.parseLong(input.trim());
+		}
+		catch (NumberFormatException e) {
+			new Alert(Alert.AlertType.ERROR, input.trim() + " is not a generation.").showAndWait();
+			return;
+		}
+		try {
+			runner.seek(target);
+		}
+		catch (IllegalArgumentException e) {
+			new Alert(Alert.AlertType.ERROR, e.getMessage()).showAndWait();
+		}
 	}
 
 	/**
@@ -173,9 +404,7 @@ public class MainWindowController {
 	 * @exception IOException
 	 */
 	public void reset() throws IOException{
-		timeline.stop();
-		grid.getChildren().clear();
-		grid.getTransforms().clear();
+		runner.pause();
 		FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/ResetWindow.fxml"));
 		Parent load = fxmlLoader.load();
 		Scene scene = new Scene(load, 500, 500);
@@ -190,6 +419,7 @@ public class MainWindowController {
 	 * Ends the Program.
 	 */
 	@FXML public void quit() {
+		if (checkpoints != null) checkpoints.close();
 		System.exit(0);
 	}
 
@@ -198,53 +428,117 @@ public class MainWindowController {
 	 * If a simulation is running it is paused.
 	 */
 	@FXML public void startOrPause() {
-		if (timeline.getStatus() == Status.RUNNING) timeline.pause();
-		else timeline.play();
+		if (runner.isRunning() || runner.isSeeking()) runner.pause();
+		else runner.start();
+	}
+
+	/**
+	 * Copies the current generation of the grid, so it can be saved while the runner goes on.
+	 * @return a new GridOfCells holding the current generation
+	 */
+	private GridOfCells copyGridOfCells() {
+		return runner.call(() -> new GridOfCells(gridOfCells.getEngine().snapshot(), gridOfCells.getRules(),
+				gridOfCells.getBoundary(), gridOfCells.getGeneration()));
+	}
+
+	/**
+	 * Names files after the current time.
+	 * @return the current time without characters not allowed in file names
+	 */
+	private static String fileName() {
+		return new Date().toString().replace(':', '_');
+	}
+
+	/**
+	 * Saves the current state of the simulation into a StateFile.
+	 * The file is written in the background, neither the simulation nor the window wait for it.
+	 */
+	@FXML public void save() {
+		Path path = states.toPath().resolve(fileName() + StateFile.FILE_EXTENSION);
+		SimulationEvents.FileEvent event = new SimulationEvents.FileEvent();
+		event.begin();
+		long start = System.nanoTime();
+		checkpoints.write(runner.takeCheckpoint(), path).whenComplete((written, e) -> {
+			if (e != null) {
+				showError("The state could not be saved: " + e.getMessage());
+				return;
+			}
+			SimulationMetrics.get().saved(System.nanoTime() - start);
+			commit(event, "save", path);
+		});
+	}
+
+	/**
+	 * Shows an error in a dialog, may be called from any thread.
+	 */
+	private static void showError(String message) {
+		Platform.runLater(() -> new Alert(Alert.AlertType.ERROR, message).show());
 	}
 
 	/**
-	 * Saves to current state of the simulation into Json.
+	 * Commits a FileEvent if Java Flight Recorder is recording.
 	 */
-	@FXML public void save() throws IOException{
-		timeline.pause();
-		gridOfCells.save();
-		String s = gson.toJson(gridOfCells);
-		String Path = "states" + File.separator + new Date().toString().replace(':', '_');
-		//create File for the state
-		File state = new File(Path);
-		state.createNewFile();
-		//write json string into state file
-		FileWriter writer = new FileWriter((Path));
-		writer.write(s);
-		writer.close();
+	private static void commit(SimulationEvents.FileEvent event, String operation, Path path) {
+		event.end();
+		if (!event.shouldCommit()) return;
+		event.operation = operation;
+		event.path = path.toString();
+		event.commit();
 	}
 
 	/**
-	 * Loads a saved state of the simulation from Json into the grid.
+	 * Loads a saved state of the simulation into the grid. States saved as Json by older versions are read as well,
+	 * files ending in .rle or .mc are read as RLE or Macrocell patterns.
 	 */
 	@FXML public void loadSimulation() throws IOException {
-		String s = "";
 		FileChooser fileChooser = new FileChooser();
 		fileChooser.setInitialDirectory(new File("states"));
 		fileChooser.setTitle("Open State File ");
 		File newState = fileChooser.showOpenDialog(Main.getStage());
 		if (newState == null) return;
-		Scanner scanner = new Scanner(newState);
-		while(scanner.hasNextLine()){
-			s = s + scanner.nextLine();
+		Path path = newState.toPath();
+		SimulationEvents.FileEvent event = new SimulationEvents.FileEvent();
+		event.begin();
+		long start = System.nanoTime();
+		GridOfCells loaded;
+		if (PatternFile.isPatternFile(path)) loaded = PatternFile.read(path);
+		else loaded = StateFile.read(path);
+		SimulationMetrics.get().loaded(System.nanoTime() - start);
+		commit(event, "load", path);
+		setGridOfCells(loaded);
+	}
+
+	/**
+	 * Exports the current generation as an RLE or Macrocell pattern, as chosen by the user.
+	 * @exception IOException
+	 */
+	@FXML public void exportPattern() throws IOException {
+		FileChooser fileChooser = new FileChooser();
+		fileChooser.setInitialDirectory(states);
+		fileChooser.setTitle("Export Pattern ");
+		fileChooser.getExtensionFilters().addAll(
+				new FileChooser.ExtensionFilter("RLE", "*" + PatternFile.RLE_EXTENSION),
+				new FileChooser.ExtensionFilter("Macrocell", "*" + PatternFile.MACROCELL_EXTENSION));
+		File pattern = fileChooser.showSaveDialog(Main.getStage());
+		if (pattern == null) return;
+		if (!PatternFile.isPatternFile(pattern.toPath())) {
+			FileChooser.ExtensionFilter filter = fileChooser.getSelectedExtensionFilter();
+			String extension = filter == null ? PatternFile.RLE_EXTENSION : filter.getExtensions().get(0).substring(1);
+			pattern = new File(pattern.getPath() + extension);
 		}
-		scanner.close();
-		gridOfCells = gson.fromJson(s, GridOfCells.class);
-		grid.getChildren().clear();
-		gridOfCells.fillWithStatus();
-		fill(gridOfCells.getRows(), gridOfCells.getColumns());
+		SimulationEvents.FileEvent event = new SimulationEvents.FileEvent();
+		event.begin();
+		long start = System.nanoTime();
+		PatternFile.write(copyGridOfCells(), pattern.toPath());
+		SimulationMetrics.get().saved(System.nanoTime() - start);
+		commit(event, "export", pattern.toPath());
 	}
 
 	/**
 	 * Inverts all Cells.
 	 */
 	@FXML public void invertCells() {
-		gridOfCells.invert();
+		runner.execute(gridOfCells::invert);
 	}
 
 	/**
@@ -253,7 +547,7 @@ public class MainWindowController {
 	 * @exception IOException
 	 */
 	@FXML public void changeRules() throws IOException {
-		timeline.stop();
+		runner.pause();
 		FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/ChangeRulesWindow.fxml"));
 		Parent load = fxmlLoader.load();
 		Scene scene = new Scene(load, 750, 500);
@@ -265,105 +559,107 @@ public class MainWindowController {
 	}
 
 	/**
-	 * Saves to current set of rules of the simulation into Json.
-	 * @exception IOException 
+	 * Saves to current set of rules of the simulation into Json. The file is written in the background.
 	 */
-	@FXML public void saveRules() throws IOException {
-		timeline.pause();
-		gridOfCells.save();
-		String s = gson.toJson(gridOfCells.getRules());
-		String Path = "rules" + File.separator + new Date().toString().replace(':', '_');
-		//create File for the rules
-		File rulesFile = new File(Path);
-		rulesFile.createNewFile();
-		//write json string into rules file
-		FileWriter writer = new FileWriter((Path));
-		writer.write(s);
-		writer.close();
+	@FXML public void saveRules() {
+		String s = gson.toJson(runner.call(gridOfCells::getRules));
+		checkpoints.writeText(s, rules.toPath().resolve(fileName())).whenComplete((written, e) -> {
+			if (e != null) showError("The rules could not be saved: " + e.getMessage());
+		});
 	}
 
 	/**
-	 * Loads a saved set of rules from Json into the simulation.
-	 * @exception FileNotFoundException 
+	 * Loads a saved set of rules from Json into the simulation. The file is parsed while it is read.
+	 * @exception IOException 
 	 */
-	@FXML public void loadRules() throws FileNotFoundException {
-		String s = "";
+	@FXML public void loadRules() throws IOException {
 		FileChooser fileChooser = new FileChooser();
 		fileChooser.setInitialDirectory(new File("rules"));
 		fileChooser.setTitle("Open Rules File ");
 		File newRules = fileChooser.showOpenDialog(Main.getStage());
 		if (newRules == null) return;
-		Scanner scanner = new Scanner(newRules);
-		while(scanner.hasNextLine()){
-			s = s + scanner.nextLine();
+		try (Reader reader = Files.newBufferedReader(newRules.toPath())) {
+			Rules loaded = gson.fromJson(reader, Rules.class);
+			setRules(Rules.of(loaded.getSurvivesAt(), loaded.getBornAt()));
 		}
-		scanner.close();
-		gridOfCells.setRules(gson.fromJson(s, Rules.class));
 	}
 
 	/**
 	 * Inverts the rules.
 	 */
 	@FXML public void invertRules() {
-		gridOfCells.invertRules();
+		setRules(runner.call(() -> gridOfCells.getRules().invert()));
+	}
+
+	/**
+	 * Switches to the next Boundary, from dead edges to a torus to mirrored edges and back.
+	 * An unbounded grid has no edges.
+	 */
+	@FXML public void changeBoundary() {
+		if (unbounded) return;
+		Boundary[] boundaries = Boundary.values();
+		Boundary boundary = boundaries[(gridOfCells.getBoundary().ordinal() + 1) % boundaries.length];
+		runner.execute(() -> gridOfCells.setBoundary(boundary));
+		showBoundary();
+	}
+
+	/**
+	 * Shows the current Boundary on its button.
+	 */
+	private void showBoundary() {
+		boundaryButton.setDisable(unbounded);
+		boundaryButton.setText(unbounded ? "Edges: none" : "Edges: " + gridOfCells.getBoundary().name().toLowerCase());
 	}
 
 	/**
 	 * Randomizes the grid.
 	 */
 	@FXML public void randomize() {
-		gridOfCells.randomRepopulate();
+		runner.execute(gridOfCells::randomRepopulate);
 	}
 
 	/**
-	 * Method for zooming in and out.
+	 * Method for zooming in and out around the cursor.
 	 */
 	@FXML public void zoom(ScrollEvent scrollEvent) {
-		Scale scale = new Scale();
 		if (scrollEvent.getDeltaY()==0) return;
 		double scaleFactor = (scrollEvent.getDeltaY() > 0) ? SCALE_DELTA : 1/SCALE_DELTA;
-
-		//Setting the dimensions for the transformation
-		scale.setX(scaleFactor);
-		scale.setY(scaleFactor);
-
-		//Setting the pivot point for the transformation (The object pivot is the position about which objects are scaled and rotated)
-		scale.setPivotX(scrollEvent.getX());
-		scale.setPivotY(scrollEvent.getY());
-
-		grid.getTransforms().addAll(scale);
+		viewport.zoomAt(scaleFactor, scrollEvent.getX(), scrollEvent.getY());
+		viewChanged = true;
 		scrollEvent.consume();
 	}
 
 	/**
-	 * Method for moving around the pane with the mouse dragged.
+	 * Method for moving around the grid with the mouse dragged.
+	 * Dragged with the primary mouse-button, each Cell entered is inverted.
 	 */
 	@FXML public void onMouseDragged(MouseEvent event) {
 		if (event.getButton() == MouseButton.SECONDARY) {
 			event.consume();
-			grid.setTranslateX(event.getSceneX() + x);
-			grid.setTranslateY(event.getSceneY() + y);
+			viewport.pan(event.getX() - x, event.getY() - y);
+			x = event.getX();
+			y = event.getY();
+			viewChanged = true;
 		}
-	}
-
-	/**
-	 * Starts a full press-drag-release gesture. Triggers drag event in Cells.
-	 */
-	@FXML public void gridDragDetected(MouseEvent event) {
-		if (event.getButton() == MouseButton.PRIMARY) {
+		else if (event.getButton() == MouseButton.PRIMARY) {
 			event.consume();
-			grid.startFullDrag();
+			changeCellAt(event, false);
 		}
 	}
 
 	/**
+	 * Inverts the Cell below the cursor if the primary mouse-button is pressed on the grid.
 	 * Saves the position of the cursor if secondary mouse-button is pressed.
 	 */
 	@FXML public void mousePressed(MouseEvent event) {
-		if (event.getButton() == MouseButton.SECONDARY) {
-			x = grid.getTranslateX() - event.getSceneX();
-			y = grid.getTranslateY() - event.getSceneY();
-			scrollPane.setCursor(Cursor.MOVE);
+		if (event.getButton() == MouseButton.PRIMARY) {
+			event.consume();
+			changeCellAt(event, true);
+		}
+		else if (event.getButton() == MouseButton.SECONDARY) {
+			x = event.getX();
+			y = event.getY();
+			viewPane.setCursor(Cursor.MOVE);
 		}
 	}
 
@@ -372,7 +668,7 @@ public class MainWindowController {
 	 */
 	@FXML public void mouseReleased(MouseEvent event) {
 		event.consume();
-		scrollPane.setCursor(Cursor.DEFAULT);
+		viewPane.setCursor(Cursor.DEFAULT);
 	}
 }
 
@@ -0,0 +1,689 @@
+package conway;
+
+import java.io.IOException;
+import java.lang.IllegalArgumentException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <h1>Mapped Grid Engine</h1>
+ * A SimulationEngine that holds its cells outside of the Java heap, one bit per cell like a BitGrid,
+ * either in direct buffers or mapped onto a file. Grids far larger than the heap, up to hundreds of gigacells,
+ * are then paged in and out by the operating system, and the garbage collector never sees them.
+ * <p>
+ * The cells are held in two slots, the current generation and the one before it. A step reads the rows
+ * of the current slot into halo rows on the heap, calculates them with the BitKernel or the VectorKernel
+ * and writes them into the other slot, which then becomes the current one. A slot is split into chunks
+ * of whole rows of at most CHUNK_BYTES, as a buffer holds at most 2 GiB.
+ * With a parallelism above 1 the rows are split into bands that are calculated on a ForkJoinPool.
+ * <p>
+ * A file starts with a header of HEADER_SIZE bytes, all numbers little endian: the magic number "CGOM",
+ * the version (short), a reserved short, rows (int), columns (int), generation (long), the survive and birth rules
+ * as bit masks (short each) and the ordinal of the Boundary (byte) like a StateFile, then the current slot (byte),
+ * a synced byte, a changing byte, the population, births, deaths and StateHash (long each).
+ * The slots follow, each holding the words of all rows.
+ * <p>
+ * The header is written after every step, so the file always names a slot holding a whole generation.
+ * If the process dies during a step, the file is opened again at the last generation calculated.
+ * Fill and restore write into the other slot like a step and only then switch the header to it.
+ * A single cell is changed in the current slot with the changing byte set until the counts in the header
+ * are written as well, so a file opened with it set has its counts calculated again from the cells.
+ * The operating system writes the mapped pages back in any order though, so only generations that were synced
+ * survive a power loss: on sync, on close and, if the engine is durable, after every step.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitGrid
+ * @see     BitKernel
+ * @see     StateFile
+ * @exception IllegalArgumentException
+ * @exception IOException
+ * @param   MAGIC the first four bytes of every file
+ * @param   VERSION the version of the format written
+ * @param   FILE_EXTENSION the extension of files written by the application
+ * @param   HEADER_SIZE the amount of bytes before the first slot
+ * @param   CHUNK_BYTES the most bytes of a chunk of a slot
+ * @param   BAND_ROWS indicates the amount of rows below which a band is not split any further
+ * @param   path the file the cells are mapped onto, null if they are held in direct buffers
+ * @param   channel the channel of the file, null if there is none
+ * @param   header the header, mapped onto the file or in a direct buffer
+ * @param   buffers the chunks of both slots, for forcing them onto the disk
+ * @param   slots the chunks of both slots as longs
+ * @param   slot the slot holding the current generation
+ * @param   rows rows of the grid
+ * @param   columns columns of the grid
+ * @param   wordsPerRow the amount of words of a row
+ * @param   rowsPerChunk the amount of rows of a chunk
+ * @param   lastWordMask the mask of the cells of the last word of a row
+ * @param   generation indicates how many steps of time have passed
+ * @param   rules the rules the next generation is calculated with, read once at the start of each step
+ * @param   boundary decides what the cells at the edges see beyond the edges, read once at the start of each step
+ * @param   kernel the StepKernel the rows are calculated with, read once at the start of each step
+ * @param   durable indicates if every generation is synced
+ * @param   parallelism indicates how many threads calculate a generation
+ * @param   pool the ForkJoinPool the bands are calculated on, null if parallelism is 1
+ * @param   hash the StateHash of the current generation
+ * @param   population the amount of cells alive in the current generation
+ * @param   births the amount of cells born in the last step
+ * @param   deaths the amount of cells died in the last step
+ */
+public class MappedGridEngine implements SimulationEngine, AutoCloseable {
+	public static final int MAGIC = 0x4D4F4743;
+	public static final short VERSION = 1;
+	public static final String FILE_EXTENSION = ".golm";
+	static final int HEADER_SIZE = 4096;
+	static final long CHUNK_BYTES = 1L << 30;
+	private static final int BAND_ROWS = 64;
+	private final Path path;
+	private final FileChannel channel;
+	private final ByteBuffer header;
+	private final ByteBuffer[][] buffers = new ByteBuffer[2][];
+	private final LongBuffer[][] slots = new LongBuffer[2][];
+	private int slot;
+	private final int rows;
+	private final int columns;
+	private final int wordsPerRow;
+	private final int rowsPerChunk;
+	private final long lastWordMask;
+	private long generation;
+	private volatile Rules rules;
+	private volatile Boundary boundary = Boundary.DEAD;
+	private volatile StepKernel kernel = StepKernel.getDefault();
+	private boolean durable;
+	private int parallelism = 1;
+	private ForkJoinPool pool;
+	private long hash;
+	private long population;
+	private long births;
+	private long deaths;
+
+	/**
+	 * Creates an engine on the given header and slots, which are allocated or mapped by the factory methods.
+	 */
+	private MappedGridEngine(Path path, FileChannel channel, int rows, int columns) throws IOException {
+		this.path = path;
+		this.channel = channel;
+		this.rows = rows;
+		this.columns = columns;
+		wordsPerRow = (columns + 63) >>> 6;
+		rowsPerChunk = (int) Math.min(rows, Math.max(1, CHUNK_BYTES / (8L * wordsPerRow)));
+		lastWordMask = (columns & 63) == 0 ? -1L : (1L << (columns & 63)) - 1;
+		long slotBytes = 8L * rows * wordsPerRow;
+		header = channel == null ? ByteBuffer.allocateDirect(HEADER_SIZE)
+				: channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+		header.order(ByteOrder.LITTLE_ENDIAN);
+		int chunks = (rows + rowsPerChunk - 1) / rowsPerChunk;
+		for (int s = 0; s < 2; s++) {
+			buffers[s] = new ByteBuffer[chunks];
+			slots[s] = new LongBuffer[chunks];
+			for (int c = 0; c < chunks; c++) {
+				long from = (long) c * rowsPerChunk * 8 * wordsPerRow;
+				long size = Math.min(slotBytes, from + (long) rowsPerChunk * 8 * wordsPerRow) - from;
+				buffers[s][c] = channel == null ? ByteBuffer.allocateDirect((int) size)
+						: channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + s * slotBytes + from, size);
+				slots[s][c] = buffers[s][c].order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+			}
+		}
+	}
+
+	/**
+	 * Creates an engine at generation 0 holding its cells in direct buffers outside of the heap. All cells are dead.
+	 * The direct memory is limited by the JVM option -XX:MaxDirectMemorySize, by default to the size of the heap.
+	 * @param  rows rows of the grid
+	 * @param  columns columns of the grid
+	 * @param  rules the rules the generations are calculated with
+	 * @return a new engine
+	 * @exception IllegalArgumentException is thrown if rows or columns is smaller than 1.
+	 */
+	public static MappedGridEngine allocate(int rows, int columns, Rules rules) {
+		if (rows < 1 || columns < 1) throw new IllegalArgumentException();
+		try {
+			MappedGridEngine engine = new MappedGridEngine(null, null, rows, columns);
+			engine.rules = rules;
+			engine.writeHeader(false);
+			return engine;
+		}
+		catch (IOException e) {
+			// only mapping a file throws
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Creates an engine at generation 0 holding its cells in a file, replacing its content. All cells are dead.
+	 * The file is created sparse, so the disk space is only taken once cells are written.
+	 * @param  path the file to map the cells onto
+	 * @param  rows rows of the grid
+	 * @param  columns columns of the grid
+	 * @param  rules the rules the generations are calculated with
+	 * @return a new engine
+	 * @exception IllegalArgumentException is thrown if rows or columns is smaller than 1.
+	 * @exception IOException is thrown if the file can not be written.
+	 */
+	public static MappedGridEngine create(Path path, int rows, int columns, Rules rules) throws IOException {
+		if (rows < 1 || columns < 1) throw new IllegalArgumentException();
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			long size = HEADER_SIZE + 2 * 8L * rows * ((columns + 63) >>> 6);
+			channel.write(ByteBuffer.allocate(1), size - 1);
+			MappedGridEngine engine = new MappedGridEngine(path, channel, rows, columns);
+			engine.rules = rules;
+			engine.sync();
+			return engine;
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens an engine written by create, at the generation named by its header.
+	 * @param  path the file the cells are mapped onto
+	 * @return the engine of the file
+	 * @exception IOException is thrown if the file can not be read or written, is damaged or of an unknown version.
+	 */
+	public static MappedGridEngine open(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, buffer.position()) < 0) throw new IOException("not a mapped grid file: " + path);
+			}
+			if (buffer.getInt(0) != MAGIC) throw new IOException("not a mapped grid file: " + path);
+			short version = buffer.getShort(4);
+			if (version < 1 || version > VERSION) throw new IOException("unsupported mapped grid file version " + version);
+			int rows = buffer.getInt(8);
+			int columns = buffer.getInt(12);
+			int boundary = buffer.get(28);
+			int slot = buffer.get(29);
+			if (rows < 1 || columns < 1 || boundary < 0 || boundary >= Boundary.values().length || (slot & ~1) != 0
+					|| channel.size() < HEADER_SIZE + 2 * 8L * rows * ((columns + 63) >>> 6)) {
+				throw new IOException("damaged mapped grid file: " + path);
+			}
+			MappedGridEngine engine = new MappedGridEngine(path, channel, rows, columns);
+			engine.generation = buffer.getLong(16);
+			engine.rules = Rules.of(StateFile.fromMask(buffer.getShort(24)), StateFile.fromMask(buffer.getShort(26)));
+			engine.boundary = Boundary.values()[boundary];
+			engine.slot = slot;
+			engine.population = buffer.getLong(32);
+			engine.births = buffer.getLong(40);
+			engine.deaths = buffer.getLong(48);
+			engine.hash = buffer.getLong(56);
+			// the process died while a cell was changed, so the counts may not match the cells
+			if (buffer.get(31) != 0) engine.recount();
+			return engine;
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Getter for path.
+	 * @return the file the cells are mapped onto, null if they are held in direct buffers
+	 */
+	public Path getPath() {
+		return path;
+	}
+
+	@Override
+	public int getRows() {
+		return rows;
+	}
+
+	@Override
+	public int getColumns() {
+		return columns;
+	}
+
+	@Override
+	public long getGeneration() {
+		return generation;
+	}
+
+	@Override
+	public void setGeneration(long generation) {
+		this.generation = generation;
+		writeHeader(false);
+	}
+
+	@Override
+	public Rules getRules() {
+		return rules;
+	}
+
+	@Override
+	public void setRules(Rules rules) {
+		this.rules = rules;
+		writeHeader(false);
+	}
+
+	@Override
+	public Boundary getBoundary() {
+		return boundary;
+	}
+
+	@Override
+	public void setBoundary(Boundary boundary) {
+		this.boundary = boundary;
+		writeHeader(false);
+	}
+
+	/**
+	 * Getter for kernel.
+	 * @return the StepKernel the rows are calculated with
+	 */
+	public StepKernel getKernel() {
+		return kernel;
+	}
+
+	/**
+	 * Setter for kernel, taking effect with the next step. Both kernels give the same generations.
+	 * @param  kernel the StepKernel the rows are to be calculated with
+	 * @exception IllegalArgumentException is thrown if the kernel is not available in this JVM.
+	 */
+	public void setKernel(StepKernel kernel) {
+		kernel.checkAvailable();
+		this.kernel = kernel;
+	}
+
+	/**
+	 * Checks if every generation is synced.
+	 * @return true if every generation survives a power loss
+	 */
+	public boolean isDurable() {
+		return durable;
+	}
+
+	/**
+	 * Setter for durable. Syncing every generation writes the whole slot onto the disk in each step.
+	 * @param  durable true if every generation is to survive a power loss
+	 */
+	public void setDurable(boolean durable) {
+		this.durable = durable;
+	}
+
+	/**
+	 * Getter for parallelism.
+	 * @return how many threads calculate a generation
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Setter for parallelism. With 1 the generations are calculated on the calling thread.
+	 * @param  threads how many threads calculate a generation
+	 * @exception IllegalArgumentException is thrown if threads is smaller than 1.
+	 */
+	public void setParallelism(int threads) {
+		if (threads < 1) throw new IllegalArgumentException();
+		if (pool != null) pool.shutdown();
+		pool = threads > 1 ? new ForkJoinPool(threads) : null;
+		parallelism = threads;
+	}
+
+	@Override
+	public boolean isAlive(int i, int j) {
+		if (i < 0 || i >= rows || j < 0 || j >= columns) return false;
+		return ((chunk(slot, i).get(index(i) + (j >>> 6)) >>> j) & 1L) != 0;
+	}
+
+	@Override
+	public void setAlive(int i, int j, boolean value) {
+		if (i < 0 || i >= rows || j < 0 || j >= columns) throw new IndexOutOfBoundsException("(" + i + ", " + j + ")");
+		LongBuffer chunk = chunk(slot, i);
+		int index = index(i) + (j >>> 6);
+		long before = chunk.get(index);
+		long after = value ? before | (1L << j) : before & ~(1L << j);
+		if (before == after) return;
+		header.put(31, (byte) 1);
+		chunk.put(index, after);
+		hash ^= StateHash.mix((long) i * wordsPerRow + (j >>> 6), before) ^ StateHash.mix((long) i * wordsPerRow + (j >>> 6), after);
+		population += value ? 1 : -1;
+		writeHeader(false);
+	}
+
+	@Override
+	public void step() {
+		long[] masks = rules.getKernelMasks();
+		Boundary stepBoundary = boundary;
+		StepKernel stepKernel = kernel;
+		int src = slot;
+		int dst = 1 - slot;
+		long[] delta = forBands((from, to, bandDelta) -> stepRows(src, dst, from, to, masks, stepBoundary, stepKernel, bandDelta));
+		if (durable) force(dst);
+		slot = dst;
+		generation++;
+		hash ^= delta[BitKernel.HASH];
+		births = delta[BitKernel.BIRTHS];
+		deaths = delta[BitKernel.DEATHS];
+		population += births - deaths;
+		writeHeader(durable);
+	}
+
+	/**
+	 * Calculates the rows from (inclusive) to to (exclusive) of the slot src into the slot dst,
+	 * adding the changes to delta.
+	 */
+	private void stepRows(int src, int dst, int from, int to, long[] masks, Boundary stepBoundary, StepKernel stepKernel,
+			long[] delta) {
+		long[] up = new long[wordsPerRow + 2];
+		long[] mid = new long[wordsPerRow + 2];
+		long[] down = new long[wordsPerRow + 2];
+		long[] out = new long[wordsPerRow];
+		readHalo(src, from - 1, stepBoundary, up);
+		readHalo(src, from, stepBoundary, mid);
+		boolean vector = stepKernel == StepKernel.VECTOR;
+		for (int i = from; i < to; i++) {
+			readHalo(src, i + 1, stepBoundary, down);
+			long changed = vector
+					? VectorKernel.stepRow(up, 1, mid, 1, down, 1, out, 0, wordsPerRow, 0, wordsPerRow, lastWordMask, masks)
+					: BitKernel.stepRow(up, 1, mid, 1, down, 1, out, 0, wordsPerRow, 0, wordsPerRow, lastWordMask, masks);
+			if (changed != 0) countChanges(i, mid, 1, out, delta);
+			chunk(dst, i).put(index(i), out, 0, wordsPerRow);
+			long[] spare = up;
+			up = mid;
+			mid = down;
+			down = spare;
+		}
+	}
+
+	/**
+	 * Copies a row of a slot into halo from position 1 on and sets the ghost cells around it.
+	 * A row outside of the grid is the row the Boundary maps it to.
+	 */
+	private void readHalo(int s, int row, Boundary stepBoundary, long[] halo) {
+		int i = stepBoundary.map(row, rows);
+		if (i < 0) {
+			Arrays.fill(halo, 0L);
+			return;
+		}
+		chunk(s, i).get(index(i), halo, 1, wordsPerRow);
+		halo[0] = 0;
+		halo[wordsPerRow + 1] = 0;
+		BitKernel.fillGhostColumns(halo, columns, stepBoundary);
+	}
+
+	/**
+	 * Adds the change of the StateHash and the amount of cells born and died in row i to delta.
+	 * The bits after the last column of before may hold a ghost cell and are not compared.
+	 */
+	private void countChanges(int i, long[] before, int beforeOffset, long[] after, long[] delta) {
+		long base = (long) i * wordsPerRow;
+		for (int k = 0; k < wordsPerRow; k++) {
+			long b = before[beforeOffset + k] & (k == wordsPerRow - 1 ? lastWordMask : -1L);
+			long a = after[k];
+			if (a == b) continue;
+			delta[BitKernel.HASH] ^= StateHash.mix(base + k, b) ^ StateHash.mix(base + k, a);
+			delta[BitKernel.BIRTHS] += Long.bitCount(a & ~b);
+			delta[BitKernel.DEATHS] += Long.bitCount(b & ~a);
+		}
+	}
+
+	/**
+	 * Replaces all cells with a RandomSoup, the same cells RandomSoup.fill gives a BitGrid of this size.
+	 * The generation is not changed.
+	 * @param  soup the soup to fill in
+	 */
+	public void fill(RandomSoup soup) {
+		long[] rowSeeds = soup.rowSeeds(rows);
+		int dst = 1 - slot;
+		// the changes from an empty grid are the population and the StateHash
+		long[] delta = forBands((from, to, bandDelta) -> {
+			long[] empty = new long[wordsPerRow];
+			long[] row = new long[wordsPerRow];
+			for (int i = from; i < to; i++) {
+				SplittableRandom random = new SplittableRandom(rowSeeds[i]);
+				for (int k = 0; k < wordsPerRow; k++) row[k] = soup.nextWord(random);
+				row[wordsPerRow - 1] &= lastWordMask;
+				chunk(dst, i).put(index(i), row, 0, wordsPerRow);
+				countChanges(i, empty, 0, row, bandDelta);
+			}
+		});
+		switchSlot(dst, delta);
+	}
+
+	@Override
+	public long getPopulation() {
+		return population;
+	}
+
+	@Override
+	public long getBirths() {
+		return births;
+	}
+
+	@Override
+	public long getDeaths() {
+		return deaths;
+	}
+
+	/**
+	 * Calculates the smallest Region holding all cells alive, searching all rows.
+	 * @return the bounding box of the cells alive or null if no cell is alive
+	 */
+	@Override
+	public Region getBoundingBox() {
+		if (population == 0) return null;
+		int top = -1, bottom = -1, left = columns, right = 0;
+		long[] row = new long[wordsPerRow];
+		for (int i = 0; i < rows; i++) {
+			chunk(slot, i).get(index(i), row, 0, wordsPerRow);
+			int first = 0;
+			while (first < wordsPerRow && row[first] == 0) first++;
+			if (first == wordsPerRow) continue;
+			int last = wordsPerRow - 1;
+			while (row[last] == 0) last--;
+			if (top < 0) top = i;
+			bottom = i + 1;
+			left = Math.min(left, 64 * first + Long.numberOfTrailingZeros(row[first]));
+			right = Math.max(right, 64 * last + 64 - Long.numberOfLeadingZeros(row[last]));
+		}
+		return new Region(top, left, bottom, right);
+	}
+
+	@Override
+	public long getStateHash() {
+		return hash;
+	}
+
+	@Override
+	public long getStateBytes() {
+		// the current and the generation before, outside of the heap
+		return 16L * rows * wordsPerRow;
+	}
+
+	/**
+	 * Copies the status of all cells of this generation onto the heap, which only works for grids a BitGrid can hold.
+	 * @return a BitGrid independent of the engine
+	 * @exception IllegalArgumentException is thrown if the grid has more words than an array can hold.
+	 */
+	@Override
+	public BitGrid snapshot() {
+		if ((long) rows * wordsPerRow > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("too large for a BitGrid");
+		BitGrid state = new BitGrid(rows, columns);
+		long[] words = state.getWords();
+		for (int i = 0; i < rows; i++) chunk(slot, i).get(index(i), words, i * wordsPerRow, wordsPerRow);
+		return state;
+	}
+
+	/**
+	 * Replaces the status of all cells with the status of a BitGrid of the same size.
+	 * The generation is not changed.
+	 * @param  state the status to copy into the engine
+	 * @exception IllegalArgumentException is thrown if the sizes differ.
+	 */
+	@Override
+	public void restore(BitGrid state) {
+		if (state.getRows() != rows || state.getColumns() != columns) throw new IllegalArgumentException();
+		long[] words = state.getWords();
+		int dst = 1 - slot;
+		for (int i = 0; i < rows; i++) chunk(dst, i).put(index(i), words, i * wordsPerRow, wordsPerRow);
+		switchSlot(dst, new long[] {StateHash.of(state), state.population(), 0});
+	}
+
+	/**
+	 * Makes the slot dst holding a generation that was not reached by a step the current one, like a step does,
+	 * and takes its StateHash and population from the changes from an empty grid to it.
+	 */
+	private void switchSlot(int dst, long[] delta) {
+		if (durable) force(dst);
+		slot = dst;
+		hash = delta[BitKernel.HASH];
+		population = delta[BitKernel.BIRTHS];
+		births = 0;
+		deaths = 0;
+		writeHeader(durable);
+	}
+
+	/**
+	 * Calculates the StateHash and population of the current slot from its cells and writes them into the header.
+	 */
+	private void recount() {
+		long[] delta = forBands((from, to, bandDelta) -> {
+			long[] empty = new long[wordsPerRow];
+			long[] row = new long[wordsPerRow];
+			for (int i = from; i < to; i++) {
+				chunk(slot, i).get(index(i), row, 0, wordsPerRow);
+				countChanges(i, empty, 0, row, bandDelta);
+			}
+		});
+		switchSlot(slot, delta);
+	}
+
+	/**
+	 * Writes the current generation and the header onto the disk, so it survives a power loss.
+	 * Does nothing if the cells are held in direct buffers.
+	 */
+	public void sync() {
+		if (channel == null) return;
+		force(slot);
+		writeHeader(true);
+	}
+
+	/**
+	 * Syncs the file and closes it. The mapping itself is released once the engine is garbage collected.
+	 * @exception IOException is thrown if the file can not be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (pool != null) pool.shutdown();
+		if (channel == null || !channel.isOpen()) return;
+		sync();
+		channel.close();
+	}
+
+	/**
+	 * Writes the header, forcing it onto the disk if synced. The synced byte is only set then, the changing byte is cleared.
+	 */
+	private void writeHeader(boolean synced) {
+		header.putInt(0, MAGIC);
+		header.putShort(4, VERSION);
+		header.putShort(6, (short) 0);
+		header.putInt(8, rows);
+		header.putInt(12, columns);
+		header.putLong(16, generation);
+		header.putShort(24, StateFile.toMask(rules.getSurvivesAt()));
+		header.putShort(26, StateFile.toMask(rules.getBornAt()));
+		header.put(28, (byte) boundary.ordinal());
+		header.put(29, (byte) slot);
+		header.put(30, (byte) (synced ? 1 : 0));
+		header.put(31, (byte) 0);
+		header.putLong(32, population);
+		header.putLong(40, births);
+		header.putLong(48, deaths);
+		header.putLong(56, hash);
+		if (synced && header instanceof MappedByteBuffer) ((MappedByteBuffer) header).force();
+	}
+
+	/**
+	 * Forces the chunks of a slot onto the disk.
+	 */
+	private void force(int s) {
+		if (channel == null) return;
+		for (ByteBuffer buffer : buffers[s]) ((MappedByteBuffer) buffer).force();
+	}
+
+	/**
+	 * Getter for the chunk of a slot holding row i.
+	 */
+	private LongBuffer chunk(int s, int i) {
+		return slots[s][i / rowsPerChunk];
+	}
+
+	/**
+	 * Getter for the index of the first word of row i in its chunk.
+	 */
+	private int index(int i) {
+		return (i % rowsPerChunk) * wordsPerRow;
+	}
+
+	/**
+	 * Runs a Band over all rows, in bands on the ForkJoinPool if parallelism is above 1.
+	 * @return the changes added up by all bands
+	 */
+	private long[] forBands(Band band) {
+		long[] delta = new long[BitKernel.DELTA_LENGTH];
+		if (pool == null) band.run(0, rows, delta);
+		else {
+			BandTask task = new BandTask(band, 0, rows);
+			pool.invoke(task);
+			BitKernel.addDelta(delta, task.delta);
+		}
+		return delta;
+	}
+
+	/**
+	 * Works on the rows from (inclusive) to to (exclusive), adding the changes to a delta array.
+	 */
+	private interface Band {
+		void run(int from, int to, long[] delta);
+	}
+
+	/**
+	 * Runs a Band, splitting the rows in halves while there are more than BAND_ROWS.
+	 */
+	@SuppressWarnings("serial")
+	private static class BandTask extends RecursiveAction {
+		private final Band band;
+		private final int from;
+		private final int to;
+		private final long[] delta = new long[BitKernel.DELTA_LENGTH];
+
+		BandTask(Band band, int from, int to) {
+			this.band = band;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= BAND_ROWS) {
+				band.run(from, to, delta);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			BandTask upper = new BandTask(band, from, middle);
+			BandTask lower = new BandTask(band, middle, to);
+			invokeAll(upper, lower);
+			BitKernel.addDelta(delta, upper.delta);
+			BitKernel.addDelta(delta, lower.delta);
+		}
+	}
+}
@@ -0,0 +1,602 @@
+package conway;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <h1>Pattern File</h1>
+ * Reads and writes patterns in the RLE and Macrocell formats used by pattern collections.
+ * Both readers decode the characters straight from a buffer into a BitGrid, no line of the pattern is
+ * ever kept as a String, so the memory used is the grid itself plus a buffer of fixed size.
+ * Runs of living cells in RLE are set a whole word at a time.
+ * <p>
+ * A Macrocell file describes a quadtree whose leaves are squares of 8 x 8 cells. Its nodes are kept
+ * as numbers only, the bounding box of each node is calculated from its children, and only the
+ * bounding box of the whole pattern is allocated as a grid. The writer canonicalises equal nodes,
+ * so repeated parts of a pattern are written once.
+ * <p>
+ * The rule suffix ":T" of a torus is read as Boundary.TORUS and written for grids with that boundary.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     GridOfCells
+ * @see     StateFile
+ * @exception IOException
+ * @param   RLE_EXTENSION the extension of RLE files
+ * @param   MACROCELL_EXTENSION the extension of Macrocell files
+ * @param   LINE_LENGTH the longest line written into RLE files
+ */
+public final class PatternFile {
+	public static final String RLE_EXTENSION = ".rle";
+	public static final String MACROCELL_EXTENSION = ".mc";
+	private static final int LINE_LENGTH = 70;
+	private static final int LEAF_LEVEL = 3;
+
+	private PatternFile() {
+	}
+
+	/**
+	 * Checks if a file is a pattern file by its extension.
+	 * @param  path the file
+	 * @return true if the file is an RLE or Macrocell file
+	 */
+	public static boolean isPatternFile(Path path) {
+		String name = path.getFileName().toString().toLowerCase();
+		return name.endsWith(RLE_EXTENSION) || name.endsWith(MACROCELL_EXTENSION);
+	}
+
+	/**
+	 * Reads a pattern from an RLE or Macrocell file, told apart by the extension.
+	 * @param  path the file to read
+	 * @return a new GridOfCells just large enough for the pattern
+	 * @exception IOException is thrown if the file can not be read or is not a valid pattern.
+	 */
+	public static GridOfCells read(Path path) throws IOException {
+		try (Reader reader = Files.newBufferedReader(path, StandardCharsets.ISO_8859_1)) {
+			if (path.getFileName().toString().toLowerCase().endsWith(MACROCELL_EXTENSION)) return readMacrocell(reader);
+			return readRle(reader);
+		}
+	}
+
+	/**
+	 * Writes the current generation of a GridOfCells into an RLE or Macrocell file, told apart by the extension.
+	 * @param  gridOfCells the grid to write
+	 * @param  path the file to write
+	 * @exception IOException is thrown if the file can not be written.
+	 */
+	public static void write(GridOfCells gridOfCells, Path path) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.ISO_8859_1)) {
+			BitGrid state = gridOfCells.getEngine().snapshot();
+			if (path.getFileName().toString().toLowerCase().endsWith(MACROCELL_EXTENSION)) {
+				writeMacrocell(state, gridOfCells.getRules(), gridOfCells.getGeneration(), writer);
+			}
+			else writeRle(state, gridOfCells.getRules(), gridOfCells.getBoundary(), writer);
+		}
+	}
+
+	/**
+	 * Reads a pattern in RLE format. Lines starting with '#' before the header are comments,
+	 * except for "#r" which gives the rules in older files. The header "x = m, y = n, rule = B3/S23"
+	 * gives the size of the grid. Cells beyond that size are left out.
+	 * @param  reader the characters to read
+	 * @return a new GridOfCells of the size given by the header
+	 * @exception IOException is thrown if the characters can not be read or are not a valid pattern.
+	 */
+	public static GridOfCells readRle(Reader reader) throws IOException {
+		CharStream in = new CharStream(reader);
+		Rules rules = Rules.of("B3/S23");
+		Boundary boundary = Boundary.DEAD;
+		String header = null;
+		while (header == null) {
+			String line = in.readLine();
+			if (line == null) throw new IOException("RLE header missing");
+			line = line.trim();
+			if (line.startsWith("#r")) rules = parseRules(line.substring(2));
+			else if (!line.isEmpty() && !line.startsWith("#")) header = line;
+		}
+		int width = -1;
+		int height = -1;
+		// a comma only separates fields if a key follows, the torus suffix of the rule holds one as well
+		for (String field : header.split(",(?=\\s*[a-zA-Z]+\\s*=)")) {
+			String[] pair = field.split("=", 2);
+			if (pair.length != 2) throw new IOException("invalid RLE header: " + header);
+			String key = pair[0].trim();
+			String value = pair[1].trim();
+			try {
+				if (key.equals("x")) width = Integer.parseInt(value);
+				else if (key.equals("y")) height = Integer.parseInt(value);
+				else if (key.equals("rule")) {
+					int suffix = value.indexOf(':');
+					if (suffix >= 0) {
+						if (value.length() > suffix + 1 && Character.toUpperCase(value.charAt(suffix + 1)) == 'T') {
+							boundary = Boundary.TORUS;
+						}
+						value = value.substring(0, suffix);
+					}
+					rules = parseRules(value);
+				}
+			}
+			catch (NumberFormatException e) {
+				throw new IOException("invalid RLE header: " + header, e);
+			}
+		}
+		if (width < 0 || height < 0) throw new IOException("invalid RLE header: " + header);
+		BitGrid state = new BitGrid(Math.max(1, height), Math.max(1, width));
+		int row = 0;
+		long column = 0;
+		long count = 0;
+		for (int c = in.read(); c != -1 && c != '!'; c = in.read()) {
+			if (c >= '0' && c <= '9') {
+				count = count * 10 + (c - '0');
+				continue;
+			}
+			long run = count == 0 ? 1 : count;
+			count = 0;
+			if (c == 'b' || c == '.') column += run;
+			else if (c == '$') {
+				row += (int) Math.min(run, Integer.MAX_VALUE - row);
+				column = 0;
+			}
+			else if (c == 'o' || c == '*' || (c >= 'A' && c <= 'Z')) {
+				if (row < height && column < width) {
+					state.setRange(row, (int) column, (int) Math.min(width, column + run), true);
+				}
+				column += run;
+			}
+			else if (c == '#') in.readLine();
+			else if (!Character.isWhitespace(c)) throw new IOException("invalid RLE character '" + (char) c + "'");
+		}
+		return new GridOfCells(state, rules, boundary, 0);
+	}
+
+	private static Rules parseRules(String rulestring) throws IOException {
+		try {
+			return Rules.of(rulestring.trim());
+		}
+		catch (IllegalArgumentException e) {
+			throw new IOException("unsupported rules: " + rulestring.trim(), e);
+		}
+	}
+
+	/**
+	 * Writes a status in RLE format. Dead cells at the end of a row and empty rows at the end are left out.
+	 * @param  state the status of the cells
+	 * @param  rules the rules of the grid
+	 * @param  boundary the boundary of the grid
+	 * @param  writer the characters are written to
+	 * @exception IOException is thrown if the characters can not be written.
+	 */
+	public static void writeRle(BitGrid state, Rules rules, Boundary boundary, Writer writer) throws IOException {
+		String rule = rules.toString();
+		if (boundary == Boundary.TORUS) rule += ":T" + state.getColumns() + "," + state.getRows();
+		writer.write("x = " + state.getColumns() + ", y = " + state.getRows() + ", rule = " + rule + "\n");
+		RleLine line = new RleLine(writer);
+		long[] words = state.getWords();
+		int wordsPerRow = state.getWordsPerRow();
+		int columns = state.getColumns();
+		long pendingRows = 0;
+		for (int i = 0; i < state.getRows(); i++) {
+			int offset = i * wordsPerRow;
+			int column = 0;
+			while (true) {
+				int alive = next(words, offset, wordsPerRow, column, true);
+				if (alive >= columns) break;
+				int dead = Math.min(columns, next(words, offset, wordsPerRow, alive, false));
+				if (pendingRows > 0) {
+					line.add(pendingRows, '$');
+					pendingRows = 0;
+				}
+				if (alive > column) line.add(alive - column, 'b');
+				line.add(dead - alive, 'o');
+				column = dead;
+			}
+			pendingRows++;
+		}
+		line.add(1, '!');
+		line.finish();
+	}
+
+	/**
+	 * Finds the first column from column on whose cell has the given status.
+	 * @return the column found, or a column at or beyond the end of the row if there is none
+	 */
+	private static int next(long[] words, int offset, int wordsPerRow, int column, boolean alive) {
+		int k = column >>> 6;
+		if (k >= wordsPerRow) return column;
+		long word = (alive ? words[offset + k] : ~words[offset + k]) & (-1L << column);
+		while (word == 0) {
+			if (++k >= wordsPerRow) return k << 6;
+			word = alive ? words[offset + k] : ~words[offset + k];
+		}
+		return (k << 6) + Long.numberOfTrailingZeros(word);
+	}
+
+	/**
+	 * Reads a pattern in Macrocell format. The rules are given by "#R", the generation by "#G".
+	 * @param  reader the characters to read
+	 * @return a new GridOfCells of the size of the bounding box of the pattern
+	 * @exception IOException is thrown if the characters can not be read, are not a valid pattern
+	 *            or the pattern does not fit into a grid.
+	 */
+	public static GridOfCells readMacrocell(Reader reader) throws IOException {
+		CharStream in = new CharStream(reader);
+		String first = in.readLine();
+		if (first == null || !first.startsWith("[M2]")) throw new IOException("not a Macrocell file");
+		Rules rules = Rules.of("B3/S23");
+		long generation = 0;
+		// node 0 is the empty node of every level, nodes are numbered from 1 in the order of the file
+		MacrocellNodes nodes = new MacrocellNodes();
+		for (int c = in.peek(); c != -1; c = in.peek()) {
+			if (c == '#') {
+				String line = in.readLine();
+				try {
+					if (line.startsWith("#R")) rules = parseRules(line.substring(2));
+					else if (line.startsWith("#G")) generation = Long.parseLong(line.substring(2).trim());
+				}
+				catch (NumberFormatException e) {
+					throw new IOException("invalid Macrocell line: " + line, e);
+				}
+			}
+			else if (c == '.' || c == '*' || c == '$') nodes.addLeaf(readLeaf(in));
+			else if (c >= '0' && c <= '9') {
+				int level = (int) readNumber(in);
+				int[] children = new int[4];
+				for (int q = 0; q < 4; q++) {
+					children[q] = (int) readNumber(in);
+					if (children[q] < 0 || children[q] >= nodes.size()) throw new IOException("invalid Macrocell node");
+				}
+				in.readLine();
+				nodes.addNode(level, children);
+			}
+			else if (Character.isWhitespace(c)) in.read();
+			else throw new IOException("invalid Macrocell character '" + (char) c + "'");
+		}
+		int root = nodes.size() - 1;
+		if (root < 1 || nodes.top[root] < 0) {
+			return new GridOfCells(new BitGrid(1, 1), rules, Boundary.DEAD, generation);
+		}
+		long height = nodes.bottom[root] - nodes.top[root];
+		long width = nodes.right[root] - nodes.left[root];
+		if (height > Integer.MAX_VALUE || height * ((width + 63) >>> 6) > Integer.MAX_VALUE) {
+			throw new IOException("pattern of " + height + " x " + width + " cells too large for a grid");
+		}
+		BitGrid state = new BitGrid((int) height, (int) width);
+		nodes.export(root, state, -nodes.top[root], -nodes.left[root]);
+		return new GridOfCells(state, rules, Boundary.DEAD, generation);
+	}
+
+	/**
+	 * Reads a leaf of 8 x 8 cells, a row of '.' and '*' ended by '$' for each row.
+	 */
+	private static long readLeaf(CharStream in) throws IOException {
+		long cells = 0;
+		int row = 0;
+		int column = 0;
+		for (int c = in.read(); c != -1 && c != '\n'; c = in.read()) {
+			if (c == '$') {
+				row++;
+				column = 0;
+			}
+			else if (c == '.' || c == '*') {
+				if (row >= 8 || column >= 8) throw new IOException("invalid Macrocell leaf");
+				if (c == '*') cells |= 1L << (row * 8 + column);
+				column++;
+			}
+			else if (c != '\r') throw new IOException("invalid Macrocell character '" + (char) c + "'");
+		}
+		return cells;
+	}
+
+	private static long readNumber(CharStream in) throws IOException {
+		int c = in.read();
+		while (c == ' ') c = in.read();
+		if (c < '0' || c > '9') throw new IOException("invalid Macrocell node");
+		long value = c - '0';
+		while (in.peek() >= '0' && in.peek() <= '9') value = value * 10 + (in.read() - '0');
+		return value;
+	}
+
+	/**
+	 * Writes a status in Macrocell format. The root is the smallest square of at least 8 x 8 cells holding the grid.
+	 * @param  state the status of the cells
+	 * @param  rules the rules of the grid
+	 * @param  generation the generation of the status
+	 * @param  writer the characters are written to
+	 * @exception IOException is thrown if the characters can not be written.
+	 */
+	public static void writeMacrocell(BitGrid state, Rules rules, long generation, Writer writer) throws IOException {
+		writer.write("[M2] (conway)\n");
+		writer.write("#R " + rules + "\n");
+		if (generation != 0) writer.write("#G " + generation + "\n");
+		int level = LEAF_LEVEL;
+		while ((1L << level) < Math.max(state.getRows(), state.getColumns())) level++;
+		MacrocellWriter macrocellWriter = new MacrocellWriter(state, writer);
+		if (macrocellWriter.write(level, 0, 0) == 0) {
+			// an empty pattern still needs a root
+			writer.write("$$$$$$$$\n");
+		}
+	}
+
+	/**
+	 * Reads characters from a Reader through a buffer of its own, so single characters are cheap.
+	 */
+	private static class CharStream {
+		private final Reader reader;
+		private final char[] buffer = new char[1 << 16];
+		private int position;
+		private int limit;
+
+		CharStream(Reader reader) {
+			this.reader = reader;
+		}
+
+		int peek() throws IOException {
+			if (position == limit) {
+				limit = reader.read(buffer, 0, buffer.length);
+				position = 0;
+				if (limit <= 0) {
+					limit = 0;
+					return -1;
+				}
+			}
+			return buffer[position];
+		}
+
+		int read() throws IOException {
+			int c = peek();
+			if (c != -1) position++;
+			return c;
+		}
+
+		/**
+		 * Reads up to the end of the line. Only used for short lines like headers and comments.
+		 */
+		String readLine() throws IOException {
+			if (peek() == -1) return null;
+			StringBuilder line = new StringBuilder();
+			for (int c = read(); c != -1 && c != '\n'; c = read()) {
+				if (c != '\r') line.append((char) c);
+			}
+			return line.toString();
+		}
+	}
+
+	/**
+	 * Collects runs of RLE and breaks the lines at LINE_LENGTH.
+	 */
+	private static class RleLine {
+		private final Writer writer;
+		private int length;
+
+		RleLine(Writer writer) {
+			this.writer = writer;
+		}
+
+		void add(long run, char tag) throws IOException {
+			String token = run == 1 ? String.valueOf(tag) : run + String.valueOf(tag);
+			if (length + token.length() > LINE_LENGTH) {
+				writer.write('\n');
+				length = 0;
+			}
+			writer.write(token);
+			length += token.length();
+		}
+
+		void finish() throws IOException {
+			writer.write('\n');
+		}
+	}
+
+	/**
+	 * The nodes of a Macrocell file with the bounding box of the living cells of each node,
+	 * relative to the upper left cell of the node. Children are always read before their parents,
+	 * so the bounding boxes are calculated while reading.
+	 */
+	private static class MacrocellNodes {
+		private int size = 1;
+		private int[] level = new int[1024];
+		private int[] children = new int[4 * 1024];
+		private long[] leaf = new long[1024];
+		private long[] top = new long[1024];
+		private long[] left = new long[1024];
+		private long[] bottom = new long[1024];
+		private long[] right = new long[1024];
+
+		MacrocellNodes() {
+			top[0] = -1;
+		}
+
+		int size() {
+			return size;
+		}
+
+		private int add(int nodeLevel) {
+			if (size == level.length) {
+				int length = size * 2;
+				level = Arrays.copyOf(level, length);
+				children = Arrays.copyOf(children, 4 * length);
+				leaf = Arrays.copyOf(leaf, length);
+				top = Arrays.copyOf(top, length);
+				left = Arrays.copyOf(left, length);
+				bottom = Arrays.copyOf(bottom, length);
+				right = Arrays.copyOf(right, length);
+			}
+			level[size] = nodeLevel;
+			top[size] = -1;
+			return size++;
+		}
+
+		void addLeaf(long cells) {
+			int n = add(LEAF_LEVEL);
+			leaf[n] = cells;
+			if (cells == 0) return;
+			for (int r = 0; r < 8; r++) {
+				int rowBits = (int) (cells >>> (r * 8)) & 0xFF;
+				if (rowBits == 0) continue;
+				if (top[n] < 0) top[n] = r;
+				bottom[n] = r + 1;
+			}
+			long columns = 0;
+			for (int r = 0; r < 8; r++) columns |= (cells >>> (r * 8)) & 0xFF;
+			left[n] = Long.numberOfTrailingZeros(columns);
+			right[n] = 64 - Long.numberOfLeadingZeros(columns);
+		}
+
+		void addNode(int nodeLevel, int[] quadrants) throws IOException {
+			if (nodeLevel <= LEAF_LEVEL || nodeLevel > 62) throw new IOException("invalid Macrocell level " + nodeLevel);
+			int n = add(nodeLevel);
+			long half = 1L << (nodeLevel - 1);
+			for (int q = 0; q < 4; q++) {
+				int child = quadrants[q];
+				if (child != 0 && level[child] != nodeLevel - 1) throw new IOException("invalid Macrocell node");
+				children[4 * n + q] = child;
+				if (child == 0 || top[child] < 0) continue;
+				long rowOffset = (q >> 1) * half;
+				long columnOffset = (q & 1) * half;
+				if (top[n] < 0) {
+					top[n] = top[child] + rowOffset;
+					left[n] = left[child] + columnOffset;
+					bottom[n] = bottom[child] + rowOffset;
+					right[n] = right[child] + columnOffset;
+				}
+				else {
+					top[n] = Math.min(top[n], top[child] + rowOffset);
+					left[n] = Math.min(left[n], left[child] + columnOffset);
+					bottom[n] = Math.max(bottom[n], bottom[child] + rowOffset);
+					right[n] = Math.max(right[n], right[child] + columnOffset);
+				}
+			}
+		}
+
+		/**
+		 * Sets the living cells of a node into the grid, its upper left cell at row rowOffset and column columnOffset.
+		 */
+		void export(int n, BitGrid state, long rowOffset, long columnOffset) {
+			if (n == 0 || top[n] < 0) return;
+			if (level[n] == LEAF_LEVEL) {
+				long[] words = state.getWords();
+				int wordsPerRow = state.getWordsPerRow();
+				// a leaf may start before the bounding box, the cells cut off that way are dead
+				int cut = (int) Math.max(0, -columnOffset);
+				int k = (int) (Math.max(0, columnOffset) >>> 6);
+				int shift = (int) (Math.max(0, columnOffset) & 63);
+				for (int r = 0; r < 8; r++) {
+					long rowBits = ((leaf[n] >>> (r * 8)) & 0xFF) >>> cut;
+					if (rowBits == 0) continue;
+					// a row of a leaf may lie across two words of the grid, the cells beyond the last word are dead
+					int index = (int) (rowOffset + r) * wordsPerRow + k;
+					words[index] |= rowBits << shift;
+					long spilled = shift > 56 ? rowBits >>> (64 - shift) : 0;
+					if (spilled != 0 && k + 1 < wordsPerRow) words[index + 1] |= spilled;
+				}
+				return;
+			}
+			long half = 1L << (level[n] - 1);
+			for (int q = 0; q < 4; q++) {
+				export(children[4 * n + q], state, rowOffset + (q >> 1) * half, columnOffset + (q & 1) * half);
+			}
+		}
+	}
+
+	/**
+	 * Writes the quadtree of a BitGrid, each distinct node once and before its parents.
+	 */
+	private static class MacrocellWriter {
+		private final BitGrid state;
+		private final Writer writer;
+		private final Map<Long, Integer> leaves = new HashMap<>();
+		private final Map<NodeKey, Integer> nodes = new HashMap<>();
+		private int nextId = 1;
+
+		MacrocellWriter(BitGrid state, Writer writer) {
+			this.state = state;
+			this.writer = writer;
+		}
+
+		/**
+		 * Writes the node of the given level whose upper left cell is at row top and column left.
+		 * @return the number of the node, 0 if all its cells are dead
+		 */
+		int write(int level, long top, long left) throws IOException {
+			if (top >= state.getRows() || left >= state.getColumns()) return 0;
+			if (level == LEAF_LEVEL) return writeLeaf((int) top, (int) left);
+			long half = 1L << (level - 1);
+			int nw = write(level - 1, top, left);
+			int ne = write(level - 1, top, left + half);
+			int sw = write(level - 1, top + half, left);
+			int se = write(level - 1, top + half, left + half);
+			if ((nw | ne | sw | se) == 0) return 0;
+			NodeKey key = new NodeKey(level, nw, ne, sw, se);
+			Integer id = nodes.get(key);
+			if (id != null) return id;
+			writer.write(level + " " + nw + " " + ne + " " + sw + " " + se + "\n");
+			nodes.put(key, nextId);
+			return nextId++;
+		}
+
+		private int writeLeaf(int top, int left) throws IOException {
+			long[] words = state.getWords();
+			int wordsPerRow = state.getWordsPerRow();
+			long cells = 0;
+			for (int r = 0; r < 8 && top + r < state.getRows(); r++) {
+				long rowBits = (words[(top + r) * wordsPerRow + (left >>> 6)] >>> (left & 63)) & 0xFF;
+				cells |= rowBits << (r * 8);
+			}
+			if (cells == 0) return 0;
+			Integer id = leaves.get(cells);
+			if (id != null) return id;
+			StringBuilder line = new StringBuilder(80);
+			for (int r = 0; r < 8; r++) {
+				int rowBits = (int) (cells >>> (r * 8)) & 0xFF;
+				for (int c = 0; c < 32 - Integer.numberOfLeadingZeros(rowBits); c++) {
+					line.append((rowBits & (1 << c)) != 0 ? '*' : '.');
+				}
+				line.append('$');
+			}
+			writer.write(line.append('\n').toString());
+			leaves.put(cells, nextId);
+			return nextId++;
+		}
+	}
+
+	/**
+	 * The key of an inner node in the canonicalisation table of the MacrocellWriter.
+	 */
+	private static class NodeKey {
+		private final int level;
+		private final int nw;
+		private final int ne;
+		private final int sw;
+		private final int se;
+
+		NodeKey(int level, int nw, int ne, int sw, int se) {
+			this.level = level;
+			this.nw = nw;
+			this.ne = ne;
+			this.sw = sw;
+			this.se = se;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof NodeKey)) return false;
+			NodeKey other = (NodeKey) o;
+			return level == other.level && nw == other.nw && ne == other.ne && sw == other.sw && se == other.se;
+		}
+
+		@Override
+		public int hashCode() {
+			return (((level * 31 + nw) * 31 + ne) * 31 + sw) * 31 + se;
+		}
+	}
+}
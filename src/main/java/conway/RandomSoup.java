@@ -0,0 +1,158 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * <h1>Random Soup</h1>
+ * Fills a BitGrid or a Region of it with random cells, each alive with the probability density.
+ * A soup is given by its seed and density, the same seed gives the same cells however many threads fill them
+ * and wherever the Region lies, so experiments on thousands of soups can be repeated.
+ * <p>
+ * The cells are filled a word of 64 cells at a time. A random word has each bit set with a probability of 1/2,
+ * combining random words by AND and OR along the binary digits of the density, from the last to the first,
+ * gives a word with each bit set with the probability density. So the density is rounded to PRECISION binary digits
+ * and a word takes at most PRECISION random words, a density of 1/2 only one.
+ * <p>
+ * Each row of the Region has its own SplittableRandom, seeded one after another from the seed of the soup,
+ * so large grids are filled in parallel and every row still gets the same cells.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitGrid
+ * @see     Region
+ * @see     GridOfCells
+ * @exception IllegalArgumentException
+ * @param   PRECISION the amount of binary digits the density is rounded to
+ * @param   PARALLEL_CELLS the amount of cells above which the rows are filled in parallel
+ * @param   seed the seed of the soup
+ * @param   density the probability of a cell to be alive
+ * @param   digits the density rounded to PRECISION binary digits, as a fraction of 2^PRECISION
+ */
+public class RandomSoup {
+	public static final int PRECISION = 16;
+	private static final long PARALLEL_CELLS = 1L << 20;
+	private final long seed;
+	private final double density;
+	private final int digits;
+
+	/**
+	 * Creates a soup.
+	 * @param  seed the seed of the soup
+	 * @param  density the probability of a cell to be alive, from 0 to 1
+	 * @exception IllegalArgumentException is thrown if density is not between 0 and 1.
+	 */
+	public RandomSoup(long seed, double density) {
+		if (!(density >= 0 && density <= 1)) throw new IllegalArgumentException("density must be between 0 and 1");
+		this.seed = seed;
+		this.density = density;
+		digits = (int) Math.round(density * (1 << PRECISION));
+	}
+
+	/**
+	 * Getter for seed.
+	 * @return the seed of the soup
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Getter for density.
+	 * @return the probability of a cell to be alive
+	 */
+	public double getDensity() {
+		return density;
+	}
+
+	/**
+	 * Creates a BitGrid filled with the soup.
+	 * @param  rows rows of the grid
+	 * @param  columns columns of the grid
+	 * @return a new BitGrid
+	 * @exception IllegalArgumentException is thrown if rows or columns is smaller than 1.
+	 */
+	public BitGrid create(int rows, int columns) {
+		BitGrid state = new BitGrid(rows, columns);
+		fill(state);
+		return state;
+	}
+
+	/**
+	 * Replaces all cells of a BitGrid with the soup.
+	 * @param  state the BitGrid to fill
+	 */
+	public void fill(BitGrid state) {
+		fill(state, new Region(0, 0, state.getRows(), state.getColumns()));
+	}
+
+	/**
+	 * Replaces the cells of a Region of a BitGrid with the soup, the cells outside of it are kept.
+	 * @param  state the BitGrid to fill
+	 * @param  region the Region to fill, inside of the BitGrid
+	 * @exception IllegalArgumentException is thrown if the Region is not inside of the BitGrid.
+	 */
+	public void fill(BitGrid state, Region region) {
+		if (region.getTop() < 0 || region.getLeft() < 0 || region.getBottom() > state.getRows()
+				|| region.getRight() > state.getColumns()) {
+			throw new IllegalArgumentException("region " + region + " is not inside of the grid");
+		}
+		if (region.getColumns() == 0) return;
+		long[] rowSeeds = rowSeeds(region.getRows());
+		IntStream rows = IntStream.range(0, rowSeeds.length);
+		if ((long) region.getRows() * region.getColumns() > PARALLEL_CELLS) rows = rows.parallel();
+		rows.forEach(r -> fillRow(state, region.getTop() + r, region.getLeft(), region.getColumns(),
+				new SplittableRandom(rowSeeds[r])));
+	}
+
+	/**
+	 * Draws the seeds of the first rows of a Region. They are drawn in order,
+	 * so a row gets the same seed whichever thread fills it.
+	 * @param  rows the amount of rows
+	 * @return the seed of the SplittableRandom of each row
+	 */
+	long[] rowSeeds(int rows) {
+		SplittableRandom random = new SplittableRandom(seed);
+		long[] rowSeeds = new long[rows];
+		for (int r = 0; r < rows; r++) rowSeeds[r] = random.nextLong();
+		return rowSeeds;
+	}
+
+	/**
+	 * Fills the columns from left to left + columns of a row, the words of the soup are shifted into place.
+	 */
+	private void fillRow(BitGrid state, int i, int left, int columns, SplittableRandom random) {
+		state.setRange(i, left, left + columns, false);
+		long[] words = state.getWords();
+		int offset = i * state.getWordsPerRow();
+		int end = offset + state.getWordsPerRow();
+		int shift = left & 63;
+		int index = offset + (left >>> 6);
+		for (int j = 0; j < columns; j += 64) {
+			long word = nextWord(random);
+			if (columns - j < 64) word &= -1L >>> (64 - (columns - j));
+			words[index] |= word << shift;
+			if (shift != 0 && index + 1 < end) words[index + 1] |= word >>> (64 - shift);
+			index++;
+		}
+	}
+
+	/**
+	 * Creates a word with each bit set with the probability digits / 2^PRECISION.
+	 * The words of a row are drawn one after another from the SplittableRandom of the row.
+	 */
+	long nextWord(SplittableRandom random) {
+		if (digits == 0) return 0;
+		if (digits == 1 << PRECISION) return -1L;
+		long word = 0;
+		for (int d = Integer.numberOfTrailingZeros(digits); d < PRECISION; d++) {
+			if ((digits & (1 << d)) != 0) word |= random.nextLong();
+			else word &= random.nextLong();
+		}
+		return word;
+	}
+}
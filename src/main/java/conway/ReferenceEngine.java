@@ -0,0 +1,188 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+
+/**
+ * <h1>Reference Engine</h1>
+ * A SimulationEngine that calculates each cell on its own by counting its neighbours.
+ * It is the straightforward implementation of the rules and is kept as the reference
+ * the results of faster engines are compared with.
+ * Cells beyond the edges are looked up through the Boundary.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitGridEngine
+ * @exception IllegalArgumentException
+ * @param   rows indicates the amount of rows in the grid
+ * @param   columns indicates the amount of columns in the grid
+ * @param   generation indicates how many steps of time have passed
+ * @param   rules the rules the next generation is calculated with
+ * @param   boundary decides what the cells at the edges see beyond the edges
+ * @param   status the status of each cell of the current generation
+ * @param   births the amount of cells born in the last step
+ * @param   deaths the amount of cells died in the last step
+ */
+public class ReferenceEngine implements SimulationEngine {
+	private int rows;
+	private int columns;
+	private long generation;
+	private volatile Rules rules;
+	private volatile Boundary boundary = Boundary.DEAD;
+	private boolean[][] status;
+	private long births;
+	private long deaths;
+
+	/**
+	 * Creates a new engine at generation 0 with the given size and rules. All cells are dead.
+	 * @param  rows rows of the grid
+	 * @param  columns columns of the grid
+	 * @param  rules the rules the generations are calculated with
+	 * @exception IllegalArgumentException is thrown if rows or columns is smaller than 1.
+	 */
+	public ReferenceEngine(int rows, int columns, Rules rules) {
+		if (rows < 1 || columns < 1) throw new IllegalArgumentException();
+		this.rows = rows;
+		this.columns = columns;
+		this.rules = rules;
+		status = new boolean[rows][columns];
+	}
+
+	@Override
+	public int getRows() {
+		return rows;
+	}
+
+	@Override
+	public int getColumns() {
+		return columns;
+	}
+
+	@Override
+	public long getGeneration() {
+		return generation;
+	}
+
+	@Override
+	public void setGeneration(long generation) {
+		this.generation = generation;
+	}
+
+	@Override
+	public Rules getRules() {
+		return rules;
+	}
+
+	@Override
+	public void setRules(Rules rules) {
+		this.rules = rules;
+	}
+
+	@Override
+	public Boundary getBoundary() {
+		return boundary;
+	}
+
+	@Override
+	public void setBoundary(Boundary boundary) {
+		this.boundary = boundary;
+	}
+
+	@Override
+	public boolean isAlive(int i, int j) {
+		if (0 <= i && i < rows && 0 <= j && j < columns) return status[i][j];
+		else return false;
+	}
+
+	@Override
+	public void setAlive(int i, int j, boolean value) {
+		status[i][j] = value;
+	}
+
+	@Override
+	public void step() {
+		Rules stepRules = rules;
+		Boundary stepBoundary = boundary;
+		boolean[][] next = new boolean[rows][columns];
+		births = 0;
+		deaths = 0;
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				int neighbours = amountOfNeighboursAlive(i, j, stepBoundary);
+				if (status[i][j]) next[i][j] = stepRules.survives(neighbours);
+				else next[i][j] = stepRules.isBorn(neighbours);
+				if (next[i][j] && !status[i][j]) births++;
+				if (!next[i][j] && status[i][j]) deaths++;
+			}
+		}
+		status = next;
+		generation++;
+	}
+
+	/**
+	 * Checks how many cells surrounding the cell at the given position are alive.
+	 * @return the amount of neighboring cells that are alive
+	 */
+	public int amountOfNeighboursAlive(int i, int j) {
+		return amountOfNeighboursAlive(i, j, boundary);
+	}
+
+	private int amountOfNeighboursAlive(int i, int j, Boundary boundary) {
+		int aliveNeighboursCounter = 0;
+		for (int k = -1; k < 2; k++) {          // iterates rows around cell
+			for (int l = -1; l < 2; l++) {      // iterates columns around cell
+				int row = boundary.map(i + k, rows);
+				int column = boundary.map(j + l, columns);
+				if (row >= 0 && column >= 0 && status[row][column]) aliveNeighboursCounter++;
+			}
+		}
+		if (isAlive(i, j)) aliveNeighboursCounter--;
+		return aliveNeighboursCounter;
+	}
+
+	@Override
+	public long getPopulation() {
+		long aliveCounter = 0;
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				if (status[i][j]) aliveCounter++;
+			}
+		}
+		return aliveCounter;
+	}
+
+	@Override
+	public long getBirths() {
+		return births;
+	}
+
+	@Override
+	public long getDeaths() {
+		return deaths;
+	}
+
+	@Override
+	public BitGrid snapshot() {
+		BitGrid snapshot = new BitGrid(rows, columns);
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				if (status[i][j]) snapshot.setAlive(i, j, true);
+			}
+		}
+		return snapshot;
+	}
+
+	@Override
+	public void restore(BitGrid state) {
+		if (state.getRows() != rows || state.getColumns() != columns) throw new IllegalArgumentException();
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				status[i][j] = state.isAlive(i, j);
+			}
+		}
+		births = 0;
+		deaths = 0;
+	}
+}
@@ -0,0 +1,108 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+
+/**
+ * <h1>Region</h1>
+ * A Region is a rectangle of cells given by its first row and column and the row and column after its last ones.
+ * Regions are immutable.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @exception IllegalArgumentException
+ * @param   top the first row of the Region
+ * @param   left the first column of the Region
+ * @param   bottom the row after the last row of the Region
+ * @param   right the column after the last column of the Region
+ */
+public final class Region {
+	private final int top;
+	private final int left;
+	private final int bottom;
+	private final int right;
+
+	/**
+	 * Creates a Region from its first row and column and the row and column after its last ones.
+	 * @param  top the first row
+	 * @param  left the first column
+	 * @param  bottom the row after the last row
+	 * @param  right the column after the last column
+	 * @exception IllegalArgumentException is thrown if bottom is before top or right is before left.
+	 */
+	public Region(int top, int left, int bottom, int right) {
+		if (bottom < top || right < left) throw new IllegalArgumentException();
+		this.top = top;
+		this.left = left;
+		this.bottom = bottom;
+		this.right = right;
+	}
+
+	/**
+	 * Getter for top.
+	 * @return the first row of the Region
+	 */
+	public int getTop() {
+		return top;
+	}
+
+	/**
+	 * Getter for left.
+	 * @return the first column of the Region
+	 */
+	public int getLeft() {
+		return left;
+	}
+
+	/**
+	 * Getter for bottom.
+	 * @return the row after the last row of the Region
+	 */
+	public int getBottom() {
+		return bottom;
+	}
+
+	/**
+	 * Getter for right.
+	 * @return the column after the last column of the Region
+	 */
+	public int getRight() {
+		return right;
+	}
+
+	/**
+	 * Getter for the amount of rows.
+	 * @return the amount of rows of the Region
+	 */
+	public int getRows() {
+		return bottom - top;
+	}
+
+	/**
+	 * Getter for the amount of columns.
+	 * @return the amount of columns of the Region
+	 */
+	public int getColumns() {
+		return right - left;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof Region)) return false;
+		Region other = (Region) o;
+		return top == other.top && left == other.left && bottom == other.bottom && right == other.right;
+	}
+
+	@Override
+	public int hashCode() {
+		return ((top * 31 + left) * 31 + bottom) * 31 + right;
+	}
+
+	@Override
+	public String toString() {
+		return "(" + top + ", " + left + ") - (" + bottom + ", " + right + ")";
+	}
+}
@@ -8,6 +8,7 @@ import javafx.stage.Stage;
 import javafx.scene.control.Slider;
 import javafx.scene.control.Label;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 
 /**
  * <h1>Reset-Window-Controller</h1>
@@ -25,6 +26,7 @@ public class ResetWindowController {
 	@FXML private Slider rowsSlider;
 	@FXML private Label sizeLabel;
 	@FXML private Button applyButton;
+	@FXML private CheckBox unboundedCheckBox;
 
 	/**
 	 * Initializes the UI.
@@ -44,10 +46,12 @@ public class ResetWindowController {
 
 	/**
 	 * Creates a new grid of the size fed in by the user and closes this window.
+	 * If unbounded is checked the grid is an unbounded universe shown through a window of that size.
 	 * @exception IOException
 	 */
 	@FXML public void applySize() throws IOException {
-		Main.getMainWindowController().makeNewGrid((int) rowsSlider.getValue(), (int) columnsSlider.getValue());
+		Main.getMainWindowController().makeNewGrid((int) rowsSlider.getValue(), (int) columnsSlider.getValue(),
+				unboundedCheckBox.isSelected());
 		Stage stage = (Stage) applyButton.getScene().getWindow();
 		stage.close();
 	}
@@ -0,0 +1,708 @@
+package conway;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.IllegalArgumentException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * <h1>Rule Sweep</h1>
+ * Runs a RandomSoup for every combination of a set of rules, seeds and grid sizes without a window
+ * and writes a summary of each run: the final population, the Cycle the grid ended up in, the generation
+ * it became stable at and the throughput. The summaries are written as CSV, or as JSON lines
+ * if the output ends with .jsonl, one line as soon as a run is finished.
+ * <p>
+ * Each run is a task of its own on a virtual thread. The runs calculate all the time, so a Semaphore with one permit
+ * per thread lets only that many of them hold a grid at once, the others wait for a permit without a platform thread.
+ * Each grid is calculated on a single thread, so the throughput grows with the amount of threads up to the cores.
+ * Before Java 21 there are no virtual threads, the runs are then given to a pool of platform threads.
+ * <p>
+ * A sweep can be cancelled, the runs being calculated stop at their next step and are not written.
+ * With resume, the runs already found in the output are skipped and the new ones appended,
+ * so an interrupted sweep goes on where it stopped.
+ * <p>
+ * Usage: {@code RuleSweep [options]}, see USAGE. The exit code is 0 on success, 1 if the output could not be
+ * read or written and 2 if the arguments are wrong.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     RandomSoup
+ * @see     Rules
+ * @see     BatchRunner
+ * @exception IllegalArgumentException
+ * @exception IOException
+ * @param   CSV_HEADER the first line of a CSV output
+ * @param   RANDOM_RULES_SEED the seed the random rules are drawn with
+ * @param   rules the rules to run
+ * @param   seeds the seeds of the soups
+ * @param   sizes the sizes of the grids as rows and columns
+ * @param   density the share of cells alive in the soups
+ * @param   boundary what the cells at the edges see beyond the edges
+ * @param   maxGenerations the most generations to calculate per run
+ * @param   threads the amount of runs calculated at once
+ * @param   kernel the StepKernel the generations are calculated with
+ * @param   output the file the summaries are written to
+ * @param   resume indicates if the runs in the output are skipped and new ones appended
+ * @param   cancelled indicates if the sweep was cancelled
+ * @param   completed the amount of runs written by the current sweep
+ */
+public class RuleSweep {
+	public static final String USAGE = String.join(System.lineSeparator(),
+			"usage: RuleSweep [options]",
+			"  --rules <rulestring,...>    rules to run, e.g. B3/S23,B36/S23",
+			"  --rules-file <file>         file with one rulestring per line",
+			"  --random-rules <n>          n rules drawn from all 2^18 rules",
+			"  --seeds <seeds>             seeds of the soups, e.g. 1-100 or 1,5,9 (default: 1)",
+			"  --sizes <rows>x<columns>,...",
+			"                              sizes of the grids (default: 256x256)",
+			"  --density <p>               share of cells alive in the soups (default: 0.5)",
+			"  --boundary <dead|torus|mirror>",
+			"  --generations <n>           most generations per run (default: 10000)",
+			"  --threads <n>               runs calculated at once (default: all processors)",
+			"  --kernel <scalar|vector>    kernel calculating the words of a row (default: property conway.kernel)",
+			"  --output <file>             .csv or .jsonl (default: sweep.csv)",
+			"  --resume                    skip the runs found in the output and append");
+	public static final String CSV_HEADER = "rules,seed,rows,columns,density,boundary,generations,finalPopulation,"
+			+ "outcome,period,stableAt,seconds,generationsPerSecond,cellsPerSecond";
+	public static final long RANDOM_RULES_SEED = 0x5EEDL;
+	private final List<Rules> rules = new ArrayList<>();
+	private final List<Long> seeds = new ArrayList<>();
+	private final List<int[]> sizes = new ArrayList<>();
+	private double density = 0.5;
+	private Boundary boundary = Boundary.DEAD;
+	private long maxGenerations = 10000;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private StepKernel kernel = StepKernel.getDefault();
+	private Path output = Path.of("sweep.csv");
+	private boolean resume;
+	private volatile boolean cancelled;
+	private final AtomicLong completed = new AtomicLong();
+
+	/**
+	 * Creates a sweep over all combinations of rules, seeds and sizes.
+	 * @param  rules the rules to run
+	 * @param  seeds the seeds of the soups
+	 * @param  sizes the sizes of the grids, each as rows and columns
+	 * @exception IllegalArgumentException is thrown if a list is empty or a size is smaller than 1.
+	 */
+	public RuleSweep(List<Rules> rules, List<Long> seeds, List<int[]> sizes) {
+		this.rules.addAll(rules);
+		this.seeds.addAll(seeds);
+		for (int[] size : sizes) {
+			if (size.length != 2 || size[0] < 1 || size[1] < 1) throw new IllegalArgumentException("size must be positive");
+			this.sizes.add(size.clone());
+		}
+		if (this.rules.isEmpty() || this.seeds.isEmpty() || this.sizes.isEmpty()) throw new IllegalArgumentException("nothing to run");
+	}
+
+	/**
+	 * Creates a sweep from command line arguments.
+	 * @param  args the arguments as described by USAGE
+	 * @exception IllegalArgumentException is thrown if the arguments are wrong.
+	 * @exception IOException is thrown if the rules file can not be read.
+	 */
+	public RuleSweep(String[] args) throws IOException {
+		for (int k = 0; k < args.length; k++) {
+			String arg = args[k];
+			if (arg.equals("--resume")) {
+				resume = true;
+				continue;
+			}
+			if (k + 1 == args.length) throw new IllegalArgumentException("missing value of " + arg);
+			String value = args[++k];
+			try {
+				switch (arg) {
+					case "--rules":
+						for (String rulestring : value.split(",")) rules.add(Rules.of(rulestring.trim()));
+						break;
+					case "--rules-file":
+						for (String line : Files.readAllLines(Path.of(value), StandardCharsets.UTF_8)) {
+							if (!line.isBlank() && !line.startsWith("#")) rules.add(Rules.of(line.trim()));
+						}
+						break;
+					case "--random-rules": rules.addAll(randomRules(Integer.parseInt(value))); break;
+					case "--seeds": seeds.addAll(parseSeeds(value)); break;
+					case "--sizes":
+						for (String size : value.toLowerCase(Locale.ROOT).split(",")) sizes.add(parseSize(size));
+						break;
+					case "--density":
+						density = Double.parseDouble(value);
+						if (!(density >= 0 && density <= 1)) throw new IllegalArgumentException("density must be between 0 and 1");
+						break;
+					case "--boundary": boundary = Boundary.valueOf(value.toUpperCase(Locale.ROOT)); break;
+					case "--generations": setMaxGenerations(Long.parseLong(value)); break;
+					case "--threads": setThreads(Integer.parseInt(value)); break;
+					case "--kernel": setKernel(StepKernel.of(value)); break;
+					case "--output": output = Path.of(value); break;
+					default: throw new IllegalArgumentException("unknown option " + arg);
+				}
+			}
+			catch (NumberFormatException e) {
+				throw new IllegalArgumentException("not a number: " + value);
+			}
+		}
+		if (rules.isEmpty()) throw new IllegalArgumentException("no rules");
+		if (seeds.isEmpty()) seeds.add(1L);
+		if (sizes.isEmpty()) sizes.add(new int[] {256, 256});
+	}
+
+	private static List<Long> parseSeeds(String value) {
+		List<Long> parsed = new ArrayList<>();
+		for (String part : value.split(",")) {
+			int dash = part.indexOf('-', 1);
+			if (dash < 0) {
+				parsed.add(Long.parseLong(part.trim()));
+				continue;
+			}
+			long first = Long.parseLong(part.substring(0, dash).trim());
+			long last = Long.parseLong(part.substring(dash + 1).trim());
+			if (last < first) throw new IllegalArgumentException("empty range of seeds " + part);
+			for (long seed = first; seed <= last; seed++) parsed.add(seed);
+		}
+		return parsed;
+	}
+
+	private static int[] parseSize(String value) {
+		String[] size = value.trim().split("x");
+		if (size.length != 2) throw new IllegalArgumentException("size must be <rows>x<columns>");
+		int[] parsed = {Integer.parseInt(size[0]), Integer.parseInt(size[1])};
+		if (parsed[0] < 1 || parsed[1] < 1) throw new IllegalArgumentException("size must be positive");
+		return parsed;
+	}
+
+	/**
+	 * Draws different rules from all 2^18 combinations of survival and birth, the same ones every time.
+	 * @param  count the amount of rules
+	 * @return the rules
+	 * @exception IllegalArgumentException is thrown if count is not between 1 and 2^18.
+	 */
+	public static List<Rules> randomRules(int count) {
+		if (count < 1 || count > 1 << 18) throw new IllegalArgumentException("between 1 and 2^18 rules");
+		SplittableRandom random = new SplittableRandom(RANDOM_RULES_SEED);
+		Set<Integer> drawn = new LinkedHashSet<>();
+		while (drawn.size() < count) drawn.add(random.nextInt(1 << 18));
+		List<Rules> drawnRules = new ArrayList<>();
+		for (int bits : drawn) {
+			boolean[] survivesAt = new boolean[9];
+			boolean[] bornAt = new boolean[9];
+			for (int n = 0; n < 9; n++) {
+				survivesAt[n] = (bits & (1 << n)) != 0;
+				bornAt[n] = (bits & (1 << (9 + n))) != 0;
+			}
+			drawnRules.add(Rules.of(survivesAt, bornAt));
+		}
+		return drawnRules;
+	}
+
+	/**
+	 * Setter for density.
+	 * @param  density the share of cells alive in the soups, from 0 to 1
+	 * @exception IllegalArgumentException is thrown if density is not between 0 and 1.
+	 */
+	public void setDensity(double density) {
+		if (!(density >= 0 && density <= 1)) throw new IllegalArgumentException("density must be between 0 and 1");
+		this.density = density;
+	}
+
+	/**
+	 * Setter for boundary.
+	 * @param  boundary what the cells at the edges see beyond the edges
+	 */
+	public void setBoundary(Boundary boundary) {
+		this.boundary = boundary;
+	}
+
+	/**
+	 * Setter for maxGenerations.
+	 * @param  maxGenerations the most generations to calculate per run
+	 * @exception IllegalArgumentException is thrown if maxGenerations is negative.
+	 */
+	public void setMaxGenerations(long maxGenerations) {
+		if (maxGenerations < 0) throw new IllegalArgumentException("generations must not be negative");
+		this.maxGenerations = maxGenerations;
+	}
+
+	/**
+	 * Setter for threads.
+	 * @param  threads the amount of runs calculated at once
+	 * @exception IllegalArgumentException is thrown if threads is smaller than 1.
+	 */
+	public void setThreads(int threads) {
+		if (threads < 1) throw new IllegalArgumentException("threads must be positive");
+		this.threads = threads;
+	}
+
+	/**
+	 * Setter for kernel.
+	 * @param  kernel the StepKernel the generations are to be calculated with
+	 * @exception IllegalArgumentException is thrown if the kernel is not available in this JVM.
+	 */
+	public void setKernel(StepKernel kernel) {
+		kernel.checkAvailable();
+		this.kernel = kernel;
+	}
+
+	/**
+	 * Setter for output.
+	 * @param  output the file the summaries are written to, as JSON lines if it ends with .jsonl, otherwise as CSV
+	 */
+	public void setOutput(Path output) {
+		this.output = output;
+	}
+
+	/**
+	 * Setter for resume.
+	 * @param  resume true if the runs found in the output are skipped and the new ones appended
+	 */
+	public void setResume(boolean resume) {
+		this.resume = resume;
+	}
+
+	/**
+	 * Lists the runs of the sweep, for each of the rules each size with each seed.
+	 * @return the runs in the order they are started
+	 */
+	public List<Run> getRuns() {
+		List<Run> runs = new ArrayList<>();
+		for (Rules r : rules) {
+			for (int[] size : sizes) {
+				for (long seed : seeds) runs.add(new Run(r, seed, size[0], size[1], density, boundary));
+			}
+		}
+		return runs;
+	}
+
+	/**
+	 * Cancels the sweep. The runs being calculated stop at their next step, no further run is started.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Checks if the sweep was cancelled.
+	 * @return true if cancel was called
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Getter for completed.
+	 * @return the amount of runs written by the current sweep so far
+	 */
+	public long getCompleted() {
+		return completed.get();
+	}
+
+	/**
+	 * Runs all runs not yet in the output and writes their summaries, waiting until all are finished or cancelled.
+	 * @return the amount of runs written
+	 * @exception IOException is thrown if the output can not be read or written.
+	 * @exception InterruptedException is thrown if the calling thread is interrupted while waiting, the sweep is cancelled.
+	 */
+	public long run() throws IOException, InterruptedException {
+		boolean jsonLines = output.getFileName().toString().endsWith(".jsonl");
+		Set<String> done = resume ? readDone(output, jsonLines) : new HashSet<>();
+		boolean append = resume && Files.exists(output) && Files.size(output) > 0;
+		completed.set(0);
+		Gson gson = new Gson();
+		AtomicReference<Exception> failure = new AtomicReference<>();
+		try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)) {
+			if (append && !endsWithNewLine(output)) writer.newLine();
+			if (!append && !jsonLines) {
+				writer.write(CSV_HEADER);
+				writer.newLine();
+			}
+			Semaphore permits = new Semaphore(threads);
+			ExecutorService executor = newExecutor(threads);
+			try {
+				for (Run run : getRuns()) {
+					if (done.contains(run.getKey())) continue;
+					executor.execute(() -> {
+						try {
+							permits.acquire();
+						}
+						catch (InterruptedException e) {
+							return;
+						}
+						try {
+							if (cancelled) return;
+							Result result = simulate(run);
+							if (result == null) return;
+							String line = jsonLines ? gson.toJson(result) : result.toCsv();
+							synchronized (writer) {
+								writer.write(line);
+								writer.newLine();
+								writer.flush();
+							}
+							completed.incrementAndGet();
+						}
+						catch (IOException | RuntimeException e) {
+							failure.compareAndSet(null, e);
+							cancel();
+						}
+						finally {
+							permits.release();
+						}
+					});
+				}
+			}
+			finally {
+				executor.shutdown();
+				try {
+					executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+				}
+				catch (InterruptedException e) {
+					cancel();
+					executor.shutdownNow();
+					throw e;
+				}
+			}
+		}
+		Exception e = failure.get();
+		if (e instanceof IOException) throw (IOException) e;
+		if (e != null) throw (RuntimeException) e;
+		return completed.get();
+	}
+
+	/**
+	 * Calculates one run on the calling thread.
+	 * @param  run the run
+	 * @return the summary of the run, null if the sweep was cancelled meanwhile
+	 */
+	public Result simulate(Run run) {
+		Rules runRules = run.getRules();
+		GridOfCells gridOfCells = new GridOfCells(run.getRows(), run.getColumns(), runRules.getSurvivesAt(), runRules.getBornAt());
+		gridOfCells.setMetricsEnabled(false);
+		gridOfCells.setBoundary(run.getBoundary());
+		if (gridOfCells.getEngine() instanceof BitGridEngine) ((BitGridEngine) gridOfCells.getEngine()).setKernel(kernel);
+		gridOfCells.randomRepopulate(run.getSeed(), run.getDensity());
+		// observes generation 0 without stepping
+		gridOfCells.runUntilCycle(0);
+		long start = System.nanoTime();
+		while (gridOfCells.getGeneration() < maxGenerations && gridOfCells.getCycle() == null) {
+			if (cancelled) return null;
+			gridOfCells.nextGeneration();
+		}
+		return new Result(run, gridOfCells, System.nanoTime() - start);
+	}
+
+	/**
+	 * Creates an executor starting a virtual thread per task, or with a pool of platform threads before Java 21.
+	 */
+	static ExecutorService newExecutor(int threads) {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch (ReflectiveOperationException e) {
+			return Executors.newFixedThreadPool(threads);
+		}
+	}
+
+	/**
+	 * Reads the keys of the runs in an output, lines that can not be read, like one cut off, are not counted.
+	 */
+	private static Set<String> readDone(Path output, boolean jsonLines) throws IOException {
+		Set<String> done = new HashSet<>();
+		if (!Files.exists(output)) return done;
+		Gson gson = new Gson();
+		for (String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+			if (line.isBlank() || line.equals(CSV_HEADER)) continue;
+			if (jsonLines) {
+				try {
+					Result result = gson.fromJson(line, Result.class);
+					if (result != null && result.rules != null) done.add(result.getKey());
+				}
+				catch (JsonParseException e) {
+					// a line cut off when the sweep was killed, the run is calculated again
+				}
+			}
+			else {
+				String[] values = line.split(",");
+				if (values.length == CSV_HEADER.split(",").length) {
+					done.add(String.join(",", values[0], values[1], values[2], values[3], values[4], values[5]));
+				}
+			}
+		}
+		return done;
+	}
+
+	private static boolean endsWithNewLine(Path path) throws IOException {
+		byte[] bytes = Files.readAllBytes(path);
+		return bytes.length == 0 || bytes[bytes.length - 1] == '\n';
+	}
+
+	/**
+	 * Runs a sweep without a window. Interrupting it with Ctrl+C cancels it and keeps the runs written so far,
+	 * so it can be resumed.
+	 * @param  args the arguments as described by USAGE
+	 */
+	public static void main(String[] args) {
+		RuleSweep sweep;
+		try {
+			sweep = new RuleSweep(args);
+		}
+		catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+			return;
+		}
+		catch (IOException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+			return;
+		}
+		Thread main = Thread.currentThread();
+		Thread hook = new Thread(() -> {
+			sweep.cancel();
+			try {
+				main.join();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		Runtime.getRuntime().addShutdownHook(hook);
+		try {
+			long start = System.nanoTime();
+			long runs = sweep.run();
+			double seconds = (System.nanoTime() - start) / 1e9;
+			System.out.printf(Locale.ROOT, "runs=%d%nseconds=%.3f%nrunsPerSecond=%.2f%ncancelled=%b%n",
+					runs, seconds, seconds > 0 ? runs / seconds : 0.0, sweep.isCancelled());
+		}
+		catch (IOException e) {
+			System.err.println(e.getMessage());
+			Runtime.getRuntime().removeShutdownHook(hook);
+			System.exit(1);
+		}
+		catch (InterruptedException e) {
+			System.err.println("interrupted");
+		}
+	}
+
+	/**
+	 * <h1>Run</h1>
+	 * One simulation of a RuleSweep, a soup of a seed in a grid of a size with rules.
+	 *
+	 * @param   rules the rules of the run
+	 * @param   seed the seed of the soup
+	 * @param   rows rows of the grid
+	 * @param   columns columns of the grid
+	 * @param   density the share of cells alive in the soup
+	 * @param   boundary what the cells at the edges see beyond the edges
+	 */
+	public static class Run {
+		private final Rules rules;
+		private final long seed;
+		private final int rows;
+		private final int columns;
+		private final double density;
+		private final Boundary boundary;
+
+		Run(Rules rules, long seed, int rows, int columns, double density, Boundary boundary) {
+			this.rules = rules;
+			this.seed = seed;
+			this.rows = rows;
+			this.columns = columns;
+			this.density = density;
+			this.boundary = boundary;
+		}
+
+		/**
+		 * Getter for rules.
+		 * @return the rules of the run
+		 */
+		public Rules getRules() {
+			return rules;
+		}
+
+		/**
+		 * Getter for seed.
+		 * @return the seed of the soup
+		 */
+		public long getSeed() {
+			return seed;
+		}
+
+		/**
+		 * Getter for rows.
+		 * @return the amount of rows of the grid
+		 */
+		public int getRows() {
+			return rows;
+		}
+
+		/**
+		 * Getter for columns.
+		 * @return the amount of columns of the grid
+		 */
+		public int getColumns() {
+			return columns;
+		}
+
+		/**
+		 * Getter for density.
+		 * @return the share of cells alive in the soup
+		 */
+		public double getDensity() {
+			return density;
+		}
+
+		/**
+		 * Getter for boundary.
+		 * @return what the cells at the edges see beyond the edges
+		 */
+		public Boundary getBoundary() {
+			return boundary;
+		}
+
+		/**
+		 * Getter for the key of the run, the same as the first columns of its line in a CSV output.
+		 * @return the rules, seed, rows, columns, density and boundary separated by commas
+		 */
+		public String getKey() {
+			return key(rules.toString(), seed, rows, columns, density, boundary.name());
+		}
+	}
+
+	private static String key(String rules, long seed, int rows, int columns, double density, String boundary) {
+		return rules + "," + seed + "," + rows + "," + columns + "," + density + "," + boundary;
+	}
+
+	/**
+	 * <h1>Result</h1>
+	 * The summary of a Run, written as a line of CSV or JSON.
+	 *
+	 * @param   rules the rules of the run
+	 * @param   seed the seed of the soup
+	 * @param   rows rows of the grid
+	 * @param   columns columns of the grid
+	 * @param   density the share of cells alive in the soup
+	 * @param   boundary what the cells at the edges see beyond the edges
+	 * @param   generations the amount of generations calculated
+	 * @param   finalPopulation the amount of cells alive at the end
+	 * @param   outcome the Kind of the Cycle the grid ended up in, UNSTABLE if none was found within the generations
+	 * @param   period the period of the Cycle, 0 if none was found
+	 * @param   stableAt the first generation of the Cycle, -1 if none was found
+	 * @param   seconds how long the generations took
+	 * @param   generationsPerSecond the generations calculated per second
+	 * @param   cellsPerSecond the cells calculated per second
+	 */
+	public static class Result {
+		private String rules;
+		private long seed;
+		private int rows;
+		private int columns;
+		private double density;
+		private String boundary;
+		private long generations;
+		private long finalPopulation;
+		private String outcome;
+		private long period;
+		private long stableAt;
+		private double seconds;
+		private double generationsPerSecond;
+		private double cellsPerSecond;
+
+		Result(Run run, GridOfCells gridOfCells, long nanos) {
+			rules = run.getRules().toString();
+			seed = run.getSeed();
+			rows = run.getRows();
+			columns = run.getColumns();
+			density = run.getDensity();
+			boundary = run.getBoundary().name();
+			generations = gridOfCells.getGeneration();
+			finalPopulation = gridOfCells.getAliveCells();
+			Cycle cycle = gridOfCells.getCycle();
+			outcome = cycle == null ? "UNSTABLE" : cycle.getKind().name();
+			period = cycle == null ? 0 : cycle.getPeriod();
+			if (cycle == null) stableAt = -1;
+			else if (cycle.getKind() == Cycle.Kind.EXTINCT) stableAt = cycle.getGeneration();
+			else stableAt = cycle.getGeneration() - cycle.getPeriod();
+			seconds = nanos / 1e9;
+			generationsPerSecond = seconds > 0 ? generations / seconds : 0;
+			cellsPerSecond = generationsPerSecond * rows * columns;
+		}
+
+		/**
+		 * Getter for the key of the run, see Run.getKey.
+		 * @return the rules, seed, rows, columns, density and boundary separated by commas
+		 */
+		public String getKey() {
+			return key(rules, seed, rows, columns, density, boundary);
+		}
+
+		/**
+		 * Getter for finalPopulation.
+		 * @return the amount of cells alive at the end
+		 */
+		public long getFinalPopulation() {
+			return finalPopulation;
+		}
+
+		/**
+		 * Getter for outcome.
+		 * @return EXTINCT, STILL_LIFE, PERIODIC or UNSTABLE
+		 */
+		public String getOutcome() {
+			return outcome;
+		}
+
+		/**
+		 * Getter for period.
+		 * @return the period of the Cycle, 0 if none was found
+		 */
+		public long getPeriod() {
+			return period;
+		}
+
+		/**
+		 * Getter for stableAt.
+		 * @return the first generation of the Cycle, -1 if none was found
+		 */
+		public long getStableAt() {
+			return stableAt;
+		}
+
+		/**
+		 * Getter for generationsPerSecond.
+		 * @return the generations calculated per second
+		 */
+		public double getGenerationsPerSecond() {
+			return generationsPerSecond;
+		}
+
+		/**
+		 * Formats the summary as a line of CSV, in the order of CSV_HEADER.
+		 * @return the line without line break
+		 */
+		public String toCsv() {
+			return getKey() + "," + generations + "," + finalPopulation + "," + outcome + "," + period + "," + stableAt
+					+ String.format(Locale.ROOT, ",%.6f,%.1f,%.4g", seconds, generationsPerSecond, cellsPerSecond);
+		}
+	}
+}
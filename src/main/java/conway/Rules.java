@@ -1,10 +1,20 @@
 package conway;
 
 import java.lang.IllegalArgumentException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <h1>Rules</h1>
  * An instance of the Rules class represents a set of rules applicable in an instance of GridOfCells.
+ * Rules are immutable, so they can be swapped between two generations without stopping a simulation.
+ * They can be written in the standard notation "B3/S23", which lists the amounts of living neighbours
+ * at which a cell is born (B) and at which a living cell survives (S).
+ * <p>
+ * Each Rules instance compiles itself once into a lookup table of all 512 neighbourhoods
+ * and into the masks of the BitKernel. Rules created by of() are cached by their canonical rulestring,
+ * so switching between rules never compiles them again. The cache holds at most MAX_CACHED rules,
+ * beyond that of() returns new Rules, so a sweep over many random rules does not fill the memory.
  *
  * @author  Bertan Karacora
  * @author  Jan Sturzenhecker
@@ -12,13 +22,22 @@ import java.lang.IllegalArgumentException;
  * @version 1.0
  * @since   2020-07-06
  * @see     GridOfCells
+ * @see     BitKernel
  * @exception IllegalArgumentException
  * @param   survivesAt array of booleans. Position x indicates if a cell with x neighbors survives the next generation
  * @param   bornAt array of booleans. Position x indicates if a cell with x neighbors is born at the next generation
+ * @param   table the next status for each of the 512 neighbourhoods, compiled when first needed
+ * @param   kernelMasks the masks of the BitKernel, compiled when first needed
+ * @param   CACHE the Rules created by of(), keyed by their canonical rulestring as written by toString
+ * @param   MAX_CACHED the largest amount of Rules in CACHE
  */
 public class Rules {
-	private boolean[] survivesAt;
-	private boolean[] bornAt;
+	private static final int MAX_CACHED = 1024;
+	private static final ConcurrentHashMap<String, Rules> CACHE = new ConcurrentHashMap<>();
+	private final boolean[] survivesAt;
+	private final boolean[] bornAt;
+	private transient volatile boolean[] table;
+	private transient volatile long[] kernelMasks;
 
 	/**
 	 * Creates an instance of Rules with a given array of booleans sA and a given array bA
@@ -28,35 +47,195 @@ public class Rules {
 	 */
 	public Rules(boolean[] sA, boolean[] bA) {
 		if (sA.length != 9 || bA.length != 9) throw new IllegalArgumentException();
-		survivesAt = sA;
-		bornAt = bA;
+		survivesAt = sA.clone();
+		bornAt = bA.clone();
 	}
 
 	/**
-	 * Getter for the array of boolean values 'survivesAt'.
+	 * Returns the cached Rules for the given arrays, creating them if needed.
+	 * @param  sA the boolean array for surviving rules
+	 * @param  bA the boolean array for birth rules
+	 * @return the Rules for the given arrays
+	 * @exception IllegalArgumentException is thrown if sA or bA has a size unequal 9.
+	 */
+	public static Rules of(boolean[] sA, boolean[] bA) {
+		return cache(new Rules(sA, bA));
+	}
+
+	/**
+	 * Returns the cached Rules for a rulestring, parsing it if needed.
+	 * Accepted are the notations "B3/S23" (in any order and case) and "23/3" (survive/born).
+	 * @param  rulestring the rules in B/S notation
+	 * @return the Rules described by rulestring
+	 * @exception IllegalArgumentException is thrown if rulestring is not valid.
+	 */
+	public static Rules of(String rulestring) {
+		return cache(parse(rulestring));
+	}
+
+	/**
+	 * Returns the cached Rules equal to rules, caching rules if there are none and the cache is not full.
+	 */
+	private static Rules cache(Rules rules) {
+		String key = rules.toString();
+		Rules cached = CACHE.get(key);
+		if (cached != null) return cached;
+		if (CACHE.size() >= MAX_CACHED) return rules;
+		cached = CACHE.putIfAbsent(key, rules);
+		return cached != null ? cached : rules;
+	}
+
+	/**
+	 * Parses a rulestring without looking at the cache. It has exactly two sections separated by a single "/",
+	 * in B/S notation one B and one S section, so "B3/B6", "B3//S23" and "B3/S23/" are not valid.
+	 * @param  rulestring the rules in B/S notation
+	 * @return new Rules described by rulestring
+	 * @exception IllegalArgumentException is thrown if rulestring is not valid.
+	 */
+	public static Rules parse(String rulestring) {
+		String[] parts = rulestring.trim().split("/", -1);
+		if (parts.length != 2) throw new IllegalArgumentException("not a rulestring: " + rulestring);
+		boolean[] sA = new boolean[9];
+		boolean[] bA = new boolean[9];
+		boolean named = !parts[0].isEmpty() && Character.isLetter(parts[0].charAt(0));
+		for (int p = 0; p < 2; p++) {
+			String part = parts[p].trim();
+			boolean[] target = p == 0 ? sA : bA;
+			if (named) {
+				if (part.isEmpty()) throw new IllegalArgumentException("not a rulestring: " + rulestring);
+				char letter = Character.toUpperCase(part.charAt(0));
+				if (letter == 'B') target = bA;
+				else if (letter == 'S') target = sA;
+				else throw new IllegalArgumentException("not a rulestring: " + rulestring);
+				if (p == 1 && letter == Character.toUpperCase(parts[0].trim().charAt(0))) {
+					throw new IllegalArgumentException("repeated section " + letter + " in rulestring: " + rulestring);
+				}
+				part = part.substring(1);
+			}
+			for (int c = 0; c < part.length(); c++) {
+				int k = part.charAt(c) - '0';
+				if (k < 0 || k > 8) throw new IllegalArgumentException("not a rulestring: " + rulestring);
+				target[k] = true;
+			}
+		}
+		return new Rules(sA, bA);
+	}
+
+	/**
+	 * Getter for a copy of the array of boolean values 'survivesAt'.
 	 * @return for each position the boolean value of Rules instance
 	 * 		 that indicates if a Cell with the corresponding amount of living neighbors stays alive in the next generation
 	 */
 	public boolean[] getSurvivesAt() {
-		return survivesAt;
+		return survivesAt.clone();
 	}
 
 	/**
-	 * Getter for the array of boolean values 'survivesAt'.
+	 * Getter for a copy of the array of boolean values 'bornAt'.
 	 * @return for each position the boolean value of Rules instance
 	 * 		 that indicates if a Cell with the corresponding amount of living neighbors is born in the next generation
 	 */
 	public boolean[] getBornAt() {
-		return bornAt;
+		return bornAt.clone();
+	}
+
+	/**
+	 * Checks if a living cell with the given amount of living neighbours survives.
+	 * @param  neighbours the amount of living neighbours
+	 * @return true if the cell stays alive in the next generation
+	 */
+	public boolean survives(int neighbours) {
+		return survivesAt[neighbours];
 	}
 
 	/**
-	 * Inverts all boolean values of survivesAt and bornAt.
+	 * Checks if a dead cell with the given amount of living neighbours is born.
+	 * @param  neighbours the amount of living neighbours
+	 * @return true if the cell is alive in the next generation
 	 */
-	public void invert() {
-		for (int i = 0; i < survivesAt.length; i++) {
-			survivesAt[i] = !survivesAt[i];
-			bornAt[i] = !bornAt[i];
+	public boolean isBorn(int neighbours) {
+		return bornAt[neighbours];
+	}
+
+	/**
+	 * Getter for the lookup table of all 512 neighbourhoods.
+	 * Bit 3 * r + c of the index is the status of the cell in row r and column c of the 3 x 3 neighbourhood,
+	 * so bit 4 is the cell itself.
+	 * @return the next status of the cell for each neighbourhood, not to be changed
+	 */
+	public boolean[] getTable() {
+		boolean[] compiled = table;
+		if (compiled == null) {
+			compiled = new boolean[512];
+			for (int index = 0; index < 512; index++) {
+				int neighbours = Integer.bitCount(index & ~(1 << 4));
+				compiled[index] = (index & (1 << 4)) != 0 ? survivesAt[neighbours] : bornAt[neighbours];
+			}
+			table = compiled;
+		}
+		return compiled;
+	}
+
+	/**
+	 * Getter for the masks of the BitKernel.
+	 * Entry k is all ones if a living cell with k living neighbours survives,
+	 * entry 9 + k is all ones if a dead cell with k living neighbours is born.
+	 * @return the 18 masks of these rules, not to be changed
+	 */
+	public long[] getKernelMasks() {
+		long[] compiled = kernelMasks;
+		if (compiled == null) {
+			compiled = new long[18];
+			for (int k = 0; k < 9; k++) {
+				compiled[k] = survivesAt[k] ? -1L : 0L;
+				compiled[9 + k] = bornAt[k] ? -1L : 0L;
+			}
+			kernelMasks = compiled;
+		}
+		return compiled;
+	}
+
+	/**
+	 * Creates the inverse of these rules, in which all boolean values of survivesAt and bornAt are inverted.
+	 * @return the cached inverted Rules
+	 */
+	public Rules invert() {
+		boolean[] sA = new boolean[9];
+		boolean[] bA = new boolean[9];
+		for (int i = 0; i < 9; i++) {
+			sA[i] = !survivesAt[i];
+			bA[i] = !bornAt[i];
+		}
+		return of(sA, bA);
+	}
+
+	/**
+	 * Writes the rules in B/S notation, for example "B3/S23".
+	 * @return the rulestring of these rules
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("B");
+		for (int k = 0; k < 9; k++) {
+			if (bornAt[k]) builder.append(k);
+		}
+		builder.append("/S");
+		for (int k = 0; k < 9; k++) {
+			if (survivesAt[k]) builder.append(k);
 		}
+		return builder.toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof Rules)) return false;
+		Rules other = (Rules) o;
+		return Arrays.equals(survivesAt, other.survivesAt) && Arrays.equals(bornAt, other.bornAt);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(survivesAt) + Arrays.hashCode(bornAt);
 	}
 }
@@ -0,0 +1,81 @@
+package conway;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * <h1>Shard Protocol</h1>
+ * The messages between a ShardedEngine and its ShardWorkers. Each message starts with one of the commands below,
+ * followed by its arguments. Numbers are big endian as written by a DataOutputStream, words are sent in blocks.
+ * <ul>
+ * <li>INIT: rows and columns of the grid, first row and the row after the last row of the shard (int each),
+ *     survive and birth rules as bit masks (short each), ordinal of the Boundary (byte). No answer.</li>
+ * <li>STEP: the row above the shard and the row below it. Answer: births and deaths (long each),
+ *     the first and the last row of the shard in the next generation.</li>
+ * <li>RULES: survive and birth rules as bit masks (short each). No answer.</li>
+ * <li>BOUNDARY: ordinal of the Boundary (byte). No answer.</li>
+ * <li>GET: row in the shard and column (int each). Answer: 1 if the cell is alive, otherwise 0 (byte).</li>
+ * <li>SET: row in the shard and column (int each), 1 for alive or 0 (byte). Answer: 1 if the cell changed (byte).</li>
+ * <li>SNAPSHOT: no arguments. Answer: all rows of the shard.</li>
+ * <li>RESTORE: all rows of the shard. No answer.</li>
+ * <li>HASH: no arguments. Answer: the share of the shard in the StateHash of the grid (long).</li>
+ * <li>CLOSE: no arguments. The worker exits.</li>
+ * </ul>
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     ShardedEngine
+ * @see     ShardWorker
+ * @exception IOException
+ * @param   BLOCK_WORDS the amount of words sent at once
+ */
+final class ShardProtocol {
+	static final byte INIT = 1;
+	static final byte STEP = 2;
+	static final byte RULES = 3;
+	static final byte BOUNDARY = 4;
+	static final byte GET = 5;
+	static final byte SET = 6;
+	static final byte SNAPSHOT = 7;
+	static final byte RESTORE = 8;
+	static final byte HASH = 9;
+	static final byte CLOSE = 10;
+	private static final int BLOCK_WORDS = 8192;
+
+	private ShardProtocol() {
+	}
+
+	/**
+	 * Writes the words from (inclusive) to from + length (exclusive).
+	 */
+	static void writeWords(DataOutputStream out, long[] words, int from, int length) throws IOException {
+		ByteBuffer block = ByteBuffer.allocate(8 * Math.min(length, BLOCK_WORDS));
+		LongBuffer longs = block.asLongBuffer();
+		for (int k = 0; k < length; k += BLOCK_WORDS) {
+			int count = Math.min(BLOCK_WORDS, length - k);
+			longs.clear();
+			longs.put(words, from + k, count);
+			out.write(block.array(), 0, 8 * count);
+		}
+	}
+
+	/**
+	 * Reads length words into words from position from on.
+	 */
+	static void readWords(DataInputStream in, long[] words, int from, int length) throws IOException {
+		ByteBuffer block = ByteBuffer.allocate(8 * Math.min(length, BLOCK_WORDS));
+		LongBuffer longs = block.asLongBuffer();
+		for (int k = 0; k < length; k += BLOCK_WORDS) {
+			int count = Math.min(BLOCK_WORDS, length - k);
+			in.readFully(block.array(), 0, 8 * count);
+			longs.clear();
+			longs.get(words, from + k, count);
+		}
+	}
+}
@@ -0,0 +1,172 @@
+package conway;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * <h1>Shard Worker</h1>
+ * Calculates one shard of the grid of a ShardedEngine in a process of its own. A shard is a band of whole rows,
+ * held in a BitGrid with one more row above and below it for the halo, the rows next to the shard that belong
+ * to other shards. Before each step the ShardedEngine sends the halo rows of the current generation,
+ * afterwards the worker sends back the first and the last row of its shard, which are halo rows of other shards.
+ * The columns at the edges are handled by the Boundary like in a BitGridEngine, as every shard spans all columns.
+ * <p>
+ * Usage: {@code ShardWorker <host> <port>}, connecting to the ServerSocket of a ShardedEngine.
+ * The worker exits when the ShardedEngine closes or the connection is lost.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     ShardedEngine
+ * @see     ShardProtocol
+ * @exception IOException
+ * @param   in the messages from the ShardedEngine
+ * @param   out the answers to the ShardedEngine
+ * @param   from the first row of the shard in the grid
+ * @param   shardRows the amount of rows of the shard
+ * @param   wordsPerRow the amount of words of a row
+ * @param   masks the masks of the rules, see Rules.getKernelMasks
+ * @param   boundary decides what the cells at the left and right edges see beyond the edges
+ * @param   kernel the StepKernel the rows are calculated with
+ * @param   current the shard and its halo rows, the shard starts at row 1
+ * @param   next the BitGrid the next generation is calculated into
+ */
+public class ShardWorker {
+	private final DataInputStream in;
+	private final DataOutputStream out;
+	private int from;
+	private int shardRows;
+	private int wordsPerRow;
+	private long[] masks;
+	private Boundary boundary;
+	private final StepKernel kernel = StepKernel.getDefault();
+	private BitGrid current;
+	private BitGrid next;
+
+	/**
+	 * Creates a worker answering the messages of a connection.
+	 * @param  socket the connection to the ShardedEngine
+	 * @exception IOException is thrown if the streams of the connection can not be opened.
+	 */
+	public ShardWorker(Socket socket) throws IOException {
+		socket.setTcpNoDelay(true);
+		in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+	}
+
+	/**
+	 * Answers messages until the ShardedEngine closes the connection or sends CLOSE.
+	 * @exception IOException is thrown if the connection fails or a message is unknown.
+	 */
+	public void run() throws IOException {
+		while (true) {
+			byte command;
+			try {
+				command = in.readByte();
+			}
+			catch (EOFException e) {
+				return;
+			}
+			switch (command) {
+				case ShardProtocol.INIT: init(); break;
+				case ShardProtocol.STEP: step(); break;
+				case ShardProtocol.RULES: masks = readRules().getKernelMasks(); break;
+				case ShardProtocol.BOUNDARY: boundary = Boundary.values()[in.readByte()]; break;
+				case ShardProtocol.GET:
+					out.writeByte(current.isAlive(in.readInt() + 1, in.readInt()) ? 1 : 0);
+					out.flush();
+					break;
+				case ShardProtocol.SET: set(); break;
+				case ShardProtocol.SNAPSHOT:
+					ShardProtocol.writeWords(out, current.getWords(), wordsPerRow, shardRows * wordsPerRow);
+					out.flush();
+					break;
+				case ShardProtocol.RESTORE:
+					ShardProtocol.readWords(in, current.getWords(), wordsPerRow, shardRows * wordsPerRow);
+					break;
+				case ShardProtocol.HASH:
+					out.writeLong(StateHash.of(current.getWords(), wordsPerRow, (shardRows + 1) * wordsPerRow,
+							(long) from * wordsPerRow));
+					out.flush();
+					break;
+				case ShardProtocol.CLOSE: return;
+				default: throw new IOException("unknown command " + command);
+			}
+		}
+	}
+
+	private void init() throws IOException {
+		in.readInt();
+		int columns = in.readInt();
+		from = in.readInt();
+		shardRows = in.readInt() - from;
+		masks = readRules().getKernelMasks();
+		boundary = Boundary.values()[in.readByte()];
+		current = new BitGrid(shardRows + 2, columns);
+		next = new BitGrid(shardRows + 2, columns);
+		wordsPerRow = current.getWordsPerRow();
+	}
+
+	private Rules readRules() throws IOException {
+		boolean[] survivesAt = StateFile.fromMask(in.readShort());
+		return Rules.of(survivesAt, StateFile.fromMask(in.readShort()));
+	}
+
+	/**
+	 * Takes the halo rows, calculates the shard and sends the changes and the rows at its edges.
+	 * The halo rows lie inside of the BitGrid, so the Boundary only decides about the columns.
+	 */
+	private void step() throws IOException {
+		long[] words = current.getWords();
+		ShardProtocol.readWords(in, words, 0, wordsPerRow);
+		ShardProtocol.readWords(in, words, (shardRows + 1) * wordsPerRow, wordsPerRow);
+		// the StateHash of the delta is that of the rows of the BitGrid, not of the grid, and is not used
+		long[] delta = new long[BitKernel.DELTA_LENGTH];
+		BitKernel.stepRows(current, next, 1, shardRows + 1, masks, boundary, delta, kernel);
+		BitGrid previous = current;
+		current = next;
+		next = previous;
+		out.writeLong(delta[BitKernel.BIRTHS]);
+		out.writeLong(delta[BitKernel.DEATHS]);
+		ShardProtocol.writeWords(out, current.getWords(), wordsPerRow, wordsPerRow);
+		ShardProtocol.writeWords(out, current.getWords(), shardRows * wordsPerRow, wordsPerRow);
+		out.flush();
+	}
+
+	private void set() throws IOException {
+		int i = in.readInt() + 1;
+		int j = in.readInt();
+		boolean value = in.readByte() != 0;
+		boolean changed = current.isAlive(i, j) != value;
+		current.setAlive(i, j, value);
+		out.writeByte(changed ? 1 : 0);
+		out.flush();
+	}
+
+	/**
+	 * Connects to a ShardedEngine and calculates the shard it is given.
+	 * @param  args the host and the port of the ShardedEngine
+	 */
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			System.err.println("usage: ShardWorker <host> <port>");
+			System.exit(2);
+			return;
+		}
+		try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+			new ShardWorker(socket).run();
+		}
+		catch (IOException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+		System.exit(0);
+	}
+}
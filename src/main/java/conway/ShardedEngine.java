@@ -0,0 +1,486 @@
+package conway;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.IllegalArgumentException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>Sharded Engine</h1>
+ * A SimulationEngine that splits the grid into shards of whole rows, each calculated by a ShardWorker
+ * in a process of its own, so a grid can use the memory and cores of several JVMs.
+ * The engine is the coordinator: it keeps the first and the last row of each shard, which are the halo rows
+ * of the shards next to it. In a step it sends each worker the two halo rows of its shard, the workers calculate
+ * their shards at the same time and send back the rows at their edges and the amount of cells born and died.
+ * A step only ends once all workers answered, so all shards are always at the same generation.
+ * The rows beyond the first and the last row of the grid are chosen by the Boundary like in a BitGridEngine,
+ * so the generations are exactly those of a single engine.
+ * <p>
+ * The workers are either started on this machine, connecting over the loopback interface,
+ * or started by hand with {@code ShardWorker <host> <port>} and accepted on a given ServerSocket.
+ * Each message goes over TCP, so a step costs one round trip to every worker and two rows per shard.
+ * <p>
+ * <b>Note:</b> A worker that fails or exits makes every further call throw an UncheckedIOException.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     ShardWorker
+ * @see     ShardProtocol
+ * @see     BitGridEngine
+ * @exception IllegalArgumentException
+ * @exception IOException
+ * @exception UncheckedIOException
+ * @param   ACCEPT_TIMEOUT the milliseconds waited for a worker to connect
+ * @param   rows rows of the grid
+ * @param   columns columns of the grid
+ * @param   wordsPerRow the amount of words of a row
+ * @param   starts the first row of each shard and the amount of rows after the last one
+ * @param   sockets the connection to the worker of each shard
+ * @param   ins the answers of each worker
+ * @param   outs the messages to each worker
+ * @param   processes the workers started by the engine, empty if they were started by hand
+ * @param   firstRows the first row of each shard in the current generation
+ * @param   lastRows the last row of each shard in the current generation
+ * @param   generation indicates how many steps of time have passed
+ * @param   rules the rules the next generation is calculated with
+ * @param   boundary decides what the cells at the edges see beyond the edges
+ * @param   population the amount of cells alive in the current generation
+ * @param   births the amount of cells born in the last step
+ * @param   deaths the amount of cells died in the last step
+ */
+public class ShardedEngine implements SimulationEngine, AutoCloseable {
+	static final int ACCEPT_TIMEOUT = 60000;
+	private final int rows;
+	private final int columns;
+	private final int wordsPerRow;
+	private final int[] starts;
+	private final Socket[] sockets;
+	private final DataInputStream[] ins;
+	private final DataOutputStream[] outs;
+	private final List<Process> processes = new ArrayList<>();
+	private final long[][] firstRows;
+	private final long[][] lastRows;
+	private long generation;
+	private Rules rules;
+	private Boundary boundary = Boundary.DEAD;
+	private long population;
+	private long births;
+	private long deaths;
+
+	/**
+	 * Creates a new engine at generation 0 with the given size and rules, starting a worker process for each shard
+	 * with the Java and class path of this JVM. All cells are dead.
+	 * @param  rows rows of the grid
+	 * @param  columns columns of the grid
+	 * @param  rules the rules the generations are calculated with
+	 * @param  shards the amount of shards and worker processes
+	 * @exception IllegalArgumentException is thrown if rows or columns is smaller than 1 or shards is not between 1 and rows.
+	 * @exception IOException is thrown if a worker can not be started or does not connect.
+	 */
+	public ShardedEngine(int rows, int columns, Rules rules, int shards) throws IOException {
+		this(rows, columns, rules, shards, null);
+	}
+
+	/**
+	 * Creates a new engine at generation 0 with the given size and rules, accepting a worker for each shard
+	 * on a ServerSocket. The workers have to be started elsewhere. All cells are dead.
+	 * @param  rows rows of the grid
+	 * @param  columns columns of the grid
+	 * @param  rules the rules the generations are calculated with
+	 * @param  shards the amount of shards and workers
+	 * @param  server the ServerSocket the workers connect to, it is not closed
+	 * @exception IllegalArgumentException is thrown if rows or columns is smaller than 1 or shards is not between 1 and rows.
+	 * @exception IOException is thrown if not all workers connect within ACCEPT_TIMEOUT.
+	 */
+	public ShardedEngine(int rows, int columns, Rules rules, int shards, ServerSocket server) throws IOException {
+		if (rows < 1 || columns < 1 || shards < 1 || shards > rows) throw new IllegalArgumentException();
+		this.rows = rows;
+		this.columns = columns;
+		this.rules = rules;
+		wordsPerRow = (columns + 63) >>> 6;
+		starts = new int[shards + 1];
+		for (int s = 0; s <= shards; s++) starts[s] = (int) ((long) rows * s / shards);
+		sockets = new Socket[shards];
+		ins = new DataInputStream[shards];
+		outs = new DataOutputStream[shards];
+		firstRows = new long[shards][wordsPerRow];
+		lastRows = new long[shards][wordsPerRow];
+		try {
+			if (server != null) connect(server);
+			else {
+				try (ServerSocket local = new ServerSocket(0, shards, InetAddress.getLoopbackAddress())) {
+					for (int s = 0; s < shards; s++) processes.add(startWorker(local.getLocalPort()));
+					connect(local);
+				}
+			}
+			for (int s = 0; s < shards; s++) {
+				outs[s].writeByte(ShardProtocol.INIT);
+				outs[s].writeInt(rows);
+				outs[s].writeInt(columns);
+				outs[s].writeInt(starts[s]);
+				outs[s].writeInt(starts[s + 1]);
+				writeRules(outs[s], rules);
+				outs[s].writeByte(boundary.ordinal());
+				outs[s].flush();
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Starts a worker process connecting to the given port on the loopback interface.
+	 * It uses the Vector API and the StepKernel of this JVM.
+	 */
+	private static Process startWorker(int port) throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		if (StepKernel.VECTOR.isAvailable()) {
+			command.add("--add-modules");
+			command.add("jdk.incubator.vector");
+		}
+		command.add("-D" + StepKernel.PROPERTY + "=" + StepKernel.getDefault().name().toLowerCase(Locale.ROOT));
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(ShardWorker.class.getName());
+		command.add(InetAddress.getLoopbackAddress().getHostAddress());
+		command.add(Integer.toString(port));
+		return new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+				.redirectError(ProcessBuilder.Redirect.INHERIT).start();
+	}
+
+	/**
+	 * Accepts a worker for each shard, in the order they connect.
+	 * Stops waiting as soon as a worker started by the engine exited.
+	 */
+	private void connect(ServerSocket server) throws IOException {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ACCEPT_TIMEOUT);
+		server.setSoTimeout(processes.isEmpty() ? ACCEPT_TIMEOUT : 500);
+		for (int s = 0; s < sockets.length; s++) {
+			while (sockets[s] == null) {
+				try {
+					sockets[s] = server.accept();
+				}
+				catch (SocketTimeoutException e) {
+					for (Process process : processes) {
+						if (!process.isAlive()) throw new IOException("worker exited with code " + process.exitValue());
+					}
+					if (System.nanoTime() - deadline > 0) throw new IOException("workers did not connect in time");
+				}
+			}
+			sockets[s].setTcpNoDelay(true);
+			ins[s] = new DataInputStream(new BufferedInputStream(sockets[s].getInputStream()));
+			outs[s] = new DataOutputStream(new BufferedOutputStream(sockets[s].getOutputStream()));
+		}
+	}
+
+	/**
+	 * Getter for the amount of shards.
+	 * @return the amount of shards and workers
+	 */
+	public int getShardCount() {
+		return sockets.length;
+	}
+
+	/**
+	 * Getter for the rows of a shard.
+	 * @param  shard the index of the shard
+	 * @return the Region of the grid calculated by the worker of the shard
+	 */
+	public Region getShard(int shard) {
+		return new Region(starts[shard], 0, starts[shard + 1], columns);
+	}
+
+	@Override
+	public int getRows() {
+		return rows;
+	}
+
+	@Override
+	public int getColumns() {
+		return columns;
+	}
+
+	@Override
+	public long getGeneration() {
+		return generation;
+	}
+
+	@Override
+	public void setGeneration(long generation) {
+		this.generation = generation;
+	}
+
+	@Override
+	public Rules getRules() {
+		return rules;
+	}
+
+	@Override
+	public void setRules(Rules rules) {
+		try {
+			for (DataOutputStream out : outs) {
+				out.writeByte(ShardProtocol.RULES);
+				writeRules(out, rules);
+				out.flush();
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.rules = rules;
+	}
+
+	@Override
+	public Boundary getBoundary() {
+		return boundary;
+	}
+
+	@Override
+	public void setBoundary(Boundary boundary) {
+		try {
+			for (DataOutputStream out : outs) {
+				out.writeByte(ShardProtocol.BOUNDARY);
+				out.writeByte(boundary.ordinal());
+				out.flush();
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.boundary = boundary;
+	}
+
+	@Override
+	public boolean isAlive(int i, int j) {
+		if (i < 0 || i >= rows || j < 0 || j >= columns) return false;
+		int s = shardOf(i);
+		try {
+			outs[s].writeByte(ShardProtocol.GET);
+			outs[s].writeInt(i - starts[s]);
+			outs[s].writeInt(j);
+			outs[s].flush();
+			return ins[s].readByte() != 0;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void setAlive(int i, int j, boolean value) {
+		if (i < 0 || i >= rows || j < 0 || j >= columns) throw new IndexOutOfBoundsException("(" + i + ", " + j + ")");
+		int s = shardOf(i);
+		boolean changed;
+		try {
+			outs[s].writeByte(ShardProtocol.SET);
+			outs[s].writeInt(i - starts[s]);
+			outs[s].writeInt(j);
+			outs[s].writeByte(value ? 1 : 0);
+			outs[s].flush();
+			changed = ins[s].readByte() != 0;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (!changed) return;
+		population += value ? 1 : -1;
+		long bit = 1L << j;
+		if (i == starts[s]) firstRows[s][j >>> 6] ^= bit;
+		if (i == starts[s + 1] - 1) lastRows[s][j >>> 6] ^= bit;
+	}
+
+	/**
+	 * Calculates the next generation on all workers at once and waits for all of them.
+	 * @exception UncheckedIOException is thrown if a worker fails.
+	 */
+	@Override
+	public void step() {
+		long stepBirths = 0;
+		long stepDeaths = 0;
+		try {
+			// the halo rows are taken before any answer replaces the rows at the edges
+			for (int s = 0; s < outs.length; s++) {
+				outs[s].writeByte(ShardProtocol.STEP);
+				ShardProtocol.writeWords(outs[s], haloRow(starts[s] - 1), 0, wordsPerRow);
+				ShardProtocol.writeWords(outs[s], haloRow(starts[s + 1]), 0, wordsPerRow);
+				outs[s].flush();
+			}
+			for (int s = 0; s < ins.length; s++) {
+				stepBirths += ins[s].readLong();
+				stepDeaths += ins[s].readLong();
+				ShardProtocol.readWords(ins[s], firstRows[s], 0, wordsPerRow);
+				ShardProtocol.readWords(ins[s], lastRows[s], 0, wordsPerRow);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		generation++;
+		births = stepBirths;
+		deaths = stepDeaths;
+		population += births - deaths;
+	}
+
+	/**
+	 * Getter for a row next to a shard in the current generation. The Boundary maps a row beyond the edges of the grid
+	 * onto a row at an edge of the grid, so it is always the first or the last row of a shard.
+	 * @return the row, dead cells if the Boundary maps it to none
+	 */
+	private long[] haloRow(int row) {
+		int i = boundary.map(row, rows);
+		if (i < 0) return new long[wordsPerRow];
+		int s = shardOf(i);
+		return i == starts[s] ? firstRows[s] : lastRows[s];
+	}
+
+	/**
+	 * Finds the shard holding row i.
+	 */
+	private int shardOf(int i) {
+		int s = Arrays.binarySearch(starts, i);
+		// a row inside of a shard is not found and gives the insertion point after the start of its shard
+		return s >= 0 ? s : -s - 2;
+	}
+
+	@Override
+	public long getPopulation() {
+		return population;
+	}
+
+	@Override
+	public long getBirths() {
+		return births;
+	}
+
+	@Override
+	public long getDeaths() {
+		return deaths;
+	}
+
+	/**
+	 * Hashes the current generation, each worker hashing its own shard.
+	 * @return the hash of this generation as defined by StateHash, 0 if no cell is alive
+	 */
+	@Override
+	public long getStateHash() {
+		long hash = 0;
+		try {
+			for (DataOutputStream out : outs) {
+				out.writeByte(ShardProtocol.HASH);
+				out.flush();
+			}
+			for (DataInputStream in : ins) hash ^= in.readLong();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return hash;
+	}
+
+	@Override
+	public long getStateBytes() {
+		// the current and the next generation, in the workers
+		return 16L * rows * wordsPerRow;
+	}
+
+	@Override
+	public BitGrid snapshot() {
+		BitGrid state = new BitGrid(rows, columns);
+		try {
+			for (DataOutputStream out : outs) {
+				out.writeByte(ShardProtocol.SNAPSHOT);
+				out.flush();
+			}
+			for (int s = 0; s < ins.length; s++) {
+				ShardProtocol.readWords(ins[s], state.getWords(), starts[s] * wordsPerRow, (starts[s + 1] - starts[s]) * wordsPerRow);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return state;
+	}
+
+	/**
+	 * Replaces the status of all cells with the status of a BitGrid of the same size.
+	 * The generation is not changed.
+	 * @param  state the status to copy into the engine
+	 * @exception IllegalArgumentException is thrown if the sizes differ.
+	 */
+	@Override
+	public void restore(BitGrid state) {
+		if (state.getRows() != rows || state.getColumns() != columns) throw new IllegalArgumentException();
+		long[] words = state.getWords();
+		try {
+			for (int s = 0; s < outs.length; s++) {
+				outs[s].writeByte(ShardProtocol.RESTORE);
+				ShardProtocol.writeWords(outs[s], words, starts[s] * wordsPerRow, (starts[s + 1] - starts[s]) * wordsPerRow);
+				outs[s].flush();
+				System.arraycopy(words, starts[s] * wordsPerRow, firstRows[s], 0, wordsPerRow);
+				System.arraycopy(words, (starts[s + 1] - 1) * wordsPerRow, lastRows[s], 0, wordsPerRow);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		population = state.population();
+		births = 0;
+		deaths = 0;
+	}
+
+	/**
+	 * Tells all workers to exit and waits for the processes started by the engine.
+	 */
+	@Override
+	public void close() {
+		for (int s = 0; s < sockets.length; s++) {
+			if (sockets[s] == null) continue;
+			try {
+				outs[s].writeByte(ShardProtocol.CLOSE);
+				outs[s].flush();
+			}
+			catch (IOException e) {
+				// the worker is gone already
+			}
+			try {
+				sockets[s].close();
+			}
+			catch (IOException e) {
+				// nothing left to release
+			}
+		}
+		for (Process process : processes) {
+			try {
+				if (!process.waitFor(5, TimeUnit.SECONDS)) process.destroyForcibly();
+			}
+			catch (InterruptedException e) {
+				process.destroyForcibly();
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static void writeRules(DataOutputStream out, Rules rules) throws IOException {
+		out.writeShort(StateFile.toMask(rules.getSurvivesAt()));
+		out.writeShort(StateFile.toMask(rules.getBornAt()));
+	}
+}
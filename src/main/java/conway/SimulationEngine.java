@@ -0,0 +1,172 @@
+package conway;
+
+/**
+ * <h1>Simulation Engine</h1>
+ * A SimulationEngine calculates the generations of a grid of cells of Conway's Game of Life.
+ * It is pure Java and does not need the JavaFX toolkit, so simulations can also run without a display.
+ * What the cells at the edges see beyond the edges is decided by a Boundary, by default they are dead.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitGridEngine
+ * @see     ReferenceEngine
+ * @see     GridOfCells
+ * @see     Boundary
+ */
+public interface SimulationEngine {
+
+	/**
+	 * Getter for rows.
+	 * @return the amount of rows of the grid
+	 */
+	int getRows();
+
+	/**
+	 * Getter for columns.
+	 * @return the amount of columns of the grid
+	 */
+	int getColumns();
+
+	/**
+	 * Getter for generation.
+	 * @return how many steps of time have passed
+	 */
+	long getGeneration();
+
+	/**
+	 * Setter for generation. Used when the status is replaced by one of another generation.
+	 * @param  generation how many steps of time have passed
+	 */
+	void setGeneration(long generation);
+
+	/**
+	 * Getter for rules.
+	 * @return the rules the next generation is calculated with
+	 */
+	Rules getRules();
+
+	/**
+	 * Setter for rules. The new rules are used from the next step on.
+	 * @param  rules the rules the next generation is calculated with
+	 */
+	void setRules(Rules rules);
+
+	/**
+	 * Getter for boundary.
+	 * @return what the cells at the edges see beyond the edges
+	 */
+	Boundary getBoundary();
+
+	/**
+	 * Setter for boundary. The new boundary is used from the next step on.
+	 * @param  boundary what the cells at the edges see beyond the edges
+	 */
+	void setBoundary(Boundary boundary);
+
+	/**
+	 * Checks if the cell at a given position is alive.
+	 * A cell outside of the grid is considered dead.
+	 * @param  i the row of the cell
+	 * @param  j the column of the cell
+	 * @return true if the cell is alive
+	 */
+	boolean isAlive(int i, int j);
+
+	/**
+	 * Sets the status of the cell at a given position.
+	 * @param  i the row of the cell
+	 * @param  j the column of the cell
+	 * @param  value the new status of the cell
+	 */
+	void setAlive(int i, int j, boolean value);
+
+	/**
+	 * Calculates the next generation.
+	 */
+	void step();
+
+	/**
+	 * Calculates the next n generations.
+	 * @param  n the amount of generations to calculate
+	 */
+	default void step(long n) {
+		for (long k = 0; k < n; k++) step();
+	}
+
+	/**
+	 * Counts all cells that are alive in this generation.
+	 * Engines that know how many cells were born and died keep the population up to date instead of counting it.
+	 * @return the total amount of cells alive
+	 */
+	long getPopulation();
+
+	/**
+	 * Getter for births.
+	 * @return the amount of cells born in the last step, 0 before the first step and after the status was replaced
+	 */
+	long getBirths();
+
+	/**
+	 * Getter for deaths.
+	 * @return the amount of cells died in the last step, 0 before the first step and after the status was replaced
+	 */
+	long getDeaths();
+
+	/**
+	 * Calculates the smallest Region holding all cells alive in this generation.
+	 * @return the bounding box of the cells alive or null if no cell is alive
+	 */
+	default Region getBoundingBox() {
+		return snapshot().boundingBox();
+	}
+
+	/**
+	 * Hashes the status of all cells of this generation, for example to detect cycles.
+	 * Engines that know which words changed keep the hash up to date instead of calculating it again.
+	 * @return the hash of this generation as defined by StateHash, 0 if no cell is alive
+	 */
+	default long getStateHash() {
+		return StateHash.of(snapshot());
+	}
+
+	/**
+	 * Estimates the memory held by the status of the cells, for monitoring.
+	 * @return the amount of bytes of one bit per cell, engines holding more override it
+	 */
+	default long getStateBytes() {
+		return 8L * getRows() * ((getColumns() + 63) >>> 6);
+	}
+
+	/**
+	 * Copies the status of all cells of this generation.
+	 * @return a BitGrid independent of the engine
+	 */
+	BitGrid snapshot();
+
+	/**
+	 * Gives the status of all cells of this generation without copying it if the engine can, for example
+	 * to write it on another thread. The engine never changes the returned BitGrid, if it would write into it
+	 * before it is released it takes another one instead. By default it is a copy.
+	 * @return a BitGrid that does not change and must not be changed, to be released once it is not used anymore
+	 */
+	default BitGrid shareSnapshot() {
+		return snapshot();
+	}
+
+	/**
+	 * Releases a BitGrid returned by shareSnapshot, so the engine may write into it again. May be called on any thread.
+	 * @param  state the BitGrid that is not used anymore
+	 */
+	default void release(BitGrid state) {
+	}
+
+	/**
+	 * Replaces the status of all cells with the status of a BitGrid of the same size.
+	 * The generation is not changed.
+	 * @param  state the status to copy into the engine
+	 */
+	void restore(BitGrid state);
+}
@@ -0,0 +1,76 @@
+package conway;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * <h1>Simulation Events</h1>
+ * The events the simulation sends to Java Flight Recorder, so a recording shows when the application
+ * was stepping, rendering, saving or loading next to the GC and thread events of the JVM.
+ * An event is created and begun before the work and committed after it. While no recording is running
+ * shouldCommit is false and the JIT removes the event object, so the events cost next to nothing.
+ * <p>
+ * Record them with {@code -XX:StartFlightRecording} or from JDK Mission Control, they are found
+ * in the category Game of Life.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     SimulationMetrics
+ */
+final class SimulationEvents {
+
+	private SimulationEvents() {
+	}
+
+	@Name("conway.Step")
+	@Label("Step")
+	@Category("Game of Life")
+	@Description("Calculation of one generation")
+	static class StepEvent extends Event {
+		@Label("Generation")
+		long generation;
+		@Label("Cells")
+		long cells;
+		@Label("Rules")
+		String rules;
+	}
+
+	@Name("conway.Render")
+	@Label("Render")
+	@Category("Game of Life")
+	@Description("Painting of one generation into the main window")
+	static class RenderEvent extends Event {
+		@Label("Generation")
+		long generation;
+		@Label("Cells")
+		long cells;
+	}
+
+	@Name("conway.File")
+	@Label("Save or Load")
+	@Category("Game of Life")
+	@Description("Saving or loading a state or pattern file")
+	static class FileEvent extends Event {
+		@Label("Operation")
+		String operation;
+		@Label("Path")
+		String path;
+	}
+
+	@Name("conway.RulesChange")
+	@Label("Rules Change")
+	@Category("Game of Life")
+	@Description("Change of the rules of a grid")
+	static class RulesChangeEvent extends Event {
+		@Label("Old Rules")
+		String oldRules;
+		@Label("New Rules")
+		String newRules;
+	}
+}
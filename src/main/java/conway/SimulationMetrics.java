@@ -0,0 +1,275 @@
+package conway;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * <h1>Simulation Metrics</h1>
+ * Collects how long steps, renders, saves and loads take and publishes them through JMX as OBJECT_NAME.
+ * Recording only adds a few counters, the step times are sorted into a histogram of BUCKETS buckets
+ * that are a quarter power of two wide, so percentiles are exact to about 20 percent.
+ * Everything else, like percentiles, rates and the population, is calculated when an attribute is read,
+ * so the simulation pays next to nothing while nobody is looking.
+ * <p>
+ * The counters are LongAdders and atomics, so steps, renders and rule changes may be recorded on any threads
+ * at the same time, attributes read while a step is recorded may be off by that step.
+ * The grid stepped last is only weakly referenced, so a grid that was replaced is not kept alive by the metrics.
+ * The same events are also sent to Java Flight Recorder, see SimulationEvents.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     SimulationMetricsMBean
+ * @see     SimulationEvents
+ * @param   OBJECT_NAME the name the metrics are registered with
+ * @param   grid the GridOfCells stepped last, weakly referenced
+ * @param   stepBuckets the amount of steps per range of step times
+ * @param   steps the amount of steps recorded
+ * @param   stepNanos the sum of all step times
+ * @param   stepMaxNanos the longest step time
+ * @param   stepCells the sum of the cells of all steps
+ * @param   renders the amount of renders recorded
+ * @param   renderNanos the sum of all render times
+ * @param   renderMaxNanos the longest render time
+ * @param   lastSaveNanos the time of the last save
+ * @param   lastLoadNanos the time of the last load
+ * @param   ruleChanges the amount of rule changes
+ */
+public class SimulationMetrics implements SimulationMetricsMBean {
+	public static final String OBJECT_NAME = "conway:type=SimulationMetrics";
+	private static final int BUCKETS = 256;
+	private static final SimulationMetrics INSTANCE = register(new SimulationMetrics());
+	private volatile WeakReference<GridOfCells> grid = new WeakReference<>(null);
+	private final AtomicLongArray stepBuckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder steps = new LongAdder();
+	private final LongAdder stepNanos = new LongAdder();
+	private final AtomicLong stepMaxNanos = new AtomicLong();
+	private final LongAdder stepCells = new LongAdder();
+	private final LongAdder renders = new LongAdder();
+	private final LongAdder renderNanos = new LongAdder();
+	private final AtomicLong renderMaxNanos = new AtomicLong();
+	private volatile long lastSaveNanos;
+	private volatile long lastLoadNanos;
+	private final LongAdder ruleChanges = new LongAdder();
+
+	private SimulationMetrics() {
+	}
+
+	private static SimulationMetrics register(SimulationMetrics metrics) {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+		}
+		catch (JMException e) {
+			// the metrics are still collected, they are just not visible through JMX
+			e.printStackTrace();
+		}
+		return metrics;
+	}
+
+	/**
+	 * Getter for the metrics of the application, registered with JMX when first used.
+	 * @return the only instance of SimulationMetrics
+	 */
+	public static SimulationMetrics get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Records a step of a GridOfCells.
+	 * @param  gridOfCells the grid stepped
+	 * @param  nanos how long the step took in nanoseconds
+	 */
+	void stepped(GridOfCells gridOfCells, long nanos) {
+		if (grid.get() != gridOfCells) grid = new WeakReference<>(gridOfCells);
+		stepBuckets.incrementAndGet(bucket(nanos));
+		steps.increment();
+		stepNanos.add(nanos);
+		stepCells.add((long) gridOfCells.getRows() * gridOfCells.getColumns());
+		stepMaxNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	/**
+	 * Records painting a generation.
+	 * @param  nanos how long the render took in nanoseconds
+	 */
+	void rendered(long nanos) {
+		renders.increment();
+		renderNanos.add(nanos);
+		renderMaxNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	/**
+	 * Records a save.
+	 * @param  nanos how long the save took in nanoseconds
+	 */
+	void saved(long nanos) {
+		lastSaveNanos = nanos;
+	}
+
+	/**
+	 * Records a load.
+	 * @param  nanos how long the load took in nanoseconds
+	 */
+	void loaded(long nanos) {
+		lastLoadNanos = nanos;
+	}
+
+	/**
+	 * Records a change of the rules.
+	 */
+	void rulesChanged() {
+		ruleChanges.increment();
+	}
+
+	@Override
+	public long getGeneration() {
+		GridOfCells gridOfCells = grid.get();
+		return gridOfCells == null ? 0 : gridOfCells.getGeneration();
+	}
+
+	@Override
+	public long getSteps() {
+		return steps.sum();
+	}
+
+	@Override
+	public double getGenerationsPerSecond() {
+		long nanos = stepNanos.sum();
+		return nanos == 0 ? 0 : steps.sum() * 1e9 / nanos;
+	}
+
+	@Override
+	public double getCellsPerSecond() {
+		long nanos = stepNanos.sum();
+		return nanos == 0 ? 0 : stepCells.sum() * 1e9 / nanos;
+	}
+
+	@Override
+	public double getStepMillisP50() {
+		return percentile(0.5);
+	}
+
+	@Override
+	public double getStepMillisP90() {
+		return percentile(0.9);
+	}
+
+	@Override
+	public double getStepMillisP99() {
+		return percentile(0.99);
+	}
+
+	@Override
+	public double getStepMillisMax() {
+		return stepMaxNanos.get() / 1e6;
+	}
+
+	@Override
+	public long getRenders() {
+		return renders.sum();
+	}
+
+	@Override
+	public double getRenderMillisMean() {
+		long count = renders.sum();
+		return count == 0 ? 0 : renderNanos.sum() / 1e6 / count;
+	}
+
+	@Override
+	public double getRenderMillisMax() {
+		return renderMaxNanos.get() / 1e6;
+	}
+
+	@Override
+	public double getLastSaveMillis() {
+		return lastSaveNanos / 1e6;
+	}
+
+	@Override
+	public double getLastLoadMillis() {
+		return lastLoadNanos / 1e6;
+	}
+
+	@Override
+	public long getRuleChanges() {
+		return ruleChanges.sum();
+	}
+
+	@Override
+	public long getPopulation() {
+		GridOfCells gridOfCells = grid.get();
+		return gridOfCells == null ? 0 : gridOfCells.getEngine().getPopulation();
+	}
+
+	@Override
+	public int getActiveTiles() {
+		GridOfCells gridOfCells = grid.get();
+		return gridOfCells == null ? 0 : gridOfCells.getActiveTileCount();
+	}
+
+	@Override
+	public long getStateBytes() {
+		GridOfCells gridOfCells = grid.get();
+		if (gridOfCells == null) return 0;
+		HistoryJournal history = gridOfCells.getHistory();
+		return gridOfCells.getEngine().getStateBytes() + (history == null ? 0 : history.getMemoryUsed());
+	}
+
+	@Override
+	public void resetStatistics() {
+		for (int index = 0; index < BUCKETS; index++) stepBuckets.set(index, 0);
+		steps.reset();
+		stepNanos.reset();
+		stepMaxNanos.set(0);
+		stepCells.reset();
+		renders.reset();
+		renderNanos.reset();
+		renderMaxNanos.set(0);
+		lastSaveNanos = 0;
+		lastLoadNanos = 0;
+		ruleChanges.reset();
+	}
+
+	/**
+	 * The step time below which a share p of the steps took, as the upper end of its bucket.
+	 */
+	private double percentile(double p) {
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int index = 0; index < BUCKETS; index++) {
+			counts[index] = stepBuckets.get(index);
+			total += counts[index];
+		}
+		if (total == 0) return 0;
+		long max = stepMaxNanos.get();
+		long rank = (long) Math.ceil(p * total);
+		long seen = 0;
+		for (int index = 0; index < BUCKETS - 1; index++) {
+			seen += counts[index];
+			if (seen >= rank) return Math.min(lowerBound(index + 1) - 1, max) / 1e6;
+		}
+		return max / 1e6;
+	}
+
+	/**
+	 * Values below 4 have their own bucket, above that each power of two is split into 4 buckets.
+	 */
+	static int bucket(long nanos) {
+		if (nanos < 4) return (int) Math.max(0, nanos);
+		int log = 63 - Long.numberOfLeadingZeros(nanos);
+		return 4 * (log - 1) + (int) ((nanos >>> (log - 2)) & 3);
+	}
+
+	static long lowerBound(int bucket) {
+		if (bucket < 4) return bucket;
+		int log = bucket / 4 + 1;
+		return (4L + (bucket & 3)) << (log - 2);
+	}
+}
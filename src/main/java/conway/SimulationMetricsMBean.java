@@ -0,0 +1,123 @@
+package conway;
+
+/**
+ * <h1>Simulation Metrics MBean</h1>
+ * The attributes and operations of SimulationMetrics seen through JMX, for example in JConsole or VisualVM
+ * under conway:type=SimulationMetrics. All times are in milliseconds.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     SimulationMetrics
+ */
+public interface SimulationMetricsMBean {
+
+	/**
+	 * Getter for the generation of the grid stepped last.
+	 * @return the generation, 0 if no grid was stepped
+	 */
+	long getGeneration();
+
+	/**
+	 * Getter for the amount of generations calculated since the statistics were reset.
+	 * @return the amount of steps
+	 */
+	long getSteps();
+
+	/**
+	 * Getter for the generations calculated per second of stepping, pauses between steps are not counted.
+	 * @return the generations per second
+	 */
+	double getGenerationsPerSecond();
+
+	/**
+	 * Getter for the cells calculated per second of stepping.
+	 * @return the cells per second
+	 */
+	double getCellsPerSecond();
+
+	/**
+	 * Getter for the median time of a step.
+	 * @return the 50th percentile of the step times in milliseconds
+	 */
+	double getStepMillisP50();
+
+	/**
+	 * Getter for the 90th percentile of the step times.
+	 * @return the 90th percentile of the step times in milliseconds
+	 */
+	double getStepMillisP90();
+
+	/**
+	 * Getter for the 99th percentile of the step times.
+	 * @return the 99th percentile of the step times in milliseconds
+	 */
+	double getStepMillisP99();
+
+	/**
+	 * Getter for the longest step.
+	 * @return the longest step time in milliseconds
+	 */
+	double getStepMillisMax();
+
+	/**
+	 * Getter for the amount of generations painted since the statistics were reset.
+	 * @return the amount of renders
+	 */
+	long getRenders();
+
+	/**
+	 * Getter for the mean time of painting a generation.
+	 * @return the mean render time in milliseconds
+	 */
+	double getRenderMillisMean();
+
+	/**
+	 * Getter for the longest time of painting a generation.
+	 * @return the longest render time in milliseconds
+	 */
+	double getRenderMillisMax();
+
+	/**
+	 * Getter for the time the last save took.
+	 * @return the time of the last save in milliseconds, 0 if nothing was saved
+	 */
+	double getLastSaveMillis();
+
+	/**
+	 * Getter for the time the last load took.
+	 * @return the time of the last load in milliseconds, 0 if nothing was loaded
+	 */
+	double getLastLoadMillis();
+
+	/**
+	 * Getter for the amount of rule changes since the statistics were reset.
+	 * @return the amount of rule changes
+	 */
+	long getRuleChanges();
+
+	/**
+	 * Getter for the amount of cells alive in the grid stepped last. Counted when read.
+	 * @return the population, 0 if no grid was stepped
+	 */
+	long getPopulation();
+
+	/**
+	 * Getter for the amount of tiles calculated in the last step of the grid stepped last.
+	 * @return the amount of active tiles, 0 if no grid was stepped
+	 */
+	int getActiveTiles();
+
+	/**
+	 * Getter for the memory held by the cells and the history of the grid stepped last.
+	 * @return the amount of bytes
+	 */
+	long getStateBytes();
+
+	/**
+	 * Sets all counters and times back to 0.
+	 */
+	void resetStatistics();
+}
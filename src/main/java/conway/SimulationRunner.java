@@ -0,0 +1,461 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * <h1>Simulation Runner</h1>
+ * Calculates the generations of a GridOfCells on its own worker thread, so a slow step never blocks the thread
+ * of the window. The worker steps once every periodNanos nanoseconds while it is running, or as fast as the engine
+ * allows with a period of TURBO.
+ * <p>
+ * The worker hands the generations to the window as Frames. A Frame is an immutable snapshot taken after a step
+ * when the window took the Frame before, so in turbo mode the worker copies the cells once per shown Frame
+ * and not once per step. The window polls the newest Frame at display rate, older Frames it did not see are dropped.
+ * <p>
+ * All access to the GridOfCells by other threads goes through execute or call, which hold a fair lock
+ * the worker holds while it steps. So the window waits at most one step, and a new Frame is published afterwards.
+ * Seeking to a generation that has to be calculated is left to the worker as well, which steps to it as fast as it can
+ * and publishes Frames on the way, so the window never waits for a long seek.
+ * A seek more than JUMP_DISTANCE generations ahead is made with GridOfCells.jumpToGeneration as soon as it
+ * gets there without calculating the generations one by one, so far generations of unbounded grids,
+ * of patterns far from the edges and of grids repeating themselves are reached at once.
+ * If a step fails, the runner stops and the error is handed to the window with the next Frame.
+ * No JavaFX class is used, the runner works without a window as well.
+ * <p>
+ * With a CheckpointWriter the worker takes a Checkpoint after a step once every checkpointNanos nanoseconds.
+ * Taking it shares the cells with the engine instead of copying them, the writer writes it on its own thread.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     GridOfCells
+ * @see     MainWindowController
+ * @see     CheckpointWriter
+ * @exception IllegalArgumentException
+ * @param   TURBO the period of stepping as fast as possible
+ * @param   NEVER the period of not stepping at all while running
+ * @param   NO_SEEK the seekTarget while the worker does not seek
+ * @param   JUMP_DISTANCE the amount of generations from which on a seek jumps
+ * @param   gridOfCells the grid calculated, only accessed while holding lock
+ * @param   lock guards gridOfCells
+ * @param   frame the newest Frame not yet taken by poll
+ * @param   published the Frame published last
+ * @param   failure the error that stopped the worker, until a Frame carrying it is taken by poll
+ * @param   wanted indicates if the Frame published last was taken
+ * @param   running indicates if the worker steps
+ * @param   seekTarget the generation the worker steps to, NO_SEEK if none
+ * @param   closed indicates if the worker ends
+ * @param   periodNanos the time between two steps in nanoseconds
+ * @param   stopOnCycle indicates if the worker stops once when the grid died out or repeats itself
+ * @param   checkpoints the writer periodic checkpoints are handed to, null for none
+ * @param   checkpointNanos the time between two periodic checkpoints in nanoseconds
+ * @param   worker the thread stepping gridOfCells
+ */
+public class SimulationRunner implements AutoCloseable {
+	public static final long TURBO = 0;
+	public static final long NEVER = Long.MAX_VALUE;
+	private static final long NO_SEEK = Long.MIN_VALUE;
+	private static final long JUMP_DISTANCE = 256;
+	private final GridOfCells gridOfCells;
+	private final ReentrantLock lock = new ReentrantLock(true);
+	private final AtomicReference<Frame> frame = new AtomicReference<>();
+	private volatile Frame published;
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+	private volatile boolean wanted;
+	private volatile boolean running;
+	private final AtomicLong seekTarget = new AtomicLong(NO_SEEK);
+	private volatile boolean closed;
+	private volatile long periodNanos = 1_000_000_000L;
+	private volatile boolean stopOnCycle = true;
+	private volatile CheckpointWriter checkpoints;
+	private volatile long checkpointNanos;
+	private final Thread worker;
+
+	/**
+	 * Creates a runner for a GridOfCells and starts its worker thread. The runner is paused.
+	 * The GridOfCells must not be used other than through execute or call afterwards.
+	 * @param  gridOfCells the grid to calculate
+	 */
+	public SimulationRunner(GridOfCells gridOfCells) {
+		this.gridOfCells = gridOfCells;
+		publish();
+		worker = new Thread(this::work, "simulation");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * Starts stepping. The first step is made one period after starting.
+	 */
+	public void start() {
+		running = true;
+		LockSupport.unpark(worker);
+		publishState();
+	}
+
+	/**
+	 * Stops stepping and seeking. A step being calculated is finished.
+	 */
+	public void pause() {
+		running = false;
+		seekTarget.set(NO_SEEK);
+		LockSupport.unpark(worker);
+		publishState();
+	}
+
+	/**
+	 * Checks if the runner is stepping.
+	 * @return true if the runner is running
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Checks if the worker steps to a generation given to seek.
+	 * @return true if the runner is seeking
+	 */
+	public boolean isSeeking() {
+		return seekTarget.get() != NO_SEEK;
+	}
+
+	/**
+	 * Goes to a given generation. Generations in the history of the GridOfCells are restored on the calling thread,
+	 * later ones are calculated by the worker one by one, whether the runner is running or not,
+	 * as fast as it can and without waiting for the period, or jumped to if they are far enough ahead.
+	 * A later call or pause ends the seek.
+	 * @param  target the generation to go to
+	 * @exception IllegalArgumentException is thrown if target is before the current generation and not in the history.
+	 */
+	public void seek(long target) {
+		lock.lock();
+		try {
+			HistoryJournal history = gridOfCells.getHistory();
+			if (target > gridOfCells.getGeneration() && (history == null || !history.contains(target))) {
+				seekTarget.set(target);
+				LockSupport.unpark(worker);
+				return;
+			}
+			seekTarget.set(NO_SEEK);
+			gridOfCells.seekGeneration(target);
+		}
+		finally {
+			lock.unlock();
+		}
+		publish();
+	}
+
+	/**
+	 * Getter for periodNanos.
+	 * @return the time between two steps in nanoseconds, TURBO or NEVER
+	 */
+	public long getPeriodNanos() {
+		return periodNanos;
+	}
+
+	/**
+	 * Setter for periodNanos. Takes effect immediately, also while waiting for the next step.
+	 * @param  periodNanos the time between two steps in nanoseconds, TURBO to step as fast as possible
+	 *         or NEVER to not step
+	 * @exception IllegalArgumentException is thrown if periodNanos is negative.
+	 */
+	public void setPeriodNanos(long periodNanos) {
+		if (periodNanos < 0) throw new IllegalArgumentException();
+		this.periodNanos = periodNanos;
+		LockSupport.unpark(worker);
+	}
+
+	/**
+	 * Setter for stopOnCycle.
+	 * @param  stopOnCycle true if the runner pauses once when the grid died out or repeats itself
+	 */
+	public void setStopOnCycle(boolean stopOnCycle) {
+		this.stopOnCycle = stopOnCycle;
+	}
+
+	/**
+	 * Sets the writer periodic checkpoints are handed to while the runner is running.
+	 * @param  checkpoints the writer, null for no periodic checkpoints
+	 * @param  checkpointNanos the time between two checkpoints in nanoseconds
+	 * @exception IllegalArgumentException is thrown if checkpointNanos is not positive.
+	 */
+	public void setCheckpoints(CheckpointWriter checkpoints, long checkpointNanos) {
+		if (checkpointNanos <= 0) throw new IllegalArgumentException();
+		this.checkpointNanos = checkpointNanos;
+		this.checkpoints = checkpoints;
+	}
+
+	/**
+	 * Takes a Checkpoint of the current generation, waiting at most for one step. The cells are not copied.
+	 * @return the Checkpoint, to be written by a CheckpointWriter, which releases it
+	 */
+	public CheckpointWriter.Checkpoint takeCheckpoint() {
+		lock.lock();
+		try {
+			return CheckpointWriter.Checkpoint.of(gridOfCells);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Runs an action on the GridOfCells on the calling thread while the worker does not step,
+	 * then publishes a new Frame.
+	 * @param  action the action, may throw unchecked exceptions that are passed on
+	 */
+	public void execute(Runnable action) {
+		call(() -> {
+			action.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Runs an action on the GridOfCells on the calling thread while the worker does not step,
+	 * then publishes a new Frame.
+	 * @param  action the action, may throw unchecked exceptions that are passed on
+	 * @return the result of the action
+	 */
+	public <T> T call(Supplier<T> action) {
+		lock.lock();
+		try {
+			return action.get();
+		}
+		finally {
+			lock.unlock();
+			publish();
+		}
+	}
+
+	/**
+	 * Takes the newest Frame if there is one that was not taken yet.
+	 * @return the newest Frame or null if nothing changed since the last call
+	 */
+	public Frame poll() {
+		wanted = true;
+		Frame taken = frame.getAndSet(null);
+		if (taken != null && taken.error != null) failure.compareAndSet(taken.error, null);
+		return taken;
+	}
+
+	/**
+	 * Ends the worker thread. The GridOfCells can be used directly afterwards.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		running = false;
+		LockSupport.unpark(worker);
+		boolean interrupted = false;
+		while (worker.isAlive()) {
+			try {
+				worker.join();
+			}
+			catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) Thread.currentThread().interrupt();
+	}
+
+	private void work() {
+		long lastStep = System.nanoTime();
+		long lastCheckpoint = lastStep;
+		boolean wasRunning = false;
+		while (!closed) {
+			long seek = seekTarget.get();
+			boolean seeking = seek != NO_SEEK;
+			long period = periodNanos;
+			if (!seeking && (!running || period == NEVER)) {
+				wasRunning = false;
+				LockSupport.park(this);
+				continue;
+			}
+			if (!wasRunning) {
+				wasRunning = true;
+				lastStep = System.nanoTime();
+			}
+			long wait = period - (System.nanoTime() - lastStep);
+			if (!seeking && wait > 0) {
+				LockSupport.parkNanos(this, wait);
+				continue;
+			}
+			lastStep = System.nanoTime();
+			boolean stop = false;
+			boolean reached = false;
+			Throwable error = null;
+			CheckpointWriter writer = checkpoints;
+			CheckpointWriter.Checkpoint checkpoint = null;
+			lock.lock();
+			try {
+				// the grid may have been changed since the seek began, so the target is checked before each step
+				if (seeking && seek - gridOfCells.getGeneration() > JUMP_DISTANCE && gridOfCells.canJumpTo(seek)) {
+					gridOfCells.jumpToGeneration(seek);
+				}
+				else if (!seeking || gridOfCells.getGeneration() < seek) {
+					gridOfCells.nextGeneration();
+					Cycle cycle = gridOfCells.getCycle();
+					// stops once when the cycle is detected, started again the simulation goes on
+					stop = stopOnCycle && cycle != null && cycle.getGeneration() == gridOfCells.getGeneration();
+					if (writer != null && (stop || System.nanoTime() - lastCheckpoint >= checkpointNanos)) {
+						lastCheckpoint = System.nanoTime();
+						checkpoint = CheckpointWriter.Checkpoint.of(gridOfCells);
+					}
+				}
+				reached = seeking && gridOfCells.getGeneration() >= seek;
+			}
+			catch (RuntimeException | Error e) {
+				error = e;
+			}
+			finally {
+				lock.unlock();
+			}
+			if (error != null) {
+				fail(error);
+				continue;
+			}
+			if (checkpoint != null) writer.checkpoint(checkpoint);
+			if (stop) running = false;
+			if (reached) seekTarget.compareAndSet(seek, NO_SEEK);
+			if (stop || reached || wanted) publish();
+		}
+	}
+
+	/**
+	 * Publishes a Frame of the current generation, replacing one that was not taken.
+	 */
+	private void publish() {
+		lock.lock();
+		try {
+			wanted = false;
+			Frame next = new Frame(gridOfCells.getEngine().snapshot(), gridOfCells.getWindow(), gridOfCells.getGeneration(),
+					gridOfCells.getCycle(), gridOfCells.getStatistics().getLatest(), running || isSeeking(), failure.get());
+			published = next;
+			frame.set(next);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stops the worker after a failed step and publishes the error with the cells of the Frame published last,
+	 * as the cells may not be copied after an OutOfMemoryError.
+	 */
+	private void fail(Throwable error) {
+		running = false;
+		seekTarget.set(NO_SEEK);
+		failure.set(error);
+		Frame last = published;
+		frame.set(new Frame(last.state, last.window, last.generation, last.cycle, last.statistics, false, error));
+	}
+
+	/**
+	 * Publishes the current Frame again with the new running state, if the window did not take it yet
+	 * the cells are not copied again.
+	 */
+	private void publishState() {
+		Frame last = frame.get();
+		if (last == null || !frame.compareAndSet(last, new Frame(last.state, last.window, last.generation, last.cycle, last.statistics, running || isSeeking(), last.error))) {
+			publish();
+		}
+	}
+
+	/**
+	 * <h1>Frame</h1>
+	 * A generation published by a SimulationRunner. The BitGrid belongs to the Frame and is never changed.
+	 *
+	 * @param   state the status of the cells
+	 * @param   window the rows and columns of the universe state shows, see GridOfCells.getWindow
+	 * @param   generation the generation of state
+	 * @param   cycle the Cycle detected up to generation, null if none
+	 * @param   statistics the GenerationStatistics of generation
+	 * @param   running indicates if the runner was running or seeking when the Frame was published
+	 * @param   error the error that stopped the runner, null if none
+	 */
+	public static class Frame {
+		private final BitGrid state;
+		private final Region window;
+		private final long generation;
+		private final Cycle cycle;
+		private final GenerationStatistics statistics;
+		private final boolean running;
+		private final Throwable error;
+
+		Frame(BitGrid state, Region window, long generation, Cycle cycle, GenerationStatistics statistics, boolean running,
+				Throwable error) {
+			this.state = state;
+			this.window = window;
+			this.generation = generation;
+			this.cycle = cycle;
+			this.statistics = statistics;
+			this.running = running;
+			this.error = error;
+		}
+
+		/**
+		 * Getter for state.
+		 * @return the status of the cells, must not be changed
+		 */
+		public BitGrid getState() {
+			return state;
+		}
+
+		/**
+		 * Getter for window.
+		 * @return the rows and columns of the universe the status shows, for a grid that is not unbounded
+		 *         rows 0 to rows and columns 0 to columns
+		 */
+		public Region getWindow() {
+			return window;
+		}
+
+		/**
+		 * Getter for generation.
+		 * @return the generation of the Frame
+		 */
+		public long getGeneration() {
+			return generation;
+		}
+
+		/**
+		 * Getter for cycle.
+		 * @return the Cycle detected up to the generation, null if none was detected
+		 */
+		public Cycle getCycle() {
+			return cycle;
+		}
+
+		/**
+		 * Getter for statistics.
+		 * @return the population, births, deaths and box around the cells alive of the generation
+		 */
+		public GenerationStatistics getStatistics() {
+			return statistics;
+		}
+
+		/**
+		 * Getter for running.
+		 * @return true if the runner was running or seeking when the Frame was published
+		 */
+		public boolean isRunning() {
+			return running;
+		}
+
+		/**
+		 * Getter for error.
+		 * @return the error of a step that stopped the runner, null if no step failed
+		 */
+		public Throwable getError() {
+			return error;
+		}
+	}
+}
@@ -0,0 +1,259 @@
+package conway;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import com.google.gson.Gson;
+
+/**
+ * <h1>State File</h1>
+ * Reads and writes the status of a GridOfCells in a compact, versioned binary format.
+ * All numbers are little endian. A file consists of
+ * <ul>
+ * <li>a header of 32 bytes: the magic number "CGOL", the version (short), a reserved short,
+ *     rows (int), columns (int), generation (long), the survive and birth rules as bit masks
+ *     of 9 bits (short each), the ordinal of the Boundary (byte) and 3 bytes of padding,</li>
+ * <li>one entry per row: a tag byte followed by the cells of the row. EMPTY rows have no cells,
+ *     RAW rows hold all words of the row and SPARSE rows hold the amount of words that are not zero (int)
+ *     followed by the position (int) and value (long) of each of them. Each row uses the smaller encoding,</li>
+ * <li>the CRC32 checksum of everything before it (int).</li>
+ * </ul>
+ * One bit per cell is about 45 times smaller than the JSON of a boolean[][] even for random grids,
+ * and sparse grids shrink to a few bytes per living word.
+ * <p>
+ * Files are written through a FileChannel in blocks. Files of at least MAP_THRESHOLD bytes are read
+ * by mapping them into memory, whole rows are then copied into the BitGrid with bulk transfers.
+ * Files starting with '{' are states saved as JSON by older versions and are read with Gson.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     GridOfCells
+ * @see     BitGrid
+ * @exception IOException
+ * @param   MAGIC the first four bytes of every file
+ * @param   VERSION the version of the format written
+ * @param   HEADER_SIZE the amount of bytes before the first row
+ * @param   MAP_THRESHOLD the size in bytes from which on files are mapped into memory
+ * @param   BLOCK_SIZE the size in bytes of the blocks written at once
+ * @param   FILE_EXTENSION the extension of files written by the application
+ */
+public final class StateFile {
+	public static final int MAGIC = 0x4C4F4743;
+	public static final short VERSION = 1;
+	public static final String FILE_EXTENSION = ".gol";
+	static final int HEADER_SIZE = 32;
+	static final int MAP_THRESHOLD = 1 << 20;
+	private static final int BLOCK_SIZE = 1 << 20;
+	private static final byte EMPTY = 0;
+	private static final byte RAW = 1;
+	private static final byte SPARSE = 2;
+
+	private StateFile() {
+	}
+
+	/**
+	 * Writes the current generation of a GridOfCells into a file, replacing its content.
+	 * @param  gridOfCells the grid to write
+	 * @param  path the file to write
+	 * @exception IOException is thrown if the file can not be written.
+	 */
+	public static void write(GridOfCells gridOfCells, Path path) throws IOException {
+		write(gridOfCells.getEngine().snapshot(), gridOfCells.getRules(), gridOfCells.getBoundary(),
+				gridOfCells.getGeneration(), path);
+	}
+
+	/**
+	 * Writes a status together with its rules, boundary and generation into a file, replacing its content.
+	 * @param  state the status of the cells
+	 * @param  rules the rules of the grid
+	 * @param  boundary the boundary of the grid
+	 * @param  generation the generation of the status
+	 * @param  path the file to write
+	 * @exception IOException is thrown if the file can not be written.
+	 */
+	public static void write(BitGrid state, Rules rules, Boundary boundary, long generation, Path path) throws IOException {
+		int wordsPerRow = state.getWordsPerRow();
+		long[] words = state.getWords();
+		ByteBuffer buffer = ByteBuffer.allocate(Math.max(BLOCK_SIZE, HEADER_SIZE + 5 + 8 * wordsPerRow))
+				.order(ByteOrder.LITTLE_ENDIAN);
+		CRC32 crc = new CRC32();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			buffer.putInt(MAGIC);
+			buffer.putShort(VERSION);
+			buffer.putShort((short) 0);
+			buffer.putInt(state.getRows());
+			buffer.putInt(state.getColumns());
+			buffer.putLong(generation);
+			buffer.putShort(toMask(rules.getSurvivesAt()));
+			buffer.putShort(toMask(rules.getBornAt()));
+			buffer.put((byte) boundary.ordinal());
+			buffer.put(new byte[3]);
+			for (int i = 0; i < state.getRows(); i++) {
+				int offset = i * wordsPerRow;
+				int used = 0;
+				for (int k = 0; k < wordsPerRow; k++) {
+					if (words[offset + k] != 0) used++;
+				}
+				if (buffer.remaining() < 1 + Math.min(8 * wordsPerRow, 4 + 12 * used)) flush(buffer, channel, crc);
+				if (used == 0) buffer.put(EMPTY);
+				else if (8 * wordsPerRow <= 4 + 12 * used) {
+					buffer.put(RAW);
+					buffer.asLongBuffer().put(words, offset, wordsPerRow);
+					buffer.position(buffer.position() + 8 * wordsPerRow);
+				}
+				else {
+					buffer.put(SPARSE);
+					buffer.putInt(used);
+					for (int k = 0; k < wordsPerRow; k++) {
+						if (words[offset + k] == 0) continue;
+						buffer.putInt(k);
+						buffer.putLong(words[offset + k]);
+					}
+				}
+			}
+			flush(buffer, channel, crc);
+			buffer.putInt((int) crc.getValue());
+			buffer.flip();
+			while (buffer.hasRemaining()) channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Writes the content of buffer into channel, adds it to the checksum and clears buffer.
+	 */
+	private static void flush(ByteBuffer buffer, FileChannel channel, CRC32 crc) throws IOException {
+		buffer.flip();
+		crc.update(buffer.duplicate());
+		while (buffer.hasRemaining()) channel.write(buffer);
+		buffer.clear();
+	}
+
+	/**
+	 * Reads a GridOfCells from a file written by write or saved as JSON by older versions.
+	 * @param  path the file to read
+	 * @return a new GridOfCells holding the status of the file
+	 * @exception IOException is thrown if the file can not be read, is damaged or of an unknown version.
+	 */
+	public static GridOfCells read(Path path) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) throw new IOException("state file too large: " + path);
+			if (size >= MAP_THRESHOLD) buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			else {
+				buffer = ByteBuffer.allocate((int) size);
+				while (buffer.hasRemaining()) {
+					if (channel.read(buffer) < 0) throw new IOException("unexpected end of state file: " + path);
+				}
+				buffer.flip();
+			}
+		}
+		if (isJson(buffer)) return readJson(path);
+		return read(buffer.order(ByteOrder.LITTLE_ENDIAN));
+	}
+
+	/**
+	 * Checks if the first character that is not white space is '{'.
+	 */
+	private static boolean isJson(ByteBuffer buffer) {
+		for (int p = 0; p < buffer.limit(); p++) {
+			byte b = buffer.get(p);
+			if (!Character.isWhitespace(b)) return b == '{';
+		}
+		return false;
+	}
+
+	/**
+	 * Reads a state saved as JSON by older versions.
+	 */
+	private static GridOfCells readJson(Path path) throws IOException {
+		try (Reader reader = Files.newBufferedReader(path)) {
+			GridOfCells gridOfCells = new Gson().fromJson(reader, GridOfCells.class);
+			if (gridOfCells == null) throw new IOException("empty state file: " + path);
+			gridOfCells.fillWithStatus();
+			return gridOfCells;
+		}
+		catch (RuntimeException e) {
+			throw new IOException("damaged state file: " + path, e);
+		}
+	}
+
+	/**
+	 * Reads a GridOfCells from the binary format held by buffer.
+	 */
+	private static GridOfCells read(ByteBuffer buffer) throws IOException {
+		int size = buffer.limit();
+		if (size < HEADER_SIZE + 4 || buffer.getInt(0) != MAGIC) throw new IOException("not a state file");
+		short version = buffer.getShort(4);
+		if (version < 1 || version > VERSION) throw new IOException("unsupported state file version " + version);
+		CRC32 crc = new CRC32();
+		crc.update(buffer.duplicate().position(0).limit(size - 4));
+		if ((int) crc.getValue() != buffer.getInt(size - 4)) throw new IOException("state file checksum mismatch");
+		int rows = buffer.getInt(8);
+		int columns = buffer.getInt(12);
+		long generation = buffer.getLong(16);
+		Rules rules = Rules.of(fromMask(buffer.getShort(24)), fromMask(buffer.getShort(26)));
+		int boundary = buffer.get(28);
+		if (rows < 1 || columns < 1 || boundary < 0 || boundary >= Boundary.values().length) {
+			throw new IOException("damaged state file");
+		}
+		BitGrid state = new BitGrid(rows, columns);
+		int wordsPerRow = state.getWordsPerRow();
+		long[] words = state.getWords();
+		buffer.position(HEADER_SIZE).limit(size - 4);
+		try {
+			for (int i = 0; i < rows; i++) {
+				int offset = i * wordsPerRow;
+				byte tag = buffer.get();
+				if (tag == RAW) {
+					buffer.asLongBuffer().get(words, offset, wordsPerRow);
+					buffer.position(buffer.position() + 8 * wordsPerRow);
+				}
+				else if (tag == SPARSE) {
+					int used = buffer.getInt();
+					for (int n = 0; n < used; n++) {
+						int k = buffer.getInt();
+						if (k < 0 || k >= wordsPerRow) throw new IOException("damaged state file");
+						words[offset + k] = buffer.getLong();
+					}
+				}
+				else if (tag != EMPTY) throw new IOException("damaged state file");
+				words[offset + wordsPerRow - 1] &= state.getLastWordMask();
+			}
+		}
+		catch (RuntimeException e) {
+			throw new IOException("damaged state file", e);
+		}
+		return new GridOfCells(state, rules, Boundary.values()[boundary], generation);
+	}
+
+	/**
+	 * Packs survive or birth rules into the lowest 9 bits of a short, bit k for k neighbours.
+	 */
+	static short toMask(boolean[] values) {
+		int mask = 0;
+		for (int k = 0; k < values.length; k++) {
+			if (values[k]) mask |= 1 << k;
+		}
+		return (short) mask;
+	}
+
+	/**
+	 * Unpacks survive or birth rules packed by toMask.
+	 */
+	static boolean[] fromMask(short mask) {
+		boolean[] values = new boolean[9];
+		for (int k = 0; k < 9; k++) values[k] = (mask & (1 << k)) != 0;
+		return values;
+	}
+}
@@ -0,0 +1,79 @@
+package conway;
+
+/**
+ * <h1>State Hash</h1>
+ * Hashes the status of a BitGrid so that equal generations can be recognised.
+ * Each word is mixed together with its position and the mixed words are combined by XOR,
+ * so a change of one word changes the hash by the mixed old word XOR the mixed new word.
+ * That lets engines keep the hash up to date from the changed words alone instead of rehashing the grid.
+ * A word of dead cells mixes to 0, so a grid without living cells has the hash 0.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     CycleDetector
+ * @see     BitKernel
+ */
+final class StateHash {
+	private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+	private StateHash() {
+	}
+
+	/**
+	 * Mixes a word with its position in the grid.
+	 * @param  index the position of the word in the words of the grid
+	 * @param  word the word
+	 * @return the share of the word in the hash, 0 if the word is 0
+	 */
+	static long mix(long index, long word) {
+		long h = word * 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 32;
+		return h * ((2L * index + 1) * GOLDEN);
+	}
+
+	/**
+	 * Hashes all words of a BitGrid.
+	 * @param  grid the BitGrid to hash
+	 * @return the hash of the status of the grid
+	 */
+	static long of(BitGrid grid) {
+		return of(grid.getWords(), 0, grid.getWords().length, 0);
+	}
+
+	/**
+	 * Hashes the words from (inclusive) to to (exclusive) of a part of a larger grid.
+	 * The hashes of all parts of a grid combined by XOR are the hash of the grid.
+	 * @param  words the words of the part
+	 * @param  from the first word to hash
+	 * @param  to the word after the last word to hash
+	 * @param  index the position of the word at from in the words of the grid
+	 * @return the share of the words in the hash of the grid
+	 */
+	static long of(long[] words, int from, int to, long index) {
+		long hash = 0;
+		for (int k = from; k < to; k++) {
+			if (words[k] != 0) hash ^= mix(index + k - from, words[k]);
+		}
+		return hash;
+	}
+
+	/**
+	 * Calculates how the hash changes when the words from (inclusive) to to (exclusive) change from before to after.
+	 * Only words that differ are mixed.
+	 * @param  before the words before the change
+	 * @param  after the words after the change
+	 * @param  from the first word to compare
+	 * @param  to the word after the last word to compare
+	 * @return the value to XOR into the hash
+	 */
+	static long delta(long[] before, long[] after, int from, int to) {
+		long delta = 0;
+		for (int k = from; k < to; k++) {
+			if (before[k] != after[k]) delta ^= mix(k, before[k]) ^ mix(k, after[k]);
+		}
+		return delta;
+	}
+}
@@ -0,0 +1,163 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * <h1>Statistics Ring</h1>
+ * Holds the GenerationStatistics of the last capacity generations of a GridOfCells in a ring buffer,
+ * so the memory used stays the same however long the simulation runs. Recording a generation overwrites
+ * the oldest one once the ring is full, recording a generation at or before the newest one forgets
+ * the generations from there on, as the simulation took another course.
+ * <p>
+ * The ring is written by the thread stepping the grid and may be read by any thread.
+ * Listeners are told about each recorded generation on the thread recording it, after the ring was updated,
+ * so they should hand the numbers on quickly, for example to the JavaFX thread.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     GenerationStatistics
+ * @see     GridOfCells
+ * @exception IllegalArgumentException
+ * @param   DEFAULT_CAPACITY the amount of generations held by default
+ * @param   ring the recorded generations, the oldest at index first
+ * @param   first the index of the oldest generation in ring
+ * @param   size the amount of generations held
+ * @param   listeners are told about each recorded generation
+ */
+public class StatisticsRing {
+	public static final int DEFAULT_CAPACITY = 4096;
+	private final GenerationStatistics[] ring;
+	private int first;
+	private int size;
+	private final List<Consumer<GenerationStatistics>> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Creates an empty ring holding DEFAULT_CAPACITY generations.
+	 */
+	public StatisticsRing() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty ring.
+	 * @param  capacity the amount of generations held
+	 * @exception IllegalArgumentException is thrown if capacity is smaller than 1.
+	 */
+	public StatisticsRing(int capacity) {
+		if (capacity < 1) throw new IllegalArgumentException();
+		ring = new GenerationStatistics[capacity];
+	}
+
+	/**
+	 * Getter for capacity.
+	 * @return the amount of generations held at most
+	 */
+	public int getCapacity() {
+		return ring.length;
+	}
+
+	/**
+	 * Getter for size.
+	 * @return the amount of generations held
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Records the statistics of a generation and tells the listeners about it.
+	 * @param  statistics the statistics of the generation, later than the newest one
+	 *         or replacing it and those after it
+	 */
+	public void record(GenerationStatistics statistics) {
+		synchronized (this) {
+			while (size > 0 && get(size - 1).getGeneration() >= statistics.getGeneration()) size--;
+			if (size == ring.length) {
+				first = (first + 1) % ring.length;
+				size--;
+			}
+			ring[(first + size) % ring.length] = statistics;
+			size++;
+		}
+		for (Consumer<GenerationStatistics> listener : listeners) listener.accept(statistics);
+	}
+
+	/**
+	 * Getter for the newest statistics.
+	 * @return the statistics of the generation recorded last, null if the ring is empty
+	 */
+	public synchronized GenerationStatistics getLatest() {
+		return size == 0 ? null : get(size - 1);
+	}
+
+	/**
+	 * Getter for the statistics of a generation. The generations are looked up by bisection,
+	 * as there may be gaps between them.
+	 * @param  generation the generation
+	 * @return the statistics of the generation, null if it is not held
+	 */
+	public synchronized GenerationStatistics find(long generation) {
+		int low = 0;
+		int high = size - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			GenerationStatistics statistics = get(middle);
+			if (statistics.getGeneration() < generation) low = middle + 1;
+			else if (statistics.getGeneration() > generation) high = middle - 1;
+			else return statistics;
+		}
+		return null;
+	}
+
+	/**
+	 * Streams the statistics of all generations held, from the oldest to the newest.
+	 * The stream works on a copy, generations recorded meanwhile are not part of it.
+	 * @return a Stream of the statistics
+	 */
+	public Stream<GenerationStatistics> stream() {
+		List<GenerationStatistics> copy = new ArrayList<>();
+		synchronized (this) {
+			for (int k = 0; k < size; k++) copy.add(get(k));
+		}
+		return copy.stream();
+	}
+
+	/**
+	 * Forgets all generations. The listeners are kept.
+	 */
+	public synchronized void clear() {
+		first = 0;
+		size = 0;
+	}
+
+	/**
+	 * Adds a listener that is told about each generation recorded from now on.
+	 * @param  listener the listener, called on the thread recording the generation
+	 */
+	public void addListener(Consumer<GenerationStatistics> listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener.
+	 * @param  listener the listener added before
+	 */
+	public void removeListener(Consumer<GenerationStatistics> listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Getter for the k-th oldest statistics held, only called while holding the lock.
+	 */
+	private GenerationStatistics get(int k) {
+		return ring[(first + k) % ring.length];
+	}
+}
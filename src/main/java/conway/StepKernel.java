@@ -0,0 +1,105 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+import java.util.Locale;
+
+/**
+ * <h1>Step Kernel</h1>
+ * The kinds of code a BitGridEngine calculates the words of a row with.
+ * SCALAR calculates one word of 64 cells at a time with the BitKernel.
+ * VECTOR calculates as many words at once as the CPU has lanes for, 4 with AVX2 and 8 with AVX-512,
+ * with the VectorKernel and the incubating Vector API. Both give the same generations.
+ * <p>
+ * The Vector API is only there if the JVM is started with {@code --add-modules jdk.incubator.vector},
+ * without it VECTOR is not available and the SCALAR kernel is used.
+ * The kernel of new engines is chosen with the system property conway.kernel, scalar by default.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitKernel
+ * @see     VectorKernel
+ * @see     BitGridEngine
+ * @exception IllegalArgumentException
+ * @param   PROPERTY the system property choosing the kernel of new engines
+ */
+public enum StepKernel {
+	SCALAR, VECTOR;
+
+	public static final String PROPERTY = "conway.kernel";
+	private static final boolean VECTOR_AVAILABLE = vectorAvailable();
+
+	/**
+	 * Checks if this kernel can be used in this JVM.
+	 * @return true for SCALAR, for VECTOR only if the Vector API is there
+	 */
+	public boolean isAvailable() {
+		return this == SCALAR || VECTOR_AVAILABLE;
+	}
+
+	/**
+	 * Checks if this kernel can be used in this JVM and throws an exception telling how to make it available if not.
+	 * @exception IllegalArgumentException is thrown if the kernel is not available.
+	 */
+	public void checkAvailable() {
+		if (!isAvailable()) throw new IllegalArgumentException("kernel " + this + " is not available, "
+				+ "start the JVM with --add-modules jdk.incubator.vector");
+	}
+
+	/**
+	 * Getter for the amount of words calculated at once.
+	 * @return 1 for SCALAR, the amount of lanes of the CPU for VECTOR, 0 if the kernel is not available
+	 */
+	public int getLanes() {
+		if (this == SCALAR) return 1;
+		return VECTOR_AVAILABLE ? VectorKernel.lanes() : 0;
+	}
+
+	/**
+	 * Finds the kernel with the given name.
+	 * @param  name the name of the kernel, scalar or vector in any case
+	 * @return the kernel
+	 * @exception IllegalArgumentException is thrown if there is no such kernel or it is not available.
+	 */
+	public static StepKernel of(String name) {
+		StepKernel kernel;
+		try {
+			kernel = valueOf(name.trim().toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("unknown kernel " + name);
+		}
+		kernel.checkAvailable();
+		return kernel;
+	}
+
+	/**
+	 * Getter for the kernel of new engines, given by the system property conway.kernel.
+	 * @return the kernel named by the property if it is available, otherwise SCALAR
+	 */
+	public static StepKernel getDefault() {
+		String name = System.getProperty(PROPERTY);
+		if (name == null) return SCALAR;
+		try {
+			return of(name);
+		}
+		catch (IllegalArgumentException e) {
+			return SCALAR;
+		}
+	}
+
+	/**
+	 * Checks if the Vector API can be loaded. The VectorKernel is only touched if the module is there.
+	 */
+	private static boolean vectorAvailable() {
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return false;
+		try {
+			return VectorKernel.lanes() > 0;
+		}
+		catch (LinkageError e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,365 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <h1>Tiled Universe</h1>
+ * An unbounded universe of cells made of tiles of 64 x 64 cells.
+ * The tiles are held in a hash map keyed by their tile coordinates.
+ * A tile is only allocated when a cell in it is alive and is freed as soon as all its cells are dead,
+ * so the memory used follows the living population and not the area the pattern ever covered.
+ * Patterns are never clipped, rows and columns may be negative.
+ * <p>
+ * Each tile is one word per row, so a generation of a tile is calculated by the BitKernel
+ * from the tile and the borders of its eight neighbours.
+ * Rules that let a cell be born with 0 neighbours are not supported.
+ * <p>
+ * A GridOfCells shows an unbounded universe through an UnboundedEngine, which keeps a window around its cells.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitKernel
+ * @see     Region
+ * @see     UnboundedEngine
+ * @exception IllegalArgumentException
+ * @param   generation indicates how many steps of time have passed
+ * @param   rules the rules the next generation is calculated with, read once at the start of each step
+ * @param   tiles the tiles holding living cells, keyed by their tile coordinates
+ * @param   population the amount of living cells
+ * @param   births the amount of cells born in the last step
+ * @param   deaths the amount of cells died in the last step
+ */
+public class TiledUniverse {
+	private static final int TILE_SIZE = 64;
+	private long generation;
+	private volatile Rules rules;
+	private Map<Long, long[]> tiles = new HashMap<>();
+	private long population;
+	private long births;
+	private long deaths;
+
+	/**
+	 * Creates an empty universe at generation 0 with the given rules.
+	 * @param  rules the rules the generations are calculated with
+	 * @exception IllegalArgumentException is thrown if a cell is born with 0 neighbours.
+	 */
+	public TiledUniverse(Rules rules) {
+		setRules(rules);
+	}
+
+	/**
+	 * Getter for generation.
+	 * @return how many steps of time have passed
+	 */
+	public long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Getter for rules.
+	 * @return the rules the next generation is calculated with
+	 */
+	public Rules getRules() {
+		return rules;
+	}
+
+	/**
+	 * Setter for rules. The new rules are used from the next step on.
+	 * @param  rules the rules the next generation is calculated with
+	 * @exception IllegalArgumentException is thrown if a cell is born with 0 neighbours.
+	 */
+	public void setRules(Rules rules) {
+		if (rules.isBorn(0)) throw new IllegalArgumentException("B0 rules are not supported");
+		this.rules = rules;
+	}
+
+	/**
+	 * Counts all cells that are alive in this generation.
+	 * @return the total amount of cells alive
+	 */
+	public long getPopulation() {
+		return population;
+	}
+
+	/**
+	 * Getter for births.
+	 * @return the amount of cells born in the last step, 0 before the first step and after the cells were cleared
+	 */
+	public long getBirths() {
+		return births;
+	}
+
+	/**
+	 * Getter for deaths.
+	 * @return the amount of cells died in the last step, 0 before the first step and after the cells were cleared
+	 */
+	public long getDeaths() {
+		return deaths;
+	}
+
+	/**
+	 * Setter for generation. Used when the cells are replaced by those of another generation.
+	 * @param  generation how many steps of time have passed
+	 */
+	public void setGeneration(long generation) {
+		this.generation = generation;
+	}
+
+	/**
+	 * Getter for the amount of tiles.
+	 * @return the amount of allocated tiles
+	 */
+	public int getTileCount() {
+		return tiles.size();
+	}
+
+	private static long key(int tileRow, int tileColumn) {
+		return ((long) tileRow << 32) | (tileColumn & 0xFFFFFFFFL);
+	}
+
+	private static int tileRow(long key) {
+		return (int) (key >> 32);
+	}
+
+	private static int tileColumn(long key) {
+		return (int) key;
+	}
+
+	/**
+	 * Checks if the cell at a given position is alive.
+	 * @param  i the row of the cell
+	 * @param  j the column of the cell
+	 * @return true if the cell is alive
+	 */
+	public boolean isAlive(int i, int j) {
+		long[] tile = tiles.get(key(Math.floorDiv(i, TILE_SIZE), Math.floorDiv(j, TILE_SIZE)));
+		return tile != null && (tile[Math.floorMod(i, TILE_SIZE)] & (1L << Math.floorMod(j, TILE_SIZE))) != 0;
+	}
+
+	/**
+	 * Sets the status of the cell at a given position. Tiles are allocated and freed as needed.
+	 * @param  i the row of the cell
+	 * @param  j the column of the cell
+	 * @param  value the new status of the cell
+	 */
+	public void setAlive(int i, int j, boolean value) {
+		long key = key(Math.floorDiv(i, TILE_SIZE), Math.floorDiv(j, TILE_SIZE));
+		long[] tile = tiles.get(key);
+		if (tile == null) {
+			if (!value) return;
+			tile = new long[TILE_SIZE];
+			tiles.put(key, tile);
+		}
+		int row = Math.floorMod(i, TILE_SIZE);
+		long bit = 1L << Math.floorMod(j, TILE_SIZE);
+		boolean alive = (tile[row] & bit) != 0;
+		if (alive == value) return;
+		tile[row] ^= bit;
+		population += value ? 1 : -1;
+		if (!value && isEmpty(tile)) tiles.remove(key);
+	}
+
+	private static boolean isEmpty(long[] tile) {
+		for (long word : tile) {
+			if (word != 0) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Calculates the next generation.
+	 * Every tile and each neighbour a living cell at its border could give birth in is calculated.
+	 */
+	public void step() {
+		Set<Long> candidates = new HashSet<>(tiles.size() * 2);
+		for (Map.Entry<Long, long[]> entry : tiles.entrySet()) {
+			long key = entry.getKey();
+			long[] tile = entry.getValue();
+			int tileRow = tileRow(key);
+			int tileColumn = tileColumn(key);
+			long columns = 0;
+			for (long word : tile) columns |= word;
+			boolean north = tile[0] != 0;
+			boolean south = tile[TILE_SIZE - 1] != 0;
+			boolean west = (columns & 1L) != 0;
+			boolean east = (columns >>> 63) != 0;
+			candidates.add(key);
+			if (north) candidates.add(key(tileRow - 1, tileColumn));
+			if (south) candidates.add(key(tileRow + 1, tileColumn));
+			if (west) candidates.add(key(tileRow, tileColumn - 1));
+			if (east) candidates.add(key(tileRow, tileColumn + 1));
+			if ((tile[0] & 1L) != 0) candidates.add(key(tileRow - 1, tileColumn - 1));
+			if ((tile[0] >>> 63) != 0) candidates.add(key(tileRow - 1, tileColumn + 1));
+			if ((tile[TILE_SIZE - 1] & 1L) != 0) candidates.add(key(tileRow + 1, tileColumn - 1));
+			if ((tile[TILE_SIZE - 1] >>> 63) != 0) candidates.add(key(tileRow + 1, tileColumn + 1));
+		}
+		Map<Long, long[]> nextTiles = new HashMap<>(candidates.size() * 2);
+		long[] masks = rules.getKernelMasks();
+		long[] scratch = new long[(TILE_SIZE + 2) * 3];
+		long nextBirths = 0;
+		long nextDeaths = 0;
+		for (long key : candidates) {
+			long[] result = stepTile(tileRow(key), tileColumn(key), scratch, masks);
+			long[] before = tiles.get(key);
+			for (int r = 0; r < TILE_SIZE; r++) {
+				long b = before == null ? 0 : before[r];
+				long a = result == null ? 0 : result[r];
+				nextBirths += Long.bitCount(a & ~b);
+				nextDeaths += Long.bitCount(b & ~a);
+			}
+			if (result != null) nextTiles.put(key, result);
+		}
+		tiles = nextTiles;
+		births = nextBirths;
+		deaths = nextDeaths;
+		population += births - deaths;
+		generation++;
+	}
+
+	/**
+	 * Calculates the next n generations.
+	 * @param  n the amount of generations to calculate
+	 */
+	public void step(long n) {
+		for (long k = 0; k < n; k++) step();
+	}
+
+	/**
+	 * Calculates the next generation of one tile.
+	 * The tile and the bordering rows and columns of its neighbours are copied into scratch,
+	 * three words per row, so that the BitKernel can calculate the middle word of each row.
+	 * @return the next generation of the tile or null if all its cells are dead
+	 */
+	private long[] stepTile(int tileRow, int tileColumn, long[] scratch, long[] masks) {
+		for (int dr = -1; dr <= 1; dr++) {
+			for (int dc = -1; dc <= 1; dc++) {
+				long[] tile = tiles.get(key(tileRow + dr, tileColumn + dc));
+				int from = dr < 0 ? 0 : dr == 0 ? 1 : TILE_SIZE + 1;
+				int to = dr < 0 ? 1 : dr == 0 ? TILE_SIZE + 1 : TILE_SIZE + 2;
+				for (int r = from; r < to; r++) {
+					int source = dr < 0 ? TILE_SIZE - 1 : dr == 0 ? r - 1 : 0;
+					scratch[r * 3 + dc + 1] = tile == null ? 0 : tile[source];
+				}
+			}
+		}
+		long[] result = new long[TILE_SIZE];
+		long any = 0;
+		for (int r = 1; r <= TILE_SIZE; r++) {
+			BitKernel.stepRow(scratch, (r - 1) * 3, scratch, r * 3, scratch, (r + 1) * 3, result, r - 2, 3, 1, 2, -1L, masks);
+			any |= result[r - 1];
+		}
+		return any == 0 ? null : result;
+	}
+
+	/**
+	 * Calculates the smallest Region holding all living cells.
+	 * @return the bounding box of the living cells or null if no cell is alive
+	 */
+	public Region getBoundingBox() {
+		if (tiles.isEmpty()) return null;
+		int top = Integer.MAX_VALUE, left = Integer.MAX_VALUE, bottom = Integer.MIN_VALUE, right = Integer.MIN_VALUE;
+		for (Map.Entry<Long, long[]> entry : tiles.entrySet()) {
+			long[] tile = entry.getValue();
+			int rowOffset = tileRow(entry.getKey()) * TILE_SIZE;
+			int columnOffset = tileColumn(entry.getKey()) * TILE_SIZE;
+			long columns = 0;
+			for (int r = 0; r < TILE_SIZE; r++) {
+				if (tile[r] == 0) continue;
+				columns |= tile[r];
+				top = Math.min(top, rowOffset + r);
+				bottom = Math.max(bottom, rowOffset + r + 1);
+			}
+			left = Math.min(left, columnOffset + Long.numberOfTrailingZeros(columns));
+			right = Math.max(right, columnOffset + TILE_SIZE - Long.numberOfLeadingZeros(columns));
+		}
+		return new Region(top, left, bottom, right);
+	}
+
+	/**
+	 * Hashes the living cells by their position in the universe, so a pattern that moved hashes differently.
+	 * @return the hash of the living cells, 0 if no cell is alive
+	 */
+	public long getStateHash() {
+		long hash = 0;
+		for (Map.Entry<Long, long[]> entry : tiles.entrySet()) {
+			long[] tile = entry.getValue();
+			for (int r = 0; r < TILE_SIZE; r++) {
+				if (tile[r] != 0) hash ^= StateHash.mix(entry.getKey() * TILE_SIZE + r, tile[r]);
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Getter for the memory held by the tiles.
+	 * @return the amount of bytes of the words of all tiles
+	 */
+	public long getStateBytes() {
+		return 8L * TILE_SIZE * tiles.size();
+	}
+
+	/**
+	 * Sets all cells dead and frees all tiles.
+	 */
+	public void clear() {
+		tiles = new HashMap<>();
+		population = 0;
+		births = 0;
+		deaths = 0;
+	}
+
+	/**
+	 * Sets the cells of a BitGrid into the universe. Its upper left cell is placed at the given position.
+	 * Dead cells of the BitGrid do not change the universe.
+	 * @param  state the cells to set
+	 * @param  top the row the first row of state is placed at
+	 * @param  left the column the first column of state is placed at
+	 */
+	public void importFrom(BitGrid state, int top, int left) {
+		long[] words = state.getWords();
+		int wordsPerRow = state.getWordsPerRow();
+		for (int i = 0; i < state.getRows(); i++) {
+			for (int k = 0; k < wordsPerRow; k++) {
+				long word = words[i * wordsPerRow + k];
+				while (word != 0) {
+					setAlive(top + i, left + k * 64 + Long.numberOfTrailingZeros(word), true);
+					word &= word - 1;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the cells of the universe inside of a window into a BitGrid, for example to show them.
+	 * @param  target the BitGrid whose status is replaced by the window
+	 * @param  top the row of the universe shown in the first row of target
+	 * @param  left the column of the universe shown in the first column of target
+	 */
+	public void exportTo(BitGrid target, int top, int left) {
+		target.clear();
+		for (Map.Entry<Long, long[]> entry : tiles.entrySet()) {
+			long[] tile = entry.getValue();
+			int rowOffset = tileRow(entry.getKey()) * TILE_SIZE - top;
+			int columnOffset = tileColumn(entry.getKey()) * TILE_SIZE - left;
+			if (rowOffset >= target.getRows() || columnOffset >= target.getColumns()
+					|| rowOffset + TILE_SIZE <= 0 || columnOffset + TILE_SIZE <= 0) continue;
+			for (int r = 0; r < TILE_SIZE; r++) {
+				int i = rowOffset + r;
+				if (i < 0 || i >= target.getRows()) continue;
+				long word = tile[r];
+				while (word != 0) {
+					int j = columnOffset + Long.numberOfTrailingZeros(word);
+					if (j >= 0 && j < target.getColumns()) target.setAlive(i, j, true);
+					word &= word - 1;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,244 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+
+/**
+ * <h1>Unbounded Engine</h1>
+ * A SimulationEngine that calculates the generations of an unbounded TiledUniverse, so cells reaching
+ * the edge of the grid are never clipped. The grid is a window onto the universe: row 0 and column 0
+ * of the grid are the cell at the top left corner of the window, all positions of the engine are relative to it.
+ * <p>
+ * The window holds all cells alive. After each step it is fitted around the bounding box of the cells again
+ * if they left it or take up less than half of it, with a margin of MARGIN cells on each side,
+ * but it is never smaller than the size the engine was created with. Setting a cell alive outside of the window
+ * grows it as well. So the size of the grid changes and a snapshot always holds all cells alive,
+ * while the memory of the universe follows the cells alive.
+ * <p>
+ * There are no edges, so the Boundary is always DEAD. Rules that let a cell be born with 0 neighbours
+ * are not supported. The StateHash is calculated from the positions in the universe, so a pattern that moved
+ * never hashes like it did before it moved.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     TiledUniverse
+ * @see     GridOfCells
+ * @exception IllegalArgumentException
+ * @param   MARGIN the amount of dead cells around the cells alive when the window is fitted
+ * @param   universe the cells
+ * @param   minRows the least amount of rows of the window
+ * @param   minColumns the least amount of columns of the window
+ * @param   top the row of the universe at the top edge of the window
+ * @param   left the column of the universe at the left edge of the window
+ * @param   rows the amount of rows of the window
+ * @param   columns the amount of columns of the window
+ */
+public class UnboundedEngine implements SimulationEngine {
+	public static final int MARGIN = 16;
+	private final TiledUniverse universe;
+	private final int minRows;
+	private final int minColumns;
+	private int top;
+	private int left;
+	private int rows;
+	private int columns;
+
+	/**
+	 * Creates an engine at generation 0 with all cells dead, whose window shows rows 0 to rows and columns 0 to columns
+	 * of the universe.
+	 * @param  rows the least amount of rows of the window
+	 * @param  columns the least amount of columns of the window
+	 * @param  rules the rules the generations are calculated with
+	 * @exception IllegalArgumentException is thrown if rows or columns is smaller than 1 or a cell is born with 0 neighbours.
+	 */
+	public UnboundedEngine(int rows, int columns, Rules rules) {
+		if (rows < 1 || columns < 1) throw new IllegalArgumentException();
+		universe = new TiledUniverse(rules);
+		minRows = rows;
+		minColumns = columns;
+		this.rows = rows;
+		this.columns = columns;
+	}
+
+	/**
+	 * Getter for universe.
+	 * @return the TiledUniverse holding the cells
+	 */
+	public TiledUniverse getUniverse() {
+		return universe;
+	}
+
+	/**
+	 * Getter for the window.
+	 * @return the part of the universe the grid shows, in rows and columns of the universe
+	 */
+	public Region getWindow() {
+		return new Region(top, left, top + rows, left + columns);
+	}
+
+	@Override
+	public int getRows() {
+		return rows;
+	}
+
+	@Override
+	public int getColumns() {
+		return columns;
+	}
+
+	@Override
+	public long getGeneration() {
+		return universe.getGeneration();
+	}
+
+	@Override
+	public void setGeneration(long generation) {
+		universe.setGeneration(generation);
+	}
+
+	@Override
+	public Rules getRules() {
+		return universe.getRules();
+	}
+
+	/**
+	 * Setter for rules. The new rules are used from the next step on.
+	 * @param  rules the rules the next generation is calculated with
+	 * @exception IllegalArgumentException is thrown if a cell is born with 0 neighbours.
+	 */
+	@Override
+	public void setRules(Rules rules) {
+		universe.setRules(rules);
+	}
+
+	@Override
+	public Boundary getBoundary() {
+		return Boundary.DEAD;
+	}
+
+	/**
+	 * An unbounded universe has no edges, so only DEAD is accepted.
+	 * @param  boundary what the cells at the edges see beyond the edges
+	 * @exception IllegalArgumentException is thrown if boundary is not DEAD.
+	 */
+	@Override
+	public void setBoundary(Boundary boundary) {
+		if (boundary != Boundary.DEAD) throw new IllegalArgumentException("an unbounded universe has no edges");
+	}
+
+	/**
+	 * Checks if the cell at a given position is alive. Cells outside of the window are dead.
+	 * @param  i the row of the cell, relative to the window
+	 * @param  j the column of the cell, relative to the window
+	 * @return true if the cell is alive
+	 */
+	@Override
+	public boolean isAlive(int i, int j) {
+		return universe.isAlive(top + i, left + j);
+	}
+
+	/**
+	 * Sets the status of the cell at a given position, which may lie outside of the window.
+	 * A cell set alive outside of the window grows the window, which moves the positions of all cells.
+	 * @param  i the row of the cell, relative to the window
+	 * @param  j the column of the cell, relative to the window
+	 * @param  value the new status of the cell
+	 */
+	@Override
+	public void setAlive(int i, int j, boolean value) {
+		universe.setAlive(top + i, left + j, value);
+		if (value && (i < 0 || i >= rows || j < 0 || j >= columns)) fitWindow(false);
+	}
+
+	@Override
+	public void step() {
+		universe.step();
+		fitWindow(true);
+	}
+
+	@Override
+	public long getPopulation() {
+		return universe.getPopulation();
+	}
+
+	@Override
+	public long getBirths() {
+		return universe.getBirths();
+	}
+
+	@Override
+	public long getDeaths() {
+		return universe.getDeaths();
+	}
+
+	@Override
+	public Region getBoundingBox() {
+		Region box = universe.getBoundingBox();
+		if (box == null) return null;
+		return new Region(box.getTop() - top, box.getLeft() - left, box.getBottom() - top, box.getRight() - left);
+	}
+
+	@Override
+	public long getStateHash() {
+		return universe.getStateHash();
+	}
+
+	@Override
+	public long getStateBytes() {
+		return universe.getStateBytes();
+	}
+
+	@Override
+	public BitGrid snapshot() {
+		BitGrid state = new BitGrid(rows, columns);
+		universe.exportTo(state, top, left);
+		return state;
+	}
+
+	/**
+	 * Replaces all cells of the universe with the status of a BitGrid of the size of the window.
+	 * The generation and the window are not changed.
+	 * @param  state the status to copy into the window
+	 * @exception IllegalArgumentException is thrown if the sizes differ.
+	 */
+	@Override
+	public void restore(BitGrid state) {
+		if (state.getRows() != rows || state.getColumns() != columns) throw new IllegalArgumentException();
+		universe.clear();
+		universe.importFrom(state, top, left);
+	}
+
+	/**
+	 * Replaces all cells of the universe with the status of a BitGrid of any size and fits the window around them.
+	 * The generation is not changed.
+	 * @param  state the status to copy into the universe
+	 * @param  i the row relative to the window the first row of state is placed at
+	 * @param  j the column relative to the window the first column of state is placed at
+	 */
+	public void restore(BitGrid state, int i, int j) {
+		universe.clear();
+		universe.importFrom(state, top + i, left + j);
+		fitWindow(true);
+	}
+
+	/**
+	 * Fits the window around the cells alive if they left it, or if shrink is set and they take up less than half of it.
+	 * The window keeps its place while no cell is alive.
+	 */
+	private void fitWindow(boolean shrink) {
+		Region box = universe.getBoundingBox();
+		if (box == null) return;
+		int height = Math.max(minRows, box.getRows() + 2 * MARGIN);
+		int width = Math.max(minColumns, box.getColumns() + 2 * MARGIN);
+		boolean inside = box.getTop() >= top && box.getLeft() >= left
+				&& box.getBottom() <= top + rows && box.getRight() <= left + columns;
+		boolean oversized = rows >= 2 * height || columns >= 2 * width;
+		if (inside && !(shrink && oversized)) return;
+		top = box.getTop() - (height - box.getRows()) / 2;
+		left = box.getLeft() - (width - box.getColumns()) / 2;
+		rows = height;
+		columns = width;
+	}
+}
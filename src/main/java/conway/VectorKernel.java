@@ -0,0 +1,127 @@
+package conway;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * <h1>Vector Kernel</h1>
+ * Calculates the words of a row of the next generation like the BitKernel, but as many words at once
+ * as the CPU has lanes for, with the incubating Vector API. Each lane runs the same full adders on its own word,
+ * the neighbours of a word are read from the words before and after it by loading the rows shifted by one word.
+ * The words left over at the end of the row, and the last word of the grid, which is masked, are calculated
+ * by the BitKernel.
+ * <p>
+ * <b>Note:</b> This class needs the module jdk.incubator.vector and must only be used
+ * if StepKernel.VECTOR is available, otherwise loading it fails.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     BitKernel
+ * @see     StepKernel
+ * @param   SPECIES the widest vector of longs of the CPU
+ */
+final class VectorKernel {
+	private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+	private VectorKernel() {
+	}
+
+	/**
+	 * Getter for the amount of lanes.
+	 * @return the amount of words calculated at once
+	 */
+	static int lanes() {
+		return SPECIES.length();
+	}
+
+	/**
+	 * Calculates the words firstWord to lastWord of one row of the next generation, see BitKernel.stepRow.
+	 * @return a word with a bit set for each bit position at which any calculated word differs from mid
+	 */
+	static long stepRow(long[] up, int upOffset, long[] mid, int midOffset, long[] down, int downOffset,
+			long[] out, int outOffset, int words, int firstWord, int lastWord, long lastWordMask, long[] masks) {
+		// the last word of the grid may hold ghost cells after the last column and is left to the BitKernel
+		int end = Math.min(lastWord, words - 1);
+		int k = firstWord;
+		if (end - firstWord >= SPECIES.length()) {
+			LongVector s0 = LongVector.broadcast(SPECIES, masks[0]), s1 = LongVector.broadcast(SPECIES, masks[1]),
+					s2 = LongVector.broadcast(SPECIES, masks[2]), s3 = LongVector.broadcast(SPECIES, masks[3]),
+					s4 = LongVector.broadcast(SPECIES, masks[4]), s5 = LongVector.broadcast(SPECIES, masks[5]),
+					s6 = LongVector.broadcast(SPECIES, masks[6]), s7 = LongVector.broadcast(SPECIES, masks[7]),
+					s8 = LongVector.broadcast(SPECIES, masks[8]);
+			LongVector b0 = LongVector.broadcast(SPECIES, masks[9]), b1 = LongVector.broadcast(SPECIES, masks[10]),
+					b2 = LongVector.broadcast(SPECIES, masks[11]), b3 = LongVector.broadcast(SPECIES, masks[12]),
+					b4 = LongVector.broadcast(SPECIES, masks[13]), b5 = LongVector.broadcast(SPECIES, masks[14]),
+					b6 = LongVector.broadcast(SPECIES, masks[15]), b7 = LongVector.broadcast(SPECIES, masks[16]),
+					b8 = LongVector.broadcast(SPECIES, masks[17]);
+			LongVector changed = LongVector.zero(SPECIES);
+			int bound = firstWord + SPECIES.loopBound(end - firstWord);
+			for (; k < bound; k += SPECIES.length()) {
+				LongVector upCur = LongVector.fromArray(SPECIES, up, upOffset + k);
+				LongVector midCur = LongVector.fromArray(SPECIES, mid, midOffset + k);
+				LongVector downCur = LongVector.fromArray(SPECIES, down, downOffset + k);
+				// neighbours to the west are shifted towards higher bits, those to the east towards lower bits
+				LongVector uw = west(upCur, LongVector.fromArray(SPECIES, up, upOffset + k - 1));
+				LongVector ue = east(upCur, LongVector.fromArray(SPECIES, up, upOffset + k + 1));
+				LongVector mw = west(midCur, LongVector.fromArray(SPECIES, mid, midOffset + k - 1));
+				LongVector me = east(midCur, LongVector.fromArray(SPECIES, mid, midOffset + k + 1));
+				LongVector dw = west(downCur, LongVector.fromArray(SPECIES, down, downOffset + k - 1));
+				LongVector de = east(downCur, LongVector.fromArray(SPECIES, down, downOffset + k + 1));
+
+				// two bit sums of the row above, the row below and the two horizontal neighbours
+				LongVector ua = uw.lanewise(VectorOperators.XOR, upCur).lanewise(VectorOperators.XOR, ue);
+				LongVector uc = uw.and(upCur).or(ue.and(uw.lanewise(VectorOperators.XOR, upCur)));
+				LongVector da = dw.lanewise(VectorOperators.XOR, downCur).lanewise(VectorOperators.XOR, de);
+				LongVector dc = dw.and(downCur).or(de.and(dw.lanewise(VectorOperators.XOR, downCur)));
+				LongVector ma = mw.lanewise(VectorOperators.XOR, me);
+				LongVector mc = mw.and(me);
+
+				// adding the three two bit sums gives the amount of neighbours in the bit planes n0 to n3
+				LongVector n0 = ua.lanewise(VectorOperators.XOR, da).lanewise(VectorOperators.XOR, ma);
+				LongVector c0 = ua.and(da).or(ma.and(ua.lanewise(VectorOperators.XOR, da)));
+				LongVector x = uc.lanewise(VectorOperators.XOR, dc).lanewise(VectorOperators.XOR, mc);
+				LongVector y = uc.and(dc).or(mc.and(uc.lanewise(VectorOperators.XOR, dc)));
+				LongVector n1 = x.lanewise(VectorOperators.XOR, c0);
+				LongVector c1 = x.and(c0);
+				LongVector n2 = y.lanewise(VectorOperators.XOR, c1);
+				LongVector n3 = y.and(c1);
+
+				// one mask per amount of neighbours, eight neighbours are the only case with n3 set
+				LongVector z0 = n0.not(), z1 = n1.not(), z2 = n2.or(n3).not();
+				LongVector t00 = z1.and(z0), t01 = z1.and(n0), t10 = n1.and(z0), t11 = n1.and(n0);
+				LongVector e0 = z2.and(t00), e1 = z2.and(t01), e2 = z2.and(t10), e3 = z2.and(t11);
+				LongVector e4 = n2.and(t00), e5 = n2.and(t01), e6 = n2.and(t10), e7 = n2.and(t11);
+				LongVector survives = e0.and(s0).or(e1.and(s1)).or(e2.and(s2)).or(e3.and(s3)).or(e4.and(s4))
+						.or(e5.and(s5)).or(e6.and(s6)).or(e7.and(s7)).or(n3.and(s8));
+				LongVector born = e0.and(b0).or(e1.and(b1)).or(e2.and(b2)).or(e3.and(b3)).or(e4.and(b4))
+						.or(e5.and(b5)).or(e6.and(b6)).or(e7.and(b7)).or(n3.and(b8));
+				LongVector result = midCur.and(survives).or(midCur.not().and(born));
+				result.intoArray(out, outOffset + k);
+				changed = changed.or(result.lanewise(VectorOperators.XOR, midCur));
+			}
+			if (k == lastWord) return changed.reduceLanes(VectorOperators.OR);
+			return changed.reduceLanes(VectorOperators.OR) | BitKernel.stepRow(up, upOffset, mid, midOffset, down, downOffset,
+					out, outOffset, words, k, lastWord, lastWordMask, masks);
+		}
+		return BitKernel.stepRow(up, upOffset, mid, midOffset, down, downOffset, out, outOffset, words, k, lastWord,
+				lastWordMask, masks);
+	}
+
+	/**
+	 * Shifts the words towards higher bits, filling in the highest bit of the word before.
+	 */
+	private static LongVector west(LongVector cur, LongVector prev) {
+		return cur.lanewise(VectorOperators.LSHL, 1).or(prev.lanewise(VectorOperators.LSHR, 63));
+	}
+
+	/**
+	 * Shifts the words towards lower bits, filling in the lowest bit of the word after.
+	 */
+	private static LongVector east(LongVector cur, LongVector next) {
+		return cur.lanewise(VectorOperators.LSHR, 1).or(next.lanewise(VectorOperators.LSHL, 63));
+	}
+}
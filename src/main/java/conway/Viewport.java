@@ -0,0 +1,210 @@
+package conway;
+
+import java.lang.IllegalArgumentException;
+
+/**
+ * <h1>Viewport</h1>
+ * The part of a grid shown in the main window, given by the cell at the top left corner of the view (origin)
+ * and the size of a cell on the screen in pixels (zoom). Only the cells within the view are painted,
+ * so painting takes as long for a corner of a huge grid as for a small grid.
+ * Zoomed out so far that a pixel covers more than one cell, the cells are painted from a level of a DensityPyramid.
+ * <p>
+ * Coordinates on the screen are pixels relative to the top left corner of the view,
+ * coordinates in the grid are rows and columns, fractions lie within a cell.
+ * For an unbounded grid they are the rows and columns of the universe, which the window of the grid moves across.
+ * The Viewport does not depend on JavaFX.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     GridRenderer
+ * @see     DensityPyramid
+ * @exception IllegalArgumentException
+ * @param   MIN_ZOOM the smallest size of a cell in pixels
+ * @param   MAX_ZOOM the largest size of a cell in pixels
+ * @param   rows indicates the amount of rows of the grid
+ * @param   columns indicates the amount of columns of the grid
+ * @param   width the width of the view in pixels
+ * @param   height the height of the view in pixels
+ * @param   originRow the row at the top edge of the view
+ * @param   originColumn the column at the left edge of the view
+ * @param   zoom the size of a cell in pixels
+ */
+public class Viewport {
+	public static final double MIN_ZOOM = 1.0 / 1024;
+	public static final double MAX_ZOOM = 128;
+	private final int rows;
+	private final int columns;
+	private int width;
+	private int height;
+	private double originRow;
+	private double originColumn;
+	private double zoom = 1;
+
+	/**
+	 * Creates a Viewport for a grid of the given size. The view has no size yet.
+	 * @param  rows rows of the grid
+	 * @param  columns columns of the grid
+	 * @exception IllegalArgumentException is thrown if rows or columns is smaller than 1.
+	 */
+	public Viewport(int rows, int columns) {
+		if (rows < 1 || columns < 1) throw new IllegalArgumentException();
+		this.rows = rows;
+		this.columns = columns;
+	}
+
+	/**
+	 * Getter for rows.
+	 * @return the amount of rows of the grid
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Getter for columns.
+	 * @return the amount of columns of the grid
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Getter for width.
+	 * @return the width of the view in pixels
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Getter for height.
+	 * @return the height of the view in pixels
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Getter for originRow.
+	 * @return the row at the top edge of the view
+	 */
+	public double getOriginRow() {
+		return originRow;
+	}
+
+	/**
+	 * Getter for originColumn.
+	 * @return the column at the left edge of the view
+	 */
+	public double getOriginColumn() {
+		return originColumn;
+	}
+
+	/**
+	 * Getter for zoom.
+	 * @return the size of a cell in pixels
+	 */
+	public double getZoom() {
+		return zoom;
+	}
+
+	/**
+	 * Changes the size of the view. The cell in the center of the view stays in the center.
+	 * @param  newWidth the width of the view in pixels
+	 * @param  newHeight the height of the view in pixels
+	 */
+	public void setSize(int newWidth, int newHeight) {
+		originColumn += (width - newWidth) / 2.0 / zoom;
+		originRow += (height - newHeight) / 2.0 / zoom;
+		width = Math.max(0, newWidth);
+		height = Math.max(0, newHeight);
+	}
+
+	/**
+	 * Zooms so that the whole grid fits into the view, but cells are at most maxZoom pixels large, and centers it.
+	 * @param  maxZoom the largest size of a cell in pixels
+	 */
+	public void fit(double maxZoom) {
+		fit(new Region(0, 0, rows, columns), maxZoom);
+	}
+
+	/**
+	 * Zooms so that a Region fits into the view, but cells are at most maxZoom pixels large, and centers it.
+	 * @param  region the rows and columns to show
+	 * @param  maxZoom the largest size of a cell in pixels
+	 */
+	public void fit(Region region, double maxZoom) {
+		double fitting = Math.min((double) width / Math.max(1, region.getColumns()), (double) height / Math.max(1, region.getRows()));
+		zoom = clamp(Math.min(maxZoom, fitting > 0 ? fitting : maxZoom));
+		originColumn = region.getLeft() + (region.getColumns() - width / zoom) / 2;
+		originRow = region.getTop() + (region.getRows() - height / zoom) / 2;
+	}
+
+	/**
+	 * Checks if a Region lies completely within the view.
+	 * @param  region the rows and columns to look for
+	 * @return true if all cells of region are shown
+	 */
+	public boolean shows(Region region) {
+		return region.getLeft() >= originColumn && region.getTop() >= originRow
+				&& region.getRight() <= columnAt(width) && region.getBottom() <= rowAt(height);
+	}
+
+	/**
+	 * Moves the view by a distance on the screen.
+	 * @param  dx the distance in pixels the grid moves to the right
+	 * @param  dy the distance in pixels the grid moves down
+	 */
+	public void pan(double dx, double dy) {
+		originColumn -= dx / zoom;
+		originRow -= dy / zoom;
+	}
+
+	/**
+	 * Zooms by a factor around a point of the view, the cell below the point stays below it.
+	 * @param  factor the factor the size of a cell is multiplied with
+	 * @param  x the horizontal position of the point in pixels
+	 * @param  y the vertical position of the point in pixels
+	 */
+	public void zoomAt(double factor, double x, double y) {
+		double column = columnAt(x);
+		double row = rowAt(y);
+		zoom = clamp(zoom * factor);
+		originColumn = column - x / zoom;
+		originRow = row - y / zoom;
+	}
+
+	/**
+	 * Getter for the column at a horizontal position of the view.
+	 * @param  x the position in pixels
+	 * @return the column, with the position within the cell as fraction, may be outside of the grid
+	 */
+	public double columnAt(double x) {
+		return originColumn + x / zoom;
+	}
+
+	/**
+	 * Getter for the row at a vertical position of the view.
+	 * @param  y the position in pixels
+	 * @return the row, with the position within the cell as fraction, may be outside of the grid
+	 */
+	public double rowAt(double y) {
+		return originRow + y / zoom;
+	}
+
+	/**
+	 * Getter for the level of a DensityPyramid to paint from, so that a pixel covers about one block of the level.
+	 * @return 0 if a cell covers at least one pixel, otherwise the level whose blocks are at most one pixel large
+	 */
+	public int getLevel() {
+		if (zoom >= 1) return 0;
+		return 63 - Long.numberOfLeadingZeros((long) (1 / zoom));
+	}
+
+	private static double clamp(double value) {
+		return Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, value));
+	}
+}
@@ -0,0 +1,158 @@
+package conway;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h1>Engine Equivalence Test</h1>
+ * Checks that every SimulationEngine calculates the same generations as the ReferenceEngine, on random soups
+ * for every Boundary and several rules. The bounded engines are compared generation by generation.
+ * The UnboundedEngine and the HashLifeEngine simulate the unbounded plane, so they are compared with a ReferenceEngine
+ * whose grid is so much larger than the soup that no cell reaches its DEAD edges.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     ReferenceEngine
+ * @see     BitGridEngine
+ * @see     MappedGridEngine
+ * @see     ShardedEngine
+ * @see     UnboundedEngine
+ * @see     HashLifeEngine
+ * @param   RULES the rulestrings checked
+ * @param   ROWS the amount of rows of the bounded grids
+ * @param   COLUMNS the amount of columns of the bounded grids, not a multiple of 64
+ * @param   GENERATIONS the amount of generations compared per soup
+ */
+public class EngineEquivalenceTest {
+	private static final String[] RULES = {"B3/S23", "B36/S23", "B3678/S34678", "B0/S8"};
+	private static final int ROWS = 70;
+	private static final int COLUMNS = 131;
+	private static final int GENERATIONS = 20;
+
+	@Test
+	public void bitGridEngineMatchesReference() {
+		for (boolean activeTracking : new boolean[] {false, true}) {
+			long seed = 1;
+			for (String rulestring : RULES) {
+				for (Boundary boundary : Boundary.values()) {
+					BitGridEngine engine = new BitGridEngine(ROWS, COLUMNS, Rules.of(rulestring));
+					engine.setActiveTracking(activeTracking);
+					compare(engine, boundary, seed++);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void mappedGridEngineMatchesReference() throws IOException {
+		long seed = 100;
+		for (String rulestring : RULES) {
+			for (Boundary boundary : Boundary.values()) {
+				try (MappedGridEngine engine = MappedGridEngine.allocate(ROWS, COLUMNS, Rules.of(rulestring))) {
+					compare(engine, boundary, seed++);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void shardedEngineMatchesReference() throws IOException {
+		try (ShardedEngine engine = new ShardedEngine(ROWS, COLUMNS, Rules.of("B3/S23"), 3)) {
+			long seed = 200;
+			for (String rulestring : RULES) {
+				engine.setRules(Rules.of(rulestring));
+				for (Boundary boundary : Boundary.values()) compare(engine, boundary, seed++);
+			}
+		}
+	}
+
+	@Test
+	public void unboundedEngineMatchesReference() {
+		long seed = 300;
+		for (String rulestring : new String[] {"B3/S23", "B36/S23", "B3678/S34678"}) {
+			Rules rules = Rules.of(rulestring);
+			BitGrid soup = new RandomSoup(seed++, 0.4).create(40, 50);
+			int margin = GENERATIONS + 2;
+			ReferenceEngine reference = new ReferenceEngine(40 + 2 * margin, 50 + 2 * margin, rules);
+			reference.restore(place(soup, reference.getRows(), reference.getColumns(), margin, margin));
+			UnboundedEngine engine = new UnboundedEngine(40, 50, rules);
+			Region start = engine.getWindow();
+			engine.restore(soup);
+			for (int generation = 1; generation <= GENERATIONS; generation++) {
+				reference.step();
+				engine.step();
+				String what = "UnboundedEngine " + rules + " generation " + generation;
+				Region window = engine.getWindow();
+				for (int i = 0; i < reference.getRows(); i++) {
+					for (int j = 0; j < reference.getColumns(); j++) {
+						assertEquals(reference.isAlive(i, j), engine.isAlive(start.getTop() + i - margin - window.getTop(), start.getLeft() + j - margin - window.getLeft()),
+								what + " cell " + i + ", " + j);
+					}
+				}
+				assertEquals(reference.getPopulation(), engine.getPopulation(), what);
+			}
+		}
+	}
+
+	@Test
+	public void hashLifeEngineMatchesReference() {
+		long seed = 400;
+		for (String rulestring : new String[] {"B3/S23", "B36/S23", "B3678/S34678"}) {
+			Rules rules = Rules.of(rulestring);
+			BitGrid soup = new RandomSoup(seed++, 0.4).create(30, 70);
+			int generations = 3 * GENERATIONS;
+			int margin = generations + 2;
+			ReferenceEngine reference = new ReferenceEngine(30 + 2 * margin, 70 + 2 * margin, rules);
+			reference.restore(place(soup, reference.getRows(), reference.getColumns(), margin, margin));
+			for (int generation = 0; generation < generations; generation++) reference.step();
+			HashLifeEngine engine = new HashLifeEngine(rules);
+			engine.importFrom(soup, 0);
+			engine.jumpTo(generations);
+			BitGrid result = new BitGrid(reference.getRows(), reference.getColumns());
+			engine.exportTo(result, -margin, -margin);
+			String what = "HashLifeEngine " + rules + " generation " + generations;
+			assertArrayEquals(reference.snapshot().getWords(), result.getWords(), what);
+			assertEquals(reference.getPopulation(), engine.getPopulation(), what);
+		}
+	}
+
+	/**
+	 * Steps an engine and a ReferenceEngine from the same soup and compares them after each generation.
+	 */
+	private static void compare(SimulationEngine engine, Boundary boundary, long seed) {
+		BitGrid soup = new RandomSoup(seed, 0.4).create(ROWS, COLUMNS);
+		engine.setBoundary(boundary);
+		engine.restore(soup);
+		ReferenceEngine reference = new ReferenceEngine(ROWS, COLUMNS, engine.getRules());
+		reference.setBoundary(boundary);
+		reference.restore(soup);
+		for (int generation = 1; generation <= GENERATIONS; generation++) {
+			engine.step();
+			reference.step();
+			String what = engine.getClass().getSimpleName() + " " + engine.getRules() + " " + boundary + " generation " + generation;
+			assertArrayEquals(reference.snapshot().getWords(), engine.snapshot().getWords(), what);
+			assertEquals(reference.getPopulation(), engine.getPopulation(), what);
+			assertEquals(reference.getBirths(), engine.getBirths(), what);
+			assertEquals(reference.getDeaths(), engine.getDeaths(), what);
+		}
+	}
+
+	/**
+	 * Copies a BitGrid into a new one of the given size at the given position.
+	 */
+	private static BitGrid place(BitGrid state, int rows, int columns, int top, int left) {
+		BitGrid placed = new BitGrid(rows, columns);
+		for (int i = 0; i < state.getRows(); i++) {
+			for (int j = 0; j < state.getColumns(); j++) {
+				if (state.isAlive(i, j)) placed.setAlive(top + i, left + j, true);
+			}
+		}
+		return placed;
+	}
+}
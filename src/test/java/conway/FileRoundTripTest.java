@@ -0,0 +1,110 @@
+package conway;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * <h1>File Round Trip Test</h1>
+ * Checks that a grid written into a .gol, .rle or .mc file is read back unchanged.
+ * The widths are chosen so that the last word of a row is only partly used, or a row is a single word.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     StateFile
+ * @see     PatternFile
+ * @param   SIZES the rows and columns of the grids written
+ * @param   directory the temporary directory the files are written into
+ */
+public class FileRoundTripTest {
+	private static final int[][] SIZES = {{1, 1}, {5, 63}, {17, 64}, {9, 65}, {33, 80}, {40, 130}, {21, 200}};
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void stateFileKeepsEverything() throws IOException {
+		long seed = 1;
+		for (int[] size : SIZES) {
+			for (Boundary boundary : Boundary.values()) {
+				BitGrid state = new RandomSoup(seed++, 0.3).create(size[0], size[1]);
+				Rules rules = Rules.of("B36/S23");
+				GridOfCells written = new GridOfCells(state, rules, boundary, 1234567890123L);
+				Path path = directory.resolve("state" + seed + StateFile.FILE_EXTENSION);
+				StateFile.write(written, path);
+				GridOfCells read = StateFile.read(path);
+				String what = size[0] + " x " + size[1] + " " + boundary;
+				assertEquals(size[0], read.getRows(), what);
+				assertEquals(size[1], read.getColumns(), what);
+				assertArrayEquals(state.getWords(), read.getEngine().snapshot().getWords(), what);
+				assertEquals(rules, read.getRules(), what);
+				assertEquals(boundary, read.getBoundary(), what);
+				assertEquals(1234567890123L, read.getGeneration(), what);
+			}
+		}
+	}
+
+	@Test
+	public void rleFileKeepsCellsAndSize() throws IOException {
+		long seed = 100;
+		for (int[] size : SIZES) {
+			for (Boundary boundary : new Boundary[] {Boundary.DEAD, Boundary.TORUS}) {
+				BitGrid state = new RandomSoup(seed++, 0.3).create(size[0], size[1]);
+				Rules rules = Rules.of("B3678/S34678");
+				Path path = directory.resolve("pattern" + seed + PatternFile.RLE_EXTENSION);
+				PatternFile.write(new GridOfCells(state, rules, boundary, 0), path);
+				GridOfCells read = PatternFile.read(path);
+				String what = size[0] + " x " + size[1] + " " + boundary;
+				assertEquals(size[0], read.getRows(), what);
+				assertEquals(size[1], read.getColumns(), what);
+				assertArrayEquals(state.getWords(), read.getEngine().snapshot().getWords(), what);
+				assertEquals(rules, read.getRules(), what);
+				assertEquals(boundary, read.getBoundary(), what);
+			}
+		}
+	}
+
+	@Test
+	public void macrocellFileKeepsCellsInTheirBoundingBox() throws IOException {
+		long seed = 200;
+		for (int[] size : SIZES) {
+			BitGrid state = new RandomSoup(seed++, 0.3).create(size[0], size[1]);
+			state.setAlive(size[0] - 1, size[1] - 1, true);
+			Rules rules = Rules.of("B36/S23");
+			Path path = directory.resolve("pattern" + seed + PatternFile.MACROCELL_EXTENSION);
+			PatternFile.write(new GridOfCells(state, rules, Boundary.DEAD, 98765), path);
+			GridOfCells read = PatternFile.read(path);
+			String what = size[0] + " x " + size[1];
+			Region box = state.boundingBox();
+			assertEquals(box.getRows(), read.getRows(), what);
+			assertEquals(box.getColumns(), read.getColumns(), what);
+			BitGrid cells = read.getEngine().snapshot();
+			for (int i = 0; i < box.getRows(); i++) {
+				for (int j = 0; j < box.getColumns(); j++) {
+					assertEquals(state.isAlive(box.getTop() + i, box.getLeft() + j), cells.isAlive(i, j), what + " cell " + i + ", " + j);
+				}
+			}
+			assertEquals(state.population(), cells.population(), what);
+			assertEquals(rules, read.getRules(), what);
+			assertEquals(98765, read.getGeneration(), what);
+		}
+	}
+
+	@Test
+	public void emptyGridHasNoBoundingBox() throws IOException {
+		BitGrid state = new BitGrid(3, 70);
+		Path path = directory.resolve("empty" + PatternFile.RLE_EXTENSION);
+		PatternFile.write(new GridOfCells(state, Rules.of("B3/S23"), Boundary.DEAD, 0), path);
+		GridOfCells read = PatternFile.read(path);
+		assertEquals(70, read.getColumns());
+		assertNull(read.getEngine().snapshot().boundingBox());
+	}
+}
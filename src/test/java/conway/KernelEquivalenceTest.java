@@ -0,0 +1,87 @@
+package conway;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h1>Kernel Equivalence Test</h1>
+ * Checks generation by generation that the BitGridEngine with the SCALAR and the VECTOR StepKernel
+ * calculates the same cells as the ReferenceEngine, on random soups for every Boundary and several rules.
+ * The sizes include widths that are not a multiple of 64 or of the lanes of the VECTOR kernel,
+ * so the last word of a row and the rest after the last vector are checked as well.
+ * The VECTOR kernel is only checked if the Vector API is there, which the test task of the build makes sure of.
+ *
+ * @author  Bertan Karacora
+ * @author  Jan Sturzenhecker
+ * @author  Timur Schiwe
+ * @version 1.0
+ * @since   2026-10-18
+ * @see     StepKernel
+ * @see     BitGridEngine
+ * @see     ReferenceEngine
+ * @param   RULES the rulestrings checked, with births at 0 and 8 neighbours
+ * @param   SIZES the rows and columns of the grids checked
+ * @param   GENERATIONS the amount of generations compared per soup
+ */
+public class KernelEquivalenceTest {
+	private static final String[] RULES = {"B3/S23", "B36/S23", "B3678/S34678", "B2/S", "B0/S8", "B012345678/S012345678"};
+	private static final int[][] SIZES = {{1, 1}, {3, 70}, {17, 64}, {40, 129}, {65, 200}, {33, 513}};
+	private static final int GENERATIONS = 24;
+
+	@Test
+	public void scalarKernelMatchesReference() {
+		checkKernel(StepKernel.SCALAR, 1);
+	}
+
+	@Test
+	public void vectorKernelMatchesReference() {
+		assumeTrue(StepKernel.VECTOR.isAvailable(), "the Vector API is not there");
+		checkKernel(StepKernel.VECTOR, 1);
+	}
+
+	@Test
+	public void parallelBandsMatchReference() {
+		checkKernel(StepKernel.SCALAR, 3);
+	}
+
+	private static void checkKernel(StepKernel kernel, int parallelism) {
+		long seed = 1;
+		for (String rulestring : RULES) {
+			for (Boundary boundary : Boundary.values()) {
+				for (int[] size : SIZES) {
+					check(kernel, parallelism, Rules.of(rulestring), boundary, size[0], size[1], seed++);
+				}
+			}
+		}
+	}
+
+	private static void check(StepKernel kernel, int parallelism, Rules rules, Boundary boundary, int rows, int columns, long seed) {
+		BitGrid soup = new RandomSoup(seed, 0.4).create(rows, columns);
+		BitGridEngine engine = new BitGridEngine(rows, columns, rules);
+		engine.setKernel(kernel);
+		engine.setParallelism(parallelism);
+		engine.setBoundary(boundary);
+		engine.restore(soup);
+		ReferenceEngine reference = new ReferenceEngine(rows, columns, rules);
+		reference.setBoundary(boundary);
+		reference.restore(soup);
+		try {
+			for (int generation = 1; generation <= GENERATIONS; generation++) {
+				engine.step();
+				reference.step();
+				String what = kernel + " " + rules + " " + boundary + " " + rows + "x" + columns + " generation " + generation;
+				assertArrayEquals(reference.snapshot().getWords(), engine.snapshot().getWords(), what);
+				assertEquals(reference.getPopulation(), engine.getPopulation(), what);
+				assertEquals(reference.getBirths(), engine.getBirths(), what);
+				assertEquals(reference.getDeaths(), engine.getDeaths(), what);
+				assertEquals(StateHash.of(engine.snapshot()), engine.getStateHash(), what);
+			}
+		}
+		finally {
+			engine.setParallelism(1);
+		}
+	}
+}